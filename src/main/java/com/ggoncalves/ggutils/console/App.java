@@ -0,0 +1,66 @@
+package com.ggoncalves.ggutils.console;
+
+import com.ggoncalves.ggutils.console.cli.CommandProcessor;
+import com.ggoncalves.ggutils.console.daemon.ConsoleApplication;
+import com.ggoncalves.ggutils.console.daemon.InvocationContext;
+import com.ggoncalves.ggutils.console.exception.ExceptionHandler;
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Minimal {@link CommandProcessor} tool: checks an input file and an output directory. It is the main
+ * class of the assembled jar, the workload used to train the AppCDS archive and the subject of the
+ * cold-start benchmark, so it should stay representative of a small console tool.
+ */
+public class App implements ConsoleApplication {
+
+  static final String NAME = "java-ggutils-console";
+
+  private final ExceptionHandler exceptionHandler = new ExceptionHandler();
+
+  @Override
+  public int run(String[] args, InvocationContext context) {
+    CommandProcessor processor = new CommandProcessor(new FilePathValidator())
+        .addRequiredOption("i", "input", true, "Input file path")
+        .addRequiredOption("o", "output", true, "Output directory path")
+        .addOption("h", "help", false, "Show this help");
+
+    if (isHelpRequested(args)) {
+      processor.printHelp(NAME, context.getOut());
+      return 0;
+    }
+
+    try {
+      CommandLine cmd = processor.parseArgs(args, context.getWorkingDirectory());
+      String input = context.resolve(cmd.getOptionValue("i"));
+      String output = context.resolve(cmd.getOptionValue("o"));
+
+      processor.validateInputFile(input, "input");
+      processor.validateOutputDir(output);
+      context.getOut().println("Input file: " + input);
+      context.getOut().println("Output directory: " + output);
+      return 0;
+    }
+    catch (ParseException e) {
+      context.getErr().println("Error parsing command line: " + e.getMessage());
+      processor.printHelp(NAME, context.getErr());
+      return 2;
+    }
+    catch (Exception e) {
+      exceptionHandler.handle(e);
+      return 1;
+    }
+  }
+
+  private static boolean isHelpRequested(String[] args) {
+    for (String arg : args) {
+      if (arg.equals("-h") || arg.equals("--help")) return true;
+    }
+    return false;
+  }
+
+  public static void main(String[] args) {
+    System.exit(new App().run(args, InvocationContext.current()));
+  }
+}
@@ -0,0 +1,32 @@
+package com.ggoncalves.ggutils.console;
+
+import com.ggoncalves.ggutils.console.daemon.InvocationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Workload run by the {@code appcds} profile while recording the class data sharing archive. It goes
+ * through the help, success and error paths of {@link App} so the classes of all three, including
+ * Log4j2, end up in the archive. Takes an existing file and directory to validate as arguments.
+ */
+public final class AppCdsTraining {
+
+  private AppCdsTraining() {
+  }
+
+  public static void main(String[] args) {
+    Path workingDirectory = Paths.get("").toAbsolutePath();
+    PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+    InvocationContext context = new InvocationContext(workingDirectory, System.getenv(), System.in, discard,
+        discard);
+
+    App app = new App();
+    app.run(new String[]{"--help"}, context);
+    app.run(new String[]{"-i", args[0], "-o", args[1]}, context);
+    app.run(new String[]{"-i", args[1], "-o", args[1]}, context);
+    app.run(new String[]{"--unknown"}, context);
+  }
+}
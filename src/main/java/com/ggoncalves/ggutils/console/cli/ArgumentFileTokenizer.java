@@ -0,0 +1,205 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the arguments of an {@code @file} one at a time, so the file is never held in memory. The rules
+ * are those of {@code javac} argument files:
+ * <ul>
+ *   <li>arguments are separated by whitespace, including line breaks;</li>
+ *   <li>{@code '...'} quotes everything up to the next single quote;</li>
+ *   <li>{@code "..."} quotes too, but a backslash escapes the next character, with {@code \n},
+ *   {@code \t} and {@code \r} standing for the control characters;</li>
+ *   <li>outside quotes a backslash escapes the next character, e.g. {@code \ } for a space, and a
+ *   backslash at the end of a line joins it with the next;</li>
+ *   <li>quoted and unquoted parts next to each other make up one argument, and {@code ""} is an empty
+ *   argument;</li>
+ *   <li>a {@code #} where an argument would start comments out the rest of the line.</li>
+ * </ul>
+ * Backslashes in Windows paths therefore have to be doubled, or the path single-quoted.
+ *
+ * <p>I/O errors are thrown as {@link UncheckedIOException} and an unterminated quote as
+ * {@link IllegalArgumentException}.
+ */
+public final class ArgumentFileTokenizer implements Iterator<String>, Closeable {
+
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private final String source;
+  private final StringBuilder token = new StringBuilder();
+  private String next;
+  private int line = 1;
+
+  /**
+   * @param source names the input in error messages, e.g. the file name
+   */
+  public ArgumentFileTokenizer(Reader reader, String source) {
+    this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    this.source = source;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = readToken();
+    }
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String result = next;
+    next = null;
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private String readToken() {
+    int c = skipWhitespaceAndComments();
+    boolean quoted = false;
+    token.setLength(0);
+    while (c != EOF) {
+      if (Character.isWhitespace(c)) {
+        if (quoted || token.length() > 0) {
+          break;
+        }
+        // Only line continuations so far
+        c = skipWhitespaceAndComments();
+        continue;
+      }
+      switch (c) {
+        case '\'' -> {
+          readSingleQuoted();
+          quoted = true;
+        }
+        case '"' -> {
+          readDoubleQuoted();
+          quoted = true;
+        }
+        case '\\' -> {
+          int escaped = read();
+          if (escaped == '\n' || escaped == '\r') {
+            // Line continuation: the indentation of the next line is not part of the argument
+            if (escaped == '\r') {
+              skipLineFeed();
+            }
+            c = skipIndentation();
+            continue;
+          }
+          if (escaped != EOF) {
+            token.append((char) escaped);
+          }
+        }
+        default -> token.append((char) c);
+      }
+      c = read();
+    }
+    return quoted || token.length() > 0 ? token.toString() : null;
+  }
+
+  /**
+   * @return the first character after the spaces and tabs at the start of a line
+   */
+  private int skipIndentation() {
+    int c = read();
+    while (c == ' ' || c == '\t') {
+      c = read();
+    }
+    return c;
+  }
+
+  private int skipWhitespaceAndComments() {
+    int c = read();
+    while (c != EOF) {
+      if (c == '#') {
+        while (c != EOF && c != '\n') {
+          c = read();
+        }
+      }
+      else if (!Character.isWhitespace(c)) {
+        return c;
+      }
+      c = read();
+    }
+    return EOF;
+  }
+
+  private void readSingleQuoted() {
+    int start = line;
+    int c = read();
+    while (c != '\'') {
+      if (c == EOF) {
+        throw unterminated('\'', start);
+      }
+      token.append((char) c);
+      c = read();
+    }
+  }
+
+  private void readDoubleQuoted() {
+    int start = line;
+    int c = read();
+    while (c != '"') {
+      if (c == EOF) {
+        throw unterminated('"', start);
+      }
+      if (c == '\\') {
+        c = read();
+        switch (c) {
+          case EOF -> throw unterminated('"', start);
+          case 'n' -> c = '\n';
+          case 't' -> c = '\t';
+          case 'r' -> c = '\r';
+          default -> {
+            // The character itself
+          }
+        }
+      }
+      token.append((char) c);
+      c = read();
+    }
+  }
+
+  private void skipLineFeed() {
+    try {
+      reader.mark(1);
+      if (reader.read() != '\n') {
+        reader.reset();
+      }
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private int read() {
+    try {
+      int c = reader.read();
+      if (c == '\n') {
+        line++;
+      }
+      return c;
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Cannot read " + source, e);
+    }
+  }
+
+  private IllegalArgumentException unterminated(char quote, int startLine) {
+    return new IllegalArgumentException("Unterminated " + quote + " quote in " + source + " at line " + startLine);
+  }
+}
@@ -0,0 +1,127 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The arguments of a command line with every {@code @file} replaced, lazily, by the arguments read from
+ * the file (see {@link ArgumentFileTokenizer}). Arguments read from a file are not expanded again, and a
+ * leading {@code @@} stands for a literal {@code @}. Without a directory to resolve files against, the
+ * arguments are taken as they are.
+ */
+final class ArgumentSource implements Iterator<String>, Closeable {
+
+  private final String[] args;
+  private final Path directory;
+  private int index;
+  private ArgumentFileTokenizer file;
+  private String next;
+
+  /**
+   * @param directory the directory relative {@code @file} names are resolved against, on the file system
+   *                  to read them from, or {@code null} to leave {@code @} arguments alone
+   */
+  ArgumentSource(String[] args, Path directory) {
+    this.args = args;
+    this.directory = directory;
+  }
+
+  static boolean hasArgumentFiles(String[] args) {
+    for (String arg : args) {
+      if (arg.length() > 1 && arg.charAt(0) == '@') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Reads all arguments into an array, for parsers that need them all at once.
+   */
+  static String[] expand(String[] args, Path directory) {
+    List<String> expanded = new ArrayList<>(args.length);
+    try (ArgumentSource source = new ArgumentSource(args, directory)) {
+      source.forEachRemaining(expanded::add);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return expanded.toArray(String[]::new);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null) {
+      if (file != null) {
+        if (file.hasNext()) {
+          next = file.next();
+          break;
+        }
+        closeFile();
+      }
+      if (index == args.length) {
+        return false;
+      }
+
+      String arg = args[index++];
+      if (directory == null) {
+        next = arg;
+      }
+      else if (arg.startsWith("@@")) {
+        next = arg.substring(1);
+      }
+      else if (arg.length() > 1 && arg.charAt(0) == '@') {
+        file = open(arg.substring(1));
+      }
+      else {
+        next = arg;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String result = next;
+    next = null;
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (file != null) {
+      file.close();
+      file = null;
+    }
+  }
+
+  private ArgumentFileTokenizer open(String fileName) {
+    try {
+      return new ArgumentFileTokenizer(Files.newBufferedReader(directory.resolve(fileName), StandardCharsets.UTF_8),
+          fileName);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Cannot read the argument file " + fileName, e);
+    }
+  }
+
+  private void closeFile() {
+    try {
+      close();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
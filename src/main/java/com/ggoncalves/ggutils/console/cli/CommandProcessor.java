@@ -1,41 +1,358 @@
 package com.ggoncalves.ggutils.console.cli;
 
-import com.ggoncalves.ggutils.console.exception.FilePermissionException;
+import com.ggoncalves.ggutils.console.content.ContentFormat;
+import com.ggoncalves.ggutils.console.content.ContentProbe;
+import com.ggoncalves.ggutils.console.content.ContentProbeResult;
 import com.ggoncalves.ggutils.console.exception.InvalidFileException;
 import com.ggoncalves.ggutils.console.validation.FilePathValidator;
 import com.ggoncalves.ggutils.console.validation.ValidationResult;
+import com.ggoncalves.ggutils.console.validation.ValidationResultBatch;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.cli.CommandLine;
-import org.apache.commons.cli.CommandLineParser;
-import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.MissingArgumentException;
+import org.apache.commons.cli.MissingOptionException;
+import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class CommandProcessor {
+
+  /**
+   * File type used in the messages of {@link #validateOutputDir} and {@link #checkOutputDir}.
+   */
+  public static final String OUTPUT_FILE_TYPE = "output";
+
   private final FilePathValidator filePathValidator;
+  private final FileSystem fileSystem;
   private final Options options;
+  private final GlobExpander globExpander;
+  private final ContentProbe contentProbe = new ContentProbe();
+  private final Set<String> streamedOptionKeys = new HashSet<>();
+  private final List<TypedOptions.Declaration> typedOptionDeclarations = new ArrayList<>();
+  private volatile CompiledOptions compiledOptions;
+  private volatile CompiledOptions compiledRegularOptions;
+  private volatile TypedOptions compiledTypedOptions;
+  private volatile boolean argumentFilesEnabled;
 
+  /**
+   * File checks run on the file system of {@code filePathValidator}.
+   */
   public CommandProcessor(FilePathValidator filePathValidator) {
+    this(filePathValidator, filePathValidator.getFileSystem());
+  }
+
+  public CommandProcessor(FilePathValidator filePathValidator, FileSystem fileSystem) {
     this.filePathValidator = filePathValidator;
+    this.fileSystem = fileSystem;
+    this.globExpander = new GlobExpander(fileSystem);
     this.options = new Options();
   }
 
   public CommandProcessor addRequiredOption(String opt, String longOpt, boolean hasArg, String description) {
     options.addRequiredOption(opt, longOpt, hasArg, description);
+    optionsChanged();
     return this;
   }
 
   public CommandProcessor addOption(String opt, String longOpt, boolean hasArg, String description) {
     options.addOption(opt, longOpt, hasArg, description);
+    optionsChanged();
+    return this;
+  }
+
+  /**
+   * Adds an option taking one or more glob patterns, to be expanded with {@link #getInputFiles}.
+   */
+  public CommandProcessor addGlobOption(String opt, String longOpt, boolean required, String description) {
+    options.addOption(Option.builder(opt)
+        .longOpt(longOpt)
+        .hasArgs()
+        .argName("glob")
+        .required(required)
+        .desc(description)
+        .build());
+    optionsChanged();
+    return this;
+  }
+
+  /**
+   * Adds an option taking any number of values, e.g. hundreds of thousands of paths from an
+   * {@code @file}. {@link #parseArgsStreaming} only counts its values, which are then read lazily with
+   * {@link StreamedCommandLine#getValues}; {@link #parseArgs} collects them as usual.
+   */
+  public CommandProcessor addStreamedOption(String opt, String longOpt, boolean required, String description) {
+    Option option = Option.builder(opt)
+        .longOpt(longOpt)
+        .hasArgs()
+        .required(required)
+        .desc(description)
+        .build();
+    options.addOption(option);
+    streamedOptionKeys.add(StreamedCommandLine.keyOf(option));
+    optionsChanged();
+    return this;
+  }
+
+  /**
+   * Adds an option taking one value of {@code type}, read with the getters of {@link TypedCommandLine}
+   * after {@link #parseTypedArgs}.
+   */
+  public CommandProcessor addTypedOption(String opt, String longOpt, OptionType type, boolean required,
+                                         String description) {
+    return addTypedOption(opt, longOpt, type, required, null, description);
+  }
+
+  /**
+   * Adds an optional typed option that takes {@code defaultValue} when it is not given.
+   *
+   * @throws IllegalArgumentException if {@code defaultValue} is not valid for {@code type}
+   */
+  public CommandProcessor addTypedOption(String opt, String longOpt, OptionType type, String defaultValue,
+                                         String description) {
+    return addTypedOption(opt, longOpt, type, false, defaultValue,
+        description + " (default: " + defaultValue + ")");
+  }
+
+  private CommandProcessor addTypedOption(String opt, String longOpt, OptionType type, boolean required,
+                                          String defaultValue, String description) {
+    Option option = Option.builder(opt)
+        .longOpt(longOpt)
+        .hasArg()
+        .argName(type.getArgName())
+        .required(required)
+        .desc(description)
+        .build();
+    TypedOptions.Declaration declaration = new TypedOptions.Declaration(option, type, defaultValue);
+    // Fails fast on an invalid default value
+    new TypedOptions(fileSystem, List.of(declaration));
+
+    options.addOption(option);
+    typedOptionDeclarations.add(declaration);
+    optionsChanged();
+    return this;
+  }
+
+  /**
+   * Whether the parse methods replace every {@code @file} argument with the arguments read from the file
+   * (see {@link ArgumentFileTokenizer}), {@code @@} standing for a literal {@code @}. Off by default, so
+   * that values such as {@code @alice} are taken as they are.
+   */
+  public CommandProcessor setArgumentFilesEnabled(boolean argumentFilesEnabled) {
+    this.argumentFilesEnabled = argumentFilesEnabled;
     return this;
   }
 
+  public boolean isArgumentFilesEnabled() {
+    return argumentFilesEnabled;
+  }
+
   public CommandLine parseArgs(String[] args) throws ParseException {
-    CommandLineParser parser = new DefaultParser();
-    return parser.parse(options, args);
+    return parseArgs(args, null);
+  }
+
+  /**
+   * Same as {@link #parseArgs(String[])}, resolving relative {@code @file} names against
+   * {@code workingDirectory}, e.g. the client's in daemon mode, rather than the working directory of this
+   * process. Argument files are read from the file system of this processor.
+   */
+  public CommandLine parseArgs(String[] args, Path workingDirectory) throws ParseException {
+    if (!argumentFilesEnabled || !ArgumentSource.hasArgumentFiles(args)) {
+      return compile().parse(args);
+    }
+    try {
+      return compile().parse(ArgumentSource.expand(args, argumentFileDirectory(workingDirectory)));
+    }
+    catch (UncheckedIOException | IllegalArgumentException e) {
+      throw new ParseException(e.getMessage());
+    }
+  }
+
+  public StreamedCommandLine parseArgsStreaming(String[] args) throws ParseException {
+    return parseArgsStreaming(args, null);
+  }
+
+  /**
+   * Same as {@link #parseArgs(String[], Path)}, reading the arguments and {@code @file}s as a stream: the
+   * values of streamed options are counted and skipped, and only the other arguments are kept for the
+   * parser.
+   */
+  public StreamedCommandLine parseArgsStreaming(String[] args, Path workingDirectory) throws ParseException {
+    CompiledOptions compiled = compile();
+    Path directory = argumentFileDirectory(workingDirectory);
+    List<String> regularArgs = new ArrayList<>();
+    Map<String, Long> valueCounts = new HashMap<>();
+    StreamedArgumentReader reader = new StreamedArgumentReader(compiled, streamedOptionKeys);
+    ValueCounter counter = new ValueCounter(regularArgs, valueCounts);
+
+    try (ArgumentSource source = new ArgumentSource(args, directory)) {
+      while (source.hasNext()) {
+        reader.read(source.next(), counter);
+      }
+      counter.option(null);
+    }
+    catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+      throw new ParseException(e.getMessage());
+    }
+
+    if (counter.withoutValue != null) {
+      throw new MissingArgumentException(compiled.getOption(counter.withoutValue));
+    }
+    List<String> missing = new ArrayList<>();
+    for (String key : streamedOptionKeys) {
+      if (compiled.getOption(key).isRequired() && !valueCounts.containsKey(key)) {
+        missing.add(key);
+      }
+    }
+    if (!missing.isEmpty()) {
+      throw new MissingOptionException(missing);
+    }
+
+    CommandLine commandLine = compileRegular().parse(regularArgs.toArray(String[]::new));
+    return new StreamedCommandLine(commandLine, args, directory, compiled, Set.copyOf(streamedOptionKeys),
+        valueCounts);
+  }
+
+  /**
+   * Same as {@link #parseTypedArgs(String[])}, resolving {@code @file}s as {@link #parseArgs(String[], Path)}.
+   */
+  public TypedCommandLine parseTypedArgs(String[] args, Path workingDirectory) throws ParseException {
+    CommandLine commandLine = parseArgs(args, workingDirectory);
+    try {
+      return TypedCommandLine.convert(commandLine, compileTyped());
+    }
+    catch (IllegalArgumentException e) {
+      throw new ParseException(e.getMessage());
+    }
+  }
+
+  /**
+   * The directory to resolve {@code @file}s against, or {@code null} when they are not expanded.
+   */
+  private Path argumentFileDirectory(Path workingDirectory) {
+    if (!argumentFilesEnabled) {
+      return null;
+    }
+    return workingDirectory == null ? fileSystem.getPath("") : fileSystem.getPath(workingDirectory.toString());
+  }
+
+  /**
+   * Counts the values of each streamed option and keeps the other arguments.
+   */
+  private static final class ValueCounter implements StreamedArgumentReader.Sink {
+
+    private final List<String> regularArgs;
+    private final Map<String, Long> valueCounts;
+    private String occurrence;
+    private long occurrenceValues;
+    private String withoutValue;
+
+    private ValueCounter(List<String> regularArgs, Map<String, Long> valueCounts) {
+      this.regularArgs = regularArgs;
+      this.valueCounts = valueCounts;
+    }
+
+    /**
+     * Also called with {@code null} at the end, to check the last occurrence.
+     */
+    @Override
+    public void option(String key) {
+      if (occurrence != null && occurrenceValues == 0 && withoutValue == null) {
+        withoutValue = occurrence;
+      }
+      occurrence = key;
+      occurrenceValues = 0;
+      if (key != null) {
+        valueCounts.putIfAbsent(key, 0L);
+      }
+    }
+
+    @Override
+    public void value(String key, String value) {
+      occurrenceValues++;
+      valueCounts.merge(key, 1L, Long::sum);
+    }
+
+    @Override
+    public void regular(String token) {
+      regularArgs.add(token);
+    }
+  }
+
+  /**
+   * Same as {@link #parseArgs}, then converts the values of the typed options once, so that they can be
+   * read without parsing or allocating.
+   *
+   * @throws ParseException also if a value is not valid for the type of its option
+   */
+  public TypedCommandLine parseTypedArgs(String[] args) throws ParseException {
+    return parseTypedArgs(args, null);
+  }
+
+  /**
+   * Freezes the options added so far. The result is cached until another option is added, and can be
+   * shared with other threads to parse concurrently.
+   */
+  public CompiledOptions compile() {
+    CompiledOptions compiled = compiledOptions;
+    if (compiled == null) {
+      compiled = CompiledOptions.compile(options);
+      compiledOptions = compiled;
+    }
+    return compiled;
+  }
+
+  /**
+   * The options without the streamed ones, for the arguments left by {@link #parseArgsStreaming}.
+   */
+  private CompiledOptions compileRegular() {
+    CompiledOptions compiled = compiledRegularOptions;
+    if (compiled == null) {
+      Options regular = new Options();
+      for (Option option : options.getOptions()) {
+        if (!streamedOptionKeys.contains(StreamedCommandLine.keyOf(option))) {
+          regular.addOption(option);
+        }
+      }
+      compiled = CompiledOptions.compile(regular);
+      compiledRegularOptions = compiled;
+    }
+    return compiled;
+  }
+
+  private TypedOptions compileTyped() {
+    TypedOptions compiled = compiledTypedOptions;
+    if (compiled == null) {
+      compiled = new TypedOptions(fileSystem, List.copyOf(typedOptionDeclarations));
+      compiledTypedOptions = compiled;
+    }
+    return compiled;
+  }
+
+  private void optionsChanged() {
+    compiledOptions = null;
+    compiledRegularOptions = null;
+    compiledTypedOptions = null;
   }
 
   public void printHelp(String cmdLineSyntax) {
@@ -43,35 +360,143 @@ public class CommandProcessor {
     formatter.printHelp(cmdLineSyntax, options, true);
   }
 
+  /**
+   * Prints the help to {@code out} instead of {@code System.out}, e.g. the client's output in daemon mode.
+   */
+  public void printHelp(String cmdLineSyntax, PrintStream out) {
+    HelpFormatter formatter = new HelpFormatter();
+    PrintWriter writer = new PrintWriter(out);
+    formatter.printHelp(writer, formatter.getWidth(), cmdLineSyntax, null, options, formatter.getLeftPadding(),
+        formatter.getDescPadding(), null, true);
+    writer.flush();
+  }
+
   public void validateInputFile(String path, String fileType) throws InvalidFileException {
-    File file = createFile(path);
+    throwIfFailed(checkInputFile(path), fileType, path);
+  }
+
+  public void validateOutputDir(String path) throws InvalidFileException {
+    throwIfFailed(checkOutputDir(path), OUTPUT_FILE_TYPE, path);
+  }
+
+  /**
+   * Runs {@link #validateInputFile}, then probes the head of the file and rejects anything that is not
+   * ASCII or UTF-8 text, e.g. a gzip archive or a file with a UTF-16 byte order mark.
+   *
+   * @return the probe result, to check further properties such as the line terminator
+   */
+  public ContentProbeResult validateInputText(String path, String fileType) throws InvalidFileException {
+    validateInputFile(path, fileType);
 
-    if (!file.exists()) {
-      throw new InvalidFileException("The " + fileType + " file does not exist: " + path);
+    ContentProbeResult result;
+    try {
+      result = contentProbe.probe(createPath(path));
+    }
+    catch (IOException e) {
+      throw new InvalidFileException("Cannot probe the " + fileType + " file: " + path + " (" + e.getMessage() + ")");
     }
 
-    if (!file.isFile()) {
-      throw new InvalidFileException("The " + fileType + " path must be a file: " + path);
+    if (result.getFormat() != ContentFormat.EMPTY && !result.isText()) {
+      throw new InvalidFileException("The " + fileType + " file is not text (" + result.getFormat() + "): " + path);
+    }
+    Charset charset = result.getCharset();
+    if (result.isText() && charset != StandardCharsets.US_ASCII && charset != StandardCharsets.UTF_8) {
+      String encoding = charset != null ? charset.name() : "not valid UTF-8";
+      throw new InvalidFileException("The " + fileType + " file is not UTF-8 text (" + encoding + "): " + path);
     }
+    return result;
+  }
+
+  /**
+   * Same checks as {@link #validateInputFile}, returning the outcome instead of throwing. Use
+   * {@link FileCheckOutcome#format} to build the message only when it is needed.
+   */
+  public FileCheckOutcome checkInputFile(String path) {
+    Path file = createPath(path);
 
-    if (!file.canRead()) {
-      throw new FilePermissionException("Cannot read the " + fileType + " file (check permissions): " + path);
+    if (file == null || !Files.exists(file)) {
+      return FileCheckOutcome.FILE_NOT_FOUND;
     }
+
+    if (!Files.isRegularFile(file)) {
+      return FileCheckOutcome.NOT_A_FILE;
+    }
+
+    if (!Files.isReadable(file)) {
+      return FileCheckOutcome.FILE_NOT_READABLE;
+    }
+    return FileCheckOutcome.OK;
   }
 
-  public void validateOutputDir(String path) throws InvalidFileException {
-    File dir = createFile(path);
+  /**
+   * Same checks as {@link #validateOutputDir}, returning the outcome instead of throwing. Messages are
+   * formatted with the {@code output} file type.
+   */
+  public FileCheckOutcome checkOutputDir(String path) {
+    return checkOutputDir(createPath(path));
+  }
+
+  /**
+   * Checks of {@link #checkOutputDir(String)} on an already resolved path, {@code null} counting as
+   * missing.
+   */
+  public static FileCheckOutcome checkOutputDir(Path dir) {
+    if (dir == null || !Files.exists(dir)) {
+      return FileCheckOutcome.DIRECTORY_NOT_FOUND;
+    }
 
-    if (!dir.exists()) {
-      throw new InvalidFileException("The output directory does not exist: " + path);
+    if (!Files.isDirectory(dir)) {
+      return FileCheckOutcome.NOT_A_DIRECTORY;
     }
 
-    if (!dir.isDirectory()) {
-      throw new InvalidFileException("The output path must be a directory: " + path);
+    if (!Files.isWritable(dir)) {
+      return FileCheckOutcome.DIRECTORY_NOT_WRITABLE;
     }
+    return FileCheckOutcome.OK;
+  }
+
+  /**
+   * Expands the glob patterns given to {@code opt} (see {@link GlobExpander}) and validates every match
+   * as an input file in one batch, grouped by directory. A value without wildcards is taken literally,
+   * e.g. when the shell has already expanded it.
+   *
+   * @return the matches, without duplicates, sorted within each pattern; empty when the option is absent
+   * @throws InvalidFileException if a pattern matches nothing, or for the first match that is not a
+   *                              readable file
+   */
+  public List<String> getInputFiles(CommandLine commandLine, String opt, String fileType) throws InvalidFileException {
+    String[] patterns = commandLine.getOptionValues(opt);
+    return patterns == null ? List.of() : expandInputFiles(Arrays.asList(patterns), fileType);
+  }
 
-    if (!dir.canWrite()) {
-      throw new FilePermissionException("Cannot write to the output directory (check permissions): " + path);
+  /**
+   * Same as {@link #getInputFiles}, for patterns that do not come from an option.
+   */
+  public List<String> expandInputFiles(Collection<String> patterns, String fileType) throws InvalidFileException {
+    Set<String> matches = new LinkedHashSet<>();
+    for (String pattern : patterns) {
+      List<String> expanded = expandGlob(pattern);
+      if (expanded.isEmpty()) {
+        throw new InvalidFileException("No " + fileType + " file matches the pattern: " + pattern);
+      }
+      matches.addAll(expanded);
+    }
+
+    List<String> files = List.copyOf(matches);
+    ValidationResultBatch batch = filePathValidator.validateFilePathsByDirectory(files);
+    for (int index = 0; index < files.size(); index++) {
+      throwIfFailed(inputFileOutcome(batch, index), fileType, files.get(index));
+    }
+    return files;
+  }
+
+  private List<String> expandGlob(String pattern) throws InvalidFileException {
+    try {
+      return globExpander.expand(pattern);
+    }
+    catch (IllegalArgumentException e) {
+      // Malformed pattern or prefix (InvalidPathException, PatternSyntaxException)
+      throw new InvalidFileException("Invalid pattern: " + pattern + " (" + e.getMessage() + ")");
     }
   }
 
@@ -79,8 +504,39 @@ public class CommandProcessor {
     return filePathValidator.validateFilePath(path);
   }
 
+  private static FileCheckOutcome inputFileOutcome(ValidationResultBatch batch, int index) {
+    if (!batch.isValid(index) || !batch.isExists(index)) {
+      return FileCheckOutcome.FILE_NOT_FOUND;
+    }
+    if (!batch.isRegularFile(index)) {
+      // Same rule as checkInputFile: directories, FIFOs and devices are not input files
+      return FileCheckOutcome.NOT_A_FILE;
+    }
+    if (!batch.isReadable(index)) {
+      return FileCheckOutcome.FILE_NOT_READABLE;
+    }
+    return FileCheckOutcome.OK;
+  }
+
+  private static void throwIfFailed(FileCheckOutcome outcome, String fileType, String path) {
+    if (!outcome.isOk()) {
+      throw outcome.toException(fileType, path, true);
+    }
+  }
+
+  /**
+   * Returns {@code null} for an empty or malformed path, which names nothing that exists.
+   */
   @VisibleForTesting
-  File createFile(String path) {
-    return new File(path);
+  Path createPath(String path) {
+    if (path.isEmpty()) {
+      return null;
+    }
+    try {
+      return fileSystem.getPath(path);
+    }
+    catch (InvalidPathException e) {
+      return null;
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * A frozen copy of a set of options, including their groups, that can be shared between threads and
+ * parsed against concurrently. Each parse gets a new {@link DefaultParser}: it is a few fields, and
+ * unlike a cached one it does not keep the last command line reachable once the call returns. As the
+ * parser records the selected option in the groups it is given, a schema with groups also gives each
+ * parse copies of its groups.
+ */
+public final class CompiledOptions {
+
+  private final Options options;
+  private final List<OptionGroup> groups;
+  private final List<Option> ungrouped;
+  private final Map<String, Option> optionsByShortName;
+  private final Map<String, Option> optionsByLongName;
+  private final List<String> requiredOptions;
+
+  private CompiledOptions(Options options, List<OptionGroup> groups, List<Option> ungrouped,
+                          Map<String, Option> optionsByShortName, Map<String, Option> optionsByLongName,
+                          List<String> requiredOptions) {
+    this.options = options;
+    this.groups = groups;
+    this.ungrouped = ungrouped;
+    this.optionsByShortName = optionsByShortName;
+    this.optionsByLongName = optionsByLongName;
+    this.requiredOptions = requiredOptions;
+  }
+
+  /**
+   * Copies {@code source}; later changes to it are not seen by the compiled options.
+   */
+  public static CompiledOptions compile(Options source) {
+    Options copy = new Options();
+    Map<String, Option> byShortName = new HashMap<>();
+    Map<String, Option> byLongName = new HashMap<>();
+
+    Set<OptionGroup> sourceGroups = new LinkedHashSet<>();
+    for (Option option : source.getOptions()) {
+      Option frozen = (Option) option.clone();
+      if (frozen.getOpt() != null) {
+        byShortName.put(frozen.getOpt(), frozen);
+      }
+      if (frozen.getLongOpt() != null) {
+        byLongName.put(frozen.getLongOpt(), frozen);
+      }
+      OptionGroup group = source.getOptionGroup(option);
+      if (group != null) {
+        sourceGroups.add(group);
+      }
+    }
+
+    // Groups first, as adding a group makes its options optional: the group is required instead
+    List<OptionGroup> groups = new ArrayList<>();
+    for (OptionGroup group : sourceGroups) {
+      OptionGroup frozenGroup = copyOf(group, option -> lookUp(option, byShortName, byLongName));
+      groups.add(frozenGroup);
+      copy.addOptionGroup(frozenGroup);
+    }
+    List<Option> ungrouped = new ArrayList<>();
+    for (Option option : source.getOptions()) {
+      Option frozen = lookUp(option, byShortName, byLongName);
+      if (copy.getOptionGroup(frozen) == null) {
+        ungrouped.add(frozen);
+        copy.addOption(frozen);
+      }
+    }
+
+    List<String> required = new ArrayList<>();
+    for (Object key : copy.getRequiredOptions()) {
+      if (key instanceof String name) {
+        required.add(name);
+      }
+    }
+    return new CompiledOptions(copy, List.copyOf(groups), List.copyOf(ungrouped), Map.copyOf(byShortName),
+        Map.copyOf(byLongName), List.copyOf(required));
+  }
+
+  private static OptionGroup copyOf(OptionGroup group, UnaryOperator<Option> optionCopy) {
+    OptionGroup copy = new OptionGroup();
+    for (Option option : group.getOptions()) {
+      copy.addOption(optionCopy.apply(option));
+    }
+    copy.setRequired(group.isRequired());
+    return copy;
+  }
+
+  private static Option lookUp(Option option, Map<String, Option> byShortName, Map<String, Option> byLongName) {
+    return option.getOpt() != null ? byShortName.get(option.getOpt()) : byLongName.get(option.getLongOpt());
+  }
+
+  public CommandLine parse(String[] args) throws ParseException {
+    return new DefaultParser().parse(groups.isEmpty() ? options : optionsForParse(), args);
+  }
+
+  /**
+   * The options with groups of their own. Adding a group marks its options as not required, so they are
+   * copied too rather than written to while other threads read them.
+   */
+  private Options optionsForParse() {
+    Options copy = new Options();
+    for (OptionGroup group : groups) {
+      copy.addOptionGroup(copyOf(group, option -> (Option) option.clone()));
+    }
+    for (Option option : ungrouped) {
+      copy.addOption(option);
+    }
+    return copy;
+  }
+
+  /**
+   * Looks an option up by short or long name, without the leading dashes. Returns {@code null} when
+   * there is no such option. The returned option is shared and must not be modified.
+   */
+  public Option getOption(String name) {
+    Option option = optionsByShortName.get(name);
+    return option != null ? option : optionsByLongName.get(name);
+  }
+
+  public boolean hasOption(String name) {
+    return getOption(name) != null;
+  }
+
+  public Option getShortOption(String opt) {
+    return optionsByShortName.get(opt);
+  }
+
+  public Option getLongOption(String longOpt) {
+    return optionsByLongName.get(longOpt);
+  }
+
+  /**
+   * The long options that {@code name}, with or without leading dashes, is a prefix of, or only
+   * {@code name} when it is a long option, as matched by {@link DefaultParser}.
+   */
+  public List<String> getMatchingLongOptions(String name) {
+    return options.getMatchingOptions(name);
+  }
+
+  /**
+   * The keys of the required options, not counting the required groups.
+   */
+  public List<String> getRequiredOptions() {
+    return requiredOptions;
+  }
+
+  public int size() {
+    return options.getOptions().size();
+  }
+}
@@ -0,0 +1,56 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import com.ggoncalves.ggutils.console.exception.FilePermissionException;
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+
+/**
+ * Result of {@link CommandProcessor#checkInputFile} and {@link CommandProcessor#checkOutputDir}. The
+ * message is only formatted when asked for.
+ */
+public enum FileCheckOutcome {
+  OK(null, null),
+  FILE_NOT_FOUND("The ", " file does not exist: "),
+  NOT_A_FILE("The ", " path must be a file: "),
+  FILE_NOT_READABLE("Cannot read the ", " file (check permissions): "),
+  DIRECTORY_NOT_FOUND("The ", " directory does not exist: "),
+  NOT_A_DIRECTORY("The ", " path must be a directory: "),
+  DIRECTORY_NOT_WRITABLE("Cannot write to the ", " directory (check permissions): ");
+
+  private final String prefix;
+  private final String suffix;
+
+  FileCheckOutcome(String prefix, String suffix) {
+    this.prefix = prefix;
+    this.suffix = suffix;
+  }
+
+  public boolean isOk() {
+    return this == OK;
+  }
+
+  public boolean isPermissionError() {
+    return this == FILE_NOT_READABLE || this == DIRECTORY_NOT_WRITABLE;
+  }
+
+  /**
+   * @param fileType the kind of file checked, e.g. {@code input}; {@code output} for directories
+   * @return the message the throwing validation would use, or {@code null} for {@code OK}
+   */
+  public String format(String fileType, String path) {
+    return isOk() ? null : prefix + fileType + suffix + path;
+  }
+
+  /**
+   * The exception the throwing validation would raise: {@link FilePermissionException} for permission
+   * errors, {@link InvalidFileException} otherwise. Returns {@code null} for {@code OK}.
+   */
+  public RuntimeException toException(String fileType, String path, boolean writableStackTrace) {
+    if (isOk()) {
+      return null;
+    }
+    String message = format(fileType, path);
+    return isPermissionError()
+        ? new FilePermissionException(message, writableStackTrace)
+        : new InvalidFileException(message, writableStackTrace);
+  }
+}
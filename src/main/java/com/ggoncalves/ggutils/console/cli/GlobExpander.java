@@ -0,0 +1,221 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import com.ggoncalves.ggutils.console.concurrent.BlockingIoPools;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+
+/**
+ * Expands shell-style glob patterns such as {@code /data/2026-*}{@code /part-*.csv} into the matching
+ * paths, sorted. The walk starts at the literal prefix of the pattern ({@code /data}), literal segments
+ * are resolved without listing their parent, and each directory that still has segments to match is
+ * scanned as a separate fork/join task.
+ *
+ * <p>Segments use the {@link java.nio.file.FileSystem#getPathMatcher glob} syntax of the file system. As in
+ * a shell, names starting with a dot are only matched by segments that start with a dot, and a
+ * {@code **} segment matches any number of directories, without following symbolic links. A pattern
+ * without wildcards is returned as is, whether it exists or not.
+ *
+ * <p>Names such as {@code report[1].csv} are both literal names and patterns: an existing path or
+ * directory entry with the name of a segment is taken literally, and the segment is only matched as a
+ * pattern when there is none.
+ *
+ * <p>The tasks block on the file system, so by default they run on a pool of their own rather than the
+ * common pool.
+ */
+public final class GlobExpander {
+
+  private static final String RECURSIVE = "**";
+
+  private final FileSystem fileSystem;
+  private final ForkJoinPool forkJoinPool;
+
+  public GlobExpander() {
+    this(FileSystems.getDefault());
+  }
+
+  public GlobExpander(FileSystem fileSystem) {
+    this(fileSystem, BlockingIoPools.shared("glob-expander"));
+  }
+
+  public GlobExpander(FileSystem fileSystem, ForkJoinPool forkJoinPool) {
+    this.fileSystem = fileSystem;
+    this.forkJoinPool = forkJoinPool;
+  }
+
+  /**
+   * Whether {@code pattern} contains any of the glob wildcards {@code * ? [ {}.
+   */
+  public static boolean isGlob(String pattern) {
+    return firstWildcard(pattern) >= 0;
+  }
+
+  /**
+   * @return the matching paths in lexicographic order, possibly none; unreadable directories are skipped
+   * @throws java.nio.file.InvalidPathException if the literal prefix is not a valid path
+   */
+  public List<String> expand(String pattern) {
+    int wildcard = firstWildcard(pattern);
+    if (wildcard < 0 || existingLiteral(fileSystem.getPath(""), pattern) != null) {
+      return List.of(pattern);
+    }
+
+    String separator = fileSystem.getSeparator();
+    int prefixEnd = pattern.lastIndexOf(separator, wildcard);
+    String prefix = prefixEnd < 0 ? "" : pattern.substring(0, prefixEnd == 0 ? separator.length() : prefixEnd);
+
+    List<Segment> segments = new ArrayList<>();
+    for (String segment : pattern.substring(prefixEnd + separator.length()).split(Pattern.quote(separator))) {
+      if (!segment.isEmpty()) {
+        segments.add(new Segment(segment, isGlob(segment) ? fileSystem.getPathMatcher("glob:" + segment) : null));
+      }
+    }
+    if (segments.get(segments.size() - 1).isRecursive()) {
+      // As with a shell, a trailing ** lists everything below
+      segments.add(new Segment("*", fileSystem.getPathMatcher("glob:*")));
+    }
+
+    Path base = fileSystem.getPath(prefix);
+    if (!prefix.isEmpty() && !Files.isDirectory(base)) {
+      return List.of();
+    }
+
+    TreeSet<String> matches = new TreeSet<>();
+    for (Path match : forkJoinPool.invoke(new MatchTask(base, segments, 0))) {
+      matches.add(match.toString());
+    }
+    return List.copyOf(matches);
+  }
+
+  /**
+   * {@code name} taken literally and resolved against {@code directory}, if that exists (a last symbolic
+   * link is not followed), otherwise {@code null}. Where wildcards cannot be part of a name, it never exists.
+   */
+  private static Path existingLiteral(Path directory, String name) {
+    try {
+      Path literal = directory.resolve(name);
+      return Files.exists(literal, LinkOption.NOFOLLOW_LINKS) ? literal : null;
+    }
+    catch (InvalidPathException e) {
+      return null;
+    }
+  }
+
+  private static int firstWildcard(String pattern) {
+    for (int i = 0; i < pattern.length(); i++) {
+      switch (pattern.charAt(i)) {
+        case '*', '?', '[', '{':
+          return i;
+        default:
+          break;
+      }
+    }
+    return -1;
+  }
+
+  private record Segment(String text, PathMatcher matcher) {
+
+    boolean isLiteral() {
+      return matcher == null;
+    }
+
+    boolean isRecursive() {
+      return text.equals(RECURSIVE);
+    }
+
+    boolean matches(Path name) {
+      String fileName = name.toString();
+      return (!fileName.startsWith(".") || text.startsWith(".")) && matcher.matches(name);
+    }
+  }
+
+  /**
+   * Matches {@code segments[index..]} below {@code directory}, which exists.
+   */
+  private static final class MatchTask extends RecursiveTask<List<Path>> {
+
+    private final Path directory;
+    private final List<Segment> segments;
+    private final int index;
+
+    private MatchTask(Path directory, List<Segment> segments, int index) {
+      this.directory = directory;
+      this.segments = segments;
+      this.index = index;
+    }
+
+    @Override
+    protected List<Path> compute() {
+      Segment segment = segments.get(index);
+      boolean last = index == segments.size() - 1;
+
+      if (segment.isLiteral()) {
+        return matchLiteral(directory.resolve(segment.text()), last);
+      }
+      Path literal = segment.isRecursive() ? null : existingLiteral(directory, segment.text());
+      if (literal != null) {
+        return matchLiteral(literal, last);
+      }
+
+      List<Path> matches = new ArrayList<>();
+      List<MatchTask> subtasks = new ArrayList<>();
+      if (segment.isRecursive()) {
+        // Zero directories: the next segment applies right here
+        subtasks.add(fork(new MatchTask(directory, segments, index + 1)));
+      }
+
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (Path entry : entries) {
+          Path name = entry.getFileName();
+          if (segment.isRecursive()) {
+            if (!name.toString().startsWith(".") && Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+              subtasks.add(fork(new MatchTask(entry, segments, index)));
+            }
+          }
+          else if (segment.matches(name)) {
+            if (last) {
+              matches.add(entry);
+            }
+            else if (Files.isDirectory(entry)) {
+              subtasks.add(fork(new MatchTask(entry, segments, index + 1)));
+            }
+          }
+        }
+      }
+      catch (IOException | DirectoryIteratorException e) {
+        // Not listable (permissions, removed while walking): nothing matches below it
+      }
+
+      for (int i = subtasks.size() - 1; i >= 0; i--) {
+        matches.addAll(subtasks.get(i).join());
+      }
+      return matches;
+    }
+
+    private List<Path> matchLiteral(Path child, boolean last) {
+      if (last) {
+        return Files.exists(child) ? List.of(child) : List.of();
+      }
+      return Files.isDirectory(child) ? new MatchTask(child, segments, index + 1).compute() : List.of();
+    }
+
+    private static MatchTask fork(MatchTask task) {
+      task.fork();
+      return task;
+    }
+  }
+}
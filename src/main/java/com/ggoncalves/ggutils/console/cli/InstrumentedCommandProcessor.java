@@ -0,0 +1,92 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import com.ggoncalves.ggutils.console.metrics.ConsoleMetrics;
+import com.ggoncalves.ggutils.console.metrics.OperationMetrics;
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * A {@link CommandProcessor} that records the latency of {@code parseArgs} (plain or streaming) and of the input file and
+ * output directory checks, whether they throw or not, per outcome: {@code ok}, {@code invalidFile}, {@code permission},
+ * {@code parseError} or {@code error}.
+ */
+public class InstrumentedCommandProcessor extends CommandProcessor {
+
+  public static final String PARSE_ARGS = "parseArgs";
+  public static final String VALIDATE_INPUT_FILE = "validateInputFile";
+  public static final String VALIDATE_OUTPUT_DIR = "validateOutputDir";
+
+  private final OperationMetrics parseArgsMetrics;
+  private final OperationMetrics inputFileMetrics;
+  private final OperationMetrics outputDirMetrics;
+
+  public InstrumentedCommandProcessor(FilePathValidator filePathValidator) {
+    this(filePathValidator, ConsoleMetrics.getDefault());
+  }
+
+  public InstrumentedCommandProcessor(FilePathValidator filePathValidator, ConsoleMetrics consoleMetrics) {
+    super(filePathValidator);
+    this.parseArgsMetrics = consoleMetrics.operation(PARSE_ARGS);
+    this.inputFileMetrics = consoleMetrics.operation(VALIDATE_INPUT_FILE);
+    this.outputDirMetrics = consoleMetrics.operation(VALIDATE_OUTPUT_DIR);
+  }
+
+  @Override
+  public CommandLine parseArgs(String[] args, Path workingDirectory) throws ParseException {
+    return recordParse(() -> super.parseArgs(args, workingDirectory));
+  }
+
+  @Override
+  public StreamedCommandLine parseArgsStreaming(String[] args, Path workingDirectory) throws ParseException {
+    return recordParse(() -> super.parseArgsStreaming(args, workingDirectory));
+  }
+
+  private <T> T recordParse(Parse<T> parse) throws ParseException {
+    long start = System.nanoTime();
+    String outcome = "error";
+    try {
+      T result = parse.run();
+      outcome = "ok";
+      return result;
+    }
+    catch (ParseException e) {
+      outcome = "parseError";
+      throw e;
+    }
+    finally {
+      parseArgsMetrics.recordSince(outcome, start);
+    }
+  }
+
+  @Override
+  public FileCheckOutcome checkInputFile(String path) {
+    return record(inputFileMetrics, () -> super.checkInputFile(path));
+  }
+
+  @Override
+  public FileCheckOutcome checkOutputDir(String path) {
+    return record(outputDirMetrics, () -> super.checkOutputDir(path));
+  }
+
+  private static FileCheckOutcome record(OperationMetrics metrics, Supplier<FileCheckOutcome> check) {
+    long start = System.nanoTime();
+    String outcome = "error";
+    try {
+      FileCheckOutcome result = check.get();
+      outcome = result.isOk() ? "ok" : result.isPermissionError() ? "permission" : "invalidFile";
+      return result;
+    }
+    finally {
+      metrics.recordSince(outcome, start);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Parse<T> {
+    T run() throws ParseException;
+  }
+}
@@ -0,0 +1,133 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * The type of an option added with {@link CommandProcessor#addTypedOption}, read back with the matching
+ * getter of {@link TypedCommandLine}.
+ */
+public enum OptionType {
+
+  /**
+   * A 32-bit integer, e.g. {@code 8} or {@code -1}.
+   */
+  INT("int", "an integer"),
+
+  /**
+   * A 64-bit integer.
+   */
+  LONG("long", "an integer"),
+
+  /**
+   * A number of bytes with an optional binary unit: {@code B}, {@code K}, {@code M}, {@code G} or
+   * {@code T}, case insensitive, optionally followed by {@code B} or {@code iB}. {@code 512M} and
+   * {@code 512MiB} are both 512 * 1024 * 1024 bytes.
+   */
+  BYTES("size", "a byte size such as 512M"),
+
+  /**
+   * A duration with a unit, {@code ns}, {@code us}, {@code ms}, {@code s}, {@code m}, {@code h} or
+   * {@code d}, e.g. {@code 30s}, or in ISO-8601 form, e.g. {@code PT1M30S}.
+   */
+  DURATION("duration", "a duration such as 30s"),
+
+  /**
+   * A path on the file system of the {@link CommandProcessor}. It only has to be well-formed.
+   */
+  PATH("path", "a path");
+
+  private final String argName;
+  private final String description;
+
+  OptionType(String argName, String description) {
+    this.argName = argName;
+    this.description = description;
+  }
+
+  /**
+   * The name of the value in the help, e.g. {@code size}.
+   */
+  public String getArgName() {
+    return argName;
+  }
+
+  String getDescription() {
+    return description;
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code value} is not a non-negative byte size, or does not fit in
+   *                                  a {@code long}
+   */
+  static long parseBytes(String value) {
+    int end = digitsEnd(value);
+    if (end == 0) {
+      throw new IllegalArgumentException("Invalid size: " + value);
+    }
+
+    int shift = switch (value.substring(end).toUpperCase(Locale.ROOT)) {
+      case "", "B" -> 0;
+      case "K", "KB", "KIB" -> 10;
+      case "M", "MB", "MIB" -> 20;
+      case "G", "GB", "GIB" -> 30;
+      case "T", "TB", "TIB" -> 40;
+      default -> throw new IllegalArgumentException("Unknown size unit: " + value.substring(end));
+    };
+    long amount = Long.parseLong(value, 0, end, 10);
+    if (amount > Long.MAX_VALUE >> shift) {
+      throw new IllegalArgumentException("Size too large: " + value);
+    }
+    return amount << shift;
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code value} is not a non-negative duration
+   */
+  static Duration parseDuration(String value) {
+    if (value.regionMatches(true, 0, "P", 0, 1)) {
+      try {
+        Duration duration = Duration.parse(value);
+        if (duration.isNegative()) {
+          throw new IllegalArgumentException("Negative duration: " + value);
+        }
+        return duration;
+      }
+      catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid duration: " + value, e);
+      }
+    }
+
+    int end = digitsEnd(value);
+    if (end == 0) {
+      throw new IllegalArgumentException("Invalid duration: " + value);
+    }
+    ChronoUnit unit = switch (value.substring(end).toLowerCase(Locale.ROOT)) {
+      case "ns" -> ChronoUnit.NANOS;
+      case "us" -> ChronoUnit.MICROS;
+      case "ms" -> ChronoUnit.MILLIS;
+      case "s" -> ChronoUnit.SECONDS;
+      case "m" -> ChronoUnit.MINUTES;
+      case "h" -> ChronoUnit.HOURS;
+      case "d" -> ChronoUnit.DAYS;
+      case "" -> throw new IllegalArgumentException("Missing duration unit: " + value);
+      default -> throw new IllegalArgumentException("Unknown duration unit: " + value.substring(end));
+    };
+    try {
+      return Duration.of(Long.parseLong(value, 0, end, 10), unit);
+    }
+    catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Duration too large: " + value, e);
+    }
+  }
+
+  private static int digitsEnd(String value) {
+    int end = 0;
+    while (end < value.length() && value.charAt(end) >= '0' && value.charAt(end) <= '9') {
+      end++;
+    }
+    return end;
+  }
+}
@@ -0,0 +1,261 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits a command line, one token at a time, between the values of streamed options and the other
+ * arguments. Options are recognized as {@link org.apache.commons.cli.DefaultParser} does: partial long
+ * names ({@code --inp}), long names with one dash ({@code -input}), {@code =} values, attached values
+ * ({@code -ifile}) and clusters of short options ({@code -vi}), so a command line means the same
+ * whether an option is streamed or not.
+ *
+ * <p>The other arguments are passed on as they are, to be parsed afterwards, except for a cluster ending
+ * with a streamed option, whose other options are passed on one by one: {@code -vi} becomes {@code -v}.
+ */
+final class StreamedArgumentReader {
+
+  /**
+   * Receives the tokens of the command line, sorted out.
+   */
+  interface Sink {
+
+    /**
+     * An occurrence of the streamed option {@code key}, followed by its values, if any.
+     */
+    void option(String key);
+
+    void value(String key, String value);
+
+    void regular(String token);
+  }
+
+  /**
+   * An option in a token, with the values attached to it in the same token.
+   */
+  private record Occurrence(Option option, List<String> values) {
+  }
+
+  private final CompiledOptions options;
+  private final Set<String> streamedKeys;
+  private Option current;
+  private int valuesLeft;
+  private boolean positionalOnly;
+
+  StreamedArgumentReader(CompiledOptions options, Set<String> streamedKeys) {
+    this.options = options;
+    this.streamedKeys = streamedKeys;
+  }
+
+  void read(String token, Sink sink) {
+    if (positionalOnly) {
+      sink.regular(token);
+      return;
+    }
+    if (current != null && isArgument(token)) {
+      if (isStreamed(current)) {
+        sink.value(StreamedCommandLine.keyOf(current), token);
+      }
+      else {
+        sink.regular(token);
+      }
+      if (--valuesLeft == 0) {
+        current = null;
+      }
+      return;
+    }
+
+    current = null;
+    if (token.equals("--")) {
+      positionalOnly = true;
+      sink.regular(token);
+      return;
+    }
+
+    List<Occurrence> occurrences = parse(token);
+    if (occurrences.isEmpty()) {
+      // A positional argument, or an unknown option left for the parser to report
+      sink.regular(token);
+      return;
+    }
+
+    Occurrence last = occurrences.get(occurrences.size() - 1);
+    if (isStreamed(last.option())) {
+      for (Occurrence occurrence : occurrences.subList(0, occurrences.size() - 1)) {
+        Option option = occurrence.option();
+        sink.regular(option.getOpt() != null ? "-" + option.getOpt() : "--" + option.getLongOpt());
+      }
+      String key = StreamedCommandLine.keyOf(last.option());
+      sink.option(key);
+      for (String value : last.values()) {
+        sink.value(key, value);
+      }
+    }
+    else {
+      sink.regular(token);
+    }
+
+    if (last.values().isEmpty() && last.option().hasArg()) {
+      current = last.option();
+      valuesLeft = current.getArgs() == Option.UNLIMITED_VALUES ? Integer.MAX_VALUE : current.getArgs();
+    }
+  }
+
+  private boolean isStreamed(Option option) {
+    return streamedKeys.contains(StreamedCommandLine.keyOf(option));
+  }
+
+  /**
+   * Whether {@code token} can be the value of an option: anything but an option, except negative numbers.
+   */
+  private boolean isArgument(String token) {
+    return !isOption(token) || isNegativeNumber(token);
+  }
+
+  private boolean isOption(String token) {
+    if (!token.startsWith("-") || token.length() == 1) {
+      return false;
+    }
+
+    int equals = token.indexOf('=');
+    String name = equals < 0 ? token : token.substring(0, equals);
+    if (!options.getMatchingLongOptions(name).isEmpty()) {
+      return true;
+    }
+    if (!token.startsWith("--") && longPrefix(token.substring(1)) != null) {
+      return true;
+    }
+
+    String shortName = name.substring(1);
+    return options.getShortOption(stripLeadingHyphens(shortName)) != null
+        || (!shortName.isEmpty() && options.getShortOption(stripLeadingHyphens(shortName.substring(0, 1))) != null);
+  }
+
+  private static boolean isNegativeNumber(String token) {
+    try {
+      Double.parseDouble(token);
+      return true;
+    }
+    catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the options in {@code token}, none when it is not an option or an unknown one
+   */
+  private List<Occurrence> parse(String token) {
+    if (!token.startsWith("-") || token.length() == 1) {
+      return List.of();
+    }
+    if (token.startsWith("--")) {
+      return parseLong(token);
+    }
+
+    String name = token.substring(1);
+    int equals = name.indexOf('=');
+    if (name.length() == 1) {
+      return occurrence(options.getShortOption(name));
+    }
+    if (equals < 0) {
+      if (options.getShortOption(name) != null) {
+        return occurrence(options.getShortOption(name));
+      }
+      if (!options.getMatchingLongOptions(name).isEmpty()) {
+        return parseLong(token);
+      }
+      String prefix = longPrefix(name);
+      if (prefix != null && options.getLongOption(prefix).hasArg()) {
+        return occurrence(options.getLongOption(prefix), name.substring(prefix.length()));
+      }
+      if (isJavaProperty(name)) {
+        return occurrence(options.getOption(name.substring(0, 1)), name.substring(1));
+      }
+      return parseCluster(name);
+    }
+
+    String value = name.substring(equals + 1);
+    name = name.substring(0, equals);
+    if (name.length() == 1) {
+      Option option = options.getOption(name);
+      return option != null && option.hasArg() ? occurrence(option, value) : List.of();
+    }
+    if (isJavaProperty(name)) {
+      return occurrence(options.getOption(name.substring(0, 1)), name.substring(1), value);
+    }
+    return parseLong(token);
+  }
+
+  /**
+   * {@code --name}, {@code --name=value}, or the same with one dash, where {@code name} may be the unique
+   * prefix of a long option.
+   */
+  private List<Occurrence> parseLong(String token) {
+    int equals = token.indexOf('=');
+    List<String> matching = options.getMatchingLongOptions(equals < 0 ? token : token.substring(0, equals));
+    if (matching.size() != 1) {
+      // Unknown or ambiguous
+      return List.of();
+    }
+
+    Option option = options.getLongOption(matching.get(0));
+    if (equals < 0) {
+      return occurrence(option);
+    }
+    return option.hasArg() ? occurrence(option, token.substring(equals + 1)) : List.of();
+  }
+
+  /**
+   * Short options one after the other; the first one taking a value takes the rest of the token.
+   */
+  private List<Occurrence> parseCluster(String names) {
+    List<Occurrence> occurrences = new ArrayList<>();
+    for (int i = 0; i < names.length(); i++) {
+      Option option = options.getOption(names.substring(i, i + 1));
+      if (option == null) {
+        return List.of();
+      }
+      if (option.hasArg() && i + 1 < names.length()) {
+        occurrences.add(new Occurrence(option, List.of(names.substring(i + 1))));
+        break;
+      }
+      occurrences.add(new Occurrence(option, List.of()));
+    }
+    return occurrences;
+  }
+
+  /**
+   * The longest long option that {@code name} starts with, without being all of it.
+   */
+  private String longPrefix(String name) {
+    for (int i = name.length() - 2; i > 1; i--) {
+      String prefix = name.substring(0, i);
+      if (options.getLongOption(prefix) != null) {
+        return prefix;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * {@code -Dkey=value}, for an option taking two or more values.
+   */
+  private boolean isJavaProperty(String name) {
+    Option option = options.getOption(name.substring(0, 1));
+    return option != null && (option.getArgs() >= 2 || option.getArgs() == Option.UNLIMITED_VALUES);
+  }
+
+  private static String stripLeadingHyphens(String name) {
+    if (name.startsWith("--")) {
+      return name.substring(2);
+    }
+    return name.startsWith("-") ? name.substring(1) : name;
+  }
+
+  private static List<Occurrence> occurrence(Option option, String... values) {
+    return option == null ? List.of() : List.of(new Occurrence(option, List.of(values)));
+  }
+}
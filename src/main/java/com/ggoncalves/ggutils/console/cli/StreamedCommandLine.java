@@ -0,0 +1,153 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The result of {@link CommandProcessor#parseArgsStreaming}. Options added with
+ * {@link CommandProcessor#addStreamedOption} are not in {@link #getCommandLine()}: their values are read
+ * again from the arguments and {@code @file}s each time {@link #getValues} is called, so memory stays
+ * flat however many there are.
+ */
+public final class StreamedCommandLine {
+
+  private final CommandLine commandLine;
+  private final String[] args;
+  private final Path argumentFileDirectory;
+  private final CompiledOptions options;
+  private final Set<String> streamedKeys;
+  private final Map<String, Long> valueCounts;
+
+  StreamedCommandLine(CommandLine commandLine, String[] args, Path argumentFileDirectory, CompiledOptions options,
+                      Set<String> streamedKeys, Map<String, Long> valueCounts) {
+    this.commandLine = commandLine;
+    this.args = args;
+    this.argumentFileDirectory = argumentFileDirectory;
+    this.options = options;
+    this.streamedKeys = streamedKeys;
+    this.valueCounts = valueCounts;
+  }
+
+  /**
+   * The options that are not streamed, and the remaining positional arguments.
+   */
+  public CommandLine getCommandLine() {
+    return commandLine;
+  }
+
+  public boolean hasOption(String name) {
+    Option option = options.getOption(name);
+    if (option != null && streamedKeys.contains(keyOf(option))) {
+      return valueCounts.containsKey(keyOf(option));
+    }
+    return commandLine.hasOption(name);
+  }
+
+  /**
+   * Number of values given to the streamed option {@code name}, counted while parsing.
+   */
+  public long getValueCount(String name) {
+    return valueCounts.getOrDefault(streamedKey(name), 0L);
+  }
+
+  /**
+   * The values of the streamed option {@code name}, in command line order, read lazily from the
+   * arguments and {@code @file}s. Close the stream to release an argument file that was not read to
+   * the end.
+   *
+   * @throws UncheckedIOException if an argument file can no longer be read
+   */
+  public Stream<String> getValues(String name) {
+    ArgumentSource source = new ArgumentSource(args, argumentFileDirectory);
+    Iterator<String> values = new ValueIterator(source, streamedKey(name));
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(() -> {
+          try {
+            source.close();
+          }
+          catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private String streamedKey(String name) {
+    Option option = options.getOption(name);
+    if (option == null || !streamedKeys.contains(keyOf(option))) {
+      throw new IllegalArgumentException("Not a streamed option: " + name);
+    }
+    return keyOf(option);
+  }
+
+  /**
+   * The short name of {@code option}, or its long name when it has none.
+   */
+  static String keyOf(Option option) {
+    return option.getOpt() != null ? option.getOpt() : option.getLongOpt();
+  }
+
+  /**
+   * Yields the values of one streamed option, reading the command line as {@link CommandProcessor#parseArgsStreaming}
+   * did.
+   */
+  private final class ValueIterator implements Iterator<String>, StreamedArgumentReader.Sink {
+
+    private final ArgumentSource source;
+    private final String key;
+    private final StreamedArgumentReader reader = new StreamedArgumentReader(options, streamedKeys);
+    private final Deque<String> pending = new ArrayDeque<>(2);
+
+    private ValueIterator(ArgumentSource source, String key) {
+      this.source = source;
+      this.key = key;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (pending.isEmpty() && source.hasNext()) {
+        reader.read(source.next(), this);
+      }
+      return !pending.isEmpty();
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return pending.removeFirst();
+    }
+
+    @Override
+    public void option(String optionKey) {
+      // Only the values matter here
+    }
+
+    @Override
+    public void value(String optionKey, String value) {
+      if (optionKey.equals(key)) {
+        pending.addLast(value);
+      }
+    }
+
+    @Override
+    public void regular(String token) {
+      // Parsed already
+    }
+  }
+}
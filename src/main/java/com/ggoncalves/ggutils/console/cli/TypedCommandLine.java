@@ -0,0 +1,112 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.CommandLine;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The result of {@link CommandProcessor#parseTypedArgs}. The values of the options added with
+ * {@link CommandProcessor#addTypedOption} are converted once, while parsing, and kept in primitive
+ * arrays: the getters neither parse nor allocate, so they can be called from hot loops.
+ *
+ * <p>Each getter takes the short or long name of the option and throws {@link IllegalArgumentException}
+ * for an option of another type, and {@link IllegalStateException} when the option was not given and
+ * has no default value.
+ */
+public final class TypedCommandLine {
+
+  private final CommandLine commandLine;
+  private final TypedOptions options;
+  private final boolean[] present;
+  private final long[] longs;
+  private final Object[] objects;
+
+  private TypedCommandLine(CommandLine commandLine, TypedOptions options) {
+    this.commandLine = commandLine;
+    this.options = options;
+    int size = options.size();
+    present = new boolean[size];
+    longs = new long[size];
+    objects = new Object[size];
+    options.copyDefaults(present, longs, objects);
+  }
+
+  /**
+   * Converts the typed options of {@code commandLine}; an option given several times takes its first
+   * value.
+   *
+   * @throws IllegalArgumentException if a value is not valid for the type of its option
+   */
+  static TypedCommandLine convert(CommandLine commandLine, TypedOptions options) {
+    TypedCommandLine typed = new TypedCommandLine(commandLine, options);
+    for (int slot = 0; slot < options.size(); slot++) {
+      String value = commandLine.getOptionValue(options.keyOf(slot));
+      if (value != null) {
+        options.convert(slot, value, typed.longs, typed.objects);
+        typed.present[slot] = true;
+      }
+    }
+    return typed;
+  }
+
+  /**
+   * All the options, including the typed ones as strings, and the positional arguments.
+   */
+  public CommandLine getCommandLine() {
+    return commandLine;
+  }
+
+  /**
+   * Whether the typed option {@code name} was given or has a default value.
+   */
+  public boolean hasValue(String name) {
+    int slot = options.slotOf(name);
+    return slot >= 0 && present[slot];
+  }
+
+  public int getInt(String name) {
+    return (int) longs[slot(name, OptionType.INT)];
+  }
+
+  /**
+   * The value of a {@link OptionType#LONG} or {@link OptionType#INT} option.
+   */
+  public long getLong(String name) {
+    int slot = options.slotOf(name);
+    if (slot >= 0 && options.typeOf(slot) == OptionType.INT) {
+      return longs[checkPresent(slot, name)];
+    }
+    return longs[slot(name, OptionType.LONG)];
+  }
+
+  /**
+   * The value of a {@link OptionType#BYTES} option, in bytes.
+   */
+  public long getBytes(String name) {
+    return longs[slot(name, OptionType.BYTES)];
+  }
+
+  public Duration getDuration(String name) {
+    return (Duration) objects[slot(name, OptionType.DURATION)];
+  }
+
+  public Path getPath(String name) {
+    return (Path) objects[slot(name, OptionType.PATH)];
+  }
+
+  private int slot(String name, OptionType type) {
+    int slot = options.slotOf(name);
+    if (slot < 0 || options.typeOf(slot) != type) {
+      throw new IllegalArgumentException("Not an option of type " + type + ": " + name);
+    }
+    return checkPresent(slot, name);
+  }
+
+  private int checkPresent(int slot, String name) {
+    if (!present[slot]) {
+      throw new IllegalStateException("No value for option: " + name);
+    }
+    return slot;
+  }
+}
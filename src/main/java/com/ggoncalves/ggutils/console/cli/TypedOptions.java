@@ -0,0 +1,112 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.Option;
+
+import java.nio.file.FileSystem;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The typed options of a {@link CommandProcessor}, frozen: each one has a slot in the arrays of
+ * {@link TypedCommandLine}, and its default value is converted once, here.
+ */
+final class TypedOptions {
+
+  /**
+   * An option added with {@link CommandProcessor#addTypedOption}; {@code defaultValue} is {@code null}
+   * when there is none.
+   */
+  record Declaration(Option option, OptionType type, String defaultValue) {
+  }
+
+  private final FileSystem fileSystem;
+  private final Map<String, Integer> slots = new HashMap<>();
+  private final String[] keys;
+  private final OptionType[] types;
+  private final boolean[] hasDefault;
+  private final long[] defaultLongs;
+  private final Object[] defaultObjects;
+
+  /**
+   * @throws IllegalArgumentException if a default value cannot be converted
+   */
+  TypedOptions(FileSystem fileSystem, List<Declaration> declarations) {
+    this.fileSystem = fileSystem;
+    int size = declarations.size();
+    keys = new String[size];
+    types = new OptionType[size];
+    hasDefault = new boolean[size];
+    defaultLongs = new long[size];
+    defaultObjects = new Object[size];
+
+    for (int slot = 0; slot < size; slot++) {
+      Declaration declaration = declarations.get(slot);
+      Option option = declaration.option();
+      keys[slot] = StreamedCommandLine.keyOf(option);
+      types[slot] = declaration.type();
+      if (option.getOpt() != null) {
+        slots.put(option.getOpt(), slot);
+      }
+      if (option.getLongOpt() != null) {
+        slots.put(option.getLongOpt(), slot);
+      }
+      if (declaration.defaultValue() != null) {
+        convert(slot, declaration.defaultValue(), defaultLongs, defaultObjects);
+        hasDefault[slot] = true;
+      }
+    }
+  }
+
+  int size() {
+    return keys.length;
+  }
+
+  /**
+   * @return the slot of the option with the short or long name {@code name}, or -1
+   */
+  int slotOf(String name) {
+    Integer slot = slots.get(name);
+    return slot == null ? -1 : slot;
+  }
+
+  String keyOf(int slot) {
+    return keys[slot];
+  }
+
+  OptionType typeOf(int slot) {
+    return types[slot];
+  }
+
+  /**
+   * Copies the converted default values into a new {@link TypedCommandLine}'s arrays.
+   */
+  void copyDefaults(boolean[] present, long[] longs, Object[] objects) {
+    System.arraycopy(hasDefault, 0, present, 0, hasDefault.length);
+    System.arraycopy(defaultLongs, 0, longs, 0, defaultLongs.length);
+    System.arraycopy(defaultObjects, 0, objects, 0, defaultObjects.length);
+  }
+
+  /**
+   * Converts {@code value} for the option in {@code slot}, storing numbers in {@code longs} and anything
+   * else in {@code objects}.
+   *
+   * @throws IllegalArgumentException if {@code value} is not valid for the type of the option
+   */
+  void convert(int slot, String value, long[] longs, Object[] objects) {
+    OptionType type = types[slot];
+    try {
+      switch (type) {
+        case INT -> longs[slot] = Integer.parseInt(value);
+        case LONG -> longs[slot] = Long.parseLong(value);
+        case BYTES -> longs[slot] = OptionType.parseBytes(value);
+        case DURATION -> objects[slot] = OptionType.parseDuration(value);
+        case PATH -> objects[slot] = fileSystem.getPath(value);
+      }
+    }
+    catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Invalid value for option " + keys[slot] + ": " + value + " (expected " + type.getDescription() + ")", e);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.ggoncalves.ggutils.console.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Fork/join pools for tasks that block on the file system (directory listings, page faults of mapped
+ * files), which would starve the common pool. Each pool is shared by name and created on first use; its
+ * workers are daemon threads, so it never keeps the JVM alive.
+ */
+public final class BlockingIoPools {
+
+  /**
+   * Blocking tasks mostly wait, so a pool has more workers than cores.
+   */
+  public static final int DEFAULT_PARALLELISM = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  private static final Map<String, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+  private BlockingIoPools() {
+  }
+
+  /**
+   * The pool named {@code name}, whose workers are named {@code name-<index>}.
+   */
+  public static ForkJoinPool shared(String name) {
+    return POOLS.computeIfAbsent(name, BlockingIoPools::newPool);
+  }
+
+  private static ForkJoinPool newPool(String name) {
+    return new ForkJoinPool(DEFAULT_PARALLELISM, pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(name + "-" + thread.getPoolIndex());
+      thread.setDaemon(true);
+      return thread;
+    }, null, false);
+  }
+}
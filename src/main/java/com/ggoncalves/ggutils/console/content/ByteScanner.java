@@ -0,0 +1,83 @@
+package com.ggoncalves.ggutils.console.content;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Counts bytes eight at a time (SWAR): each {@code long} read from the buffer is XOR-ed with the
+ * byte broadcast to every lane, so matching lanes become zero, and the zero lanes are turned into
+ * their high bit without carries between lanes. The loop has no data-dependent branch, which also
+ * lets the JIT unroll it.
+ */
+final class ByteScanner {
+
+  private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+  private static final long LANE_ONES = 0x0101010101010101L;
+
+  private ByteScanner() {
+  }
+
+  /**
+   * Counts the occurrences of {@code value} between the position and the limit of {@code buffer},
+   * without moving its position.
+   */
+  static long count(ByteBuffer buffer, byte value) {
+    int index = buffer.position();
+    int limit = buffer.limit();
+    long count = 0;
+
+    // The lanes are counted, not located, so the byte order does not matter
+    ByteBuffer longs = buffer.duplicate().order(ByteOrder.nativeOrder());
+    long pattern = (value & 0xFFL) * LANE_ONES;
+    for (int end = limit - Long.BYTES; index <= end; index += Long.BYTES) {
+      count += zeroLanes(longs.getLong(index) ^ pattern);
+    }
+
+    for (; index < limit; index++) {
+      if (buffer.get(index) == value) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Counts the occurrences of {@code value} that are not directly followed by {@code next}, between the
+   * position and the limit of {@code buffer}. A {@code value} in the last byte is not counted, since
+   * what follows it is not in the buffer. Words without {@code value} are skipped eight bytes at a time.
+   */
+  static long countNotFollowedBy(ByteBuffer buffer, byte value, byte next) {
+    int index = buffer.position();
+    int limit = buffer.limit();
+    long count = 0;
+
+    ByteBuffer longs = buffer.duplicate().order(ByteOrder.nativeOrder());
+    long pattern = (value & 0xFFL) * LANE_ONES;
+    for (int end = limit - Long.BYTES; index <= end; index += Long.BYTES) {
+      if (zeroLanes(longs.getLong(index) ^ pattern) > 0) {
+        for (int i = index; i < index + Long.BYTES; i++) {
+          if (buffer.get(i) == value && i + 1 < limit && buffer.get(i + 1) != next) {
+            count++;
+          }
+        }
+      }
+    }
+
+    for (; index < limit - 1; index++) {
+      if (buffer.get(index) == value && buffer.get(index + 1) != next) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Number of zero bytes in {@code word}. The high bit of a lane is set after the addition only when
+   * one of its low seven bits is, and is OR-ed with the lane's own high bit, so exactly the zero lanes
+   * end up with a clear high bit.
+   */
+  static int zeroLanes(long word) {
+    long nonZero = ((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word;
+    return Long.bitCount(~(nonZero | LOW_SEVEN_BITS));
+  }
+}
@@ -0,0 +1,232 @@
+package com.ggoncalves.ggutils.console.content;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates the records that start within one chunk of a file. The buffer maps the chunk followed by up
+ * to {@code maxRecordLength} bytes, so the last record can be finished past the end of the chunk. When
+ * the chunk does not start at a record boundary, what precedes the first boundary belongs to the record
+ * validated by the previous chunk and is skipped.
+ *
+ * <p>CSV quotes toggle the quoted state on every {@code "}, escaped or not, as counting them does, so
+ * the state at a chunk start can be told from the parity of the quotes before it.
+ */
+final class ChunkValidator {
+
+  private ByteBuffer buffer;
+  private final int chunkLength;
+  private final boolean reachesEndOfFile;
+  private final RecordFormat format;
+  private final int expectedColumns;
+  private final int maxRecordLength;
+  private final int maxErrors;
+
+  private final List<StructuralError> errors = new ArrayList<>();
+  private long errorCount;
+  private long records;
+  private long line;
+  private int fields;
+  private String recordError;
+
+  ChunkValidator(ByteBuffer buffer, int chunkLength, boolean reachesEndOfFile, RecordFormat format,
+                 int expectedColumns, int maxRecordLength, int maxErrors) {
+    this.buffer = buffer;
+    this.chunkLength = chunkLength;
+    this.reachesEndOfFile = reachesEndOfFile;
+    this.format = format;
+    this.expectedColumns = expectedColumns;
+    this.maxRecordLength = maxRecordLength;
+    this.maxErrors = maxErrors;
+  }
+
+  /**
+   * Validates the chunk once; the buffer is released afterwards.
+   *
+   * @param firstLine      line number at the start of the chunk
+   * @param atRecordStart  whether a record starts exactly at the start of the chunk
+   * @param startsInQuotes whether the start of the chunk is within a quoted CSV field
+   */
+  ChunkValidator validate(long firstLine, boolean atRecordStart, boolean startsInQuotes) {
+    line = firstLine;
+    int position = atRecordStart ? 0 : skipToRecordStart(startsInQuotes);
+
+    while (position < chunkLength) {
+      long recordLine = line;
+      recordError = null;
+      int next = format == RecordFormat.NDJSON ? jsonRecord(position) : delimitedRecord(position);
+      records++;
+
+      if (recordError == null && next < 0) {
+        recordError = "Record longer than " + maxRecordLength + " bytes";
+      }
+      else if (recordError == null && next - position > maxRecordLength) {
+        recordError = "Record longer than " + maxRecordLength + " bytes";
+      }
+      else if (recordError == null && expectedColumns > 0 && fields != expectedColumns) {
+        recordError = "Expected " + expectedColumns + " columns but found " + fields;
+      }
+      if (recordError != null) {
+        addError(recordError, recordLine);
+      }
+      if (next < 0) {
+        // Ran past the mapped region: the following records are validated by the next chunks
+        break;
+      }
+      position = next;
+    }
+    // Only the counts and errors are needed from now on: let the mapping be reclaimed
+    buffer = null;
+    return this;
+  }
+
+  /**
+   * Parses the first record only, to learn the number of columns.
+   */
+  int countColumns() {
+    delimitedRecord(0);
+    return fields;
+  }
+
+  List<StructuralError> getErrors() {
+    return errors;
+  }
+
+  long getErrorCount() {
+    return errorCount;
+  }
+
+  long getRecords() {
+    return records;
+  }
+
+  private int skipToRecordStart(boolean inQuotes) {
+    int position = 0;
+    while (position < chunkLength) {
+      byte b = buffer.get(position++);
+      if (b == '"' && format.isQuoted()) {
+        inQuotes = !inQuotes;
+      }
+      else if (b == '\n') {
+        line++;
+        if (!inQuotes) {
+          return position;
+        }
+      }
+    }
+    return chunkLength;
+  }
+
+  /**
+   * @return the position after the record's line break, or {@code -1} when the mapped region ends first
+   */
+  private int delimitedRecord(int position) {
+    int limit = buffer.limit();
+    byte delimiter = format.delimiter();
+    boolean quoting = format.isQuoted();
+    boolean inQuotes = false;
+    boolean fieldStart = true;
+    boolean afterClosingQuote = false;
+    fields = 1;
+
+    while (true) {
+      if (position >= limit) {
+        if (!reachesEndOfFile) {
+          return -1;
+        }
+        if (inQuotes) {
+          fail("Unterminated quoted field");
+        }
+        return position;
+      }
+
+      byte b = buffer.get(position++);
+      if (inQuotes) {
+        if (b == '"') {
+          inQuotes = false;
+          afterClosingQuote = true;
+        }
+        else if (b == '\n') {
+          line++;
+        }
+        continue;
+      }
+
+      if (b == '\n') {
+        line++;
+        return position;
+      }
+      if (afterClosingQuote) {
+        afterClosingQuote = false;
+        if (b == '"') {
+          // Escaped quote within a quoted field
+          inQuotes = true;
+          continue;
+        }
+        if (b != delimiter && b != '\r') {
+          fail("Unexpected character after closing quote");
+        }
+      }
+
+      if (b == delimiter) {
+        fields++;
+        fieldStart = true;
+        continue;
+      }
+      if (b == '"' && quoting) {
+        if (!fieldStart) {
+          fail("Quote inside unquoted field");
+        }
+        inQuotes = true;
+      }
+      fieldStart = false;
+    }
+  }
+
+  private int jsonRecord(int position) {
+    int limit = buffer.limit();
+    int end = position;
+    while (end < limit && buffer.get(end) != '\n') {
+      end++;
+    }
+    if (end == limit && !reachesEndOfFile) {
+      return -1;
+    }
+
+    int next = end < limit ? end + 1 : end;
+    if (end < limit) {
+      line++;
+    }
+    if (end > position && buffer.get(end - 1) == '\r') {
+      end--;
+    }
+    if (end - position > maxRecordLength) {
+      // Reported by the caller, not worth parsing
+      return next;
+    }
+    if (end == position) {
+      fail("Empty line");
+    }
+    else {
+      String error = JsonSyntax.check(buffer, position, end);
+      if (error != null) {
+        fail(error);
+      }
+    }
+    return next;
+  }
+
+  private void fail(String message) {
+    if (recordError == null) {
+      recordError = message;
+    }
+  }
+
+  private void addError(String message, long recordLine) {
+    errorCount++;
+    if (errors.size() < maxErrors) {
+      errors.add(new StructuralError(recordLine, message));
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.ggoncalves.ggutils.console.content;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Format of a file as told by its first bytes.
+ */
+public enum ContentFormat {
+  EMPTY(false),
+  TEXT(false),
+  BINARY(false),
+  GZIP(true, 0x1F, 0x8B),
+  ZIP(true, 'P', 'K', 0x03, 0x04),
+  BZIP2(true, 'B', 'Z', 'h'),
+  XZ(true, 0xFD, '7', 'z', 'X', 'Z', 0x00),
+  ZSTD(true, 0x28, 0xB5, 0x2F, 0xFD),
+  SEVEN_ZIP(true, '7', 'z', 0xBC, 0xAF, 0x27, 0x1C),
+  PDF(false, '%', 'P', 'D', 'F', '-'),
+  PNG(false, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A),
+  JPEG(false, 0xFF, 0xD8, 0xFF),
+  GIF(false, 'G', 'I', 'F', '8'),
+  PARQUET(false, 'P', 'A', 'R', '1'),
+  ELF(false, 0x7F, 'E', 'L', 'F'),
+  JAVA_CLASS(false, 0xCA, 0xFE, 0xBA, 0xBE);
+
+  private static final ContentFormat[] VALUES = values();
+
+  private final boolean compressed;
+  private final byte[] magic;
+
+  ContentFormat(boolean compressed, int... magic) {
+    this.compressed = compressed;
+    this.magic = new byte[magic.length];
+    for (int i = 0; i < magic.length; i++) {
+      this.magic[i] = (byte) magic[i];
+    }
+  }
+
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  /**
+   * Returns the format whose magic number starts {@code head}, from its position, or {@code null} when
+   * none matches. {@code EMPTY}, {@code TEXT} and {@code BINARY} have no magic number.
+   */
+  static ContentFormat fromMagic(ByteBuffer head) {
+    for (ContentFormat format : VALUES) {
+      if (format.magic.length > 0 && format.matches(head)) {
+        return format;
+      }
+    }
+    return null;
+  }
+
+  private boolean matches(ByteBuffer head) {
+    if (head.remaining() < magic.length) {
+      return false;
+    }
+    int start = head.position();
+    for (int i = 0; i < magic.length; i++) {
+      if (head.get(start + i) != magic[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,282 @@
+package com.ggoncalves.ggutils.console.content;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Looks at the content of a file to catch inputs that would only fail later: compressed or binary
+ * files, unexpected encodings or line terminators. Only the head of the file is memory-mapped and
+ * inspected; counting lines, when enabled, reads the whole file through one reused buffer.
+ *
+ * <p>Lines are counted for single-byte based encodings (ASCII, UTF-8, 8-bit) only, by counting
+ * {@code \n} bytes ({@code \r} in files terminated with {@code \r} only, both {@code \n} and
+ * {@code \r} not followed by {@code \n} in files with mixed terminators) eight bytes at a time.
+ */
+public class ContentProbe {
+
+  public static final int DEFAULT_HEAD_SIZE = 64 * 1024;
+
+  /**
+   * Size of the buffer the file is read through when counting lines.
+   */
+  static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+  private static final Charset UTF_32BE = Charset.forName("UTF-32BE");
+  private static final Charset UTF_32LE = Charset.forName("UTF-32LE");
+  private static final long HIGH_BITS = 0x8080808080808080L;
+
+  private final int headSize;
+  private final boolean countLines;
+
+  public ContentProbe() {
+    this(DEFAULT_HEAD_SIZE, false);
+  }
+
+  public ContentProbe(int headSize, boolean countLines) {
+    if (headSize <= 0) {
+      throw new IllegalArgumentException("headSize must be positive: " + headSize);
+    }
+    this.headSize = headSize;
+    this.countLines = countLines;
+  }
+
+  public ContentProbeResult probe(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size == 0) {
+        return ContentProbeResult.builder()
+            .format(ContentFormat.EMPTY)
+            .lineTerminator(LineTerminator.NONE)
+            .lineCount(countLines ? 0 : -1)
+            .build();
+      }
+
+      ByteBuffer head = map(channel, 0, Math.min(size, headSize));
+      boolean wholeFile = size <= headSize;
+      ContentProbeResult.ContentProbeResultBuilder result = ContentProbeResult.builder().size(size);
+
+      Charset bomCharset = bomCharset(head);
+      if (bomCharset != null) {
+        result.format(ContentFormat.TEXT).charset(bomCharset).bom(true);
+      }
+      else {
+        ContentFormat magic = ContentFormat.fromMagic(head);
+        if (magic != null || ByteScanner.count(head, (byte) 0) > 0) {
+          return result.format(magic != null ? magic : ContentFormat.BINARY)
+              .lineTerminator(LineTerminator.NONE)
+              .lineCount(-1)
+              .build();
+        }
+        result.format(ContentFormat.TEXT).charset(detectCharset(head, wholeFile));
+      }
+
+      int unitSize = unitSize(bomCharset);
+      LineTerminator terminator = detectTerminator(head, unitSize, bomCharset);
+      result.lineTerminator(terminator);
+
+      if (countLines && unitSize == 1) {
+        result.lineCount(wholeFile ? countLines(head, terminator) : countLines(channel, size, terminator));
+      }
+      else {
+        result.lineCount(-1);
+      }
+      return result.build();
+    }
+  }
+
+  private static Charset bomCharset(ByteBuffer head) {
+    int b0 = unsigned(head, 0);
+    int b1 = unsigned(head, 1);
+    int b2 = unsigned(head, 2);
+    int b3 = unsigned(head, 3);
+
+    if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) return StandardCharsets.UTF_8;
+    if (b0 == 0xFF && b1 == 0xFE && b2 == 0 && b3 == 0) return UTF_32LE;
+    if (b0 == 0 && b1 == 0 && b2 == 0xFE && b3 == 0xFF) return UTF_32BE;
+    if (b0 == 0xFF && b1 == 0xFE) return StandardCharsets.UTF_16LE;
+    if (b0 == 0xFE && b1 == 0xFF) return StandardCharsets.UTF_16BE;
+    return null;
+  }
+
+  private static int unsigned(ByteBuffer buffer, int index) {
+    return index < buffer.limit() ? buffer.get(index) & 0xFF : -1;
+  }
+
+  private static Charset detectCharset(ByteBuffer head, boolean wholeFile) {
+    if (isAscii(head)) {
+      return StandardCharsets.US_ASCII;
+    }
+
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPORT)
+        .onUnmappableCharacter(CodingErrorAction.REPORT);
+    ByteBuffer input = head.duplicate();
+    CharBuffer output = CharBuffer.allocate(4096);
+    while (true) {
+      // A head cut in the middle of a character is not malformed: only the end of the file is
+      CoderResult coderResult = decoder.decode(input, output, wholeFile);
+      if (coderResult.isError()) {
+        return null;
+      }
+      if (!coderResult.isOverflow()) {
+        return StandardCharsets.UTF_8;
+      }
+      output.clear();
+    }
+  }
+
+  private static boolean isAscii(ByteBuffer head) {
+    ByteBuffer longs = head.duplicate().order(ByteOrder.nativeOrder());
+    int limit = head.limit();
+    long bits = 0;
+    int index = 0;
+    for (; index <= limit - Long.BYTES; index += Long.BYTES) {
+      bits |= longs.getLong(index);
+    }
+    for (; index < limit; index++) {
+      bits |= head.get(index) & 0xFFL;
+    }
+    return (bits & HIGH_BITS) == 0;
+  }
+
+  private static int unitSize(Charset bomCharset) {
+    if (bomCharset == UTF_32BE || bomCharset == UTF_32LE) return 4;
+    if (bomCharset == StandardCharsets.UTF_16BE || bomCharset == StandardCharsets.UTF_16LE) return 2;
+    return 1;
+  }
+
+  private static LineTerminator detectTerminator(ByteBuffer head, int unitSize, Charset charset) {
+    boolean bigEndian = charset == StandardCharsets.UTF_16BE || charset == UTF_32BE;
+    boolean lf = false;
+    boolean crlf = false;
+    boolean cr = false;
+
+    int limit = head.limit() - head.limit() % unitSize;
+    for (int index = 0; index < limit; index += unitSize) {
+      int unit = unit(head, index, unitSize, bigEndian);
+      if (unit == '\n') {
+        lf = true;
+      }
+      else if (unit == '\r') {
+        int next = index + unitSize;
+        if (next >= limit) {
+          // Cut at the end of the head: the next unit decides, and it was not read
+          break;
+        }
+        if (unit(head, next, unitSize, bigEndian) == '\n') {
+          crlf = true;
+          index = next;
+        }
+        else {
+          cr = true;
+        }
+      }
+    }
+
+    int styles = (lf ? 1 : 0) + (crlf ? 1 : 0) + (cr ? 1 : 0);
+    if (styles > 1) return LineTerminator.MIXED;
+    if (lf) return LineTerminator.LF;
+    if (crlf) return LineTerminator.CRLF;
+    if (cr) return LineTerminator.CR;
+    return LineTerminator.NONE;
+  }
+
+  private static int unit(ByteBuffer buffer, int index, int unitSize, boolean bigEndian) {
+    int value = 0;
+    for (int i = 0; i < unitSize; i++) {
+      int b = buffer.get(index + (bigEndian ? i : unitSize - 1 - i)) & 0xFF;
+      value = (value << 8) | b;
+    }
+    return value;
+  }
+
+  private static long countLines(ByteBuffer content, LineTerminator terminator) {
+    LineCounter counter = new LineCounter(terminator);
+    counter.add(content);
+    return counter.lines();
+  }
+
+  private static long countLines(FileChannel channel, long size, LineTerminator terminator) throws IOException {
+    LineCounter counter = new LineCounter(terminator);
+    ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, READ_BUFFER_SIZE));
+    for (long offset = 0; offset < size; ) {
+      buffer.clear();
+      int read = channel.read(buffer, offset);
+      if (read <= 0) {
+        // Truncated while being read
+        break;
+      }
+      counter.add(buffer.flip());
+      offset += read;
+    }
+    return counter.lines();
+  }
+
+  /**
+   * Maps the range, or reads it into the heap on file systems whose channels cannot be mapped, such as
+   * the zip file system.
+   */
+  private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+    try {
+      return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+    catch (UnsupportedOperationException e) {
+      ByteBuffer buffer = ByteBuffer.allocate((int) length);
+      while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+        // Keep reading until the range is filled
+      }
+      return buffer.flip();
+    }
+  }
+
+  /**
+   * Counts the lines of consecutive non-empty buffers of a file.
+   */
+  private static final class LineCounter {
+
+    private final LineTerminator terminator;
+    private long count;
+    private byte last;
+
+    LineCounter(LineTerminator terminator) {
+      this.terminator = terminator;
+    }
+
+    void add(ByteBuffer content) {
+      if (terminator == LineTerminator.CR) {
+        count += ByteScanner.count(content, (byte) '\r');
+      }
+      else {
+        count += ByteScanner.count(content, (byte) '\n');
+        if (terminator == LineTerminator.MIXED) {
+          // A "\r" ending the previous buffer is only known to be bare now
+          if (last == '\r' && content.get(content.position()) != '\n') {
+            count++;
+          }
+          count += ByteScanner.countNotFollowedBy(content, (byte) '\r', (byte) '\n');
+        }
+      }
+      last = content.get(content.limit() - 1);
+    }
+
+    long lines() {
+      if (terminator == LineTerminator.CR) {
+        return last == '\r' ? count : count + 1;
+      }
+      if (terminator == LineTerminator.MIXED && last == '\r') {
+        return count + 1;
+      }
+      return last == '\n' ? count : count + 1;
+    }
+  }
+}
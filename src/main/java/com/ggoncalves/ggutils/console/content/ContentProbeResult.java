@@ -0,0 +1,28 @@
+package com.ggoncalves.ggutils.console.content;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.charset.Charset;
+
+@Value
+@Builder
+public class ContentProbeResult {
+  long size;
+  ContentFormat format;
+  /**
+   * Encoding of a {@code TEXT} file: from its byte order mark, else {@code US-ASCII} or {@code UTF-8}
+   * when the probed bytes are valid in it, else {@code null} (some legacy 8-bit encoding).
+   */
+  Charset charset;
+  boolean bom;
+  LineTerminator lineTerminator;
+  /**
+   * Number of lines, the last one counting even without a terminator, or {@code -1} when not counted.
+   */
+  long lineCount;
+
+  public boolean isText() {
+    return format == ContentFormat.TEXT;
+  }
+}
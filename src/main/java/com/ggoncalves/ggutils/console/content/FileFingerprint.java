@@ -0,0 +1,15 @@
+package com.ggoncalves.ggutils.console.content;
+
+import com.google.common.hash.HashCode;
+
+/**
+ * Tree hash of a file's content, see {@link FileFingerprinter}. Fingerprints computed with different
+ * chunk sizes are not comparable, and are never equal.
+ */
+public record FileFingerprint(long size, int chunkSize, HashCode hash) {
+
+  @Override
+  public String toString() {
+    return hash.toString();
+  }
+}
@@ -0,0 +1,157 @@
+package com.ggoncalves.ggutils.console.content;
+
+import com.ggoncalves.ggutils.console.concurrent.BlockingIoPools;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Fingerprints files to tell whether they changed between runs. The file is split in chunks of
+ * {@code chunkSize} bytes which are memory-mapped and hashed with SHA-256 in parallel; the root hash
+ * covers the size, the chunk size and the chunk hashes in order. At most {@link #MAX_IN_FLIGHT_CHUNKS}
+ * chunks are submitted at a time.
+ *
+ * <p>With a {@link FingerprintCache}, a file whose file key, modification time and size match the
+ * cached entry is not read at all. Files modified less than {@link #RACY_WINDOW_MILLIS} before being
+ * hashed are not cached, since a second write within the timestamp granularity would go unnoticed.
+ */
+public class FileFingerprinter {
+
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  static final long RACY_WINDOW_MILLIS = 2000;
+
+  static final int MAX_IN_FLIGHT_CHUNKS = 2 * BlockingIoPools.DEFAULT_PARALLELISM;
+
+  private static final HashFunction SHA_256 = Hashing.sha256();
+  private static final byte LEAF = 0;
+  private static final byte ROOT = 1;
+
+  private final FingerprintCache cache;
+  private final int chunkSize;
+  private final Executor executor;
+
+  public FileFingerprinter() {
+    this(null);
+  }
+
+  /**
+   * @param cache may be {@code null} to always hash
+   */
+  public FileFingerprinter(FingerprintCache cache) {
+    this(cache, DEFAULT_CHUNK_SIZE, BlockingIoPools.shared("file-fingerprinter"));
+  }
+
+  public FileFingerprinter(FingerprintCache cache, int chunkSize, Executor executor) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    this.cache = cache;
+    this.chunkSize = chunkSize;
+    this.executor = executor;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public FileFingerprint fingerprint(Path path) throws IOException {
+    BasicFileAttributes before = Files.readAttributes(path, BasicFileAttributes.class);
+    if (!before.isRegularFile()) {
+      throw new IOException("Not a regular file: " + path);
+    }
+
+    if (cache != null) {
+      FileFingerprint cached = cache.get(path, before, chunkSize);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    long started = System.currentTimeMillis();
+    FileFingerprint fingerprint = hash(path);
+
+    if (cache != null) {
+      BasicFileAttributes after = Files.readAttributes(path, BasicFileAttributes.class);
+      boolean settled = before.lastModifiedTime().toMillis() < started - RACY_WINDOW_MILLIS;
+      if (settled && FingerprintCache.sameFile(before, after) && after.size() == fingerprint.size()) {
+        cache.put(path, after, fingerprint);
+      }
+    }
+    return fingerprint;
+  }
+
+  private FileFingerprint hash(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+      HashCode[] leaves = new HashCode[chunks];
+
+      if (chunks == 1) {
+        leaves[0] = hashChunk(channel, 0, size);
+      }
+      else {
+        hashChunksInParallel(channel, size, leaves);
+      }
+
+      Hasher root = SHA_256.newHasher().putByte(ROOT).putLong(size).putInt(chunkSize);
+      for (HashCode leaf : leaves) {
+        root.putBytes(leaf.asBytes());
+      }
+      return new FileFingerprint(size, chunkSize, root.hash());
+    }
+  }
+
+  /**
+   * Hashes every chunk into {@code leaves}, submitting the next chunk as the oldest one completes.
+   */
+  private void hashChunksInParallel(FileChannel channel, long size, HashCode[] leaves) throws IOException {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[leaves.length];
+    try {
+      for (int chunk = 0; chunk < leaves.length; chunk++) {
+        if (chunk >= MAX_IN_FLIGHT_CHUNKS) {
+          futures[chunk - MAX_IN_FLIGHT_CHUNKS].join();
+        }
+        futures[chunk] = submit(channel, size, leaves, chunk);
+      }
+      CompletableFuture.allOf(futures).join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException io) {
+        throw io.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private CompletableFuture<Void> submit(FileChannel channel, long size, HashCode[] leaves, int chunk) {
+    long offset = (long) chunk * chunkSize;
+    return CompletableFuture.runAsync(() -> {
+      try {
+        leaves[chunk] = hashChunk(channel, offset, Math.min(chunkSize, size - offset));
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  private static HashCode hashChunk(FileChannel channel, long offset, long length) throws IOException {
+    return SHA_256.newHasher()
+        .putByte(LEAF)
+        .putBytes(channel.map(FileChannel.MapMode.READ_ONLY, offset, length))
+        .hash();
+  }
+}
@@ -0,0 +1,159 @@
+package com.ggoncalves.ggutils.console.content;
+
+import com.google.common.hash.HashCode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fingerprints by absolute path, valid as long as the file key (device and inode on POSIX), the
+ * modification time and the size of the file are unchanged. Can be saved to and loaded from a
+ * tab-separated file to be kept between runs.
+ */
+public class FingerprintCache {
+
+  private static final String HEADER = "# path\tfileKey\tmtimeNanos\tsize\tchunkSize\tsha256Tree";
+  private static final String NO_FILE_KEY = "-";
+
+  private final ConcurrentMap<Path, Entry> entries = new ConcurrentHashMap<>();
+
+  private record Entry(String fileKey, long lastModifiedNanos, FileFingerprint fingerprint) {
+  }
+
+  /**
+   * Loads a cache saved with {@link #save}; a missing file gives an empty cache. Malformed lines are
+   * skipped.
+   */
+  public static FingerprintCache load(Path file) throws IOException {
+    FingerprintCache cache = new FingerprintCache();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.startsWith("#")) {
+          cache.parseLine(line);
+        }
+      }
+    }
+    catch (NoSuchFileException e) {
+      // First run
+    }
+    return cache;
+  }
+
+  /**
+   * Writes the cache to a temporary file next to {@code file}, then moves it over {@code file}, so a
+   * crash never leaves a truncated cache behind. Paths containing tabs or line breaks are not saved.
+   */
+  public void save(Path file) throws IOException {
+    Path absolute = file.toAbsolutePath();
+    Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    try {
+      try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        writer.write(HEADER);
+        writer.newLine();
+        for (Map.Entry<Path, Entry> cached : entries.entrySet()) {
+          String path = cached.getKey().toString();
+          Entry entry = cached.getValue();
+          if (isSavable(path) && isSavable(entry.fileKey())) {
+            FileFingerprint fingerprint = entry.fingerprint();
+            writer.write(path + '\t' + entry.fileKey() + '\t' + entry.lastModifiedNanos() + '\t'
+                + fingerprint.size() + '\t' + fingerprint.chunkSize() + '\t' + fingerprint.hash());
+            writer.newLine();
+          }
+        }
+      }
+      Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Returns the cached fingerprint of {@code path} if the file still has the same file key,
+   * modification time and size, without reading it; {@code null} otherwise.
+   */
+  public FileFingerprint getIfUnchanged(Path path) throws IOException {
+    Entry entry = entries.get(key(path));
+    if (entry == null) {
+      return null;
+    }
+    return matches(entry, Files.readAttributes(path, BasicFileAttributes.class)) ? entry.fingerprint() : null;
+  }
+
+  public void remove(Path path) {
+    entries.remove(key(path));
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  FileFingerprint get(Path path, BasicFileAttributes attributes, int chunkSize) {
+    Entry entry = entries.get(key(path));
+    return entry != null && entry.fingerprint().chunkSize() == chunkSize && matches(entry, attributes)
+        ? entry.fingerprint()
+        : null;
+  }
+
+  void put(Path path, BasicFileAttributes attributes, FileFingerprint fingerprint) {
+    entries.put(key(path), new Entry(fileKey(attributes), lastModifiedNanos(attributes), fingerprint));
+  }
+
+  static boolean sameFile(BasicFileAttributes before, BasicFileAttributes after) {
+    return Objects.equals(fileKey(before), fileKey(after))
+        && lastModifiedNanos(before) == lastModifiedNanos(after)
+        && before.size() == after.size();
+  }
+
+  private static boolean matches(Entry entry, BasicFileAttributes attributes) {
+    return entry.fileKey().equals(fileKey(attributes))
+        && entry.lastModifiedNanos() == lastModifiedNanos(attributes)
+        && entry.fingerprint().size() == attributes.size();
+  }
+
+  private void parseLine(String line) {
+    String[] fields = line.split("\t", -1);
+    if (fields.length != 6) {
+      return;
+    }
+    try {
+      FileFingerprint fingerprint = new FileFingerprint(Long.parseLong(fields[3]), Integer.parseInt(fields[4]),
+          HashCode.fromString(fields[5]));
+      entries.put(Paths.get(fields[0]), new Entry(fields[1], Long.parseLong(fields[2]), fingerprint));
+    }
+    catch (IllegalArgumentException e) {
+      // Malformed number, hash or path: drop the entry, it will be recomputed
+    }
+  }
+
+  private static Path key(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+
+  private static String fileKey(BasicFileAttributes attributes) {
+    Object fileKey = attributes.fileKey();
+    return fileKey != null ? fileKey.toString() : NO_FILE_KEY;
+  }
+
+  private static long lastModifiedNanos(BasicFileAttributes attributes) {
+    return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+  }
+
+  private static boolean isSavable(String value) {
+    return value.indexOf('\t') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0;
+  }
+}
@@ -0,0 +1,226 @@
+package com.ggoncalves.ggutils.console.content;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Checks that a range of bytes is exactly one well-formed JSON value (RFC 8259), without building
+ * anything. Strings are not checked for valid UTF-8.
+ */
+final class JsonSyntax {
+
+  static final int MAX_DEPTH = 512;
+
+  private final ByteBuffer buffer;
+  private final int start;
+  private final int end;
+  private int position;
+  private String error;
+
+  private JsonSyntax(ByteBuffer buffer, int start, int end) {
+    this.buffer = buffer;
+    this.start = start;
+    this.end = end;
+    this.position = start;
+  }
+
+  /**
+   * @return {@code null} when {@code [from, to)} of {@code buffer} is one JSON value, else the first problem
+   */
+  static String check(ByteBuffer buffer, int from, int to) {
+    JsonSyntax syntax = new JsonSyntax(buffer, from, to);
+    syntax.skipWhitespace();
+    if (!syntax.value(0)) {
+      return syntax.error;
+    }
+    syntax.skipWhitespace();
+    if (syntax.position < to) {
+      syntax.fail("Unexpected content after the JSON value");
+    }
+    return syntax.error;
+  }
+
+  private boolean value(int depth) {
+    if (position >= end) {
+      return fail("Expected a JSON value");
+    }
+    byte b = buffer.get(position);
+    return switch (b) {
+      case '{' -> object(depth + 1);
+      case '[' -> array(depth + 1);
+      case '"' -> string();
+      case 't' -> literal("true");
+      case 'f' -> literal("false");
+      case 'n' -> literal("null");
+      default -> b == '-' || isDigit(b) ? number() : fail("Unexpected character '" + (char) (b & 0xFF) + "'");
+    };
+  }
+
+  private boolean object(int depth) {
+    if (depth > MAX_DEPTH) {
+      return fail("Nesting deeper than " + MAX_DEPTH);
+    }
+    position++;
+    skipWhitespace();
+    if (consume('}')) {
+      return true;
+    }
+    while (true) {
+      if (position >= end || buffer.get(position) != '"') {
+        return fail("Expected an object key");
+      }
+      if (!string()) {
+        return false;
+      }
+      skipWhitespace();
+      if (!consume(':')) {
+        return fail("Expected ':'");
+      }
+      skipWhitespace();
+      if (!value(depth)) {
+        return false;
+      }
+      skipWhitespace();
+      if (consume('}')) {
+        return true;
+      }
+      if (!consume(',')) {
+        return fail("Expected ',' or '}'");
+      }
+      skipWhitespace();
+    }
+  }
+
+  private boolean array(int depth) {
+    if (depth > MAX_DEPTH) {
+      return fail("Nesting deeper than " + MAX_DEPTH);
+    }
+    position++;
+    skipWhitespace();
+    if (consume(']')) {
+      return true;
+    }
+    while (true) {
+      if (!value(depth)) {
+        return false;
+      }
+      skipWhitespace();
+      if (consume(']')) {
+        return true;
+      }
+      if (!consume(',')) {
+        return fail("Expected ',' or ']'");
+      }
+      skipWhitespace();
+    }
+  }
+
+  private boolean string() {
+    position++;
+    while (position < end) {
+      int b = buffer.get(position) & 0xFF;
+      if (b == '"') {
+        position++;
+        return true;
+      }
+      if (b < 0x20) {
+        return fail("Control character in string");
+      }
+      position++;
+      if (b == '\\' && !escape()) {
+        return false;
+      }
+    }
+    return fail("Unterminated string");
+  }
+
+  private boolean escape() {
+    if (position >= end) {
+      return fail("Unterminated string");
+    }
+    byte b = buffer.get(position++);
+    switch (b) {
+      case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> {
+        return true;
+      }
+      case 'u' -> {
+        for (int i = 0; i < 4; i++) {
+          if (position >= end || Character.digit(buffer.get(position++), 16) < 0) {
+            return fail("Invalid unicode escape");
+          }
+        }
+        return true;
+      }
+      default -> {
+        position--;
+        return fail("Invalid escape");
+      }
+    }
+  }
+
+  private boolean number() {
+    consume('-');
+    if (consume('0')) {
+      // No leading zeros
+    }
+    else if (!digits()) {
+      return fail("Invalid number");
+    }
+    if (consume('.') && !digits()) {
+      return fail("Invalid number");
+    }
+    if (consume('e') || consume('E')) {
+      if (!consume('+')) {
+        consume('-');
+      }
+      if (!digits()) {
+        return fail("Invalid number");
+      }
+    }
+    return true;
+  }
+
+  private boolean digits() {
+    int first = position;
+    while (position < end && isDigit(buffer.get(position))) {
+      position++;
+    }
+    return position > first;
+  }
+
+  private boolean literal(String literal) {
+    for (int i = 0; i < literal.length(); i++) {
+      if (position >= end || buffer.get(position) != literal.charAt(i)) {
+        return fail("Invalid literal, expected " + literal);
+      }
+      position++;
+    }
+    return true;
+  }
+
+  private boolean consume(char expected) {
+    if (position < end && buffer.get(position) == expected) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void skipWhitespace() {
+    while (position < end) {
+      byte b = buffer.get(position);
+      if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private boolean fail(String message) {
+    error = message + " at column " + (position - start + 1);
+    return false;
+  }
+}
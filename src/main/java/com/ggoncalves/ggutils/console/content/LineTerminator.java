@@ -0,0 +1,15 @@
+package com.ggoncalves.ggutils.console.content;
+
+/**
+ * Line terminator style found in the probed part of a text file.
+ */
+public enum LineTerminator {
+  /**
+   * No line terminator at all, e.g. a single line.
+   */
+  NONE,
+  LF,
+  CRLF,
+  CR,
+  MIXED
+}
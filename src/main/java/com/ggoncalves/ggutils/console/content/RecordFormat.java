@@ -0,0 +1,39 @@
+package com.ggoncalves.ggutils.console.content;
+
+/**
+ * Line-oriented formats checked by {@link StructuralValidator}.
+ */
+public enum RecordFormat {
+  /**
+   * RFC 4180: comma-separated fields, optionally quoted; quoted fields may contain line breaks.
+   */
+  CSV((byte) ',', true),
+  /**
+   * Tab-separated fields without quoting.
+   */
+  TSV((byte) '\t', false),
+  /**
+   * One JSON value per line.
+   */
+  NDJSON((byte) 0, false);
+
+  private final byte delimiter;
+  private final boolean quoted;
+
+  RecordFormat(byte delimiter, boolean quoted) {
+    this.delimiter = delimiter;
+    this.quoted = quoted;
+  }
+
+  byte delimiter() {
+    return delimiter;
+  }
+
+  boolean isQuoted() {
+    return quoted;
+  }
+
+  boolean hasColumns() {
+    return this != NDJSON;
+  }
+}
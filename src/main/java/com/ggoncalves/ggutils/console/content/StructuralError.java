@@ -0,0 +1,12 @@
+package com.ggoncalves.ggutils.console.content;
+
+/**
+ * @param line 1-based line on which the offending record starts
+ */
+public record StructuralError(long line, String message) {
+
+  @Override
+  public String toString() {
+    return "line " + line + ": " + message;
+  }
+}
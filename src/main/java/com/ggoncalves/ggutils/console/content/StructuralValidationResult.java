@@ -0,0 +1,26 @@
+package com.ggoncalves.ggutils.console.content;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class StructuralValidationResult {
+  long lines;
+  long records;
+  /**
+   * Number of columns of the first record, which every other record must have; {@code 0} for NDJSON.
+   */
+  int columns;
+  long errorCount;
+  /**
+   * The first errors in file order, at most the validator's {@code maxErrors}.
+   */
+  List<StructuralError> errors;
+
+  public boolean isValid() {
+    return errorCount == 0;
+  }
+}
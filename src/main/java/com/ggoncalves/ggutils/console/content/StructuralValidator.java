@@ -0,0 +1,185 @@
+package com.ggoncalves.ggutils.console.content;
+
+import com.ggoncalves.ggutils.console.concurrent.BlockingIoPools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Checks the structure of CSV, TSV and NDJSON files: the same number of columns on every record as on
+ * the first one, balanced quotes, and one well-formed JSON value per line. Files are split in chunks
+ * that are memory-mapped and validated in parallel, in two passes:
+ * <ol>
+ *   <li>line breaks and quotes of each chunk are counted, eight bytes at a time;</li>
+ *   <li>each chunk validates the records starting within it, knowing their line number and, for CSV,
+ *   whether the chunk starts within a quoted field, from the counts of the chunks before it.</li>
+ * </ol>
+ * Each chunk keeps at most {@code maxErrors} errors and at most {@link #MAX_IN_FLIGHT_CHUNKS} chunks
+ * are mapped at a time, so memory does not grow with the file.
+ */
+public class StructuralValidator {
+
+  public static final int DEFAULT_MAX_ERRORS = 100;
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+  public static final int DEFAULT_MAX_RECORD_LENGTH = 1024 * 1024;
+
+  static final int MAX_IN_FLIGHT_CHUNKS = 2 * BlockingIoPools.DEFAULT_PARALLELISM;
+
+  private final RecordFormat format;
+  private final int maxErrors;
+  private final int chunkSize;
+  private final int maxRecordLength;
+  private final Executor executor;
+
+  private record ChunkCounts(long lineBreaks, long quotes, byte lastByte) {
+  }
+
+  public StructuralValidator(RecordFormat format) {
+    this(format, DEFAULT_MAX_ERRORS);
+  }
+
+  public StructuralValidator(RecordFormat format, int maxErrors) {
+    this(format, maxErrors, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_RECORD_LENGTH, BlockingIoPools.shared("structural-validator"));
+  }
+
+  public StructuralValidator(RecordFormat format, int maxErrors, int chunkSize, int maxRecordLength,
+                             Executor executor) {
+    if (maxErrors < 0) {
+      throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+    }
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    if (maxRecordLength <= 0 || (long) chunkSize + maxRecordLength > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("maxRecordLength must be positive and fit a mapping: " + maxRecordLength);
+    }
+    this.format = format;
+    this.maxErrors = maxErrors;
+    this.chunkSize = chunkSize;
+    this.maxRecordLength = maxRecordLength;
+    this.executor = executor;
+  }
+
+  public StructuralValidationResult validate(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+
+      List<ChunkCounts> counts = inParallel(chunks, chunk -> countChunk(channel, size, chunk));
+      int columns = format.hasColumns() && size > 0 ? countColumns(channel, size) : 0;
+
+      long[] firstLines = new long[chunks];
+      boolean[] inQuotes = new boolean[chunks];
+      long lineBreaks = 0;
+      long quotes = 0;
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        firstLines[chunk] = lineBreaks + 1;
+        inQuotes[chunk] = (quotes & 1) == 1;
+        lineBreaks += counts.get(chunk).lineBreaks();
+        quotes += counts.get(chunk).quotes();
+      }
+
+      List<ChunkValidator> validated = inParallel(chunks, chunk -> {
+        boolean atRecordStart = chunk == 0 || counts.get(chunk - 1).lastByte() == '\n' && !inQuotes[chunk];
+        return mapChunk(channel, size, chunk, columns).validate(firstLines[chunk], atRecordStart, inQuotes[chunk]);
+      });
+
+      return merge(validated, size == 0 || counts.get(chunks - 1).lastByte() == '\n' ? lineBreaks : lineBreaks + 1,
+          columns);
+    }
+  }
+
+  private ChunkCounts countChunk(FileChannel channel, long size, int chunk) throws IOException {
+    long offset = (long) chunk * chunkSize;
+    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(chunkSize, size - offset));
+    long quotes = format.isQuoted() ? ByteScanner.count(buffer, (byte) '"') : 0;
+    return new ChunkCounts(ByteScanner.count(buffer, (byte) '\n'), quotes, buffer.get(buffer.limit() - 1));
+  }
+
+  private int countColumns(FileChannel channel, long size) throws IOException {
+    ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, maxRecordLength));
+    return new ChunkValidator(head, head.limit(), true, format, 0, maxRecordLength, 0).countColumns();
+  }
+
+  private ChunkValidator mapChunk(FileChannel channel, long size, int chunk, int columns) throws IOException {
+    long offset = (long) chunk * chunkSize;
+    int chunkLength = (int) Math.min(chunkSize, size - offset);
+    long mapped = Math.min(size - offset, (long) chunkLength + maxRecordLength);
+    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, mapped);
+    return new ChunkValidator(buffer, chunkLength, offset + mapped == size, format, columns, maxRecordLength,
+        maxErrors);
+  }
+
+  private StructuralValidationResult merge(List<ChunkValidator> validated, long lines, int columns) {
+    List<StructuralError> errors = new ArrayList<>();
+    long records = 0;
+    long errorCount = 0;
+    for (ChunkValidator chunk : validated) {
+      records += chunk.getRecords();
+      errorCount += chunk.getErrorCount();
+      for (StructuralError error : chunk.getErrors()) {
+        if (errors.size() < maxErrors) {
+          errors.add(error);
+        }
+      }
+    }
+    return StructuralValidationResult.builder()
+        .lines(lines)
+        .records(records)
+        .columns(columns)
+        .errorCount(errorCount)
+        .errors(List.copyOf(errors))
+        .build();
+  }
+
+  /**
+   * Runs {@code task} on every chunk, submitting the next chunk as the oldest one completes.
+   */
+  private <T> List<T> inParallel(int chunks, ChunkTask<T> task) throws IOException {
+    List<CompletableFuture<T>> futures = new ArrayList<>(chunks);
+    List<T> results = new ArrayList<>(chunks);
+    try {
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        if (chunk >= MAX_IN_FLIGHT_CHUNKS) {
+          results.add(futures.get(chunk - MAX_IN_FLIGHT_CHUNKS).join());
+        }
+        futures.add(submit(task, chunk));
+      }
+      for (int chunk = results.size(); chunk < chunks; chunk++) {
+        results.add(futures.get(chunk).join());
+      }
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException io) {
+        throw io.getCause();
+      }
+      throw e;
+    }
+    return results;
+  }
+
+  private <T> CompletableFuture<T> submit(ChunkTask<T> task, int chunk) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return task.run(chunk);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  @FunctionalInterface
+  private interface ChunkTask<T> {
+    T run(int chunk) throws IOException;
+  }
+}
@@ -0,0 +1,15 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+/**
+ * A console tool that can be run inside a {@link ConsoleDaemon}. Everything the tool would normally
+ * take from the process (working directory, environment and standard streams) comes from the
+ * {@link InvocationContext} instead, since several invocations share the same JVM.
+ */
+@FunctionalInterface
+public interface ConsoleApplication {
+
+  /**
+   * @return the exit code to report to the client
+   */
+  int run(String[] args, InvocationContext context) throws Exception;
+}
@@ -0,0 +1,340 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.Frame;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.FrameOutputStream;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.FrameReader;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.FrameWriter;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.Request;
+import com.ggoncalves.ggutils.console.exception.ExceptionHandler;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a {@link ConsoleApplication} warm in a long-lived JVM and runs it for every client connecting
+ * to a Unix domain socket, so repeated invocations skip JVM startup, logging and option setup and
+ * reuse JIT-compiled code. See {@link DaemonClient} for the client side.
+ *
+ * <p>Invocations run concurrently in the same JVM: the application must not call {@code System.exit},
+ * must use the streams of its {@link InvocationContext} rather than {@code System.out}, and must resolve
+ * relative paths with {@link InvocationContext#resolve(String)}.
+ */
+@Log4j2
+public class ConsoleDaemon implements AutoCloseable {
+
+  /**
+   * System property naming the socket, used by {@link DaemonClient#main(String[])}.
+   */
+  public static final String SOCKET_PROPERTY = "ggutils.daemon.socket";
+  public static final int EXIT_FAILURE = 1;
+
+  private final Path socketPath;
+  private final ConsoleApplication application;
+  private final ExecutorService executor;
+  private final ExceptionHandler exceptionHandler = new ExceptionHandler();
+  private ServerSocketChannel server;
+  private UserPrincipal owner;
+  private volatile boolean closed;
+
+  public ConsoleDaemon(Path socketPath, ConsoleApplication application) {
+    this(socketPath, application, createDefaultExecutor());
+  }
+
+  @VisibleForTesting
+  ConsoleDaemon(Path socketPath, ConsoleApplication application, ExecutorService executor) {
+    this.socketPath = socketPath;
+    this.application = application;
+    this.executor = executor;
+  }
+
+  public Path getSocketPath() {
+    return socketPath;
+  }
+
+  /**
+   * Binds the socket and starts accepting clients on a background (non-daemon) thread. A socket left
+   * behind by a daemon that is no longer running is replaced; any other file is left alone.
+   *
+   * <p>The socket is only reachable by this user: it is bound in a private directory, restricted to the
+   * owner and then moved into place, and clients running as another user are turned away.
+   *
+   * @throws IOException if the socket cannot be bound or made private, if another daemon is already
+   *                     listening on it or if the path is taken by something else than a socket
+   */
+  public synchronized ConsoleDaemon start() throws IOException {
+    if (server != null || closed) {
+      throw new IllegalStateException("The daemon has already been started");
+    }
+
+    removeStaleSocket();
+    server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    try {
+      bindPrivately();
+      owner = Files.getOwner(socketPath, LinkOption.NOFOLLOW_LINKS);
+    }
+    catch (IOException | RuntimeException e) {
+      server.close();
+      server = null;
+      throw e;
+    }
+
+    Thread acceptor = new ThreadFactoryBuilder()
+        .setNameFormat("console-daemon-acceptor")
+        .build()
+        .newThread(this::acceptLoop);
+    acceptor.start();
+    log.info("Console daemon listening on {}", socketPath);
+    return this;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) return;
+    closed = true;
+
+    try {
+      if (server != null) {
+        server.close();
+        Files.deleteIfExists(socketPath);
+      }
+    }
+    catch (IOException e) {
+      log.warn("Failed to close the daemon socket {}: {}", socketPath, e.getMessage());
+    }
+    executor.shutdownNow();
+  }
+
+  private void acceptLoop() {
+    while (!closed) {
+      try {
+        SocketChannel channel = server.accept();
+        if (isOwner(channel)) {
+          executor.execute(() -> serve(channel));
+        }
+        else {
+          channel.close();
+        }
+      }
+      catch (ClosedChannelException e) {
+        return;
+      }
+      catch (IOException | RuntimeException e) {
+        if (!closed) {
+          log.warn("Failed to accept a daemon client: {}", e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void serve(SocketChannel connection) {
+    try (SocketChannel channel = connection) {
+      FrameReader reader = new FrameReader(channel);
+      FrameWriter writer = new FrameWriter(channel);
+
+      Frame first;
+      try {
+        first = reader.read();
+      }
+      catch (DaemonProtocol.FrameTooLargeException e) {
+        rejectRequest(reader, writer, e);
+        return;
+      }
+      if (first == null || first.type() != DaemonProtocol.REQUEST) {
+        log.warn("Daemon client did not send a request");
+        return;
+      }
+      Request request = Request.decode(first.payload());
+
+      StdinInputStream stdin = new StdinInputStream();
+      executor.execute(() -> forwardStdin(reader, stdin));
+
+      PrintStream out = newPrintStream(writer, DaemonProtocol.STDOUT);
+      PrintStream err = newPrintStream(writer, DaemonProtocol.STDERR);
+      InvocationContext context = new InvocationContext(request.workingDirectory(), request.environment(), stdin,
+          out, err);
+
+      int exitCode = run(request.args(), context);
+      stdin.close();
+      out.flush();
+      err.flush();
+      writer.writeExit(exitCode);
+    }
+    catch (IOException e) {
+      log.warn("Daemon client connection failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Tells the client why its request is refused, then reads the rest of it so that the client, still
+   * writing, does not fail on a closed connection before reading the answer.
+   */
+  private static void rejectRequest(FrameReader reader, FrameWriter writer, DaemonProtocol.FrameTooLargeException e)
+      throws IOException {
+    log.warn("Rejected a daemon request: {}", e.getMessage());
+    writer.write(DaemonProtocol.STDERR, ("ERROR: " + e.getMessage() + System.lineSeparator())
+        .getBytes(StandardCharsets.UTF_8));
+    writer.writeExit(EXIT_FAILURE);
+    reader.skip(e.getLength());
+  }
+
+  private int run(String[] args, InvocationContext context) {
+    try {
+      return application.run(args, context);
+    }
+    catch (Exception e) {
+      exceptionHandler.handle(e);
+      context.getErr().println(ExceptionHandler.UNEXPECTED_ERROR_MESSAGE + e.getMessage());
+      return EXIT_FAILURE;
+    }
+  }
+
+  /**
+   * Runs until the client ends its input or the connection is closed once the invocation is over. Waits
+   * while the invocation has not read enough of what was already forwarded.
+   */
+  private void forwardStdin(FrameReader reader, StdinInputStream stdin) {
+    try {
+      try {
+        Frame frame;
+        while ((frame = reader.read()) != null && frame.type() == DaemonProtocol.STDIN) {
+          stdin.offer(frame.payload());
+          if (frame.payload().length == 0) return;
+        }
+      }
+      catch (IOException e) {
+        // Connection closed
+      }
+      stdin.end();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void removeStaleSocket() throws IOException {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(socketPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    }
+    catch (NoSuchFileException e) {
+      return;
+    }
+
+    if (!attributes.isOther()) {
+      throw new IOException("Not a socket, refusing to replace it: " + socketPath);
+    }
+    if (isListening(socketPath)) {
+      throw new IOException("A daemon is already listening on " + socketPath);
+    }
+    Files.delete(socketPath);
+  }
+
+  private static boolean isListening(Path socketPath) {
+    try (SocketChannel ignored = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+      return true;
+    }
+    catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Anyone able to connect can run the application as this user, so the socket must never be reachable
+   * by others, not even between binding it and restricting its permissions: it is bound in a directory
+   * only this user can enter, and moved to its final path once private.
+   */
+  private void bindPrivately() throws IOException {
+    Path parent = socketPath.toAbsolutePath().getParent();
+    Path directory;
+    try {
+      directory = Files.createTempDirectory(parent, ".daemon-",
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    }
+    catch (UnsupportedOperationException e) {
+      throw new IOException("Cannot restrict access to the daemon socket on this file system: " + socketPath, e);
+    }
+
+    Path bound = directory.resolve(socketPath.getFileName());
+    try {
+      server.bind(UnixDomainSocketAddress.of(bound));
+      Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+      Files.move(bound, socketPath, StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally {
+      // Left behind only when a step failed
+      deleteQuietly(bound);
+      deleteQuietly(directory);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    }
+    catch (IOException e) {
+      log.warn("Failed to delete {}: {}", path, e.getMessage());
+    }
+  }
+
+  /**
+   * Whether the client runs as the owner of the socket. Without peer credentials on this platform, the
+   * permissions of the socket are the only check.
+   */
+  private boolean isOwner(SocketChannel channel) {
+    try {
+      UnixDomainPrincipal peer = channel.getOption(ExtendedSocketOptions.SO_PEERCRED);
+      if (peer.user().equals(owner)) {
+        return true;
+      }
+      log.warn("Rejected a daemon client running as {}", peer.user().getName());
+      return false;
+    }
+    catch (UnsupportedOperationException e) {
+      return true;
+    }
+    catch (IOException e) {
+      log.warn("Failed to read the credentials of a daemon client: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private static PrintStream newPrintStream(FrameWriter writer, byte type) {
+    return new PrintStream(new BufferedOutputStream(new FrameOutputStream(writer, type), 8192), true,
+        StandardCharsets.UTF_8);
+  }
+
+  private static ExecutorService createDefaultExecutor() {
+    try {
+      // Virtual threads when running on Java 21+, while still compiling for Java 17
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+    catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+          .setNameFormat("console-daemon-%d")
+          .setDaemon(true)
+          .build());
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.Frame;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.FrameReader;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.FrameWriter;
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.Request;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Forwards one invocation to a {@link ConsoleDaemon}: arguments, working directory, environment and
+ * standard input go to the daemon, and its standard output, standard error and exit code come back.
+ *
+ * <p>The client deliberately touches neither logging nor commons-cli, so its own startup stays small.
+ */
+public class DaemonClient {
+
+  /**
+   * Exit code used when the daemon cannot be reached or the connection breaks.
+   */
+  public static final int EXIT_UNAVAILABLE = 69;
+
+  private final Path socketPath;
+
+  public DaemonClient(Path socketPath) {
+    this.socketPath = socketPath;
+  }
+
+  /**
+   * Runs {@code args} on the daemon, copying its output to the streams of {@code context}. Standard
+   * input is forwarded from a background thread until it ends or the invocation is over.
+   *
+   * @return the exit code reported by the daemon
+   */
+  public int run(String[] args, InvocationContext context) throws IOException {
+    try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+      FrameReader reader = new FrameReader(channel);
+      FrameWriter writer = new FrameWriter(channel);
+
+      writer.write(DaemonProtocol.REQUEST,
+          new Request(args, context.getWorkingDirectory(), context.getEnvironment()).encode());
+      startStdinPump(context, writer);
+
+      Frame frame;
+      while ((frame = reader.read()) != null) {
+        switch (frame.type()) {
+          case DaemonProtocol.STDOUT -> context.getOut().write(frame.payload());
+          case DaemonProtocol.STDERR -> context.getErr().write(frame.payload());
+          case DaemonProtocol.EXIT -> {
+            context.getOut().flush();
+            context.getErr().flush();
+            return ByteBuffer.wrap(frame.payload()).getInt();
+          }
+          default -> throw new IOException("Unexpected frame type: " + frame.type());
+        }
+      }
+      throw new EOFException("The daemon closed the connection without an exit code");
+    }
+  }
+
+  private static void startStdinPump(InvocationContext context, FrameWriter writer) {
+    Thread pump = new Thread(() -> {
+      try {
+        DaemonProtocol.pumpStdin(context.getIn(), writer);
+      }
+      catch (IOException e) {
+        // The invocation is over and the connection closed
+      }
+    }, "daemon-client-stdin");
+    pump.setDaemon(true);
+    pump.start();
+  }
+
+  /**
+   * Forwards the command line to the daemon listening on the socket named by the
+   * {@value ConsoleDaemon#SOCKET_PROPERTY} system property, and exits with its exit code.
+   */
+  public static void main(String[] args) {
+    String socket = System.getProperty(ConsoleDaemon.SOCKET_PROPERTY);
+    if (socket == null || socket.isBlank()) {
+      System.err.println("ERROR: The " + ConsoleDaemon.SOCKET_PROPERTY + " system property is not set");
+      System.exit(EXIT_UNAVAILABLE);
+    }
+
+    int exitCode;
+    try {
+      exitCode = new DaemonClient(Paths.get(socket)).run(args, InvocationContext.current());
+    }
+    catch (IOException e) {
+      System.err.println("ERROR: Cannot reach the daemon at " + socket + " - " + e.getMessage());
+      exitCode = EXIT_UNAVAILABLE;
+    }
+    System.exit(exitCode);
+  }
+}
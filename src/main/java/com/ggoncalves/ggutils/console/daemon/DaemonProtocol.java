@@ -0,0 +1,269 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wire format shared by {@link ConsoleDaemon} and {@link DaemonClient}. Every message is a frame made of
+ * a type byte, a payload length and the payload. The client sends one {@link #REQUEST} followed by
+ * {@link #STDIN} frames (an empty one marks end of input); the daemon answers with {@link #STDOUT} and
+ * {@link #STDERR} frames and a final {@link #EXIT} frame holding the exit code.
+ *
+ * <p>Frames are read and written straight on the channel rather than through
+ * {@code Channels.newInputStream}, whose streams lock the channel and would block writes while a read
+ * is pending.
+ */
+final class DaemonProtocol {
+
+  static final byte REQUEST = 1;
+  static final byte STDIN = 2;
+  static final byte STDOUT = 3;
+  static final byte STDERR = 4;
+  static final byte EXIT = 5;
+
+  static final int MAX_FRAME_LENGTH = 1 << 20;
+
+  /**
+   * Limit of a {@link #REQUEST} frame, far above the argument and environment limits of the usual
+   * operating systems.
+   */
+  static final int MAX_REQUEST_LENGTH = 64 << 20;
+
+  private static final int HEADER_LENGTH = 5;
+
+  private DaemonProtocol() {
+  }
+
+  record Frame(byte type, byte[] payload) {
+  }
+
+  /**
+   * Thrown for a frame longer than its limit, once its header has been read: the payload is still to
+   * be read, or skipped with {@link FrameReader#skip}.
+   */
+  static final class FrameTooLargeException extends IOException {
+
+    private final int length;
+
+    FrameTooLargeException(byte type, int length, int maxLength) {
+      super((type == REQUEST ? "Request too large: " : "Frame too large: ") + length + " bytes (at most "
+          + maxLength + ")");
+      this.length = length;
+    }
+
+    int getLength() {
+      return length;
+    }
+  }
+
+  record Request(String[] args, Path workingDirectory, Map<String, String> environment) {
+
+    byte[] encode() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(args.length);
+      for (String arg : args) {
+        writeString(arg, out);
+      }
+      writeString(workingDirectory.toString(), out);
+      out.writeInt(environment.size());
+      for (Map.Entry<String, String> variable : environment.entrySet()) {
+        writeString(variable.getKey(), out);
+        writeString(variable.getValue(), out);
+      }
+      return bytes.toByteArray();
+    }
+
+    static Request decode(byte[] payload) throws IOException {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+      String[] args = new String[readCount(in)];
+      for (int i = 0; i < args.length; i++) {
+        args[i] = readString(in);
+      }
+      Path workingDirectory = Paths.get(readString(in));
+      int variables = readCount(in);
+      Map<String, String> environment = new LinkedHashMap<>();
+      for (int i = 0; i < variables; i++) {
+        environment.put(readString(in), readString(in));
+      }
+      return new Request(args, workingDirectory, environment);
+    }
+
+    /**
+     * Reads a count or a length, which can never exceed the bytes left in the payload.
+     */
+    private static int readCount(DataInputStream in) throws IOException {
+      int count = in.readInt();
+      if (count < 0 || count > in.available()) {
+        throw new IOException("Malformed request");
+      }
+      return count;
+    }
+
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+      byte[] bytes = new byte[readCount(in)];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Writes frames to a channel. Safe to share between the threads writing standard output and error.
+   */
+  static final class FrameWriter {
+
+    private final ByteChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+
+    FrameWriter(ByteChannel channel) {
+      this.channel = channel;
+    }
+
+    synchronized void write(byte type, byte[] data, int offset, int length) throws IOException {
+      header.clear();
+      header.put(type).putInt(length).flip();
+      writeFully(header);
+      writeFully(ByteBuffer.wrap(data, offset, length));
+    }
+
+    void write(byte type, byte[] data) throws IOException {
+      write(type, data, 0, data.length);
+    }
+
+    void writeExit(int exitCode) throws IOException {
+      write(EXIT, ByteBuffer.allocate(Integer.BYTES).putInt(exitCode).array());
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Reads frames from a channel; used by a single thread.
+   */
+  static final class FrameReader {
+
+    private final ByteChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+
+    FrameReader(ByteChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * @return the next frame, or {@code null} if the peer closed the connection between frames
+     */
+    Frame read() throws IOException {
+      header.clear();
+      if (!readFully(header, true)) {
+        return null;
+      }
+      header.flip();
+      byte type = header.get();
+      int length = header.getInt();
+      if (length < 0) {
+        throw new IOException("Invalid frame length: " + length);
+      }
+      int maxLength = type == REQUEST ? MAX_REQUEST_LENGTH : MAX_FRAME_LENGTH;
+      if (length > maxLength) {
+        throw new FrameTooLargeException(type, length, maxLength);
+      }
+
+      ByteBuffer payload = ByteBuffer.allocate(length);
+      readFully(payload, false);
+      return new Frame(type, payload.array());
+    }
+
+    /**
+     * Reads and discards {@code length} bytes, or up to the end of the connection.
+     */
+    void skip(long length) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, 8192));
+      while (length > 0) {
+        buffer.clear().limit((int) Math.min(length, buffer.capacity()));
+        int read = channel.read(buffer);
+        if (read < 0) {
+          return;
+        }
+        length -= read;
+      }
+    }
+
+    private boolean readFully(ByteBuffer buffer, boolean endAllowed) throws IOException {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          if (endAllowed && buffer.position() == 0) {
+            return false;
+          }
+          throw new EOFException("Connection closed in the middle of a frame");
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * An output stream that sends everything written to it as frames of one type.
+   */
+  static final class FrameOutputStream extends OutputStream {
+
+    private final FrameWriter writer;
+    private final byte type;
+
+    FrameOutputStream(FrameWriter writer, byte type) {
+      this.writer = writer;
+      this.type = type;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+      while (length > 0) {
+        int chunk = Math.min(length, MAX_FRAME_LENGTH);
+        writer.write(type, data, offset, chunk);
+        offset += chunk;
+        length -= chunk;
+      }
+    }
+  }
+
+  /**
+   * Copies {@code in} to {@code writer} as {@link #STDIN} frames, ending with an empty frame.
+   */
+  static void pumpStdin(InputStream in, FrameWriter writer) throws IOException {
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) >= 0) {
+      if (read > 0) {
+        writer.write(STDIN, buffer, 0, read);
+      }
+    }
+    writer.write(STDIN, buffer, 0, 0);
+  }
+}
@@ -0,0 +1,43 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * The client side of one daemon invocation: its working directory, environment and standard streams.
+ */
+@Getter
+@AllArgsConstructor
+public class InvocationContext {
+
+  private final Path workingDirectory;
+  private final Map<String, String> environment;
+  private final InputStream in;
+  private final PrintStream out;
+  private final PrintStream err;
+
+  /**
+   * The context of this process, for running an application directly or as a {@link DaemonClient}.
+   */
+  public static InvocationContext current() {
+    return new InvocationContext(Paths.get("").toAbsolutePath(), System.getenv(), System.in, System.out, System.err);
+  }
+
+  /**
+   * Resolves {@code path} against the client's working directory. The daemon's own working directory is
+   * unrelated to the client's, so relative paths must go through here before being validated.
+   */
+  public String resolve(String path) {
+    return workingDirectory.resolve(path).toString();
+  }
+
+  public String getenv(String name) {
+    return environment.get(name);
+  }
+}
@@ -0,0 +1,86 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The standard input of a daemon invocation, fed with the {@code STDIN} frames sent by the client. At
+ * most {@link #MAX_QUEUED_CHUNKS} frames wait to be read: past that the connection reader blocks, so a
+ * client piping more than the invocation reads is pushed back instead of filling the daemon's memory.
+ * Once closed, further input is discarded.
+ */
+final class StdinInputStream extends InputStream {
+
+  /**
+   * Up to a few MB, frames being at most {@link DaemonProtocol#MAX_FRAME_LENGTH} long.
+   */
+  static final int MAX_QUEUED_CHUNKS = 4;
+
+  private static final byte[] END = new byte[0];
+
+  private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(MAX_QUEUED_CHUNKS);
+  private volatile boolean closed;
+  private byte[] current = new byte[0];
+  private int position;
+  private boolean ended;
+
+  /**
+   * Waits for room in the queue unless the stream is closed.
+   */
+  void offer(byte[] chunk) throws InterruptedException {
+    if (!closed) {
+      chunks.put(chunk.length == 0 ? END : chunk);
+    }
+  }
+
+  void end() throws InterruptedException {
+    offer(END);
+  }
+
+  @Override
+  public int read() throws InterruptedIOException {
+    byte[] single = new byte[1];
+    return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public synchronized int read(byte[] buffer, int offset, int length) throws InterruptedIOException {
+    if (length == 0) return 0;
+
+    while (position == current.length) {
+      if (ended || closed) return -1;
+      try {
+        current = chunks.take();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for standard input");
+      }
+      position = 0;
+      ended = current == END;
+    }
+
+    int count = Math.min(length, current.length - position);
+    System.arraycopy(current, position, buffer, offset, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public synchronized int available() {
+    return current.length - position;
+  }
+
+  /**
+   * Discards what was not read and releases a connection reader waiting for room.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    chunks.clear();
+    // Wakes up a read waiting for input
+    chunks.offer(END);
+  }
+}
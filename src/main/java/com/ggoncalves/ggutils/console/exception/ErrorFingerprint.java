@@ -0,0 +1,192 @@
+package com.ggoncalves.ggutils.console.exception;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identifies "the same error": exception type, message with paths, file names and numbers blanked out,
+ * and the top stack frames. Two failures on different files of a vanished mount share a fingerprint.
+ */
+public record ErrorFingerprint(Class<?> type, String messageTemplate, List<StackTraceElement> topFrames) {
+
+  static final int TOP_FRAMES = 3;
+
+  static final String PATH_PLACEHOLDER = "<path>";
+  static final char NUMBER_PLACEHOLDER = '#';
+
+  private static final int MAX_EXTENSION_LENGTH = 8;
+
+  public static ErrorFingerprint of(Throwable e) {
+    return of(e, e.getStackTrace());
+  }
+
+  static ErrorFingerprint of(Throwable e, StackTraceElement[] stackTrace) {
+    List<StackTraceElement> topFrames = Arrays.asList(
+        Arrays.copyOf(stackTrace, Math.min(TOP_FRAMES, stackTrace.length)));
+    return new ErrorFingerprint(e.getClass(), template(e.getMessage()), topFrames);
+  }
+
+  /**
+   * Whether {@code e}, thrown from {@code stackTrace}, has this fingerprint. Unlike comparing with
+   * {@link #of}, neither copies the frames nor builds the template of the message.
+   */
+  boolean matches(Throwable e, StackTraceElement[] stackTrace) {
+    if (e.getClass() != type || topFrames.size() != Math.min(TOP_FRAMES, stackTrace.length)) {
+      return false;
+    }
+    for (int i = 0; i < topFrames.size(); i++) {
+      if (!topFrames.get(i).equals(stackTrace[i])) {
+        return false;
+      }
+    }
+    Matcher matcher = new Matcher(messageTemplate);
+    scan(e.getMessage(), matcher);
+    return matcher.matches();
+  }
+
+  /**
+   * Replaces every whitespace-separated token holding a path separator, or looking like a file name such
+   * as {@code report.csv}, by {@value #PATH_PLACEHOLDER} and every run of digits by
+   * {@value #NUMBER_PLACEHOLDER}.
+   */
+  static String template(String message) {
+    if (message == null) return "";
+
+    Builder builder = new Builder(message.length());
+    scan(message, builder);
+    return builder.template.toString();
+  }
+
+  private static void scan(String message, Output output) {
+    if (message == null) return;
+
+    int length = message.length();
+    int i = 0;
+    while (i < length) {
+      char c = message.charAt(i);
+      if (Character.isWhitespace(c)) {
+        output.append(c);
+        i++;
+        continue;
+      }
+
+      int end = i;
+      boolean path = false;
+      while (end < length && !Character.isWhitespace(message.charAt(end))) {
+        char t = message.charAt(end);
+        path |= t == '/' || t == '\\';
+        end++;
+      }
+
+      if (path || isFileName(message, i, end)) {
+        output.append(PATH_PLACEHOLDER);
+      }
+      else {
+        appendWithoutDigits(message, i, end, output);
+      }
+      i = end;
+    }
+  }
+
+  /**
+   * A name, a dot and an extension with at least one letter, e.g. {@code foo.txt} or {@code 'a.tar.gz'},
+   * ignoring quotes and punctuation around it. Numbers such as {@code 1.5} are not file names.
+   */
+  private static boolean isFileName(String message, int start, int end) {
+    while (start < end && !Character.isLetterOrDigit(message.charAt(start))) {
+      start++;
+    }
+    while (end > start && !Character.isLetterOrDigit(message.charAt(end - 1))) {
+      end--;
+    }
+    int dot = message.lastIndexOf('.', end - 1);
+    if (dot <= start || dot < end - 1 - MAX_EXTENSION_LENGTH) {
+      return false;
+    }
+
+    boolean letter = false;
+    for (int i = dot + 1; i < end; i++) {
+      char c = message.charAt(i);
+      if (!Character.isLetterOrDigit(c)) {
+        return false;
+      }
+      letter |= Character.isLetter(c);
+    }
+    return letter;
+  }
+
+  private static void appendWithoutDigits(String message, int start, int end, Output output) {
+    boolean inNumber = false;
+    for (int i = start; i < end; i++) {
+      char c = message.charAt(i);
+      if (Character.isDigit(c)) {
+        if (!inNumber) output.append(NUMBER_PLACEHOLDER);
+        inNumber = true;
+      }
+      else {
+        output.append(c);
+        inNumber = false;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    String location = topFrames.isEmpty() ? "" : " at " + topFrames.get(0);
+    return type.getSimpleName() + ": " + messageTemplate + location;
+  }
+
+  /**
+   * Where {@link #scan} writes the template: a builder, or a matcher against a known template.
+   */
+  private interface Output {
+
+    void append(char c);
+
+    void append(String s);
+  }
+
+  private static final class Builder implements Output {
+    private final StringBuilder template;
+
+    private Builder(int capacity) {
+      this.template = new StringBuilder(capacity);
+    }
+
+    @Override
+    public void append(char c) {
+      template.append(c);
+    }
+
+    @Override
+    public void append(String s) {
+      template.append(s);
+    }
+  }
+
+  private static final class Matcher implements Output {
+    private final String template;
+    private int position;
+    private boolean mismatch;
+
+    private Matcher(String template) {
+      this.template = template;
+    }
+
+    @Override
+    public void append(char c) {
+      mismatch |= position >= template.length() || template.charAt(position) != c;
+      position++;
+    }
+
+    @Override
+    public void append(String s) {
+      mismatch |= !template.startsWith(s, position);
+      position += s.length();
+    }
+
+    private boolean matches() {
+      return !mismatch && position == template.length();
+    }
+  }
+}
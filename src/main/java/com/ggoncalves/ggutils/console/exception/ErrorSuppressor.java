@@ -0,0 +1,209 @@
+package com.ggoncalves.ggutils.console.exception;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limits repeated errors: at most {@code maxPerWindow} occurrences of each {@link ErrorFingerprint}
+ * are let through per time window, the others are only counted. Counts of suppressed occurrences are
+ * reported once per window through {@link #drainSummaries(Consumer)}.
+ *
+ * <p>Known fingerprints are indexed by exception type and throw site, so an occurrence of one is matched
+ * in place, without building its fingerprint.
+ */
+public class ErrorSuppressor {
+
+  public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+  public static final int DEFAULT_MAX_PER_WINDOW = 5;
+
+  /**
+   * Fingerprints indexed per type and throw site; more go through {@link ErrorFingerprint#of} each time.
+   */
+  static final int MAX_INDEXED_PER_SITE = 8;
+
+  private static final StackTraceElement NO_FRAME = new StackTraceElement("", "", null, -1);
+
+  private final long windowNanos;
+  private final int maxPerWindow;
+  private final LongSupplier nanoClock;
+  private final Map<ErrorFingerprint, Occurrences> occurrences = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<StackTraceElement, Occurrences[]>> bySite = new ConcurrentHashMap<>();
+  private final AtomicLong nextSummary;
+
+  public ErrorSuppressor() {
+    this(DEFAULT_WINDOW, DEFAULT_MAX_PER_WINDOW);
+  }
+
+  public ErrorSuppressor(Duration window, int maxPerWindow) {
+    this(window, maxPerWindow, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  ErrorSuppressor(Duration window, int maxPerWindow, LongSupplier nanoClock) {
+    if (window.isNegative() || window.isZero()) {
+      throw new IllegalArgumentException("window must be positive: " + window);
+    }
+    if (maxPerWindow < 0) {
+      throw new IllegalArgumentException("maxPerWindow must not be negative: " + maxPerWindow);
+    }
+    this.windowNanos = window.toNanos();
+    this.maxPerWindow = maxPerWindow;
+    this.nanoClock = nanoClock;
+    this.nextSummary = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+  }
+
+  public Duration getWindow() {
+    return Duration.ofNanos(windowNanos);
+  }
+
+  /**
+   * Records an occurrence of {@code e}.
+   *
+   * @return whether it should be logged; otherwise it was only counted
+   */
+  public boolean tryAcquire(Throwable e) {
+    long now = nanoClock.getAsLong();
+    return occurrencesOf(e, now).record(now);
+  }
+
+  private Occurrences occurrencesOf(Throwable e, long now) {
+    StackTraceElement[] stackTrace = e.getStackTrace();
+    StackTraceElement site = stackTrace.length > 0 ? stackTrace[0] : NO_FRAME;
+    Map<StackTraceElement, Occurrences[]> sites = bySite.get(e.getClass());
+    Occurrences[] indexed = sites == null ? null : sites.get(site);
+    if (indexed != null) {
+      for (Occurrences candidate : indexed) {
+        if (candidate.fingerprint.matches(e, stackTrace)) {
+          return candidate;
+        }
+      }
+    }
+
+    Occurrences tracked = occurrences.computeIfAbsent(ErrorFingerprint.of(e, stackTrace),
+        key -> new Occurrences(key, now));
+    if (indexed == null || indexed.length < MAX_INDEXED_PER_SITE) {
+      bySite.computeIfAbsent(e.getClass(), type -> new ConcurrentHashMap<>())
+          .merge(site, new Occurrences[]{tracked}, ErrorSuppressor::index);
+    }
+    return tracked;
+  }
+
+  private static Occurrences[] index(Occurrences[] indexed, Occurrences[] added) {
+    if (Arrays.asList(indexed).contains(added[0]) || indexed.length >= MAX_INDEXED_PER_SITE) {
+      return indexed;
+    }
+    Occurrences[] updated = Arrays.copyOf(indexed, indexed.length + 1);
+    updated[indexed.length] = added[0];
+    return updated;
+  }
+
+  private void unindex(Occurrences tracked) {
+    ErrorFingerprint fingerprint = tracked.fingerprint;
+    Map<StackTraceElement, Occurrences[]> sites = bySite.get(fingerprint.type());
+    if (sites == null) return;
+
+    StackTraceElement site = fingerprint.topFrames().isEmpty() ? NO_FRAME : fingerprint.topFrames().get(0);
+    sites.computeIfPresent(site, (key, indexed) -> {
+      Occurrences[] updated = Arrays.stream(indexed).filter(other -> other != tracked).toArray(Occurrences[]::new);
+      return updated.length == 0 ? null : updated;
+    });
+  }
+
+  /**
+   * Once per window, reports each fingerprint with suppressed occurrences since its last report, and
+   * forgets fingerprints that were not seen during the window. Otherwise returns immediately.
+   */
+  public void drainSummaries(Consumer<SuppressedErrors> sink) {
+    long now = nanoClock.getAsLong();
+    long due = nextSummary.get();
+    if (now - due < 0 || !nextSummary.compareAndSet(due, now + windowNanos)) return;
+
+    drain(sink, now);
+  }
+
+  /**
+   * Reports every pending suppressed count now, e.g. before exiting.
+   */
+  public void drainAll(Consumer<SuppressedErrors> sink) {
+    long now = nanoClock.getAsLong();
+    nextSummary.set(now + windowNanos);
+    drain(sink, now);
+  }
+
+  /**
+   * Total occurrences recorded for {@code fingerprint} while it was tracked, or 0.
+   */
+  public long getOccurrences(ErrorFingerprint fingerprint) {
+    Occurrences tracked = occurrences.get(fingerprint);
+    return tracked == null ? 0 : tracked.total.sum();
+  }
+
+  private void drain(Consumer<SuppressedErrors> sink, long now) {
+    Iterator<Map.Entry<ErrorFingerprint, Occurrences>> entries = occurrences.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<ErrorFingerprint, Occurrences> entry = entries.next();
+      Occurrences tracked = entry.getValue();
+
+      long suppressed = tracked.suppressed.sumThenReset();
+      if (suppressed > 0) {
+        sink.accept(new SuppressedErrors(entry.getKey(), suppressed, tracked.total.sum()));
+      }
+      else if (now - tracked.lastSeen >= windowNanos) {
+        entries.remove();
+        unindex(tracked);
+      }
+    }
+  }
+
+  /**
+   * Occurrences of one fingerprint that were not logged since it was last reported.
+   *
+   * @param total occurrences since the fingerprint started being tracked, logged or not
+   */
+  public record SuppressedErrors(ErrorFingerprint fingerprint, long suppressed, long total) {
+  }
+
+  private final class Occurrences {
+    private final ErrorFingerprint fingerprint;
+    private final AtomicInteger inWindow = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private volatile long windowStart;
+    private volatile long lastSeen;
+
+    private Occurrences(ErrorFingerprint fingerprint, long now) {
+      this.fingerprint = fingerprint;
+      this.windowStart = now;
+    }
+
+    private boolean record(long now) {
+      total.increment();
+      lastSeen = now;
+
+      if (now - windowStart >= windowNanos) {
+        synchronized (this) {
+          if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            inWindow.set(0);
+          }
+        }
+      }
+
+      if (inWindow.incrementAndGet() <= maxPerWindow) {
+        return true;
+      }
+      suppressed.increment();
+      return false;
+    }
+  }
+}
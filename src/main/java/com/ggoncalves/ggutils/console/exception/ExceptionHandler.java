@@ -1,15 +1,55 @@
 package com.ggoncalves.ggutils.console.exception;
 
-import lombok.extern.log4j.Log4j2;
+import com.ggoncalves.ggutils.console.exception.ErrorSuppressor.SuppressedErrors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-@Log4j2
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs handled errors. With an {@link ErrorSuppressor}, the counts of suppressed errors are logged once
+ * per window: when another error is handled, and otherwise by a daemon timer started on the first
+ * suppressed error, so that the counts of the last window of a burst are not lost once errors stop.
+ */
 public class ExceptionHandler {
 
   public static final String INVALID_FILE_ERROR = "ERROR: The provided file is invalid - {}";
   public static final String PERMISSION_ERROR_MESSAGE = "Permission error: {}";
   public static final String UNEXPECTED_ERROR_MESSAGE = "ERROR: An unexpected error occurred - ";
+  public static final String UNEXPECTED_ERROR = UNEXPECTED_ERROR_MESSAGE + "{}";
+  public static final String SUPPRESSED_ERRORS_MESSAGE = "{} more occurrences suppressed ({} in total): {}";
+
+  private final ErrorSuppressor errorSuppressor;
+  private final AtomicBoolean summariesScheduled = new AtomicBoolean();
+
+  public ExceptionHandler() {
+    this(null);
+  }
+
+  /**
+   * @param errorSuppressor rate-limits repeated errors, or {@code null} to log every one
+   */
+  public ExceptionHandler(ErrorSuppressor errorSuppressor) {
+    this.errorSuppressor = errorSuppressor;
+  }
 
   public void handle(Throwable e) {
+    if (errorSuppressor != null) {
+      errorSuppressor.drainSummaries(this::logSuppressed);
+      if (!errorSuppressor.tryAcquire(e)) {
+        scheduleSummaries();
+        return;
+      }
+    }
+
+    Logger log = LogHolder.LOG;
+
     if (e instanceof InvalidFileException) {
       log.error(INVALID_FILE_ERROR, e.getMessage());
     }
@@ -17,11 +57,73 @@ public class ExceptionHandler {
       log.error(PERMISSION_ERROR_MESSAGE, e.getMessage());
     }
     else {
-      log.error(UNEXPECTED_ERROR_MESSAGE + e.getMessage(), e);
+      // The trailing throwable is logged as the event's exception, not as a parameter
+      log.error(UNEXPECTED_ERROR, e.getMessage(), e);
     }
 
     if (!(e instanceof InvalidFileException) && !(e instanceof FilePermissionException)) {
       log.debug("Stack trace:", e);
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Logs the pending counts of suppressed errors, e.g. before exiting. Does nothing without a suppressor.
+   */
+  public void flushSuppressed() {
+    if (errorSuppressor != null) {
+      errorSuppressor.drainAll(this::logSuppressed);
+    }
+  }
+
+  private void logSuppressed(SuppressedErrors errors) {
+    LogHolder.LOG.warn(SUPPRESSED_ERRORS_MESSAGE, errors.suppressed(), errors.total(), errors.fingerprint());
+  }
+
+  private void scheduleSummaries() {
+    if (summariesScheduled.compareAndSet(false, true)) {
+      long periodNanos = errorSuppressor.getWindow().toNanos();
+      SummaryTask task = new SummaryTask(this);
+      task.future = SummaryTimer.INSTANCE.scheduleAtFixedRate(task, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Logs the due summaries of a handler, until the handler is no longer used.
+   */
+  private static final class SummaryTask implements Runnable {
+
+    private final WeakReference<ExceptionHandler> handler;
+    private volatile ScheduledFuture<?> future;
+
+    private SummaryTask(ExceptionHandler handler) {
+      this.handler = new WeakReference<>(handler);
+    }
+
+    @Override
+    public void run() {
+      ExceptionHandler current = handler.get();
+      if (current != null) {
+        current.errorSuppressor.drainSummaries(current::logSuppressed);
+      }
+      else if (future != null) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Shared by all handlers, and only started once an error is suppressed.
+   */
+  private static final class SummaryTimer {
+    private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("suppressed-errors-summary").setDaemon(true).build());
+  }
+
+  /**
+   * Configuring Log4j2 loads more classes than the rest of a short-lived tool, so it is deferred until
+   * the first exception is handled instead of happening when the handler is created.
+   */
+  private static final class LogHolder {
+    private static final Logger LOG = LogManager.getLogger(ExceptionHandler.class);
+  }
+}
@@ -10,4 +10,12 @@ public class FilePermissionException extends RuntimeException {
   public FilePermissionException(String message) {
     super(message);
   }
-}
\ No newline at end of file
+
+  /**
+   * @param writableStackTrace {@code false} skips filling in the stack trace and recording suppressed
+   *                           exceptions, for failures that are expected and handled right away
+   */
+  public FilePermissionException(String message, boolean writableStackTrace) {
+    super(message, null, writableStackTrace, writableStackTrace);
+  }
+}
@@ -0,0 +1,41 @@
+package com.ggoncalves.ggutils.console.exception;
+
+import com.ggoncalves.ggutils.console.metrics.ConsoleMetrics;
+import com.ggoncalves.ggutils.console.metrics.OperationMetrics;
+
+/**
+ * An {@link ExceptionHandler} that counts how often each branch fires ({@code invalidFile},
+ * {@code permission} or {@code unexpected}) and how long handling takes, under the {@value #HANDLE}
+ * operation of a {@link ConsoleMetrics}.
+ */
+public class InstrumentedExceptionHandler extends ExceptionHandler {
+
+  public static final String HANDLE = "handle";
+
+  private final OperationMetrics metrics;
+
+  public InstrumentedExceptionHandler(ErrorSuppressor errorSuppressor) {
+    this(errorSuppressor, ConsoleMetrics.getDefault());
+  }
+
+  /**
+   * @param errorSuppressor rate-limits repeated errors, or {@code null} to log every one
+   */
+  public InstrumentedExceptionHandler(ErrorSuppressor errorSuppressor, ConsoleMetrics consoleMetrics) {
+    super(errorSuppressor);
+    this.metrics = consoleMetrics.operation(HANDLE);
+  }
+
+  @Override
+  public void handle(Throwable e) {
+    long start = System.nanoTime();
+    super.handle(e);
+    metrics.recordSince(branch(e), start);
+  }
+
+  private static String branch(Throwable e) {
+    if (e instanceof InvalidFileException) return "invalidFile";
+    if (e instanceof FilePermissionException) return "permission";
+    return "unexpected";
+  }
+}
@@ -8,4 +8,12 @@ public class InvalidFileException extends RuntimeException {
   public InvalidFileException(String message) {
     super(message);
   }
-}
\ No newline at end of file
+
+  /**
+   * @param writableStackTrace {@code false} skips filling in the stack trace and recording suppressed
+   *                           exceptions, for failures that are expected and handled right away
+   */
+  public InvalidFileException(String message, boolean writableStackTrace) {
+    super(message, null, writableStackTrace, writableStackTrace);
+  }
+}
@@ -0,0 +1,27 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+
+/**
+ * Loads XML configurations (the bundled {@code log4j2.xml} or the application's own) as
+ * {@link AsyncXmlConfiguration}s. Log4j2 instantiates it by class name from the
+ * {@code log4j2.configurationFactory} property set by {@link AsyncLogging#enable(OverflowPolicy)}; it is
+ * deliberately not a plugin, so it adds no plugin index that could clash with Log4j2's own in a shaded jar.
+ */
+public class AsyncConfigurationFactory extends ConfigurationFactory {
+
+  private static final String[] SUPPORTED_TYPES = {".xml"};
+
+  @Override
+  protected String[] getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
+
+  @Override
+  public Configuration getConfiguration(LoggerContext loggerContext, ConfigurationSource source) {
+    return new AsyncXmlConfiguration(loggerContext, source, AsyncLogging.configuredBufferSize());
+  }
+}
@@ -0,0 +1,68 @@
+package com.ggoncalves.ggutils.console.logging;
+
+/**
+ * Switches Log4j2 to asynchronous logging: every logger writes to a bounded buffer drained by a
+ * background thread, so threads handling exceptions do not wait on console or disk I/O unless the
+ * buffer fills up, and then only as the {@link OverflowPolicy} allows. The XML configuration in use
+ * (appenders, levels, filters) is unchanged.
+ *
+ * <p>The same can be done from the command line with
+ * {@code -Dlog4j2.configurationFactory=com.ggoncalves.ggutils.console.logging.AsyncConfigurationFactory}
+ * {@code -Dlog4j2.AsyncQueueFullPolicy=com.ggoncalves.ggutils.console.logging.OverflowQueueFullPolicy}
+ * and the {@code ggutils.log.*} properties below.
+ */
+public final class AsyncLogging {
+
+  public static final String OVERFLOW_PROPERTY = "ggutils.log.overflow";
+  public static final String SAMPLE_RATE_PROPERTY = "ggutils.log.sampleRate";
+  public static final String BUFFER_SIZE_PROPERTY = "ggutils.log.bufferSize";
+
+  static final int DEFAULT_SAMPLE_RATE = 100;
+  static final int DEFAULT_BUFFER_SIZE = 1024;
+
+  static final String CONFIGURATION_FACTORY_PROPERTY = "log4j2.configurationFactory";
+  static final String QUEUE_FULL_POLICY_PROPERTY = "log4j2.AsyncQueueFullPolicy";
+
+  private AsyncLogging() {
+  }
+
+  public static void enable(OverflowPolicy overflowPolicy) {
+    enable(overflowPolicy, DEFAULT_SAMPLE_RATE, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Log4j2 reads these settings when it starts, i.e. when the first exception is handled, so call this
+   * at the start of {@code main}.
+   *
+   * @param sampleRate with {@link OverflowPolicy#SAMPLE}, keep one event out of this many on overflow
+   * @param bufferSize number of events the buffer of each logger holds
+   */
+  public static void enable(OverflowPolicy overflowPolicy, int sampleRate, int bufferSize) {
+    if (sampleRate <= 0) {
+      throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+    }
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+    }
+    System.setProperty(CONFIGURATION_FACTORY_PROPERTY, AsyncConfigurationFactory.class.getName());
+    System.setProperty(QUEUE_FULL_POLICY_PROPERTY, OverflowQueueFullPolicy.class.getName());
+    System.setProperty(OVERFLOW_PROPERTY, overflowPolicy.name());
+    System.setProperty(SAMPLE_RATE_PROPERTY, String.valueOf(sampleRate));
+    System.setProperty(BUFFER_SIZE_PROPERTY, String.valueOf(bufferSize));
+  }
+
+  static OverflowPolicy configuredOverflowPolicy() {
+    String value = System.getProperty(OVERFLOW_PROPERTY);
+    return value == null ? OverflowPolicy.BLOCK : OverflowPolicy.valueOf(value.trim().toUpperCase());
+  }
+
+  static int configuredSampleRate() {
+    String value = System.getProperty(SAMPLE_RATE_PROPERTY);
+    return value == null ? DEFAULT_SAMPLE_RATE : Integer.parseInt(value.trim());
+  }
+
+  static int configuredBufferSize() {
+    String value = System.getProperty(BUFFER_SIZE_PROPERTY);
+    return value == null ? DEFAULT_BUFFER_SIZE : Integer.parseInt(value.trim());
+  }
+}
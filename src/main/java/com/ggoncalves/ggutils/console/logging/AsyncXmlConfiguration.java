@@ -0,0 +1,95 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicyFactory;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An XML configuration whose loggers write through a {@link BoundedAsyncAppender} instead of calling
+ * their appenders directly. Each logger keeps the appenders, levels and filters of its configuration.
+ */
+class AsyncXmlConfiguration extends XmlConfiguration {
+
+  private final int bufferSize;
+  private final List<BoundedAsyncAppender> asyncAppenders = new ArrayList<>();
+
+  AsyncXmlConfiguration(LoggerContext loggerContext, ConfigurationSource source, int bufferSize) {
+    super(loggerContext, source);
+    this.bufferSize = bufferSize;
+  }
+
+  @Override
+  protected void doConfigure() {
+    super.doConfigure();
+
+    List<LoggerConfig> loggerConfigs = new ArrayList<>(getLoggers().values());
+    if (!loggerConfigs.contains(getRootLogger())) {
+      loggerConfigs.add(getRootLogger());
+    }
+    for (LoggerConfig loggerConfig : loggerConfigs) {
+      wrapAppenders(loggerConfig);
+    }
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    // Drain the buffers while the wrapped appenders are still running
+    for (BoundedAsyncAppender appender : asyncAppenders) {
+      appender.stop(timeout, timeUnit);
+    }
+    return super.stop(timeout, timeUnit);
+  }
+
+  @Override
+  public Configuration reconfigure() {
+    try {
+      ConfigurationSource source = getConfigurationSource().resetInputStream();
+      return source == null ? null : new AsyncXmlConfiguration(getLoggerContext(), source, bufferSize);
+    }
+    catch (IOException e) {
+      LOGGER.error("Cannot locate file {}", getConfigurationSource(), e);
+      return null;
+    }
+  }
+
+  List<BoundedAsyncAppender> getAsyncAppenders() {
+    return asyncAppenders;
+  }
+
+  private void wrapAppenders(LoggerConfig loggerConfig) {
+    Map<String, Appender> appenders = loggerConfig.getAppenders();
+    if (appenders.isEmpty()) return;
+
+    List<AppenderControl> controls = new ArrayList<>();
+    for (AppenderRef ref : loggerConfig.getAppenderRefs()) {
+      Appender appender = appenders.get(ref.getRef());
+      if (appender != null) {
+        controls.add(new AppenderControl(appender, ref.getLevel(), ref.getFilter()));
+      }
+    }
+    if (controls.isEmpty()) return;
+
+    String name = "Async-" + (loggerConfig.getName().isEmpty() ? "root" : loggerConfig.getName());
+    BoundedAsyncAppender asyncAppender = new BoundedAsyncAppender(name, bufferSize, controls,
+        AsyncQueueFullPolicyFactory.create());
+
+    for (String appenderName : appenders.keySet()) {
+      loggerConfig.removeAppender(appenderName);
+    }
+    addAppender(asyncAppender);
+    loggerConfig.addAppender(asyncAppender, null, null);
+    asyncAppenders.add(asyncAppender);
+  }
+}
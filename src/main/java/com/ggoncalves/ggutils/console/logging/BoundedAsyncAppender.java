@@ -0,0 +1,160 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands events to a background thread through a bounded buffer, which writes them to the wrapped
+ * appenders in batches (flushing once per batch). When the buffer is full an {@link AsyncQueueFullPolicy}
+ * decides whether the logging thread waits, drops the event or writes it itself.
+ *
+ * <p>Unlike Log4j2's {@code AsyncAppender}, the logging thread only copies the event: the message is
+ * formatted and the stack trace of the exception is resolved on the background thread. Building that
+ * stack trace representation loads classes under class loader locks, and is what stalls worker threads
+ * during error bursts.
+ */
+final class BoundedAsyncAppender extends AbstractAppender {
+
+  private static final int MAX_BATCH = 256;
+  private static final long POLL_MILLIS = 100;
+  private static final long DEFAULT_STOP_MILLIS = 1_000;
+
+  private final BlockingQueue<LogEvent> buffer;
+  private final List<AppenderControl> appenders;
+  private final AsyncQueueFullPolicy queueFullPolicy;
+  private final Thread dispatcher;
+  private volatile boolean running;
+
+  BoundedAsyncAppender(String name, int bufferSize, List<AppenderControl> appenders,
+                       AsyncQueueFullPolicy queueFullPolicy) {
+    super(name, null, null, true, Property.EMPTY_ARRAY);
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.appenders = List.copyOf(appenders);
+    this.queueFullPolicy = queueFullPolicy;
+    this.dispatcher = new Thread(this::dispatch, "async-log-" + name);
+    this.dispatcher.setDaemon(true);
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    dispatcher.start();
+    super.start();
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    if (!running) return true;
+
+    setStopping();
+    running = false;
+    try {
+      // The dispatcher drains what is left before exiting
+      dispatcher.join(timeout > 0 ? timeUnit.toMillis(timeout) : DEFAULT_STOP_MILLIS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    setStopped();
+    return !dispatcher.isAlive();
+  }
+
+  @Override
+  public void append(LogEvent event) {
+    LogEvent copy = copy(event);
+    if (buffer.offer(copy)) return;
+
+    switch (queueFullPolicy.getRoute(dispatcher.getId(), event.getLevel())) {
+      case ENQUEUE -> enqueue(copy);
+      case SYNCHRONOUS -> callAppenders(copy);
+      case DISCARD -> {
+        // Dropped by the overflow policy
+      }
+    }
+  }
+
+  int getBufferCapacity() {
+    return buffer.remainingCapacity() + buffer.size();
+  }
+
+  private void enqueue(LogEvent event) {
+    try {
+      buffer.put(event);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      callAppenders(event);
+    }
+  }
+
+  private void dispatch() {
+    List<LogEvent> batch = new ArrayList<>(MAX_BATCH);
+
+    while (running || !buffer.isEmpty()) {
+      LogEvent first;
+      try {
+        first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      catch (InterruptedException e) {
+        continue;
+      }
+      if (first == null) continue;
+
+      batch.add(first);
+      buffer.drainTo(batch, MAX_BATCH - 1);
+      for (int i = 0; i < batch.size(); i++) {
+        LogEvent event = batch.get(i);
+        event.setEndOfBatch(i == batch.size() - 1);
+        callAppenders(event);
+      }
+      batch.clear();
+    }
+  }
+
+  private void callAppenders(LogEvent event) {
+    for (AppenderControl appender : appenders) {
+      appender.callAppender(event);
+    }
+  }
+
+  /**
+   * Snapshot of an event that is safe to read from another thread. Events are reused by the logging
+   * thread, but the message parameters, the exception and the context are captured by reference only.
+   */
+  private static LogEvent copy(LogEvent event) {
+    Message message = event.getMessage();
+    if (message instanceof ReusableMessage reusable) {
+      message = reusable.memento();
+    }
+
+    return Log4jLogEvent.newBuilder()
+        .setLoggerName(event.getLoggerName())
+        .setLoggerFqcn(event.getLoggerFqcn())
+        .setMarker(event.getMarker())
+        .setLevel(event.getLevel())
+        .setMessage(message)
+        .setThrown(event.getThrown())
+        .setContextData(event.getContextData().isEmpty() ? null : new SortedArrayStringMap(event.getContextData()))
+        .setContextStack(event.getContextStack())
+        .setThreadName(event.getThreadName())
+        .setThreadId(event.getThreadId())
+        .setThreadPriority(event.getThreadPriority())
+        .setInstant(event.getInstant())
+        .setNanoTime(event.getNanoTime())
+        .setIncludeLocation(false)
+        .build();
+  }
+}
@@ -0,0 +1,19 @@
+package com.ggoncalves.ggutils.console.logging;
+
+/**
+ * What a logging thread does when the async logging buffer is full.
+ */
+public enum OverflowPolicy {
+  /**
+   * Wait for room in the buffer; nothing is lost.
+   */
+  BLOCK,
+  /**
+   * Discard the event and carry on.
+   */
+  DROP,
+  /**
+   * Keep one event out of every {@code sampleRate} (waiting for room for it) and discard the rest.
+   */
+  SAMPLE
+}
@@ -0,0 +1,62 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log4j2 queue-full policy applying an {@link OverflowPolicy}. Log4j2 instantiates it by class name
+ * (see {@link AsyncLogging}) and it reads its settings from the {@link AsyncLogging#OVERFLOW_PROPERTY}
+ * and {@link AsyncLogging#SAMPLE_RATE_PROPERTY} system properties.
+ */
+public class OverflowQueueFullPolicy implements AsyncQueueFullPolicy {
+
+  private static final LongAdder DISCARDED = new LongAdder();
+
+  private final OverflowPolicy overflowPolicy;
+  private final int sampleRate;
+  private final AtomicLong overflows = new AtomicLong();
+
+  public OverflowQueueFullPolicy() {
+    this(AsyncLogging.configuredOverflowPolicy(), AsyncLogging.configuredSampleRate());
+  }
+
+  @VisibleForTesting
+  OverflowQueueFullPolicy(OverflowPolicy overflowPolicy, int sampleRate) {
+    if (sampleRate <= 0) {
+      throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+    }
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = sampleRate;
+  }
+
+  /**
+   * Number of events discarded because the buffer was full, across all policies of this JVM.
+   */
+  public static long getDiscardedCount() {
+    return DISCARDED.sum();
+  }
+
+  @Override
+  public EventRoute getRoute(long backgroundThreadId, Level level) {
+    // Waiting on the queue from the thread that drains it would never return
+    if (Thread.currentThread().getId() == backgroundThreadId) {
+      return EventRoute.SYNCHRONOUS;
+    }
+
+    return switch (overflowPolicy) {
+      case BLOCK -> EventRoute.ENQUEUE;
+      case DROP -> discard();
+      case SAMPLE -> overflows.getAndIncrement() % sampleRate == 0 ? EventRoute.ENQUEUE : discard();
+    };
+  }
+
+  private static EventRoute discard() {
+    DISCARDED.increment();
+    return EventRoute.DISCARD;
+  }
+}
@@ -0,0 +1,16 @@
+package com.ggoncalves.ggutils.console.metrics;
+
+import lombok.Value;
+
+/**
+ * Latencies of an operation at one point in time, in microseconds.
+ */
+@Value
+public class LatencySnapshot {
+  long count;
+  double meanMicros;
+  double p50Micros;
+  double p99Micros;
+  double p999Micros;
+  double maxMicros;
+}
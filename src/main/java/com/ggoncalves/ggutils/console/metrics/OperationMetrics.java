@@ -0,0 +1,93 @@
+package com.ggoncalves.ggutils.console.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Count and latency of one operation, overall and per outcome.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+  private final String name;
+  private final LatencyHistogram overall = new LatencyHistogram();
+  private final ConcurrentMap<String, LatencyHistogram> byOutcome = new ConcurrentHashMap<>();
+
+  OperationMetrics(String name) {
+    this.name = name;
+  }
+
+  public void record(String outcome, long nanos) {
+    overall.record(nanos);
+    LatencyHistogram histogram = byOutcome.get(outcome);
+    if (histogram == null) {
+      histogram = byOutcome.computeIfAbsent(outcome, key -> new LatencyHistogram());
+    }
+    histogram.record(nanos);
+  }
+
+  /**
+   * Records the time elapsed since {@code startNanos}, a {@link System#nanoTime()} reading.
+   */
+  public void recordSince(String outcome, long startNanos) {
+    record(outcome, System.nanoTime() - startNanos);
+  }
+
+  public LatencySnapshot snapshot() {
+    return overall.snapshot();
+  }
+
+  public long getCount(String outcome) {
+    LatencyHistogram histogram = byOutcome.get(outcome);
+    return histogram == null ? 0 : histogram.getCount();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getCount() {
+    return overall.getCount();
+  }
+
+  @Override
+  public double getMeanMicros() {
+    return overall.snapshot().getMeanMicros();
+  }
+
+  @Override
+  public double getP50Micros() {
+    return overall.getPercentileNanos(50) / 1_000.0;
+  }
+
+  @Override
+  public double getP99Micros() {
+    return overall.getPercentileNanos(99) / 1_000.0;
+  }
+
+  @Override
+  public double getP999Micros() {
+    return overall.getPercentileNanos(99.9) / 1_000.0;
+  }
+
+  @Override
+  public double getMaxMicros() {
+    return overall.snapshot().getMaxMicros();
+  }
+
+  @Override
+  public Map<String, LatencySnapshot> getOutcomes() {
+    Map<String, LatencySnapshot> outcomes = new TreeMap<>();
+    byOutcome.forEach((outcome, histogram) -> outcomes.put(outcome, histogram.snapshot()));
+    return outcomes;
+  }
+
+  @Override
+  public void reset() {
+    overall.reset();
+    byOutcome.values().forEach(LatencyHistogram::reset);
+  }
+}
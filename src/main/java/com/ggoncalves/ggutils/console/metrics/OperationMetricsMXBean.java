@@ -0,0 +1,30 @@
+package com.ggoncalves.ggutils.console.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of an {@link OperationMetrics}. Latencies are in microseconds.
+ */
+public interface OperationMetricsMXBean {
+
+  String getName();
+
+  long getCount();
+
+  double getMeanMicros();
+
+  double getP50Micros();
+
+  double getP99Micros();
+
+  double getP999Micros();
+
+  double getMaxMicros();
+
+  /**
+   * Latencies per outcome, e.g. {@code missing} or {@code invalidFile}.
+   */
+  Map<String, LatencySnapshot> getOutcomes();
+
+  void reset();
+}
@@ -0,0 +1,24 @@
+package com.ggoncalves.ggutils.console.output;
+
+/**
+ * When committed output files are forced to disk. Whatever the policy, a file only appears under its
+ * name once complete, so a crashed process never leaves a partial file behind; the policy decides
+ * what survives a power loss or kernel crash.
+ */
+public enum FsyncPolicy {
+  /**
+   * Each file is forced to disk before being renamed, and the directory right after: a committed file
+   * is durable when {@code commit} returns.
+   */
+  ALWAYS,
+  /**
+   * Committed files are forced to disk, with a single directory sync, every {@code batchSize} commits
+   * and on {@link OutputDirectory#sync()} or {@code close()}. Files committed since the last sync may be
+   * empty or missing after a power loss.
+   */
+  BATCH,
+  /**
+   * Left to the operating system.
+   */
+  NONE
+}
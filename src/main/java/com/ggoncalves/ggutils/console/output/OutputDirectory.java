@@ -0,0 +1,209 @@
+package com.ggoncalves.ggutils.console.output;
+
+import com.ggoncalves.ggutils.console.cli.CommandProcessor;
+import com.ggoncalves.ggutils.console.cli.FileCheckOutcome;
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A validated output directory to which files are written through {@link OutputFile}s: each is written
+ * to a temporary file next to its target and renamed over it on commit. Thread-safe; each
+ * {@code OutputFile} is meant to be used by one thread.
+ */
+public class OutputDirectory implements AutoCloseable {
+
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
+  static final String TEMPORARY_SUFFIX = ".ggutils-tmp";
+
+  private final Path directory;
+  private final FsyncPolicy fsyncPolicy;
+  private final int batchSize;
+  private final List<Path> unsynced = new ArrayList<>();
+
+  private OutputDirectory(Path directory, FsyncPolicy fsyncPolicy, int batchSize) {
+    this.directory = directory;
+    this.fsyncPolicy = fsyncPolicy;
+    this.batchSize = batchSize;
+  }
+
+  public static OutputDirectory open(Path directory) {
+    return open(directory, FsyncPolicy.ALWAYS, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Checks the directory as {@link CommandProcessor#validateOutputDir} does and opens it.
+   *
+   * @param batchSize number of commits between syncs with {@link FsyncPolicy#BATCH}
+   */
+  public static OutputDirectory open(Path directory, FsyncPolicy fsyncPolicy, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+    FileCheckOutcome outcome = CommandProcessor.checkOutputDir(directory);
+    if (!outcome.isOk()) {
+      throw outcome.toException(CommandProcessor.OUTPUT_FILE_TYPE, directory.toString(), true);
+    }
+    return new OutputDirectory(directory.toAbsolutePath().normalize(), fsyncPolicy, batchSize);
+  }
+
+  public Path getPath() {
+    return directory;
+  }
+
+  public FsyncPolicy getFsyncPolicy() {
+    return fsyncPolicy;
+  }
+
+  public OutputFile create(String name) throws IOException {
+    return create(name, -1);
+  }
+
+  /**
+   * Starts writing {@code name}, a path relative to the directory that must stay inside it, symbolic
+   * links resolved; missing parent directories are created.
+   *
+   * @param expectedSize the final size when known, to reserve it up front, or {@code -1}
+   */
+  public OutputFile create(String name, long expectedSize) throws IOException {
+    Path target = directory.resolve(name).normalize();
+    if (!target.startsWith(directory) || target.equals(directory)) {
+      throw new IllegalArgumentException("Output file must be inside " + directory + ": " + name);
+    }
+    Path parent = target.getParent();
+    if (!Files.isDirectory(parent)) {
+      Files.createDirectories(parent);
+    }
+    if (!parent.toRealPath().startsWith(directory.toRealPath())) {
+      // A symbolic link on the way leads out of the directory
+      throw new IllegalArgumentException("Output file must be inside " + directory + ": " + name);
+    }
+    Path temporary = Files.createTempFile(parent, "." + target.getFileName() + ".", TEMPORARY_SUFFIX);
+    try {
+      return new OutputFile(this, target, temporary, expectedSize, OutputFile.DEFAULT_BUFFER_SIZE);
+    }
+    catch (IOException | RuntimeException e) {
+      try {
+        Files.deleteIfExists(temporary);
+      }
+      catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Forces the files committed since the last sync to disk, then the directory. Only needed with
+   * {@link FsyncPolicy#BATCH}.
+   */
+  public void sync() throws IOException {
+    List<Path> files;
+    synchronized (unsynced) {
+      files = new ArrayList<>(unsynced);
+      unsynced.clear();
+    }
+    if (files.isEmpty()) {
+      return;
+    }
+    for (Path file : files) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        channel.force(false);
+      }
+      catch (NoSuchFileException e) {
+        // Replaced or removed since: nothing left to make durable
+      }
+    }
+    syncDirectories(files);
+  }
+
+  /**
+   * Deletes temporary files left behind by processes that crashed before committing, in the directory
+   * itself. Must not run while other processes write to the directory.
+   *
+   * @return the number of files deleted
+   */
+  public int deleteTemporaryFiles() throws IOException {
+    int deleted = 0;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, ".*" + TEMPORARY_SUFFIX)) {
+      for (Path temporary : stream) {
+        if (Files.deleteIfExists(temporary)) {
+          deleted++;
+        }
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Syncs the pending files with {@link FsyncPolicy#BATCH}. Output files still open are not affected.
+   */
+  @Override
+  public void close() throws IOException {
+    sync();
+  }
+
+  void committed(Path target) throws IOException {
+    switch (fsyncPolicy) {
+      case ALWAYS -> syncDirectories(List.of(target));
+      case BATCH -> {
+        boolean full;
+        synchronized (unsynced) {
+          unsynced.add(target);
+          full = unsynced.size() >= batchSize;
+        }
+        if (full) {
+          sync();
+        }
+      }
+      case NONE -> {
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int getUnsyncedCount() {
+    synchronized (unsynced) {
+      return unsynced.size();
+    }
+  }
+
+  private static void syncDirectories(List<Path> files) throws IOException {
+    Set<Path> parents = new LinkedHashSet<>();
+    for (Path file : files) {
+      parents.add(file.getParent());
+    }
+    for (Path parent : parents) {
+      syncDirectory(parent);
+    }
+  }
+
+  /**
+   * Makes the renames in {@code directory} durable. Not supported on every platform (e.g. Windows),
+   * where it is skipped.
+   */
+  private static void syncDirectory(Path directory) throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory, StandardOpenOption.READ);
+    }
+    catch (IOException e) {
+      // Directories cannot be opened on this platform
+      return;
+    }
+    try (channel) {
+      channel.force(true);
+    }
+  }
+}
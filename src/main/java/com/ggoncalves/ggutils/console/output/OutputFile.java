@@ -0,0 +1,229 @@
+package com.ggoncalves.ggutils.console.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file being written to a temporary file of its {@link OutputDirectory}. It only appears under its
+ * name on {@link #commit()}; closing it without committing deletes the temporary file.
+ *
+ * <p>Writes go through a direct buffer aligned on {@link #ALIGNMENT}, so the JDK does not copy them
+ * into a temporary direct buffer and the disk gets large block-aligned writes; writes larger than the
+ * buffer bypass it. Not thread-safe.
+ */
+public class OutputFile implements WritableByteChannel {
+
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+  static final int ALIGNMENT = 4096;
+
+  private final OutputDirectory directory;
+  private final Path target;
+  private final Path temporary;
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private final boolean preallocated;
+  private long flushed;
+  private boolean open = true;
+
+  OutputFile(OutputDirectory directory, Path target, Path temporary, long expectedSize, int bufferSize)
+      throws IOException {
+    this.directory = directory;
+    this.target = target;
+    this.temporary = temporary;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize + ALIGNMENT).alignedSlice(ALIGNMENT);
+    this.preallocated = expectedSize > 0;
+    this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+    if (preallocated) {
+      // The JDK has no fallocate: writing the last byte reserves the size (sparsely) in a single update
+      try {
+        channel.write(ByteBuffer.allocate(1), expectedSize - 1);
+      }
+      catch (IOException e) {
+        channel.close();
+        throw e;
+      }
+    }
+  }
+
+  public Path getTarget() {
+    return target;
+  }
+
+  /**
+   * Number of bytes written so far.
+   */
+  public long size() {
+    return flushed + buffer.position();
+  }
+
+  @Override
+  public int write(ByteBuffer source) throws IOException {
+    ensureOpen();
+    int length = source.remaining();
+    if (length >= buffer.capacity()) {
+      flushBuffer();
+      while (source.hasRemaining()) {
+        flushed += channel.write(source, flushed);
+      }
+    }
+    else {
+      while (source.hasRemaining()) {
+        if (!buffer.hasRemaining()) {
+          flushBuffer();
+        }
+        int chunk = Math.min(buffer.remaining(), source.remaining());
+        int limit = source.limit();
+        source.limit(source.position() + chunk);
+        buffer.put(source);
+        source.limit(limit);
+      }
+    }
+    return length;
+  }
+
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    write(ByteBuffer.wrap(bytes, offset, length));
+  }
+
+  public void write(byte[] bytes) throws IOException {
+    write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Appends {@code count} bytes of {@code source} from {@code position}, letting the kernel copy them
+   * ({@code sendfile}/{@code copy_file_range} on Linux) instead of going through the heap.
+   */
+  public long transferFrom(FileChannel source, long position, long count) throws IOException {
+    ensureOpen();
+    flushBuffer();
+    long transferred = 0;
+    while (transferred < count) {
+      long chunk = source.transferTo(position + transferred, count - transferred, channel.position(flushed));
+      if (chunk <= 0) {
+        break;
+      }
+      transferred += chunk;
+      flushed += chunk;
+    }
+    return transferred;
+  }
+
+  /**
+   * Appends the whole content of {@code source}.
+   */
+  public long transferFrom(Path source) throws IOException {
+    try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+      return transferFrom(input, 0, input.size());
+    }
+  }
+
+  /**
+   * An output stream writing to this file. Closing it does not commit nor abort the file.
+   */
+  public OutputStream asOutputStream() {
+    return Channels.newOutputStream(new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer source) throws IOException {
+        return OutputFile.this.write(source);
+      }
+
+      @Override
+      public boolean isOpen() {
+        return open;
+      }
+
+      @Override
+      public void close() {
+      }
+    });
+  }
+
+  /**
+   * Flushes the buffer, trims any unused reserved space, applies the directory's {@link FsyncPolicy}
+   * and atomically renames the temporary file over the target. The temporary file is deleted if any
+   * step fails.
+   */
+  public void commit() throws IOException {
+    ensureOpen();
+    try {
+      flushBuffer();
+      if (preallocated) {
+        channel.truncate(flushed);
+      }
+      if (directory.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+        channel.force(false);
+      }
+    }
+    catch (IOException e) {
+      abort();
+      throw e;
+    }
+    open = false;
+    try {
+      channel.close();
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException e) {
+      try {
+        Files.deleteIfExists(temporary);
+      }
+      catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+    directory.committed(target);
+  }
+
+  /**
+   * Discards what was written. Does nothing once committed.
+   */
+  public void abort() throws IOException {
+    if (!open) {
+      return;
+    }
+    open = false;
+    try {
+      channel.close();
+    }
+    finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  /**
+   * Aborts the file unless it was committed.
+   */
+  @Override
+  public void close() throws IOException {
+    abort();
+  }
+
+  private void flushBuffer() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      flushed += channel.write(buffer, flushed);
+    }
+    buffer.clear();
+  }
+
+  private void ensureOpen() throws IOException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The attributes of a path captured by a single {@code stat}. Permissions are evaluated from the
+ * mode bits against the process credentials, so ACLs and read-only mounts are not taken into
+ * account; when the numeric {@code unix} view is not available the permission flags come from
+ * {@code Files.isReadable/isWritable/isExecutable} instead.
+ */
+@Getter
+@AllArgsConstructor
+final class AttributeSnapshot {
+
+  private static final String UNIX_ATTRIBUTES = "unix:mode,uid,gid,size";
+
+  private static final int S_IFMT = 0170000;
+  private static final int S_IFDIR = 0040000;
+  private static final int S_IFREG = 0100000;
+  private static final int ANY_EXECUTE = 0111;
+
+  private final boolean directory;
+  private final boolean regularFile;
+  private final long size;
+  private final boolean readable;
+  private final boolean writable;
+  private final boolean executable;
+
+  int toFlags() {
+    return ValidationFlags.EXISTS
+        | (directory ? ValidationFlags.DIRECTORY : 0)
+        | (regularFile ? ValidationFlags.REGULAR_FILE : 0)
+        | (readable ? ValidationFlags.READABLE : 0)
+        | (writable ? ValidationFlags.WRITABLE : 0)
+        | (executable ? ValidationFlags.EXECUTABLE : 0)
+        | (size == 0 ? ValidationFlags.BLANK : 0);
+  }
+
+  /**
+   * @throws java.nio.file.NoSuchFileException if the path does not exist
+   */
+  static AttributeSnapshot read(Path path) throws IOException {
+    ProcessCredentials credentials = ProcessCredentials.current();
+    if (credentials != null) {
+      Map<String, Object> attributes = readUnixAttributes(path);
+      if (attributes != null) {
+        return fromUnixAttributes(attributes, credentials);
+      }
+    }
+    return fromFallbackAttributes(path);
+  }
+
+  static AttributeSnapshot fromUnixAttributes(Map<String, Object> attributes, ProcessCredentials credentials) {
+    int mode = (Integer) attributes.get("mode");
+    int uid = (Integer) attributes.get("uid");
+    int gid = (Integer) attributes.get("gid");
+    long size = (Long) attributes.get("size");
+
+    boolean directory = (mode & S_IFMT) == S_IFDIR;
+    boolean regularFile = (mode & S_IFMT) == S_IFREG;
+
+    if (credentials.isRoot()) {
+      // Root bypasses read/write bits, but still needs at least one execute bit on non-directories
+      return new AttributeSnapshot(directory, regularFile, size, true, true,
+          directory || (mode & ANY_EXECUTE) != 0);
+    }
+
+    int shift;
+    if (Integer.toUnsignedLong(uid) == credentials.getUid()) {
+      shift = 6;
+    }
+    else if (credentials.isMemberOf(Integer.toUnsignedLong(gid))) {
+      shift = 3;
+    }
+    else {
+      shift = 0;
+    }
+    int bits = (mode >> shift) & 07;
+    return new AttributeSnapshot(directory, regularFile, size,
+        (bits & 04) != 0, (bits & 02) != 0, (bits & 01) != 0);
+  }
+
+  private static Map<String, Object> readUnixAttributes(Path path) throws IOException {
+    try {
+      return Files.readAttributes(path, UNIX_ATTRIBUTES);
+    }
+    catch (UnsupportedOperationException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static AttributeSnapshot fromFallbackAttributes(Path path) throws IOException {
+    return of(path, readPosixOrBasicAttributes(path));
+  }
+
+  /**
+   * From attributes already read, POSIX ones when available: the owner bits apply to the current user,
+   * and {@code Files.isReadable/isWritable/isExecutable} answer for anyone else.
+   */
+  static AttributeSnapshot of(Path path, BasicFileAttributes attributes) {
+    if (attributes instanceof PosixFileAttributes posixAttributes
+        && posixAttributes.owner().getName().equals(System.getProperty("user.name"))) {
+      Set<PosixFilePermission> permissions = posixAttributes.permissions();
+      return new AttributeSnapshot(attributes.isDirectory(), attributes.isRegularFile(), attributes.size(),
+          permissions.contains(PosixFilePermission.OWNER_READ),
+          permissions.contains(PosixFilePermission.OWNER_WRITE),
+          permissions.contains(PosixFilePermission.OWNER_EXECUTE));
+    }
+
+    return new AttributeSnapshot(attributes.isDirectory(), attributes.isRegularFile(), attributes.size(),
+        Files.isReadable(path), Files.isWritable(path), Files.isExecutable(path));
+  }
+
+  private static BasicFileAttributes readPosixOrBasicAttributes(Path path) throws IOException {
+    try {
+      return Files.readAttributes(path, PosixFileAttributes.class);
+    }
+    catch (UnsupportedOperationException e) {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Validates many paths concurrently on top of a {@link FilePathValidator}. Validation is I/O bound, so
+ * the concurrency limit is independent of the number of cores; at most {@code maxConcurrency} paths are
+ * in flight or waiting to be consumed at any time. A validator failing with anything else than a
+ * {@link RuntimeException}, e.g. an {@link Error}, fails the whole call with it.
+ */
+public class BatchFilePathValidator implements AutoCloseable {
+
+  public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+  private final FilePathValidator filePathValidator;
+  private final Executor executor;
+  private final int maxConcurrency;
+  private final boolean ownsExecutor;
+
+  public BatchFilePathValidator(FilePathValidator filePathValidator) {
+    this(filePathValidator, DEFAULT_MAX_CONCURRENCY);
+  }
+
+  public BatchFilePathValidator(FilePathValidator filePathValidator, int maxConcurrency) {
+    this(filePathValidator, createDefaultExecutor(), maxConcurrency, true);
+  }
+
+  public BatchFilePathValidator(FilePathValidator filePathValidator, Executor executor, int maxConcurrency) {
+    this(filePathValidator, executor, maxConcurrency, false);
+  }
+
+  private BatchFilePathValidator(FilePathValidator filePathValidator, Executor executor, int maxConcurrency,
+                                 boolean ownsExecutor) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    this.filePathValidator = filePathValidator;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Validates all paths and returns the results in input order.
+   */
+  public List<ValidationResult> validateFilePaths(Collection<String> filePaths) {
+    ValidationResult[] results = new ValidationResult[filePaths.size()];
+    run(filePaths.iterator(), this::validate, completed -> results[completed.index] = completed.result);
+    return new ArrayList<>(Arrays.asList(results));
+  }
+
+  /**
+   * Validates all paths into a {@link ValidationResultBatch}, in input order, without building a
+   * {@link ValidationResult} per path.
+   */
+  public ValidationResultBatch validateFilePathsPacked(Collection<String> filePaths) {
+    ValidationResultBatch batch = new ValidationResultBatch(filePaths.size());
+    run(filePaths.iterator(), (index, filePath) -> {
+      validateInto(batch, index, filePath);
+      return Completed.PACKED;
+    }, completed -> {
+    });
+    return batch;
+  }
+
+  /**
+   * Validates all paths and hands each result to {@code consumer} as soon as it completes. The consumer
+   * is always invoked on the calling thread, so it does not need to be thread-safe.
+   */
+  public void validateFilePaths(Collection<String> filePaths, Consumer<ValidationResult> consumer) {
+    validateFilePaths(filePaths.iterator(), consumer);
+  }
+
+  /**
+   * Same as {@link #validateFilePaths(Collection, Consumer)}, pulling paths lazily: the iterator is only
+   * advanced when a slot is free, so arbitrarily long inputs are validated in constant memory.
+   */
+  public void validateFilePaths(Iterator<String> filePaths, Consumer<ValidationResult> consumer) {
+    run(filePaths, this::validate, completed -> consumer.accept(completed.result));
+  }
+
+  @Override
+  public void close() {
+    if (ownsExecutor && executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  private void run(Iterator<String> iterator, Task task, Consumer<Completed> sink) {
+    BlockingQueue<Completed> completedQueue = new LinkedBlockingQueue<>();
+    int index = 0;
+    int pending = 0;
+
+    try {
+      while (iterator.hasNext() || pending > 0) {
+        if (iterator.hasNext() && pending < maxConcurrency) {
+          String filePath = iterator.next();
+          int taskIndex = index++;
+          executor.execute(() -> completedQueue.add(runSafely(task, taskIndex, filePath)));
+          pending++;
+        }
+        else {
+          Completed completed = completedQueue.take();
+          pending--;
+          if (completed.failure != null) {
+            // Tasks still in flight complete into the abandoned queue
+            Throwables.throwIfUnchecked(completed.failure);
+            throw new IllegalStateException("Validation failed", completed.failure);
+          }
+          sink.accept(completed);
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      CancellationException cancellation = new CancellationException("Interrupted while validating file paths");
+      cancellation.initCause(e);
+      throw cancellation;
+    }
+  }
+
+  /**
+   * Always completes, so the caller never waits for a task that failed with an {@link Error}; the
+   * failure is rethrown on the calling thread.
+   */
+  private static Completed runSafely(Task task, int index, String filePath) {
+    try {
+      return task.run(index, filePath);
+    }
+    catch (Throwable t) {
+      return new Completed(index, null, t);
+    }
+  }
+
+  private Completed validate(int index, String filePath) {
+    ValidationResult result;
+    try {
+      result = filePathValidator.validateFilePath(filePath);
+    }
+    catch (RuntimeException e) {
+      result = ValidationResult.builder()
+          .filePath(filePath)
+          .valid(false)
+          .errorMessage("Validation failed: " + e.getMessage())
+          .build();
+    }
+    return new Completed(index, result);
+  }
+
+  private void validateInto(ValidationResultBatch batch, int index, String filePath) {
+    try {
+      filePathValidator.validateInto(batch, index, filePath);
+    }
+    catch (RuntimeException e) {
+      batch.set(index, filePath, 0, ValidationError.OTHER, "Validation failed: " + e.getMessage());
+    }
+  }
+
+  static ExecutorService createDefaultExecutor() {
+    try {
+      // Virtual threads when running on Java 21+, while still compiling for Java 17
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+    catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+          .setNameFormat("file-path-validator-%d")
+          .setDaemon(true)
+          .build());
+    }
+  }
+
+  /**
+   * Validates the path at {@code index}; the index stays primitive.
+   */
+  @FunctionalInterface
+  private interface Task {
+    Completed run(int index, String filePath);
+  }
+
+  private record Completed(int index, ValidationResult result, Throwable failure) {
+
+    Completed(int index, ValidationResult result) {
+      this(index, result, null);
+    }
+
+    /**
+     * Shared completion of packed validations, whose results are already in the batch.
+     */
+    static final Completed PACKED = new Completed(-1, null);
+  }
+}
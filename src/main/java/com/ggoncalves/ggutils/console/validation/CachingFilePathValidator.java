@@ -0,0 +1,158 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+
+/**
+ * A {@link FilePathValidator} that remembers results per absolute path for a bounded time, so repeated
+ * checks of the same paths do not go back to disk. Being a {@code FilePathValidator}, it can be handed to
+ * {@code CommandProcessor} as is.
+ *
+ * <p>{@code .} and {@code ..} segments are kept in the keys: {@code a/../b} is not necessarily {@code b}
+ * when {@code a} is a symbolic link, so the two are validated separately.
+ */
+public class CachingFilePathValidator extends FilePathValidator {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+  public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofSeconds(30);
+
+  private final FilePathValidator delegate;
+  private final Cache<String, ValidationResult> cache;
+  private final boolean cacheNegativeResults;
+
+  public CachingFilePathValidator() {
+    this(new FilePathValidator(), DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE, true);
+  }
+
+  public CachingFilePathValidator(FilePathValidator delegate, long maximumSize, Duration expireAfterWrite,
+                                  boolean cacheNegativeResults) {
+    this(delegate, maximumSize, expireAfterWrite, cacheNegativeResults, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  CachingFilePathValidator(FilePathValidator delegate, long maximumSize, Duration expireAfterWrite,
+                           boolean cacheNegativeResults, Ticker ticker) {
+    super(delegate.getFileSystem(), delegate.getValidationMode());
+    this.delegate = delegate;
+    this.cacheNegativeResults = cacheNegativeResults;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .ticker(ticker)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public boolean isValidExistingFilePath(String filePath) {
+    if (isEmptyOrNullFilePath(filePath)) return false;
+
+    ValidationResult result = lookup(filePath);
+    return result.isValid() && result.isExists();
+  }
+
+  @Override
+  public boolean isValidPathSyntax(String filePath) {
+    if (isEmptyOrNullFilePath(filePath)) return false;
+
+    // Syntax checks never touch the disk, so only reuse a result that is already cached
+    ValidationResult cached = cache.getIfPresent(cacheKey(filePath));
+    return cached != null ? cached.isValid() : delegate.isValidPathSyntax(filePath);
+  }
+
+  @Override
+  public ValidationResult validateFilePath(String filePath) {
+    if (isEmptyOrNullFilePath(filePath)) {
+      return delegate.validateFilePath(filePath);
+    }
+
+    // Hand out a copy: results are mutable and the cached entry may be shared by other spellings
+    return lookup(filePath).toBuilder()
+        .filePath(filePath)
+        .build();
+  }
+
+  /**
+   * Goes through the cache, as {@link #validateFilePath(String)}.
+   */
+  @Override
+  protected ValidationResult validateEntry(Path entry, BasicFileAttributes attributes) {
+    return validateFilePath(entry.toString());
+  }
+
+  @Override
+  public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+    if (isEmptyOrNullFilePath(filePath)) {
+      delegate.validateInto(batch, index, filePath);
+      return;
+    }
+
+    batch.set(index, filePath, lookup(filePath));
+  }
+
+  /**
+   * A cached result still answers; otherwise the path is missing, as found by the caller.
+   */
+  @Override
+  void validateMissingInto(ValidationResultBatch batch, int index, String filePath) {
+    ValidationResult cached = cache.getIfPresent(cacheKey(filePath));
+    if (cached == null) {
+      delegate.validateMissingInto(batch, index, filePath);
+    }
+    else {
+      batch.set(index, filePath, cached);
+    }
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public void invalidate(String filePath) {
+    if (!isEmptyOrNullFilePath(filePath)) {
+      cache.invalidate(cacheKey(filePath));
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private ValidationResult lookup(String filePath) {
+    String key = cacheKey(filePath);
+    ValidationResult result = cache.getIfPresent(key);
+
+    if (result == null) {
+      result = delegate.validateFilePath(filePath);
+      if (cacheNegativeResults || (result.isValid() && result.isExists())) {
+        cache.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  private String cacheKey(String filePath) {
+    try {
+      return getPath(filePath).toAbsolutePath().toString();
+    }
+    catch (InvalidPathException e) {
+      return filePath;
+    }
+  }
+
+  private boolean isEmptyOrNullFilePath(String filePath) {
+    return filePath == null || filePath.trim().isEmpty();
+  }
+}
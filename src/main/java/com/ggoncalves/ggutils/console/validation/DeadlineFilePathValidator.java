@@ -0,0 +1,212 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link FilePathValidator} whose checks cannot block for longer than a deadline, e.g. on a stale NFS
+ * mount. Each check runs on another thread; when it does not complete in time the caller gets a result
+ * with {@code timedOut} set, {@code valid} false and a {@link ValidationError#TIMEOUT} message, while
+ * the blocked thread is left behind.
+ *
+ * <p>A timeout also opens the circuit of the path's mount, so later checks on that mount time out at
+ * once, without tying up more threads, until a probe shows it responds again. Being a
+ * {@code FilePathValidator}, it can be handed to {@code CommandProcessor} as is.
+ */
+public class DeadlineFilePathValidator extends FilePathValidator implements AutoCloseable {
+
+  public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(5);
+  public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+  private final FilePathValidator delegate;
+  private final Duration deadline;
+  private final long openNanos;
+  private final Executor executor;
+  private final boolean ownsExecutor;
+  private final Function<Path, String> mountResolver;
+  private final LongSupplier nanoClock;
+  private final ConcurrentMap<String, MountCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  public DeadlineFilePathValidator() {
+    this(new FilePathValidator(), DEFAULT_DEADLINE);
+  }
+
+  public DeadlineFilePathValidator(FilePathValidator delegate, Duration deadline) {
+    this(delegate, deadline, DEFAULT_OPEN_DURATION, BatchFilePathValidator.createDefaultExecutor(), true,
+        mountResolver(delegate), System::nanoTime);
+  }
+
+  /**
+   * @param openDuration how long checks on a hung mount fail fast before one is let through again
+   * @param executor     runs the checks; threads stay blocked as long as the mount is hung, so it should
+   *                     not be bounded
+   */
+  public DeadlineFilePathValidator(FilePathValidator delegate, Duration deadline, Duration openDuration,
+                                   Executor executor) {
+    this(delegate, deadline, openDuration, executor, false, mountResolver(delegate), System::nanoTime);
+  }
+
+  @VisibleForTesting
+  DeadlineFilePathValidator(FilePathValidator delegate, Duration deadline, Duration openDuration,
+                            Executor executor, boolean ownsExecutor, Function<Path, String> mountResolver,
+                            LongSupplier nanoClock) {
+    super(delegate.getFileSystem(), delegate.getValidationMode());
+    if (deadline.isNegative() || deadline.isZero()) {
+      throw new IllegalArgumentException("deadline must be positive: " + deadline);
+    }
+    this.delegate = delegate;
+    this.deadline = deadline;
+    this.openNanos = openDuration.toNanos();
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+    this.mountResolver = mountResolver;
+    this.nanoClock = nanoClock;
+  }
+
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  public CompletableFuture<ValidationResult> validateAsync(String filePath) {
+    return validateAsync(filePath, deadline);
+  }
+
+  /**
+   * Never completes exceptionally: failures and timeouts are reported in the result.
+   */
+  public CompletableFuture<ValidationResult> validateAsync(String filePath, Duration deadline) {
+    String mount = mountOf(filePath);
+    if (mount == null) {
+      // Empty or invalid: answered without touching the disk
+      return CompletableFuture.completedFuture(delegate.validateFilePath(filePath));
+    }
+
+    MountCircuitBreaker breaker = breakers.computeIfAbsent(mount, key -> new MountCircuitBreaker(openNanos, nanoClock));
+    if (!breaker.tryAcquire()) {
+      return CompletableFuture.completedFuture(timedOut(filePath, "mount " + mount + " is not responding"));
+    }
+
+    return CompletableFuture.supplyAsync(() -> delegate.validateFilePath(filePath), executor)
+        .orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS)
+        .handle((result, error) -> {
+          Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+          if (cause instanceof TimeoutException) {
+            breaker.recordTimeout();
+            return timedOut(filePath, "no answer from mount " + mount + " within " + deadline.toMillis() + " ms");
+          }
+          breaker.recordSuccess();
+          return cause == null ? result : failed(filePath, cause);
+        });
+  }
+
+  @Override
+  public ValidationResult validateFilePath(String filePath) {
+    return validateAsync(filePath).join();
+  }
+
+  /**
+   * Goes through {@link #validateFilePath(String)}, so the deadline and circuit breaker apply.
+   */
+  @Override
+  protected ValidationResult validateEntry(Path entry, BasicFileAttributes attributes) {
+    return validateFilePath(entry.toString());
+  }
+
+  @Override
+  public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+    batch.set(index, validateFilePath(filePath));
+  }
+
+  @Override
+  public boolean isValidExistingFilePath(String filePath) {
+    ValidationResult result = validateFilePath(filePath);
+    return result.isValid() && result.isExists();
+  }
+
+  @Override
+  public boolean isValidPathSyntax(String filePath) {
+    return delegate.isValidPathSyntax(filePath);
+  }
+
+  /**
+   * Mounts on which checks currently fail fast.
+   */
+  public Set<String> getHungMounts() {
+    Set<String> hung = new TreeSet<>();
+    breakers.forEach((mount, breaker) -> {
+      if (breaker.isOpen()) {
+        hung.add(mount);
+      }
+    });
+    return hung;
+  }
+
+  /**
+   * Shuts the default executor down; threads blocked on a hung mount are left to finish on their own.
+   */
+  @Override
+  public void close() {
+    if (ownsExecutor && executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Mount points only mean something on the default file system; any other one, e.g. a zip file
+   * system, counts as a single mount.
+   */
+  private static Function<Path, String> mountResolver(FilePathValidator delegate) {
+    FileSystem fileSystem = delegate.getFileSystem();
+    if (fileSystem == FileSystems.getDefault()) {
+      return MountTable.load()::mountOf;
+    }
+    String mount = fileSystem.toString();
+    return path -> mount;
+  }
+
+  private String mountOf(String filePath) {
+    if (filePath == null || filePath.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return mountResolver.apply(getPath(filePath));
+    }
+    catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static ValidationResult timedOut(String filePath, String detail) {
+    return ValidationResult.builder()
+        .filePath(filePath)
+        .valid(false)
+        .timedOut(true)
+        .errorMessage(ValidationError.TIMEOUT.format(detail))
+        .build();
+  }
+
+  private static ValidationResult failed(String filePath, Throwable cause) {
+    return ValidationResult.builder()
+        .filePath(filePath)
+        .valid(false)
+        .errorMessage("Validation failed: " + cause.getMessage())
+        .build();
+  }
+}
@@ -0,0 +1,181 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SecureDirectoryStream;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk validation that groups paths by parent directory. Each parent is checked once, in the mode of the
+ * validator: when it cannot be traversed every child is reported as non-existent without touching it.
+ * When many of its children are requested the parent is listed once, and the attributes of the requested
+ * children found in the listing are read relative to the open directory ({@link SecureDirectoryStream}
+ * when the file system provides it) and validated from them, as {@link DirectoryTreeValidator} does.
+ * Listing stops when the parent holds many more entries than were requested.
+ *
+ * <p>Children not found in the listing (or not listed) are looked up one by one, so names that the
+ * file system matches differently, e.g. ignoring case, are still found. All children go through the
+ * fallback validator, in its mode and with its overrides.
+ */
+final class DirectoryGroupedValidator {
+
+  /**
+   * Below this many requested children, stat-ing them directly is cheaper than listing the parent.
+   */
+  static final int LISTING_THRESHOLD = 32;
+
+  /**
+   * Listing a parent is given up past this many entries per requested child: reading them would cost
+   * more than the lookups it saves.
+   */
+  static final int MAX_ENTRIES_PER_REQUESTED = 8;
+
+  private final FilePathValidator fallbackValidator;
+  private final boolean posix;
+
+  DirectoryGroupedValidator(FilePathValidator fallbackValidator) {
+    this.fallbackValidator = fallbackValidator;
+    this.posix = fallbackValidator.getFileSystem().supportedFileAttributeViews().contains("posix");
+  }
+
+  ValidationResultBatch validate(List<String> filePaths) {
+    ValidationResultBatch batch = new ValidationResultBatch(filePaths.size());
+    Map<Path, List<Integer>> indexesByParent = new LinkedHashMap<>();
+
+    for (int index = 0; index < filePaths.size(); index++) {
+      String filePath = filePaths.get(index);
+      Path parent = groupableParent(fallbackValidator, filePath);
+
+      if (parent == null) {
+        fallbackValidator.validateInto(batch, index, filePath);
+      }
+      else {
+        indexesByParent.computeIfAbsent(parent, key -> new ArrayList<>()).add(index);
+      }
+    }
+
+    for (Map.Entry<Path, List<Integer>> group : indexesByParent.entrySet()) {
+      validateGroup(group.getKey(), group.getValue(), filePaths, batch);
+    }
+    return batch;
+  }
+
+  private void validateGroup(Path parent, List<Integer> indexes, List<String> filePaths, ValidationResultBatch batch) {
+    if (!isTraversable(parent)) {
+      // Every lookup below the parent would fail, exactly as Files.exists would report it
+      for (int index : indexes) {
+        fallbackValidator.validateMissingInto(batch, index, filePaths.get(index));
+      }
+      return;
+    }
+
+    Map<String, List<Integer>> unlisted = new HashMap<>();
+    for (int index : indexes) {
+      String name = fallbackValidator.getPath(filePaths.get(index)).getFileName().toString();
+      unlisted.computeIfAbsent(name, key -> new ArrayList<>(1)).add(index);
+    }
+    if (indexes.size() >= LISTING_THRESHOLD) {
+      validateListed(parent, unlisted, (long) indexes.size() * MAX_ENTRIES_PER_REQUESTED, filePaths, batch);
+    }
+
+    for (List<Integer> remaining : unlisted.values()) {
+      for (int index : remaining) {
+        fallbackValidator.validateInto(batch, index, filePaths.get(index));
+      }
+    }
+  }
+
+  private boolean isTraversable(Path parent) {
+    int flags = fallbackValidator.probe(parent);
+    // Without POSIX permissions (e.g. a zip file system) directories report no execute access
+    return (flags & ValidationFlags.DIRECTORY) != 0 && ((flags & ValidationFlags.EXECUTABLE) != 0 || !posix);
+  }
+
+  /**
+   * Validates the children named in {@code unlisted} that the listing of {@code parent} finds, and
+   * removes them from it. Gives up, leaving the others, when the parent cannot be listed or holds more
+   * than {@code maxEntries}.
+   */
+  private void validateListed(Path parent, Map<String, List<Integer>> unlisted, long maxEntries,
+                              List<String> filePaths, ValidationResultBatch batch) {
+    long entries = 0;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(parent)) {
+      for (Iterator<Path> iterator = stream.iterator(); iterator.hasNext() && !unlisted.isEmpty(); ) {
+        if (entries++ == maxEntries) {
+          return;
+        }
+        Path name = iterator.next().getFileName();
+        List<Integer> listed = unlisted.get(name.toString());
+        BasicFileAttributes attributes = listed != null ? readAttributes(stream, parent, name) : null;
+        if (attributes == null) {
+          // Not requested, or removed since listed and left to the lookup
+          continue;
+        }
+
+        unlisted.remove(name.toString());
+        for (int index : listed) {
+          String filePath = filePaths.get(index);
+          batch.set(index, filePath, fallbackValidator.validateEntry(fallbackValidator.getPath(filePath), attributes));
+        }
+      }
+    }
+    catch (IOException | DirectoryIteratorException e) {
+      // Traversable but not listable (execute-only directory): look children up one by one
+    }
+  }
+
+  /**
+   * Reads the attributes of {@code name} without following links, relative to the open directory when
+   * possible; {@code null} when they cannot be read.
+   */
+  private BasicFileAttributes readAttributes(DirectoryStream<Path> stream, Path parent, Path name) {
+    try {
+      if (stream instanceof SecureDirectoryStream<Path> secureStream) {
+        Class<? extends BasicFileAttributeView> viewType = posix
+            ? PosixFileAttributeView.class : BasicFileAttributeView.class;
+        return secureStream.getFileAttributeView(name, viewType, LinkOption.NOFOLLOW_LINKS).readAttributes();
+      }
+      Class<? extends BasicFileAttributes> attributesType = posix
+          ? PosixFileAttributes.class : BasicFileAttributes.class;
+      return Files.readAttributes(parent.resolve(name), attributesType, LinkOption.NOFOLLOW_LINKS);
+    }
+    catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the absolute parent of a path that can be grouped, or {@code null} for paths that must be
+   * validated on their own (empty, invalid syntax, file system roots, {@code .} and {@code ..}).
+   */
+  private static Path groupableParent(FilePathValidator validator, String filePath) {
+    if (filePath == null || filePath.trim().isEmpty()) {
+      return null;
+    }
+
+    try {
+      Path path = validator.getPath(filePath);
+      Path fileName = path.getFileName();
+      if (fileName == null || fileName.toString().equals(".") || fileName.toString().equals("..")) {
+        return null;
+      }
+      return path.toAbsolutePath().getParent();
+    }
+    catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
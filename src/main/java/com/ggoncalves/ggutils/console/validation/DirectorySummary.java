@@ -0,0 +1,26 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Totals for a directory and everything below it, as computed by {@link DirectoryTreeValidator}.
+ */
+@Data
+@Builder
+public class DirectorySummary {
+  private String directoryPath;
+  private long entryCount;
+  private long fileCount;
+  private long directoryCount;
+  private long totalBytes;
+  private long unreadableCount;
+  private boolean listable;
+
+  /**
+   * A directory is empty when it could be listed and has no entries at all.
+   */
+  public boolean isEmpty() {
+    return listable && entryCount == 0;
+  }
+}
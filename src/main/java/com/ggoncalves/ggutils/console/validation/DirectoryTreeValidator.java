@@ -0,0 +1,146 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.ggoncalves.ggutils.console.concurrent.BlockingIoPools;
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validates every entry below a root directory with a work-stealing traversal: each directory is a
+ * fork/join task that validates its entries and forks one task per subdirectory. Results are handed to
+ * a {@link TreeValidationListener} as they are produced; only the per-directory totals travel back up
+ * the tree. Symbolic links are validated but never followed.
+ *
+ * <p>Each entry is validated from the attributes read to walk it, with one {@code stat}. The tasks block on
+ * the file system, so by default they run on a pool of their own rather than the common pool.
+ */
+public class DirectoryTreeValidator {
+
+  private final FilePathValidator filePathValidator;
+  private final ForkJoinPool forkJoinPool;
+  private final Class<? extends BasicFileAttributes> attributesType;
+
+  public DirectoryTreeValidator(FilePathValidator filePathValidator) {
+    this(filePathValidator, BlockingIoPools.shared("directory-tree-validator"));
+  }
+
+  public DirectoryTreeValidator(FilePathValidator filePathValidator, ForkJoinPool forkJoinPool) {
+    this.filePathValidator = filePathValidator;
+    this.forkJoinPool = forkJoinPool;
+    // POSIX attributes come from the same stat, and give the permissions without asking again
+    this.attributesType = filePathValidator.getFileSystem().supportedFileAttributeViews().contains("posix")
+        ? PosixFileAttributes.class : BasicFileAttributes.class;
+  }
+
+  public DirectorySummary validateTree(String rootPath, TreeValidationListener listener) throws InvalidFileException {
+    ValidationResult rootResult = filePathValidator.validateFilePath(rootPath);
+
+    if (!rootResult.isValid() || !rootResult.isExists() || !rootResult.isDirectory()) {
+      throw new InvalidFileException("The root path must be an existing directory: " + rootPath);
+    }
+
+    return forkJoinPool.invoke(new DirectoryTask(filePathValidator.getPath(rootPath), rootResult, listener));
+  }
+
+  private final class DirectoryTask extends RecursiveTask<DirectorySummary> {
+
+    private final Path directory;
+    private final ValidationResult directoryResult;
+    private final TreeValidationListener listener;
+
+    private DirectoryTask(Path directory, ValidationResult directoryResult, TreeValidationListener listener) {
+      this.directory = directory;
+      this.directoryResult = directoryResult;
+      this.listener = listener;
+    }
+
+    @Override
+    protected DirectorySummary compute() {
+      long entryCount = 0;
+      long fileCount = 0;
+      long directoryCount = 0;
+      long totalBytes = 0;
+      long unreadableCount = 0;
+      boolean listable = true;
+      List<DirectoryTask> subtasks = new ArrayList<>();
+
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (Path entry : entries) {
+          entryCount++;
+          BasicFileAttributes attributes = readAttributes(entry);
+          // Removed since listed, or not reachable: the validator reports it
+          ValidationResult result = attributes != null
+              ? filePathValidator.validateEntry(entry, attributes)
+              : filePathValidator.validateFilePath(entry.toString());
+
+          boolean isDirectory = attributes != null && attributes.isDirectory();
+          // A directory counts as unreadable in its own task, when it cannot be listed
+          if (!isDirectory && result.isExists() && !result.isReadable()) {
+            unreadableCount++;
+          }
+
+          if (isDirectory) {
+            DirectoryTask subtask = new DirectoryTask(entry, result, listener);
+            subtask.fork();
+            subtasks.add(subtask);
+          }
+          else {
+            if (attributes != null && attributes.isRegularFile()) {
+              fileCount++;
+              totalBytes += attributes.size();
+            }
+            listener.onResult(result);
+          }
+        }
+      }
+      catch (IOException | DirectoryIteratorException e) {
+        // Not listable (permissions, removed while walking): count it and keep going with the siblings
+        listable = false;
+        unreadableCount++;
+      }
+
+      for (int i = subtasks.size() - 1; i >= 0; i--) {
+        DirectorySummary child = subtasks.get(i).join();
+        directoryCount += 1 + child.getDirectoryCount();
+        fileCount += child.getFileCount();
+        totalBytes += child.getTotalBytes();
+        unreadableCount += child.getUnreadableCount();
+      }
+
+      directoryResult.setBlank(listable && entryCount == 0);
+      listener.onResult(directoryResult);
+
+      DirectorySummary summary = DirectorySummary.builder()
+          .directoryPath(directory.toString())
+          .entryCount(entryCount)
+          .fileCount(fileCount)
+          .directoryCount(directoryCount)
+          .totalBytes(totalBytes)
+          .unreadableCount(unreadableCount)
+          .listable(listable)
+          .build();
+      listener.onDirectory(summary);
+      return summary;
+    }
+
+    private BasicFileAttributes readAttributes(Path entry) {
+      try {
+        return Files.readAttributes(entry, attributesType, LinkOption.NOFOLLOW_LINKS);
+      }
+      catch (IOException e) {
+        return null;
+      }
+    }
+  }
+}
@@ -1,16 +1,63 @@
 package com.ggoncalves.ggutils.console.validation;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
 
+/**
+ * Validates path strings against a {@link FileSystem}, the default one unless another is given, e.g. a
+ * zip file system to check archive entries in place. All checks go through the {@link Files} and
+ * provider APIs, never {@code java.io.File}.
+ */
 public class FilePathValidator {
 
+  private final FileSystem fileSystem;
+  private final ValidationMode validationMode;
+
+  public FilePathValidator() {
+    this(ValidationMode.STANDARD);
+  }
+
+  public FilePathValidator(ValidationMode validationMode) {
+    this(FileSystems.getDefault(), validationMode);
+  }
+
+  public FilePathValidator(FileSystem fileSystem) {
+    this(fileSystem, ValidationMode.STANDARD);
+  }
+
+  public FilePathValidator(FileSystem fileSystem, ValidationMode validationMode) {
+    this.fileSystem = Objects.requireNonNull(fileSystem, "fileSystem");
+    this.validationMode = validationMode;
+  }
+
+  public ValidationMode getValidationMode() {
+    return validationMode;
+  }
+
+  public FileSystem getFileSystem() {
+    return fileSystem;
+  }
+
+  /**
+   * Converts {@code filePath} to a path of this validator's file system.
+   *
+   * @throws java.nio.file.InvalidPathException if the path string cannot be converted
+   */
+  public Path getPath(String filePath) {
+    return fileSystem.getPath(filePath);
+  }
+
   public boolean isValidExistingFilePath(String filePath) {
     if (isEmptyOrNullFilePath(filePath)) return false;
     try {
-      return Files.exists(Paths.get(filePath));
+      return Files.exists(getPath(filePath));
     }
     catch (Exception e) {
       // Invalid path syntax
@@ -22,7 +69,7 @@ public class FilePathValidator {
     if (isEmptyOrNullFilePath(filePath)) return false;
 
     try {
-      Paths.get(filePath);
+      getPath(filePath);
       return true;
     }
     catch (Exception e) {
@@ -32,43 +79,134 @@ public class FilePathValidator {
 
   public ValidationResult validateFilePath(String filePath) {
 
-    ValidationResult.ValidationResultBuilder validationResultBuilder = ValidationResult
-        .builder().filePath(filePath);
-
     if (isEmptyOrNullFilePath(filePath)) {
-      return validationResultBuilder
-          .valid(false)
-          .errorMessage("Path is null or empty")
-          .build();
+      return ValidationFlags.unpack(filePath, 0, ValidationError.NULL_OR_EMPTY.format(null));
     }
 
     try {
-      Path path = Paths.get(filePath);
-      File file = path.toFile();
+      return ValidationFlags.unpack(filePath, ValidationFlags.VALID | probe(getPath(filePath)), null);
+    }
+    catch (Exception e) {
+      return ValidationFlags.unpack(filePath, 0, ValidationError.INVALID_SYNTAX.format(e.getMessage()));
+    }
+  }
 
-      boolean isFileExists = Files.exists(path);
+  /**
+   * Validates {@code entry}, e.g. one found while walking a directory, from its {@code attributes} read
+   * without following links, so that its existence, type and size are not probed again. A link is
+   * validated as its target, through {@link #validateFilePath(String)}.
+   *
+   * <p>Subclasses that change how a path is validated override this too, e.g. to go through
+   * {@link #validateFilePath(String)}.
+   */
+  protected ValidationResult validateEntry(Path entry, BasicFileAttributes attributes) {
+    if (attributes.isSymbolicLink()) {
+      return validateFilePath(entry.toString());
+    }
 
-      validationResultBuilder
-          .valid(true)
-          .exists(isFileExists);
+    int flags;
+    if (validationMode == ValidationMode.ATTRIBUTE_SNAPSHOT) {
+      flags = AttributeSnapshot.of(entry, attributes).toFlags();
+    }
+    else {
+      flags = ValidationFlags.EXISTS
+          | (attributes.isDirectory() ? ValidationFlags.DIRECTORY : 0)
+          | (attributes.isRegularFile() ? ValidationFlags.REGULAR_FILE : 0)
+          | (Files.isReadable(entry) ? ValidationFlags.READABLE : 0)
+          | (Files.isWritable(entry) ? ValidationFlags.WRITABLE : 0)
+          | (Files.isExecutable(entry) ? ValidationFlags.EXECUTABLE : 0)
+          | (attributes.size() == 0 ? ValidationFlags.BLANK : 0);
+    }
+    return ValidationFlags.unpack(entry.toString(), ValidationFlags.VALID | flags, null);
+  }
 
-      if (isFileExists) {
-        validationResultBuilder
-            .isDirectory(Files.isDirectory(path))
-            .readable(file.canRead())
-            .writable(file.canWrite())
-            .executable(file.canExecute())
-            .isBlank(file.length() == 0);
-      }
+  /**
+   * Validates {@code filePath} straight into slot {@code index} of {@code batch}, without building a
+   * {@link ValidationResult}.
+   */
+  public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+    if (isEmptyOrNullFilePath(filePath)) {
+      batch.set(index, filePath, 0, ValidationError.NULL_OR_EMPTY, null);
+      return;
+    }
 
+    try {
+      batch.set(index, filePath, ValidationFlags.VALID | probe(getPath(filePath)), ValidationError.NONE, null);
     }
     catch (Exception e) {
-      validationResultBuilder
-          .valid(false)
-          .errorMessage("Invalid path syntax: " + e.getMessage());
+      batch.set(index, filePath, 0, ValidationError.INVALID_SYNTAX, e.getMessage());
     }
+  }
 
-    return validationResultBuilder.build();
+  /**
+   * Records in slot {@code index} of {@code batch} that {@code filePath}, a valid path, does not exist,
+   * as found without looking it up, e.g. from a listing of its parent. Subclasses that keep or observe
+   * results override this too.
+   */
+  void validateMissingInto(ValidationResultBatch batch, int index, String filePath) {
+    batch.set(index, filePath, ValidationFlags.VALID, ValidationError.NONE, null);
+  }
+
+  /**
+   * Validates every path, in order, into a new {@link ValidationResultBatch}.
+   */
+  public ValidationResultBatch validateFilePaths(Collection<String> filePaths) {
+    ValidationResultBatch batch = new ValidationResultBatch(filePaths.size());
+    int index = 0;
+    for (String filePath : filePaths) {
+      validateInto(batch, index++, filePath);
+    }
+    return batch;
+  }
+
+  /**
+   * Validates many paths grouping them by parent directory, so each parent is checked (and, for large
+   * groups, listed) only once. Children found in a listing are validated from the attributes it gives,
+   * as by {@link #validateEntry}, the others as by {@link #validateInto}. Results are in input order.
+   */
+  public ValidationResultBatch validateFilePathsByDirectory(Collection<String> filePaths) {
+    return new DirectoryGroupedValidator(this).validate(new ArrayList<>(filePaths));
+  }
+
+  /**
+   * The {@link ValidationFlags} of {@code path} in this validator's mode, without {@code VALID}.
+   */
+  int probe(Path path) {
+    return validationMode == ValidationMode.ATTRIBUTE_SNAPSHOT ? probeAttributeSnapshot(path) : probeFileChecks(path);
+  }
+
+  private int probeFileChecks(Path path) {
+    if (!Files.exists(path)) {
+      return 0;
+    }
+
+    return ValidationFlags.EXISTS
+        | (Files.isDirectory(path) ? ValidationFlags.DIRECTORY : 0)
+        | (Files.isRegularFile(path) ? ValidationFlags.REGULAR_FILE : 0)
+        | (Files.isReadable(path) ? ValidationFlags.READABLE : 0)
+        | (Files.isWritable(path) ? ValidationFlags.WRITABLE : 0)
+        | (Files.isExecutable(path) ? ValidationFlags.EXECUTABLE : 0)
+        | (isEmpty(path) ? ValidationFlags.BLANK : 0);
+  }
+
+  private static boolean isEmpty(Path path) {
+    try {
+      return Files.size(path) == 0;
+    }
+    catch (IOException e) {
+      // As File.length, which reports 0 when the size cannot be read
+      return true;
+    }
+  }
+
+  private int probeAttributeSnapshot(Path path) {
+    try {
+      return AttributeSnapshot.read(path).toFlags();
+    }
+    catch (IOException e) {
+      // Same outcome as Files.exists: missing or not reachable
+      return 0;
+    }
   }
 
   private boolean isEmptyOrNullFilePath(String filePath) {
@@ -0,0 +1,76 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.ggoncalves.ggutils.console.metrics.ConsoleMetrics;
+import com.ggoncalves.ggutils.console.metrics.OperationMetrics;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A {@link FilePathValidator} that records the latency of every validation, per outcome
+ * ({@code file}, {@code directory}, {@code missing} or {@code invalid}), under the
+ * {@value #VALIDATE_FILE_PATH} operation of a {@link ConsoleMetrics}.
+ */
+public class InstrumentedFilePathValidator extends FilePathValidator {
+
+  public static final String VALIDATE_FILE_PATH = "validateFilePath";
+
+  private final FilePathValidator delegate;
+  private final OperationMetrics metrics;
+
+  public InstrumentedFilePathValidator(FilePathValidator delegate) {
+    this(delegate, ConsoleMetrics.getDefault());
+  }
+
+  public InstrumentedFilePathValidator(FilePathValidator delegate, ConsoleMetrics consoleMetrics) {
+    super(delegate.getFileSystem(), delegate.getValidationMode());
+    this.delegate = delegate;
+    this.metrics = consoleMetrics.operation(VALIDATE_FILE_PATH);
+  }
+
+  @Override
+  public boolean isValidExistingFilePath(String filePath) {
+    return delegate.isValidExistingFilePath(filePath);
+  }
+
+  @Override
+  public boolean isValidPathSyntax(String filePath) {
+    return delegate.isValidPathSyntax(filePath);
+  }
+
+  @Override
+  public ValidationResult validateFilePath(String filePath) {
+    long start = System.nanoTime();
+    ValidationResult result = delegate.validateFilePath(filePath);
+    metrics.recordSince(outcome(result.isValid(), result.isExists(), result.isDirectory()), start);
+    return result;
+  }
+
+  @Override
+  protected ValidationResult validateEntry(Path entry, BasicFileAttributes attributes) {
+    long start = System.nanoTime();
+    ValidationResult result = delegate.validateEntry(entry, attributes);
+    metrics.recordSince(outcome(result.isValid(), result.isExists(), result.isDirectory()), start);
+    return result;
+  }
+
+  @Override
+  public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+    long start = System.nanoTime();
+    delegate.validateInto(batch, index, filePath);
+    metrics.recordSince(outcome(batch.isValid(index), batch.isExists(index), batch.isDirectory(index)), start);
+  }
+
+  @Override
+  void validateMissingInto(ValidationResultBatch batch, int index, String filePath) {
+    long start = System.nanoTime();
+    delegate.validateMissingInto(batch, index, filePath);
+    metrics.recordSince(outcome(batch.isValid(index), batch.isExists(index), batch.isDirectory(index)), start);
+  }
+
+  private static String outcome(boolean valid, boolean exists, boolean directory) {
+    if (!valid) return "invalid";
+    if (!exists) return "missing";
+    return directory ? "directory" : "file";
+  }
+}
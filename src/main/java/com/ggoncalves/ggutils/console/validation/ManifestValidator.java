@@ -0,0 +1,113 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Validates a manifest of paths (one per line, UTF-8, blank lines ignored) and writes one compact JSON
+ * object per result to an output stream (NDJSON), in completion order.
+ *
+ * <p>Lines are read only when a validation slot is free and results are written as soon as they
+ * complete, so memory use does not depend on the size of the manifest.
+ */
+public class ManifestValidator {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final BatchFilePathValidator batchValidator;
+
+  public ManifestValidator(BatchFilePathValidator batchValidator) {
+    this.batchValidator = batchValidator;
+  }
+
+  /**
+   * @return the number of results written
+   */
+  public long validate(Path manifest, OutputStream output) throws IOException {
+    try (InputStream input = Files.newInputStream(manifest)) {
+      return validate(input, output);
+    }
+  }
+
+  /**
+   * Reads the manifest until the end of {@code input}. Neither stream is closed; {@code output} is
+   * flushed before returning.
+   *
+   * @return the number of results written
+   */
+  public long validate(InputStream input, OutputStream output) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+    long[] written = {0};
+
+    try {
+      batchValidator.validateFilePaths(new ManifestIterator(reader), result -> {
+        try {
+          ValidationResultJson.write(result, writer);
+          writer.write('\n');
+          written[0]++;
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+    catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    writer.flush();
+    return written[0];
+  }
+
+  private static final class ManifestIterator implements Iterator<String> {
+
+    private final BufferedReader reader;
+    private String next;
+
+    private ManifestIterator(BufferedReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) return true;
+
+      try {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.trim().isEmpty()) {
+            next = line;
+            return true;
+          }
+        }
+        return false;
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String line = next;
+      next = null;
+      return line;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of one mount. A check that times out opens it: checks on the mount then fail fast for
+ * {@code openNanos}, after which a single check is let through as a probe. The circuit closes again
+ * when a check completes in time.
+ */
+final class MountCircuitBreaker {
+
+  private final long openNanos;
+  private final LongSupplier nanoClock;
+
+  private boolean open;
+  private boolean probing;
+  private long openedAt;
+
+  MountCircuitBreaker(long openNanos, LongSupplier nanoClock) {
+    this.openNanos = openNanos;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * @return whether a check may go to the mount
+   */
+  synchronized boolean tryAcquire() {
+    if (!open) {
+      return true;
+    }
+    if (!probing && nanoClock.getAsLong() - openedAt >= openNanos) {
+      probing = true;
+      return true;
+    }
+    return false;
+  }
+
+  synchronized void recordSuccess() {
+    open = false;
+    probing = false;
+  }
+
+  synchronized void recordTimeout() {
+    open = true;
+    probing = false;
+    openedAt = nanoClock.getAsLong();
+  }
+
+  synchronized boolean isOpen() {
+    return open;
+  }
+}
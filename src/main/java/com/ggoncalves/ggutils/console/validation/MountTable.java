@@ -0,0 +1,98 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tells which mount a path is on from {@code /proc/self/mounts}, read once, by comparing path names only.
+ * {@code Files.getFileStore} would answer the same, but has to stat the path, which is precisely what
+ * blocks on a hung mount.
+ */
+final class MountTable {
+
+  private static final Path PROC_MOUNTS = Paths.get("/proc/self/mounts");
+
+  /**
+   * Longest first, so the first mount point a path starts with is the closest one.
+   */
+  private final List<Path> mountPoints;
+
+  MountTable(List<Path> mountPoints) {
+    List<Path> sorted = new ArrayList<>(mountPoints);
+    sorted.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+    this.mountPoints = List.copyOf(sorted);
+  }
+
+  /**
+   * The mount table of the running process, or only the file system roots when it is not available
+   * (non-Linux platforms).
+   */
+  static MountTable load() {
+    List<Path> mountPoints = new ArrayList<>();
+    try {
+      for (String line : Files.readAllLines(PROC_MOUNTS)) {
+        String[] fields = line.split(" ");
+        if (fields.length > 1) {
+          mountPoints.add(Paths.get(unescape(fields[1])));
+        }
+      }
+    }
+    catch (IOException | RuntimeException e) {
+      // Fall back to the roots
+    }
+    for (Path root : Paths.get("").getFileSystem().getRootDirectories()) {
+      mountPoints.add(root);
+    }
+    return new MountTable(mountPoints);
+  }
+
+  /**
+   * The mount point of {@code path}, made absolute and normalized lexically, without touching the disk.
+   */
+  String mountOf(Path path) {
+    Path absolute = path.toAbsolutePath().normalize();
+    for (Path mountPoint : mountPoints) {
+      if (absolute.startsWith(mountPoint)) {
+        return mountPoint.toString();
+      }
+    }
+    Path root = absolute.getRoot();
+    return root != null ? root.toString() : "";
+  }
+
+  /**
+   * Decodes the octal escapes ({@code \040} for a space) of {@code /proc/self/mounts}.
+   */
+  static String unescape(String field) {
+    if (field.indexOf('\\') < 0) {
+      return field;
+    }
+    StringBuilder unescaped = new StringBuilder(field.length());
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      if (c == '\\' && i + 3 < field.length() && isOctal(field, i + 1)) {
+        unescaped.append((char) Integer.parseInt(field.substring(i + 1, i + 4), 8));
+        i += 3;
+      }
+      else {
+        unescaped.append(c);
+      }
+    }
+    return unescaped.toString();
+  }
+
+  private static boolean isOctal(String field, int start) {
+    for (int i = start; i < start + 3; i++) {
+      char c = field.charAt(i);
+      if (c < '0' || c > '7') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,52 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.sun.security.auth.module.UnixSystem;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Numeric identity of the running process, used to evaluate POSIX mode bits without calling
+ * {@code access(2)}. Resolved once per JVM.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+final class ProcessCredentials {
+
+  private static final ProcessCredentials CURRENT = resolve();
+
+  private final long uid;
+  private final long gid;
+  private final long[] groups;
+
+  static ProcessCredentials current() {
+    return CURRENT;
+  }
+
+  boolean isRoot() {
+    return uid == 0;
+  }
+
+  boolean isMemberOf(long fileGid) {
+    if (fileGid == gid) return true;
+    for (long group : groups) {
+      if (group == fileGid) return true;
+    }
+    return false;
+  }
+
+  private static ProcessCredentials resolve() {
+    try {
+      UnixSystem unixSystem = new UnixSystem();
+      long[] groups = unixSystem.getGroups();
+      return new ProcessCredentials(unixSystem.getUid(), unixSystem.getGid(),
+          groups == null ? new long[0] : Arrays.copyOf(groups, groups.length));
+    }
+    catch (LinkageError | RuntimeException e) {
+      // Not a Unix platform (or the module is not present): callers fall back to access checks
+      return null;
+    }
+  }
+}
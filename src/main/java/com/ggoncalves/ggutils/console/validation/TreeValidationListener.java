@@ -0,0 +1,17 @@
+package com.ggoncalves.ggutils.console.validation;
+
+/**
+ * Receives the output of {@link DirectoryTreeValidator} as the walk progresses. Methods are called
+ * concurrently from the traversal threads.
+ */
+public interface TreeValidationListener {
+
+  /**
+   * Called once per entry. Directories are reported after their contents, with {@code isBlank} set when
+   * they have no entries.
+   */
+  void onResult(ValidationResult result);
+
+  default void onDirectory(DirectorySummary summary) {
+  }
+}
@@ -0,0 +1,57 @@
+package com.ggoncalves.ggutils.console.validation;
+
+/**
+ * Reason a path failed validation. The message is only formatted when asked for.
+ */
+public enum ValidationError {
+  NONE(null),
+  NULL_OR_EMPTY("Path is null or empty"),
+  INVALID_SYNTAX("Invalid path syntax: "),
+  TIMEOUT("Validation timed out: "),
+  OTHER("");
+
+  private final String message;
+
+  ValidationError(String message) {
+    this.message = message;
+  }
+
+  /**
+   * The code of a result built by {@link FilePathValidator}, recognized from its message.
+   */
+  static ValidationError of(ValidationResult result) {
+    String message = result.getErrorMessage();
+    if (message == null) {
+      return NONE;
+    }
+    if (result.isTimedOut()) {
+      return TIMEOUT;
+    }
+    if (message.equals(NULL_OR_EMPTY.message)) {
+      return NULL_OR_EMPTY;
+    }
+    return message.startsWith(INVALID_SYNTAX.message) ? INVALID_SYNTAX : OTHER;
+  }
+
+  /**
+   * @param detail appended to the message of codes that carry one ({@code INVALID_SYNTAX}, {@code TIMEOUT},
+   *               {@code OTHER})
+   */
+  public String format(String detail) {
+    return switch (this) {
+      case NONE -> null;
+      case NULL_OR_EMPTY -> message;
+      case INVALID_SYNTAX, TIMEOUT, OTHER -> message + detail;
+    };
+  }
+
+  /**
+   * Inverse of {@link #format}: the detail of a message formatted with this code, or the message itself
+   * when it was not.
+   */
+  String detailOf(String formatted) {
+    return formatted != null && message != null && formatted.startsWith(message)
+        ? formatted.substring(message.length())
+        : formatted;
+  }
+}
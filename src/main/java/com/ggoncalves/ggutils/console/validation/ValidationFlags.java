@@ -0,0 +1,58 @@
+package com.ggoncalves.ggutils.console.validation;
+
+/**
+ * Bit flags packing the boolean part of a {@link ValidationResult} into a single {@code int}.
+ */
+public final class ValidationFlags {
+
+  public static final int VALID = 1;
+  public static final int EXISTS = 1 << 1;
+  public static final int DIRECTORY = 1 << 2;
+  public static final int READABLE = 1 << 3;
+  public static final int WRITABLE = 1 << 4;
+  public static final int EXECUTABLE = 1 << 5;
+  public static final int BLANK = 1 << 6;
+  /**
+   * The check did not complete in time: the other flags are unknown, not false.
+   */
+  public static final int TIMED_OUT = 1 << 7;
+  /**
+   * Neither a directory nor a special file such as a FIFO or a device.
+   */
+  public static final int REGULAR_FILE = 1 << 8;
+
+  private ValidationFlags() {
+  }
+
+  public static boolean isSet(int flags, int flag) {
+    return (flags & flag) != 0;
+  }
+
+  public static int pack(ValidationResult result) {
+    return (result.isValid() ? VALID : 0)
+        | (result.isExists() ? EXISTS : 0)
+        | (result.isDirectory() ? DIRECTORY : 0)
+        | (result.isReadable() ? READABLE : 0)
+        | (result.isWritable() ? WRITABLE : 0)
+        | (result.isExecutable() ? EXECUTABLE : 0)
+        | (result.isBlank() ? BLANK : 0)
+        | (result.isTimedOut() ? TIMED_OUT : 0)
+        | (result.isRegularFile() ? REGULAR_FILE : 0);
+  }
+
+  public static ValidationResult unpack(String filePath, int flags, String errorMessage) {
+    return ValidationResult.builder()
+        .filePath(filePath)
+        .valid(isSet(flags, VALID))
+        .exists(isSet(flags, EXISTS))
+        .isDirectory(isSet(flags, DIRECTORY))
+        .regularFile(isSet(flags, REGULAR_FILE))
+        .readable(isSet(flags, READABLE))
+        .writable(isSet(flags, WRITABLE))
+        .executable(isSet(flags, EXECUTABLE))
+        .isBlank(isSet(flags, BLANK))
+        .timedOut(isSet(flags, TIMED_OUT))
+        .errorMessage(errorMessage)
+        .build();
+  }
+}
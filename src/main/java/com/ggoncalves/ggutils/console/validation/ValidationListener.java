@@ -0,0 +1,10 @@
+package com.ggoncalves.ggutils.console.validation;
+
+@FunctionalInterface
+public interface ValidationListener {
+
+  /**
+   * Called when the result of a registered path changes. {@code previous} is never null.
+   */
+  void onValidationChanged(String filePath, ValidationResult previous, ValidationResult current);
+}
@@ -0,0 +1,14 @@
+package com.ggoncalves.ggutils.console.validation;
+
+public enum ValidationMode {
+  /**
+   * Checks existence, type and permissions through separate {@code Files}/{@code File} calls.
+   */
+  STANDARD,
+
+  /**
+   * Reads every attribute from a single {@code Files.readAttributes} call and derives the
+   * readable/writable/executable flags in-process from the mode bits and the process credentials.
+   */
+  ATTRIBUTE_SNAPSHOT
+}
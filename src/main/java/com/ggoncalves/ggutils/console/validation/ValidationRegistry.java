@@ -0,0 +1,297 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Keeps the current {@link ValidationResult} of a set of registered paths up to date from
+ * {@link WatchService} events on their parent directories, so reads are memory lookups.
+ *
+ * <p>Paths whose parent directory cannot be watched (for instance because it does not exist yet) are
+ * polled every {@code pollInterval}. When the watch queue overflows, events have been lost: every
+ * registered path is revalidated and polling covers all paths until a polling cycle passes without a
+ * new overflow.
+ */
+@Log4j2
+public class ValidationRegistry implements AutoCloseable {
+
+  public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(5);
+
+  private final FilePathValidator filePathValidator;
+  private final WatchService watchService;
+  private final Map<Path, ValidationResult> results = new ConcurrentHashMap<>();
+  private final Map<Path, WatchKey> watchedDirectories = new ConcurrentHashMap<>();
+  private final Set<Path> unwatchedPaths = ConcurrentHashMap.newKeySet();
+  private final List<ValidationListener> listeners = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService poller;
+  private final Thread watchThread;
+
+  private volatile boolean pollingAll;
+  private volatile boolean overflowSinceLastPoll;
+  private volatile boolean closed;
+
+  public ValidationRegistry(FilePathValidator filePathValidator) throws IOException {
+    this(filePathValidator, DEFAULT_POLL_INTERVAL);
+  }
+
+  public ValidationRegistry(FilePathValidator filePathValidator, Duration pollInterval) throws IOException {
+    this.filePathValidator = filePathValidator;
+    this.watchService = FileSystems.getDefault().newWatchService();
+
+    this.poller = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("validation-registry-poller-%d")
+        .setDaemon(true)
+        .build());
+    long pollMillis = pollInterval.toMillis();
+    poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+
+    this.watchThread = new Thread(this::watchLoop, "validation-registry-watcher");
+    watchThread.setDaemon(true);
+    watchThread.start();
+  }
+
+  /**
+   * Validates {@code filePath}, starts tracking it and returns its current result.
+   */
+  public ValidationResult register(String filePath) {
+    Path path = toKey(filePath);
+    ValidationResult result;
+    synchronized (this) {
+      // Watched before validating, so that a change is either seen by the validation or reported by an
+      // event, which waits for the result to be stored before revalidating
+      if (!watchParent(path)) {
+        unwatchedPaths.add(path);
+      }
+      result = filePathValidator.validateFilePath(path.toString());
+      results.put(path, result);
+    }
+    return result.toBuilder().build();
+  }
+
+  public void unregister(String filePath) {
+    Path path = toKey(filePath);
+    synchronized (this) {
+      results.remove(path);
+      unwatchedPaths.remove(path);
+
+      Path parent = path.getParent();
+      if (parent != null && results.keySet().stream().noneMatch(p -> parent.equals(p.getParent()))) {
+        WatchKey key = watchedDirectories.remove(parent);
+        // Another spelling of the same directory shares its key
+        if (key != null && !watchedDirectories.containsValue(key)) {
+          key.cancel();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the last known result of a registered path, or {@code null} when it is not registered.
+   */
+  public ValidationResult getResult(String filePath) {
+    ValidationResult result = results.get(toKey(filePath));
+    return result == null ? null : result.toBuilder().build();
+  }
+
+  public int size() {
+    return results.size();
+  }
+
+  public boolean isPolling() {
+    return pollingAll;
+  }
+
+  public void addListener(ValidationListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ValidationListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    poller.shutdownNow();
+    watchService.close();
+    watchThread.interrupt();
+  }
+
+  @VisibleForTesting
+  void handleOverflow() {
+    log.debug("Watch queue overflowed, revalidating {} paths", results.size());
+    pollingAll = true;
+    overflowSinceLastPoll = true;
+    poller.execute(this::revalidateAll);
+  }
+
+  @VisibleForTesting
+  void poll() {
+    try {
+      if (pollingAll) {
+        revalidateAll();
+        if (!overflowSinceLastPoll) {
+          pollingAll = false;
+        }
+        overflowSinceLastPoll = false;
+      }
+
+      for (Path path : unwatchedPaths) {
+        synchronized (this) {
+          if (results.containsKey(path) && watchParent(path)) {
+            unwatchedPaths.remove(path);
+          }
+        }
+        if (!pollingAll) {
+          revalidate(path);
+        }
+      }
+    }
+    catch (RuntimeException e) {
+      // Keep the scheduled task alive
+      log.warn("Polling registered paths failed", e);
+    }
+  }
+
+  private void watchLoop() {
+    while (!closed) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      }
+      catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+
+      List<Path> directories = directoriesOf(key);
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          handleOverflow();
+          continue;
+        }
+        // Not checked against results here: a path being registered is only added under the lock
+        for (Path directory : directories) {
+          revalidate(directory.resolve((Path) event.context()));
+        }
+      }
+
+      if (!key.reset()) {
+        // The directory itself went away: its paths are polled until it can be watched again
+        synchronized (this) {
+          for (Path directory : directories) {
+            watchedDirectories.remove(directory, key);
+            for (Path path : results.keySet()) {
+              if (directory.equals(path.getParent())) {
+                unwatchedPaths.add(path);
+              }
+            }
+          }
+        }
+        for (Path path : results.keySet()) {
+          if (directories.contains(path.getParent())) {
+            revalidate(path);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Every spelling under which the directory of {@code key} was registered, since paths are not
+   * normalized and the watch service gives the same key to each of them.
+   */
+  private List<Path> directoriesOf(WatchKey key) {
+    List<Path> directories = new ArrayList<>();
+    for (Map.Entry<Path, WatchKey> entry : watchedDirectories.entrySet()) {
+      if (entry.getValue() == key) {
+        directories.add(entry.getKey());
+      }
+    }
+    if (directories.isEmpty()) {
+      directories.add((Path) key.watchable());
+    }
+    return directories;
+  }
+
+  private synchronized boolean watchParent(Path path) {
+    Path parent = path.getParent();
+    if (parent == null) {
+      return false;
+    }
+
+    WatchKey existing = watchedDirectories.get(parent);
+    if (existing != null && existing.isValid()) {
+      return true;
+    }
+
+    try {
+      WatchKey key = parent.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+      watchedDirectories.put(parent, key);
+      return true;
+    }
+    catch (IOException | ClosedWatchServiceException | ProviderMismatchException e) {
+      // Not on the default file system, or not watchable: polled instead
+      return false;
+    }
+  }
+
+  private void revalidateAll() {
+    for (Path path : results.keySet()) {
+      revalidate(path);
+    }
+  }
+
+  private synchronized void revalidate(Path path) {
+    ValidationResult previous = results.get(path);
+    if (previous == null) {
+      return;
+    }
+
+    ValidationResult current = filePathValidator.validateFilePath(path.toString());
+    if (current.equals(previous) || !results.replace(path, previous, current)) {
+      return;
+    }
+
+    for (ValidationListener listener : listeners) {
+      try {
+        listener.onValidationChanged(path.toString(), previous.toBuilder().build(), current.toBuilder().build());
+      }
+      catch (RuntimeException e) {
+        log.warn("Validation listener failed for {}", path, e);
+      }
+    }
+  }
+
+  private Path toKey(String filePath) {
+    if (filePath == null || filePath.trim().isEmpty()) {
+      throw new IllegalArgumentException("Path is null or empty");
+    }
+    // Not normalized, like the cache keys: "link/.." is not always the directory holding "link"
+    return filePathValidator.getPath(filePath).toAbsolutePath();
+  }
+}
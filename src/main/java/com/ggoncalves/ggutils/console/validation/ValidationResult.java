@@ -4,15 +4,17 @@ import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ValidationResult {
   private String filePath;
   private boolean valid;
   private boolean exists;
   private boolean isDirectory;
+  private boolean regularFile;
   private boolean readable;
   private boolean writable;
   private boolean executable;
   private String errorMessage;
   private boolean isBlank;
+  private boolean timedOut;
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented results for a fixed number of paths: one packed {@link ValidationFlags} int and one
+ * {@link ValidationError} code per path, with error details kept only for the entries that have one.
+ * Distinct indexes may be written from different threads.
+ */
+public class ValidationResultBatch {
+
+  private static final ValidationError[] ERRORS = ValidationError.values();
+
+  private final String[] filePaths;
+  private final int[] flags;
+  private final byte[] errorCodes;
+  private volatile String[] errorDetails;
+
+  public ValidationResultBatch(int size) {
+    this.filePaths = new String[size];
+    this.flags = new int[size];
+    this.errorCodes = new byte[size];
+  }
+
+  public int size() {
+    return flags.length;
+  }
+
+  public void set(int index, String filePath, int flags, ValidationError error, String errorDetail) {
+    this.filePaths[index] = filePath;
+    this.flags[index] = flags;
+    this.errorCodes[index] = (byte) error.ordinal();
+    if (errorDetail != null) {
+      detailsArray()[index] = errorDetail;
+    }
+  }
+
+  public void set(int index, ValidationResult result) {
+    set(index, result.getFilePath(), result);
+  }
+
+  /**
+   * Stores {@code result} under {@code filePath}, e.g. the path as given when {@code result} was
+   * validated from another spelling of it.
+   */
+  void set(int index, String filePath, ValidationResult result) {
+    String errorMessage = result.getErrorMessage();
+    if (errorMessage == null) {
+      set(index, filePath, ValidationFlags.pack(result), ValidationError.NONE, null);
+    }
+    else {
+      ValidationError error = ValidationError.of(result);
+      set(index, filePath, ValidationFlags.pack(result), error, error.detailOf(errorMessage));
+    }
+  }
+
+
+  public String getFilePath(int index) {
+    return filePaths[index];
+  }
+
+  public int getFlags(int index) {
+    return flags[index];
+  }
+
+  public boolean isValid(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.VALID);
+  }
+
+  public boolean isExists(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.EXISTS);
+  }
+
+  public boolean isDirectory(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.DIRECTORY);
+  }
+
+  public boolean isRegularFile(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.REGULAR_FILE);
+  }
+
+  public boolean isReadable(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.READABLE);
+  }
+
+  public boolean isWritable(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.WRITABLE);
+  }
+
+  public boolean isExecutable(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.EXECUTABLE);
+  }
+
+  public boolean isBlank(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.BLANK);
+  }
+
+  public boolean isTimedOut(int index) {
+    return ValidationFlags.isSet(flags[index], ValidationFlags.TIMED_OUT);
+  }
+
+  public ValidationError getError(int index) {
+    return ERRORS[errorCodes[index]];
+  }
+
+  public String getErrorMessage(int index) {
+    String[] details = errorDetails;
+    return getError(index).format(details == null ? null : details[index]);
+  }
+
+  /**
+   * Materializes the entry at {@code index} as a {@link ValidationResult}.
+   */
+  public ValidationResult get(int index) {
+    return ValidationFlags.unpack(filePaths[index], flags[index], getErrorMessage(index));
+  }
+
+  /**
+   * A read-only list view; each {@code get} materializes a new {@link ValidationResult}.
+   */
+  public List<ValidationResult> asList() {
+    return new ResultListView();
+  }
+
+  private String[] detailsArray() {
+    String[] details = errorDetails;
+    if (details == null) {
+      synchronized (this) {
+        details = errorDetails;
+        if (details == null) {
+          details = new String[flags.length];
+          errorDetails = details;
+        }
+      }
+    }
+    return details;
+  }
+
+  private final class ResultListView extends AbstractList<ValidationResult> implements RandomAccess {
+
+    @Override
+    public ValidationResult get(int index) {
+      return ValidationResultBatch.this.get(index);
+    }
+
+    @Override
+    public int size() {
+      return ValidationResultBatch.this.size();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link ValidationResult} as a single-line JSON object. {@code errorMessage} is omitted when
+ * there is none.
+ */
+final class ValidationResultJson {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private ValidationResultJson() {
+  }
+
+  static void write(ValidationResult result, Appendable out) throws IOException {
+    out.append("{\"filePath\":");
+    writeString(result.getFilePath(), out);
+    writeBoolean("valid", result.isValid(), out);
+    writeBoolean("exists", result.isExists(), out);
+    writeBoolean("isDirectory", result.isDirectory(), out);
+    writeBoolean("readable", result.isReadable(), out);
+    writeBoolean("writable", result.isWritable(), out);
+    writeBoolean("executable", result.isExecutable(), out);
+    writeBoolean("isBlank", result.isBlank(), out);
+    if (result.getErrorMessage() != null) {
+      out.append(",\"errorMessage\":");
+      writeString(result.getErrorMessage(), out);
+    }
+    out.append('}');
+  }
+
+  private static void writeBoolean(String name, boolean value, Appendable out) throws IOException {
+    out.append(",\"").append(name).append("\":").append(value ? "true" : "false");
+  }
+
+  private static void writeString(String value, Appendable out) throws IOException {
+    if (value == null) {
+      out.append("null");
+      return;
+    }
+
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+          }
+          else {
+            out.append(c);
+          }
+        }
+      }
+    }
+    out.append('"');
+  }
+}
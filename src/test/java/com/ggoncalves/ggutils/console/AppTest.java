@@ -0,0 +1,83 @@
+package com.ggoncalves.ggutils.console;
+
+import com.ggoncalves.ggutils.console.daemon.InvocationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private ByteArrayOutputStream out;
+  private ByteArrayOutputStream err;
+  private InvocationContext context;
+
+  @BeforeEach
+  void setUp() {
+    out = new ByteArrayOutputStream();
+    err = new ByteArrayOutputStream();
+    context = new InvocationContext(tempDir, Map.of(), new ByteArrayInputStream(new byte[0]), new PrintStream(out),
+        new PrintStream(err));
+  }
+
+  @Test
+  @DisplayName("Should print help without requiring the other options")
+  void shouldPrintHelp() {
+    // When
+    int exitCode = new App().run(new String[]{"--help"}, context);
+
+    // Then
+    assertThat(exitCode).isZero();
+    assertThat(out.toString()).contains("usage: " + App.NAME).contains("-i,--input");
+  }
+
+  @Test
+  @DisplayName("Should validate files relative to the working directory")
+  void shouldValidateRelativeFiles() throws IOException {
+    // Given
+    Files.write(tempDir.resolve("input.csv"), "a,b".getBytes());
+    Files.createDirectory(tempDir.resolve("out"));
+
+    // When
+    int exitCode = new App().run(new String[]{"-i", "input.csv", "-o", "out"}, context);
+
+    // Then
+    assertThat(exitCode).isZero();
+    assertThat(out.toString()).contains("Input file: " + tempDir.resolve("input.csv"));
+  }
+
+  @Test
+  @DisplayName("Should fail with usage on missing options")
+  void shouldFailOnMissingOptions() {
+    // When
+    int exitCode = new App().run(new String[]{"-i", "input.csv"}, context);
+
+    // Then
+    assertThat(exitCode).isEqualTo(2);
+    assertThat(err.toString()).contains("Missing required option").contains("usage: " + App.NAME);
+  }
+
+  @Test
+  @DisplayName("Should fail on an invalid input file")
+  void shouldFailOnInvalidInputFile() {
+    // When
+    int exitCode = new App().run(new String[]{"-i", "missing.csv", "-o", "."}, context);
+
+    // Then
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(out.toString()).isEmpty();
+  }
+}
@@ -0,0 +1,64 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Fixture directory for the benchmarks, created on tmpfs ({@code /dev/shm}) when available so the
+ * numbers measure the library rather than the disk.
+ */
+public final class BenchmarkFixture implements AutoCloseable {
+
+  private static final Path TMPFS = Paths.get("/dev/shm");
+
+  public enum PathKind {
+    EXISTING, MISSING, UNREADABLE, DIRECTORY
+  }
+
+  private final Path root;
+
+  BenchmarkFixture() throws IOException {
+    Path parent = Files.isDirectory(TMPFS) && Files.isWritable(TMPFS)
+        ? TMPFS
+        : Paths.get(System.getProperty("java.io.tmpdir"));
+    root = Files.createTempDirectory(parent, "ggutils-benchmark");
+
+    Files.write(root.resolve("existing.txt"), "some content".getBytes());
+    Path unreadable = Files.write(root.resolve("unreadable.txt"), "secret".getBytes());
+    try {
+      // Root can still read it; the benchmark then measures the same path as EXISTING
+      Files.setPosixFilePermissions(unreadable, PosixFilePermissions.fromString("---------"));
+    }
+    catch (UnsupportedOperationException e) {
+      // Non-POSIX file system
+    }
+    Files.createDirectory(root.resolve("directory"));
+  }
+
+  String path(PathKind kind) {
+    return switch (kind) {
+      case EXISTING -> root.resolve("existing.txt").toString();
+      case MISSING -> root.resolve("missing.txt").toString();
+      case UNREADABLE -> root.resolve("unreadable.txt").toString();
+      case DIRECTORY -> root.resolve("directory").toString();
+    };
+  }
+
+  Path resolve(String name) {
+    return root.resolve(name);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (Stream<Path> paths = Files.walk(root)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+}
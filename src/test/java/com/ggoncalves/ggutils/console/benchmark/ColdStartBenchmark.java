@@ -0,0 +1,92 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the cold start of a minimal {@code CommandProcessor} tool ({@code App --help} by default)
+ * by launching a fresh JVM per run. Reports the median time until the first byte of output, the
+ * median time until exit and the number of classes the JVM loaded.
+ *
+ * <pre>
+ * --runs N           number of launches (default 10)
+ * --classpath CP     class path of the launched JVM (default: this JVM's)
+ * --jvm-arg ARG      extra JVM option, repeatable (e.g. -XX:SharedArchiveFile=target/....jsa)
+ * --main CLASS       main class (default com.ggoncalves.ggutils.console.App)
+ * -- ARGS...         arguments of the main class (default --help)
+ * </pre>
+ */
+public class ColdStartBenchmark {
+
+  private static final String DEFAULT_MAIN = "com.ggoncalves.ggutils.console.App";
+
+  public static void main(String[] args) throws Exception {
+    int runs = 10;
+    String classpath = System.getProperty("java.class.path");
+    String mainClass = DEFAULT_MAIN;
+    List<String> jvmArgs = new ArrayList<>();
+    List<String> appArgs = new ArrayList<>(List.of("--help"));
+
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--runs" -> runs = Integer.parseInt(args[++i]);
+        case "--classpath" -> classpath = args[++i];
+        case "--jvm-arg" -> jvmArgs.add(args[++i]);
+        case "--main" -> mainClass = args[++i];
+        case "--" -> {
+          appArgs = new ArrayList<>(Arrays.asList(args).subList(i + 1, args.length));
+          i = args.length;
+        }
+        default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+      }
+    }
+
+    Path classLog = Files.createTempFile("cold-start-classes", ".log");
+    long[] firstOutput = new long[runs];
+    long[] exit = new long[runs];
+    long loadedClasses = 0;
+
+    for (int run = 0; run < runs; run++) {
+      List<String> command = new ArrayList<>();
+      command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+      command.addAll(jvmArgs);
+      command.add("-Xlog:class+load:file=" + classLog);
+      command.add("-cp");
+      command.add(classpath);
+      command.add(mainClass);
+      command.addAll(appArgs);
+
+      long start = System.nanoTime();
+      Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      try (InputStream output = process.getInputStream()) {
+        output.read();
+        firstOutput[run] = System.nanoTime() - start;
+        output.transferTo(OutputStream.nullOutputStream());
+      }
+      process.waitFor();
+      exit[run] = System.nanoTime() - start;
+
+      try (var lines = Files.lines(classLog)) {
+        loadedClasses = lines.count();
+      }
+    }
+    Files.deleteIfExists(classLog);
+
+    System.out.printf("%s %s runs=%d first-output=%.1f ms exit=%.1f ms loaded-classes=%d%n",
+        mainClass, String.join(" ", appArgs), runs, median(firstOutput) / 1e6, median(exit) / 1e6, loadedClasses);
+  }
+
+  private static double median(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int middle = sorted.length / 2;
+    return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+  }
+}
@@ -0,0 +1,63 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.cli.CommandProcessor;
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandProcessorBenchmark {
+
+  /**
+   * Number of repeated {@code -f <file>} pairs appended to the typical argument vector.
+   */
+  @Param({"0", "10000"})
+  private int extraFiles;
+
+  private CommandProcessor processor;
+  private String[] args;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    processor = new CommandProcessor(new FilePathValidator())
+        .addRequiredOption("i", "input", true, "Input file path")
+        .addRequiredOption("o", "output", true, "Output directory path")
+        .addOption("f", "file", true, "Additional file")
+        .addOption("v", "verbose", false, "Enable verbose output");
+
+    args = new String[5 + 2 * extraFiles];
+    args[0] = "-i";
+    args[1] = "/data/input.csv";
+    args[2] = "--output";
+    args[3] = "/data/out";
+    args[4] = "-v";
+    for (int i = 0; i < extraFiles; i++) {
+      args[5 + 2 * i] = "-f";
+      args[6 + 2 * i] = "/data/part-" + i + ".csv";
+    }
+  }
+
+  @Benchmark
+  public CommandLine parseArgs() throws ParseException {
+    return processor.parseArgs(args);
+  }
+}
@@ -0,0 +1,86 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.content.ContentProbe;
+import com.ggoncalves.ggutils.console.content.ContentProbeResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probing a text file of {@code megabytes} MB, head only and with the line count, against counting its
+ * lines with a {@link BufferedReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentProbeBenchmark {
+
+  @Param({"64"})
+  private int megabytes;
+
+  private BenchmarkFixture fixture;
+  private Path file;
+  private final ContentProbe headProbe = new ContentProbe();
+  private final ContentProbe countingProbe = new ContentProbe(ContentProbe.DEFAULT_HEAD_SIZE, true);
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = new BenchmarkFixture();
+    file = fixture.resolve("content.csv");
+    long target = megabytes * 1024L * 1024L;
+    try (Writer writer = Files.newBufferedWriter(file)) {
+      for (long written = 0, line = 0; written < target; line++) {
+        String row = line + ",some value,another value," + (line * 31) + "\n";
+        writer.write(row);
+        written += row.length();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public ContentProbeResult probeHead() throws IOException {
+    return headProbe.probe(file);
+  }
+
+  @Benchmark
+  public ContentProbeResult probeAndCountLines() throws IOException {
+    return countingProbe.probe(file);
+  }
+
+  @Benchmark
+  public long readerCountLines() throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      long lines = 0;
+      while (reader.readLine() != null) {
+        lines++;
+      }
+      return lines;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import com.ggoncalves.ggutils.console.validation.ValidationMode;
+import com.ggoncalves.ggutils.console.validation.ValidationResultBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-path validation against directory-grouped validation of {@code files} paths in one directory,
+ * half of which do not exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectoryGroupedValidationBenchmark {
+
+  @Param({"1000", "20000"})
+  private int files;
+
+  private BenchmarkFixture fixture;
+  private List<String> paths;
+  private final FilePathValidator standardValidator = new FilePathValidator();
+  private final FilePathValidator snapshotValidator = new FilePathValidator(ValidationMode.ATTRIBUTE_SNAPSHOT);
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = new BenchmarkFixture();
+    Path directory = Files.createDirectories(fixture.resolve("grouped"));
+
+    paths = new ArrayList<>(files);
+    for (int i = 0; i < files; i++) {
+      Path file = directory.resolve("file-" + i);
+      if (i % 2 == 0) {
+        Files.createFile(file);
+      }
+      paths.add(file.toString());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public ValidationResultBatch perPathStandard() {
+    return standardValidator.validateFilePaths(paths);
+  }
+
+  @Benchmark
+  public ValidationResultBatch perPathSnapshot() {
+    return snapshotValidator.validateFilePaths(paths);
+  }
+
+  @Benchmark
+  public ValidationResultBatch groupedByDirectory() {
+    return snapshotValidator.validateFilePathsByDirectory(paths);
+  }
+}
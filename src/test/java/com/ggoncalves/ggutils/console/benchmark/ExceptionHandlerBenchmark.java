@@ -0,0 +1,58 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.exception.ErrorSuppressor;
+import com.ggoncalves.ggutils.console.exception.ExceptionHandler;
+import com.ggoncalves.ggutils.console.exception.FilePermissionException;
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the handler itself: the test log configuration routes everything to a Null appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+  private final ExceptionHandler handler = new ExceptionHandler();
+  private final ExceptionHandler suppressingHandler = new ExceptionHandler(new ErrorSuppressor());
+  private final InvalidFileException invalidFileException = new InvalidFileException("File not found: /data/in.csv");
+  private final FilePermissionException permissionException = new FilePermissionException("Cannot read: /data/in.csv");
+  private final RuntimeException unexpectedException = new IllegalStateException("Unexpected state");
+
+  @Benchmark
+  public void handleInvalidFile() {
+    handler.handle(invalidFileException);
+  }
+
+  @Benchmark
+  public void handleFilePermission() {
+    handler.handle(permissionException);
+  }
+
+  @Benchmark
+  public void handleUnexpected() {
+    handler.handle(unexpectedException);
+  }
+
+  /**
+   * A repeated error, suppressed after the first occurrences: the cost of fingerprinting it.
+   */
+  @Benchmark
+  public void handleSuppressed() {
+    suppressingHandler.handle(invalidFileException);
+  }
+}
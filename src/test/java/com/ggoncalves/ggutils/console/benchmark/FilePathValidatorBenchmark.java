@@ -0,0 +1,62 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import com.ggoncalves.ggutils.console.validation.ValidationMode;
+import com.ggoncalves.ggutils.console.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilePathValidatorBenchmark {
+
+  @Param({"EXISTING", "MISSING", "UNREADABLE", "DIRECTORY"})
+  private BenchmarkFixture.PathKind pathKind;
+
+  @Param({"STANDARD", "ATTRIBUTE_SNAPSHOT"})
+  private ValidationMode validationMode;
+
+  private BenchmarkFixture fixture;
+  private FilePathValidator validator;
+  private String path;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = new BenchmarkFixture();
+    validator = new FilePathValidator(validationMode);
+    path = fixture.path(pathKind);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public ValidationResult validateFilePath() {
+    return validator.validateFilePath(path);
+  }
+
+  @Benchmark
+  public boolean isValidExistingFilePath() {
+    return validator.isValidExistingFilePath(path);
+  }
+}
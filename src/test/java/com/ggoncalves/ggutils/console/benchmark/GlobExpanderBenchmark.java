@@ -0,0 +1,80 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.cli.GlobExpander;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Expanding {@code <root>/2026-0*}{@code /part-*.csv} over 100 day directories of {@code filesPerDirectory}
+ * files each, against walking the whole tree and matching every path with one {@link PathMatcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobExpanderBenchmark {
+
+  private static final int DIRECTORIES = 100;
+
+  @Param({"100", "1000"})
+  private int filesPerDirectory;
+
+  private BenchmarkFixture fixture;
+  private String pattern;
+  private Path root;
+  private final GlobExpander globExpander = new GlobExpander();
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = new BenchmarkFixture();
+    root = Files.createDirectories(fixture.resolve("glob"));
+    for (int day = 0; day < DIRECTORIES; day++) {
+      // One directory in ten matches the pattern
+      Path directory = Files.createDirectory(root.resolve(String.format("%d-%02d", 2017 + day / 10, day % 10)));
+      for (int i = 0; i < filesPerDirectory; i++) {
+        Files.createFile(directory.resolve("part-" + i + (i % 2 == 0 ? ".csv" : ".json")));
+      }
+    }
+    pattern = root + "/2026-0*/part-*.csv";
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public List<String> globExpander() {
+    return globExpander.expand(pattern);
+  }
+
+  @Benchmark
+  public List<String> walkAndMatch() throws IOException {
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+    try (Stream<Path> paths = Files.walk(root)) {
+      return paths.filter(matcher::matches).map(Path::toString).sorted().toList();
+    }
+  }
+}
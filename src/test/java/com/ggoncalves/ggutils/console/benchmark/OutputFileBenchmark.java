@@ -0,0 +1,86 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.output.FsyncPolicy;
+import com.ggoncalves.ggutils.console.output.OutputDirectory;
+import com.ggoncalves.ggutils.console.output.OutputFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing {@code megabytes} MB in {@code writeSize}-byte writes through an {@link OutputFile}, without
+ * fsync, against a {@link BufferedOutputStream} with its default 8 KB buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutputFileBenchmark {
+
+  @Param({"64"})
+  private int megabytes;
+
+  @Param({"100", "16384"})
+  private int writeSize;
+
+  private BenchmarkFixture fixture;
+  private OutputDirectory directory;
+  private byte[] data;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = new BenchmarkFixture();
+    directory = OutputDirectory.open(Files.createDirectory(fixture.resolve("output")), FsyncPolicy.NONE, 1);
+    data = new byte[writeSize];
+    Arrays.fill(data, (byte) 'x');
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public long outputFile() throws IOException {
+    long target = megabytes * 1024L * 1024L;
+    try (OutputFile file = directory.create("output-file.bin", target)) {
+      for (long written = 0; written < target; written += data.length) {
+        file.write(data);
+      }
+      file.commit();
+      return file.size();
+    }
+  }
+
+  @Benchmark
+  public long bufferedOutputStream() throws IOException {
+    long target = megabytes * 1024L * 1024L;
+    long written = 0;
+    OutputStream stream = Files.newOutputStream(directory.getPath().resolve("stream.bin"));
+    try (OutputStream out = new BufferedOutputStream(stream)) {
+      for (; written < target; written += data.length) {
+        out.write(data);
+      }
+    }
+    return written;
+  }
+}
@@ -0,0 +1,86 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.content.RecordFormat;
+import com.ggoncalves.ggutils.console.content.StructuralValidationResult;
+import com.ggoncalves.ggutils.console.content.StructuralValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structural validation of a CSV file of {@code megabytes} MB against the usual {@link BufferedReader}
+ * loop counting the columns of each line (which, unlike the validator, ignores quoting).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StructuralValidatorBenchmark {
+
+  @Param({"64"})
+  private int megabytes;
+
+  private BenchmarkFixture fixture;
+  private Path file;
+  private final StructuralValidator validator = new StructuralValidator(RecordFormat.CSV);
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = new BenchmarkFixture();
+    file = fixture.resolve("records.csv");
+    long target = megabytes * 1024L * 1024L;
+    try (Writer writer = Files.newBufferedWriter(file)) {
+      writer.write("id,name,description,amount\n");
+      for (long written = 0, line = 0; written < target; line++) {
+        String row = line + ",name " + line + ",\"quoted, with comma\"," + (line * 31) + "\n";
+        writer.write(row);
+        written += row.length();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public StructuralValidationResult structuralValidator() throws IOException {
+    return validator.validate(file);
+  }
+
+  @Benchmark
+  public long readerSplitLoop() throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      int columns = reader.readLine().split(",", -1).length;
+      long errors = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.split(",", -1).length != columns) {
+          errors++;
+        }
+      }
+      return errors;
+    }
+  }
+}
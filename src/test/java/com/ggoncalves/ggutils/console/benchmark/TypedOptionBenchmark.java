@@ -0,0 +1,76 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.cli.CommandProcessor;
+import com.ggoncalves.ggutils.console.cli.OptionType;
+import com.ggoncalves.ggutils.console.cli.TypedCommandLine;
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading an int, a byte size, a duration and a path option once per iteration of a loop, from a
+ * {@link TypedCommandLine} against parsing the strings of the {@link CommandLine} on every read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypedOptionBenchmark {
+
+  private static final int LOOP = 1000;
+
+  private TypedCommandLine typed;
+  private CommandLine commandLine;
+
+  @Setup(Level.Trial)
+  public void setUp() throws ParseException {
+    CommandProcessor processor = new CommandProcessor(new FilePathValidator())
+        .addTypedOption("t", "threads", OptionType.INT, "4", "Worker threads")
+        .addTypedOption("b", "buffer", OptionType.BYTES, "64K", "Buffer size")
+        .addTypedOption("d", "deadline", OptionType.DURATION, "30s", "Deadline")
+        .addTypedOption("o", "output", OptionType.PATH, "out", "Output directory");
+    String[] args = {"-t", "16", "-b", "512M", "-d", "500ms", "-o", "/data/out"};
+    typed = processor.parseTypedArgs(args);
+    commandLine = typed.getCommandLine();
+  }
+
+  @Benchmark
+  public long typedGetters() {
+    long sum = 0;
+    for (int i = 0; i < LOOP; i++) {
+      sum += typed.getInt("threads") + typed.getBytes("buffer") + typed.getDuration("deadline").toNanos()
+          + typed.getPath("output").getNameCount();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long parseOnEveryRead() {
+    long sum = 0;
+    for (int i = 0; i < LOOP; i++) {
+      String buffer = commandLine.getOptionValue("buffer");
+      sum += Integer.parseInt(commandLine.getOptionValue("threads"))
+          + Long.parseLong(buffer.substring(0, buffer.length() - 1)) * 1024 * 1024
+          + Duration.ofMillis(Long.parseLong(commandLine.getOptionValue("deadline").replace("ms", ""))).toNanos()
+          + Path.of(commandLine.getOptionValue("output")).getNameCount();
+    }
+    return sum;
+  }
+}
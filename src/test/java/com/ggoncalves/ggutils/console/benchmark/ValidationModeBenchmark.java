@@ -0,0 +1,99 @@
+package com.ggoncalves.ggutils.console.benchmark;
+
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import com.ggoncalves.ggutils.console.validation.ValidationMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link ValidationMode#STANDARD} and {@link ValidationMode#ATTRIBUTE_SNAPSHOT} latency
+ * over a fixture directory (or the directory given as first argument).
+ *
+ * <p>The JVM cannot count its own syscalls, so pass {@code --mode STANDARD} or
+ * {@code --mode ATTRIBUTE_SNAPSHOT} to run a single mode and wrap the run with
+ * {@code strace -f -c -e trace=%stat,access,faccessat,faccessat2}. Each mode prints how many
+ * paths it validated so the totals can be divided per path.
+ */
+public class ValidationModeBenchmark {
+
+  private static final int FIXTURE_FILES = 2_000;
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int MEASURED_ROUNDS = 10;
+
+  public static void main(String[] args) throws IOException {
+    Path directory = null;
+    ValidationMode onlyMode = null;
+
+    for (int i = 0; i < args.length; i++) {
+      if ("--mode".equals(args[i]) && i + 1 < args.length) {
+        onlyMode = ValidationMode.valueOf(args[++i]);
+      }
+      else {
+        directory = Paths.get(args[i]);
+      }
+    }
+
+    List<String> paths = directory == null ? createFixture() : listPaths(directory);
+
+    for (ValidationMode mode : ValidationMode.values()) {
+      if (onlyMode == null || onlyMode == mode) {
+        run(new FilePathValidator(mode), paths);
+      }
+    }
+  }
+
+  private static void run(FilePathValidator validator, List<String> paths) {
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      validateAll(validator, paths);
+    }
+
+    long start = System.nanoTime();
+    long existing = 0;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      existing += validateAll(validator, paths);
+    }
+    long elapsed = System.nanoTime() - start;
+    long validations = (long) paths.size() * MEASURED_ROUNDS;
+
+    System.out.printf("%-18s validations=%d existing=%d avg=%.2f us/path%n",
+        validator.getValidationMode(), validations, existing, elapsed / 1_000.0 / validations);
+  }
+
+  private static long validateAll(FilePathValidator validator, List<String> paths) {
+    long existing = 0;
+    for (String path : paths) {
+      if (validator.validateFilePath(path).isExists()) existing++;
+    }
+    return existing;
+  }
+
+  private static List<String> createFixture() throws IOException {
+    Path directory = Files.createTempDirectory("validation-mode-benchmark");
+    directory.toFile().deleteOnExit();
+
+    List<String> paths = new ArrayList<>(FIXTURE_FILES + 1);
+    for (int i = 0; i < FIXTURE_FILES; i++) {
+      Path file = directory.resolve("file-" + i + ".txt");
+      if (i % 4 != 0) {
+        Files.write(file, new byte[i % 3]);
+        file.toFile().deleteOnExit();
+      }
+      paths.add(file.toString());
+    }
+    paths.add(directory.toString());
+    return paths;
+  }
+
+  private static List<String> listPaths(Path directory) throws IOException {
+    List<String> paths = new ArrayList<>();
+    try (var stream = Files.list(directory)) {
+      stream.forEach(path -> paths.add(path.toString()));
+    }
+    return paths;
+  }
+}
@@ -0,0 +1,89 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArgumentFileTokenizerTest {
+
+  private static List<String> tokenize(String content) {
+    List<String> tokens = new ArrayList<>();
+    new ArgumentFileTokenizer(new StringReader(content), "args.txt").forEachRemaining(tokens::add);
+    return tokens;
+  }
+
+  @Test
+  @DisplayName("Should split on any whitespace, including line breaks")
+  void shouldSplitOnWhitespace() {
+    assertThat(tokenize("  -i a.csv\tb.csv\r\n\n-o   out \n")).containsExactly("-i", "a.csv", "b.csv", "-o", "out");
+  }
+
+  @Test
+  @DisplayName("Should return nothing for an empty or blank file")
+  void shouldReturnNothingForBlankFile() {
+    assertThat(tokenize("")).isEmpty();
+    assertThat(tokenize(" \n\t ")).isEmpty();
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+      "'my file.csv'|my file.csv",
+      "\"my file.csv\"|my file.csv",
+      "'a\\b'|a\\b",
+      "\"a\\\\b\"|a\\b",
+      "\"say \\\"hi\\\"\"|say \"hi\"",
+      "my\\ file.csv|my file.csv",
+      "pre'fix 'suf\"fix\"|prefix suffix",
+      "'it''s'|its"
+  })
+  @DisplayName("Should apply the quoting and escaping rules")
+  void shouldApplyQuotingAndEscapingRules(String content, String expected) {
+    assertThat(tokenize(content)).containsExactly(expected);
+  }
+
+  @Test
+  @DisplayName("Should translate control character escapes in double quotes only")
+  void shouldTranslateControlEscapes() {
+    assertThat(tokenize("\"a\\tb\\nc\" 'a\\tb'")).containsExactly("a\tb\nc", "a\\tb");
+  }
+
+  @Test
+  @DisplayName("Should keep empty quoted arguments")
+  void shouldKeepEmptyQuotedArguments() {
+    assertThat(tokenize("a \"\" ''")).containsExactly("a", "", "");
+  }
+
+  @Test
+  @DisplayName("Should skip comments where an argument would start")
+  void shouldSkipComments() {
+    assertThat(tokenize("# inputs\n-i a#b.csv # trailing\n  #indented\nc.csv")).containsExactly("-i", "a#b.csv", "c.csv");
+  }
+
+  @Test
+  @DisplayName("Should join lines ending with a backslash")
+  void shouldJoinContinuedLines() {
+    assertThat(tokenize("long\\\nname other\\\r\nline")).containsExactly("longname", "otherline");
+  }
+
+  @Test
+  @DisplayName("Should skip the indentation of a continued line without adding an empty argument")
+  void shouldSkipIndentationOfContinuedLines() {
+    assertThat(tokenize("-i a.csv \\\n    b.csv \\\n\tc\\\n  .csv\\\n")).containsExactly("-i", "a.csv", "b.csv", "c.csv");
+  }
+
+  @Test
+  @DisplayName("Should report an unterminated quote with its line")
+  void shouldReportUnterminatedQuote() {
+    assertThatThrownBy(() -> tokenize("a\nb \"never closed\n"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unterminated \" quote in args.txt at line 2");
+  }
+}
@@ -1,26 +1,50 @@
 package com.ggoncalves.ggutils.console.cli;
 
+import com.ggoncalves.ggutils.console.content.ContentProbeResult;
+import com.ggoncalves.ggutils.console.content.LineTerminator;
 import com.ggoncalves.ggutils.console.exception.FilePermissionException;
 import com.ggoncalves.ggutils.console.exception.InvalidFileException;
 import com.ggoncalves.ggutils.console.validation.FilePathValidator;
 import com.ggoncalves.ggutils.console.validation.ValidationResult;
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.MissingArgumentException;
+import org.apache.commons.cli.MissingOptionException;
 import org.apache.commons.cli.ParseException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AccessMode;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.spi.FileSystemProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +58,7 @@ class CommandProcessorTest {
 
   @BeforeEach
   void setUp() {
+    when(mockValidator.getFileSystem()).thenReturn(FileSystems.getDefault());
     processor = new CommandProcessor(mockValidator);
     System.setOut(new PrintStream(outContent));
   }
@@ -72,6 +97,21 @@ class CommandProcessorTest {
     assertThat(outContent.toString()).contains("-t,--test");
   }
 
+  @Test
+  @DisplayName("Should print help message to the given stream")
+  void shouldPrintHelpMessageToGivenStream() {
+    // Given
+    processor.addOption("t", "test", true, "Test option");
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+    // When
+    processor.printHelp("TestApp", new PrintStream(target));
+
+    // Then
+    assertThat(target.toString()).contains("usage: TestApp").contains("-t,--test");
+    assertThat(outContent.toString()).isEmpty();
+  }
+
   @Nested
   @DisplayName("Tests for parseArgs method")
   class ParseArgsTests {
@@ -91,6 +131,24 @@ class CommandProcessorTest {
       assertThat(result.getOptionValue("t")).isEqualTo("value");
     }
 
+    @Test
+    @DisplayName("Should reuse compiled options until a new option is added")
+    void shouldReuseCompiledOptionsUntilNewOptionIsAdded() throws ParseException {
+      // Given
+      processor.addOption("t", "test", true, "Test option");
+      CompiledOptions compiled = processor.compile();
+
+      // When
+      processor.parseArgs(new String[]{"-t", "value"});
+      CompiledOptions reused = processor.compile();
+      processor.addOption("u", "other", false, "Other option");
+
+      // Then
+      assertThat(reused).isSameAs(compiled);
+      assertThat(processor.compile()).isNotSameAs(compiled);
+      assertThat(processor.parseArgs(new String[]{"-u"}).hasOption("u")).isTrue();
+    }
+
     @Test
     @DisplayName("Should throw ParseException for Missing Option")
     void shouldThrowExceptionForMissingOption() {
@@ -119,28 +177,53 @@ class CommandProcessorTest {
     }
   }
 
+  /**
+   * A path whose file system provider answers the checks of {@link CommandProcessor} from the given state.
+   */
+  private static Path mockPath(boolean exists, boolean directory, AccessMode... granted) throws IOException {
+    Path path = mock(Path.class);
+    FileSystem fileSystem = mock(FileSystem.class);
+    FileSystemProvider provider = mock(FileSystemProvider.class);
+    BasicFileAttributes attributes = mock(BasicFileAttributes.class);
+    lenient().when(path.getFileSystem()).thenReturn(fileSystem);
+    lenient().when(fileSystem.provider()).thenReturn(provider);
+    lenient().when(attributes.isDirectory()).thenReturn(directory);
+    lenient().when(attributes.isRegularFile()).thenReturn(!directory);
+
+    if (!exists) {
+      lenient().when(provider.readAttributes(eq(path), eq(BasicFileAttributes.class), any(LinkOption[].class)))
+          .thenThrow(new NoSuchFileException("missing"));
+      lenient().doThrow(new NoSuchFileException("missing")).when(provider).checkAccess(eq(path), any(AccessMode[].class));
+      return path;
+    }
+
+    lenient().when(provider.readAttributes(eq(path), eq(BasicFileAttributes.class), any(LinkOption[].class)))
+        .thenReturn(attributes);
+    lenient().doAnswer(invocation -> {
+      for (AccessMode mode : (AccessMode[]) invocation.getRawArguments()[1]) {
+        if (!List.of(granted).contains(mode)) {
+          throw new AccessDeniedException("denied");
+        }
+      }
+      return null;
+    }).when(provider).checkAccess(eq(path), any(AccessMode[].class));
+    return path;
+  }
+
   @Nested
   @DisplayName("Tests for file validation methods")
   class FileValidationTests {
 
-    @Mock
-    File mockFile;
-
-    @Mock
-    File mockDir;
-
     @Test
     @DisplayName("Should validate input file successfully")
-    void shouldValidateInputFileSuccessfully() {
+    void shouldValidateInputFileSuccessfully() throws IOException {
       // Given
       String path = "/valid/path/file.txt";
-      when(mockFile.exists()).thenReturn(true);
-      when(mockFile.isFile()).thenReturn(true);
-      when(mockFile.canRead()).thenReturn(true);
+      Path mockFile = mockPath(true, false, AccessMode.READ);
 
-      // Use spy to mock File constructor
+      // Use spy to mock the path lookup
       processor = spy(processor);
-      doReturn(mockFile).when(processor).createFile(path);
+      doReturn(mockFile).when(processor).createPath(path);
 
       // When & Then
       assertThatCode(() -> processor.validateInputFile(path, "test"))
@@ -149,14 +232,14 @@ class CommandProcessorTest {
 
     @Test
     @DisplayName("Should throw InvalidFileException when file does not exist")
-    void shouldThrowInvalidFileExceptionWhenFileDoesNotExist() {
+    void shouldThrowInvalidFileExceptionWhenFileDoesNotExist() throws IOException {
       // Given
       String path = "/invalid/path/file.txt";
-      when(mockFile.exists()).thenReturn(false);
+      Path mockFile = mockPath(false, false);
 
-      // Use spy to mock File constructor
+      // Use spy to mock the path lookup
       processor = spy(processor);
-      doReturn(mockFile).when(processor).createFile(path);
+      doReturn(mockFile).when(processor).createPath(path);
       // When & Then
       assertThatThrownBy(() -> processor.validateInputFile(path, "test"))
           .isInstanceOf(InvalidFileException.class)
@@ -165,15 +248,14 @@ class CommandProcessorTest {
 
     @Test
     @DisplayName("Should throw InvalidFileException when path is not a file")
-    void shouldThrowInvalidFileExceptionWhenPathIsNotAFile() {
+    void shouldThrowInvalidFileExceptionWhenPathIsNotAFile() throws IOException {
       // Given
       String path = "/valid/path/directory";
-      when(mockFile.exists()).thenReturn(true);
-      when(mockFile.isFile()).thenReturn(false);
+      Path mockFile = mockPath(true, true, AccessMode.READ);
 
-      // Use spy to mock File constructor
+      // Use spy to mock the path lookup
       processor = spy(processor);
-      doReturn(mockFile).when(processor).createFile(path);
+      doReturn(mockFile).when(processor).createPath(path);
 
       // When & Then
       assertThatThrownBy(() -> processor.validateInputFile(path, "test"))
@@ -183,16 +265,14 @@ class CommandProcessorTest {
 
     @Test
     @DisplayName("Should throw FilePermissionException when file cannot be read")
-    void shouldThrowFilePermissionExceptionWhenFileCannotBeRead() {
+    void shouldThrowFilePermissionExceptionWhenFileCannotBeRead() throws IOException {
       // Given
       String path = "/valid/path/unreadable.txt";
-      when(mockFile.exists()).thenReturn(true);
-      when(mockFile.isFile()).thenReturn(true);
-      when(mockFile.canRead()).thenReturn(false);
+      Path mockFile = mockPath(true, false);
 
-      // Use spy to mock File constructor
+      // Use spy to mock the path lookup
       processor = spy(processor);
-      doReturn(mockFile).when(processor).createFile(path);
+      doReturn(mockFile).when(processor).createPath(path);
 
       // When & Then
       assertThatThrownBy(() -> processor.validateInputFile(path, "test"))
@@ -202,21 +282,558 @@ class CommandProcessorTest {
 
     @Test
     @DisplayName("Should validate output directory successfully")
-    void shouldValidateOutputDirectorySuccessfully() {
+    void shouldValidateOutputDirectorySuccessfully() throws IOException {
       // Given
       String path = "/valid/output/dir";
-      when(mockDir.exists()).thenReturn(true);
-      when(mockDir.isDirectory()).thenReturn(true);
-      when(mockDir.canWrite()).thenReturn(true);
+      Path mockDir = mockPath(true, true, AccessMode.WRITE);
 
-      // Use spy to mock File constructor
+      // Use spy to mock the path lookup
       processor = spy(processor);
-      doReturn(mockDir).when(processor).createFile(path);
+      doReturn(mockDir).when(processor).createPath(path);
 
       // When & Then
       assertThatCode(() -> processor.validateOutputDir(path))
           .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("Should report an empty path as missing")
+    void shouldReportEmptyPathAsMissing() {
+      // When & Then
+      assertThat(processor.checkInputFile("")).isEqualTo(FileCheckOutcome.FILE_NOT_FOUND);
+      assertThat(processor.checkOutputDir("")).isEqualTo(FileCheckOutcome.DIRECTORY_NOT_FOUND);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for non-throwing file checks")
+  class FileCheckTests {
+
+    @Test
+    @DisplayName("Should return the outcome of an input file check without throwing")
+    void shouldReturnInputFileOutcome() throws IOException {
+      // Given
+      String path = "/valid/path/unreadable.txt";
+      Path mockFile = mockPath(true, false);
+      processor = spy(processor);
+      doReturn(mockFile).when(processor).createPath(path);
+
+      // When
+      FileCheckOutcome outcome = processor.checkInputFile(path);
+
+      // Then
+      assertThat(outcome).isEqualTo(FileCheckOutcome.FILE_NOT_READABLE);
+      assertThat(outcome.format("test", path))
+          .isEqualTo("Cannot read the test file (check permissions): " + path);
+    }
+
+    @Test
+    @DisplayName("Should return the outcome of an output directory check without throwing")
+    void shouldReturnOutputDirOutcome() throws IOException {
+      // Given
+      String path = "/valid/path/file.txt";
+      Path mockFile = mockPath(true, false, AccessMode.READ, AccessMode.WRITE);
+      processor = spy(processor);
+      doReturn(mockFile).when(processor).createPath(path);
+
+      // When
+      FileCheckOutcome outcome = processor.checkOutputDir(path);
+
+      // Then
+      assertThat(outcome).isEqualTo(FileCheckOutcome.NOT_A_DIRECTORY);
+      assertThat(outcome.format(CommandProcessor.OUTPUT_FILE_TYPE, path))
+          .isEqualTo("The output path must be a directory: " + path);
+    }
+
+    @Test
+    @DisplayName("Should return OK for an existing writable directory")
+    void shouldReturnOkForWritableDirectory() throws IOException {
+      // Given
+      String path = "/valid/output/dir";
+      Path mockFile = mockPath(true, true, AccessMode.WRITE);
+      processor = spy(processor);
+      doReturn(mockFile).when(processor).createPath(path);
+
+      // When & Then
+      assertThat(processor.checkOutputDir(path).isOk()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for validation on a zip file system")
+  class ZipFileSystemTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should validate entries of an archive in place")
+    void shouldValidateArchiveEntriesInPlace() throws IOException {
+      // Given
+      Path archive = tempDir.resolve("data.zip");
+      try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+        Files.write(zip.getPath("/input.txt"), "a\nb\n".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectory(zip.getPath("/out"));
+      }
+
+      try (FileSystem zip = FileSystems.newFileSystem(archive)) {
+        CommandProcessor zipProcessor = new CommandProcessor(new FilePathValidator(zip));
+
+        // When
+        ContentProbeResult result = zipProcessor.validateInputText("/input.txt", "input");
+
+        // Then
+        assertThat(result.isText()).isTrue();
+        assertThat(result.getLineTerminator()).isEqualTo(LineTerminator.LF);
+        assertThat(zipProcessor.checkOutputDir("/out").isOk()).isTrue();
+        assertThat(zipProcessor.checkInputFile("/out")).isEqualTo(FileCheckOutcome.NOT_A_FILE);
+        assertThat(zipProcessor.checkInputFile("/missing.txt")).isEqualTo(FileCheckOutcome.FILE_NOT_FOUND);
+        assertThat(zipProcessor.validateFilePath("/input.txt").isReadable()).isTrue();
+      }
+      assertThat(Files.exists(tempDir.resolve("input.txt"))).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for glob options")
+  class GlobOptionTests {
+
+    @TempDir
+    Path tempDir;
+
+    private CommandProcessor globProcessor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+      globProcessor = new CommandProcessor(new FilePathValidator())
+          .addGlobOption("i", "input", true, "Input files");
+      for (String day : List.of("2026-01", "2026-02")) {
+        Path dir = Files.createDirectories(tempDir.resolve(day));
+        Files.write(dir.resolve("part-0.csv"), "a".getBytes());
+        Files.write(dir.resolve("part-1.csv"), "b".getBytes());
+      }
+    }
+
+    @Test
+    @DisplayName("Should expand and validate every pattern of the option")
+    void shouldExpandAndValidatePatterns() throws ParseException {
+      // Given
+      CommandLine commandLine = globProcessor.parseArgs(new String[]{
+          "-i", tempDir + "/2026-*/part-0.csv", tempDir + "/2026-02/part-*.csv"});
+
+      // When
+      List<String> files = globProcessor.getInputFiles(commandLine, "i", "input");
+
+      // Then
+      assertThat(files).containsExactly(
+          tempDir + "/2026-01/part-0.csv", tempDir + "/2026-02/part-0.csv", tempDir + "/2026-02/part-1.csv");
+    }
+
+    @Test
+    @DisplayName("Should fail when a pattern matches nothing")
+    void shouldFailWhenPatternMatchesNothing() {
+      // When & Then
+      assertThatThrownBy(() -> globProcessor.expandInputFiles(List.of(tempDir + "/2027-*/*.csv"), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessage("No input file matches the pattern: " + tempDir + "/2027-*/*.csv");
+    }
+
+    @Test
+    @DisplayName("Should fail on a match that is not a file")
+    void shouldFailOnDirectoryMatch() {
+      // When & Then
+      assertThatThrownBy(() -> globProcessor.expandInputFiles(List.of(tempDir + "/2026-*"), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessageContaining("must be a file")
+          .hasMessageContaining("2026-01");
+    }
+
+    @Test
+    @DisplayName("Should fail on a match that is a device rather than a regular file")
+    void shouldFailOnDeviceMatch() {
+      // Given
+      Path device = Path.of("/dev/null");
+      assumeTrue(Files.exists(device));
+
+      // When & Then
+      assertThatThrownBy(() -> globProcessor.expandInputFiles(List.of(device.toString()), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessageContaining("must be a file");
+      assertThat(globProcessor.checkInputFile(device.toString())).isEqualTo(FileCheckOutcome.NOT_A_FILE);
+    }
+
+    @Test
+    @DisplayName("Should validate literal values as they are")
+    void shouldValidateLiteralValues() {
+      // When & Then
+      assertThatThrownBy(() -> globProcessor.expandInputFiles(List.of(tempDir + "/missing.csv"), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessageContaining("does not exist");
+    }
+
+    @Test
+    @DisplayName("Should report a malformed pattern")
+    void shouldReportMalformedPattern() {
+      // When & Then
+      assertThatThrownBy(() -> globProcessor.expandInputFiles(List.of(tempDir + "/[a/*.csv"), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessageStartingWith("Invalid pattern: ");
+    }
+
+    @Test
+    @DisplayName("Should return no files when the option is absent")
+    void shouldReturnNoFilesWhenOptionAbsent() throws ParseException {
+      // Given
+      CommandProcessor optional = new CommandProcessor(new FilePathValidator())
+          .addGlobOption("i", "input", false, "Input files");
+
+      // When & Then
+      assertThat(optional.getInputFiles(optional.parseArgs(new String[]{}), "i", "input")).isEmpty();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for typed options")
+  class TypedOptionTests {
+
+    @BeforeEach
+    void setUp() {
+      processor.addTypedOption("t", "threads", OptionType.INT, "4", "Worker threads")
+          .addTypedOption("b", "buffer", OptionType.BYTES, true, "Buffer size")
+          .addTypedOption("d", "deadline", OptionType.DURATION, false, "Deadline");
+    }
+
+    @Test
+    @DisplayName("Should convert typed values while parsing")
+    void shouldConvertTypedValues() throws ParseException {
+      // When
+      TypedCommandLine commandLine = processor.parseTypedArgs(new String[]{"-b", "512M", "--deadline", "PT2S", "x"});
+
+      // Then
+      assertThat(commandLine.getInt("threads")).isEqualTo(4);
+      assertThat(commandLine.getBytes("buffer")).isEqualTo(512L * 1024 * 1024);
+      assertThat(commandLine.getDuration("d")).isEqualTo(Duration.ofSeconds(2));
+      assertThat(commandLine.getCommandLine().getArgs()).containsExactly("x");
+    }
+
+    @Test
+    @DisplayName("Should report invalid or missing typed values as parse errors")
+    void shouldReportInvalidValuesAsParseErrors() {
+      // When & Then
+      assertThatThrownBy(() -> processor.parseTypedArgs(new String[]{"-b", "lots"}))
+          .isInstanceOf(ParseException.class)
+          .hasMessage("Invalid value for option b: lots (expected a byte size such as 512M)");
+      assertThatThrownBy(() -> processor.parseTypedArgs(new String[]{"-t", "2"}))
+          .isInstanceOf(MissingOptionException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid default value when the option is added")
+    void shouldRejectInvalidDefaultValue() {
+      // When & Then
+      assertThatThrownBy(() -> processor.addTypedOption("l", "limit", OptionType.LONG, "ten", "Limit"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageStartingWith("Invalid value for option l: ten");
+      assertThat(processor.compile().hasOption("l")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should convert options added after a parse")
+    void shouldConvertOptionsAddedAfterParse() throws ParseException {
+      // Given
+      processor.parseTypedArgs(new String[]{"-b", "1K"});
+
+      // When
+      processor.addTypedOption("o", "output", OptionType.PATH, "out", "Output directory");
+      TypedCommandLine commandLine = processor.parseTypedArgs(new String[]{"-b", "1K"});
+
+      // Then
+      assertThat(commandLine.getPath("output")).isEqualTo(Path.of("out"));
+    }
+
+    @Test
+    @DisplayName("Should show the value type and default in the help")
+    void shouldShowTypeAndDefaultInHelp() {
+      // When
+      processor.printHelp("TestApp");
+
+      // Then
+      assertThat(outContent.toString())
+          .contains("-b,--buffer <size>")
+          .contains("-t,--threads <int>")
+          .contains("Worker threads (default: 4)");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for argument files")
+  class ArgumentFileTests {
+
+    @TempDir
+    Path tempDir;
+
+    private CommandProcessor argsProcessor;
+
+    @BeforeEach
+    void setUp() {
+      argsProcessor = new CommandProcessor(new FilePathValidator())
+          .addStreamedOption("i", "input", true, "Input files")
+          .addOption("o", "output", true, "Output directory")
+          .addOption("v", "verbose", false, "Verbose")
+          .setArgumentFilesEnabled(true);
+    }
+
+    private String argumentFile(String content) throws IOException {
+      return "@" + Files.write(tempDir.resolve("args-" + content.hashCode() + ".txt"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should expand argument files in parseArgs")
+    void shouldExpandArgumentFilesInParseArgs() throws Exception {
+      // Given
+      String file = argumentFile("-i 'my file.csv' b.csv\n# comment\n-o out");
+
+      // When
+      CommandLine commandLine = argsProcessor.parseArgs(new String[]{"-v", file, "@@literal"});
+
+      // Then
+      assertThat(commandLine.getOptionValues("i")).containsExactly("my file.csv", "b.csv");
+      assertThat(commandLine.getOptionValue("o")).isEqualTo("out");
+      assertThat(commandLine.hasOption("v")).isTrue();
+      assertThat(commandLine.getArgs()).containsExactly("@literal");
+    }
+
+    @Test
+    @DisplayName("Should take @ arguments literally unless argument files are enabled")
+    void shouldTakeAtArgumentsLiterallyByDefault() throws Exception {
+      // Given
+      argsProcessor.setArgumentFilesEnabled(false);
+
+      // When
+      CommandLine commandLine = argsProcessor.parseArgs(new String[]{"-i", "a", "-o", "@alice", "@@bob"});
+      StreamedCommandLine streamed = argsProcessor.parseArgsStreaming(new String[]{"-i", "@alice", "-o", "out"});
+
+      // Then
+      assertThat(commandLine.getOptionValue("o")).isEqualTo("@alice");
+      assertThat(commandLine.getArgs()).containsExactly("@@bob");
+      try (Stream<String> values = streamed.getValues("i")) {
+        assertThat(values).containsExactly("@alice");
+      }
+    }
+
+    @Test
+    @DisplayName("Should resolve argument files against the given working directory")
+    void shouldResolveAgainstWorkingDirectory() throws Exception {
+      // Given
+      Files.writeString(tempDir.resolve("args.txt"), "-i a.csv\n-o out");
+
+      // When
+      CommandLine commandLine = argsProcessor.parseArgs(new String[]{"@args.txt"}, tempDir);
+      StreamedCommandLine streamed = argsProcessor.parseArgsStreaming(new String[]{"@args.txt"}, tempDir);
+
+      // Then
+      assertThat(commandLine.getOptionValue("o")).isEqualTo("out");
+      assertThat(streamed.getCommandLine().getOptionValue("o")).isEqualTo("out");
+      try (Stream<String> values = streamed.getValues("i")) {
+        assertThat(values).containsExactly("a.csv");
+      }
+    }
+
+    @Test
+    @DisplayName("Should read argument files from the file system of the processor")
+    void shouldReadArgumentFilesFromProcessorFileSystem() throws Exception {
+      // Given
+      Path archive = tempDir.resolve("args.zip");
+      try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+        Files.createDirectory(zip.getPath("/job"));
+        Files.writeString(zip.getPath("/job/args.txt"), "-i a.csv b.csv");
+      }
+
+      try (FileSystem zip = FileSystems.newFileSystem(archive)) {
+        CommandProcessor zipProcessor = new CommandProcessor(new FilePathValidator(zip))
+            .addStreamedOption("i", "input", true, "Input files")
+            .setArgumentFilesEnabled(true);
+
+        // When
+        StreamedCommandLine commandLine = zipProcessor.parseArgsStreaming(new String[]{"@args.txt"}, Path.of("/job"));
+
+        // Then
+        assertThat(commandLine.getValueCount("i")).isEqualTo(2);
+        try (Stream<String> values = commandLine.getValues("i")) {
+          assertThat(values).containsExactly("a.csv", "b.csv");
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("Should stream partial long options and short option clusters as parseArgs parses them")
+    void shouldStreamPartialLongOptionsAndClusters() throws Exception {
+      // Given
+      CommandProcessor prefixProcessor = new CommandProcessor(new FilePathValidator())
+          .addStreamedOption("i", "input", true, "Input files")
+          .addOption("p", "inplace", false, "In place")
+          .addOption("o", "output", true, "Output directory")
+          .addOption("v", "verbose", false, "Verbose");
+      String[] args = {"-vi", "a", "b", "--outp", "x", "--inpu", "c", "-ifoo", "--inpu=d", "-verb", "e"};
+
+      // When
+      CommandLine commandLine = prefixProcessor.parseArgs(args);
+      StreamedCommandLine streamed = prefixProcessor.parseArgsStreaming(args);
+
+      // Then
+      assertThat(commandLine.getOptionValues("i")).containsExactly("a", "b", "c", "foo", "d");
+      assertThat(streamed.getValueCount("i")).isEqualTo(5);
+      try (Stream<String> values = streamed.getValues("input")) {
+        assertThat(values).containsExactly("a", "b", "c", "foo", "d");
+      }
+      assertThat(streamed.getCommandLine().hasOption("v")).isTrue();
+      assertThat(streamed.getCommandLine().getOptionValue("o")).isEqualTo("x");
+      assertThat(streamed.getCommandLine().getArgs()).containsExactly("e");
+      assertThat(commandLine.getArgs()).containsExactly("e");
+    }
+
+    @Test
+    @DisplayName("Should report an unreadable argument file as a parse error")
+    void shouldReportUnreadableArgumentFile() {
+      // When & Then
+      assertThatThrownBy(() -> argsProcessor.parseArgs(new String[]{"@" + tempDir.resolve("missing.txt")}))
+          .isInstanceOf(ParseException.class)
+          .hasMessageContaining("Cannot read the argument file");
+    }
+
+    @Test
+    @DisplayName("Should count streamed values and parse the other options")
+    void shouldCountStreamedValues() throws Exception {
+      // Given
+      String file = argumentFile("-i a.csv b.csv\n-o out\n--input=c.csv -id.csv");
+
+      // When
+      StreamedCommandLine commandLine = argsProcessor.parseArgsStreaming(new String[]{file, "-v", "-i", "e.csv"});
+
+      // Then
+      assertThat(commandLine.getValueCount("i")).isEqualTo(5);
+      assertThat(commandLine.hasOption("input")).isTrue();
+      assertThat(commandLine.getCommandLine().getOptionValue("o")).isEqualTo("out");
+      assertThat(commandLine.getCommandLine().hasOption("v")).isTrue();
+      assertThat(commandLine.getCommandLine().hasOption("i")).isFalse();
+      try (Stream<String> values = commandLine.getValues("input")) {
+        assertThat(values).containsExactly("a.csv", "b.csv", "c.csv", "d.csv", "e.csv");
+      }
+    }
+
+    @Test
+    @DisplayName("Should stream values again on every call, leaving positional arguments out")
+    void shouldStreamValuesOnEveryCall() throws Exception {
+      // Given
+      String file = argumentFile("-i a.csv b.csv -- -i positional");
+      StreamedCommandLine commandLine = argsProcessor.parseArgsStreaming(new String[]{file});
+
+      // When
+      List<String> first;
+      List<String> second;
+      try (Stream<String> values = commandLine.getValues("i")) {
+        first = values.toList();
+      }
+      try (Stream<String> values = commandLine.getValues("i")) {
+        second = values.limit(1).toList();
+      }
+
+      // Then
+      assertThat(first).containsExactly("a.csv", "b.csv");
+      assertThat(second).containsExactly("a.csv");
+      assertThat(commandLine.getCommandLine().getArgs()).containsExactly("-i", "positional");
+    }
+
+    @Test
+    @DisplayName("Should keep memory flat for a large argument file")
+    void shouldHandleLargeArgumentFile() throws Exception {
+      // Given
+      Path file = tempDir.resolve("paths.txt");
+      try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+        writer.write("-i\n");
+        for (int i = 0; i < 200_000; i++) {
+          writer.write("/data/part-" + i + ".csv\n");
+        }
+      }
+
+      // When
+      StreamedCommandLine commandLine = argsProcessor.parseArgsStreaming(new String[]{"@" + file, "-o", "out"});
+
+      // Then
+      assertThat(commandLine.getValueCount("i")).isEqualTo(200_000);
+      try (Stream<String> values = commandLine.getValues("i")) {
+        assertThat(values.filter(value -> value.endsWith("-199999.csv")).count()).isEqualTo(1);
+      }
+      assertThat(commandLine.getCommandLine().getOptionValue("o")).isEqualTo("out");
+    }
+
+    @Test
+    @DisplayName("Should fail when a required streamed option is missing or has no value")
+    void shouldFailWhenStreamedOptionMissing() {
+      // When & Then
+      assertThatThrownBy(() -> argsProcessor.parseArgsStreaming(new String[]{"-o", "out"}))
+          .isInstanceOf(MissingOptionException.class);
+      assertThatThrownBy(() -> argsProcessor.parseArgsStreaming(new String[]{"-i", "-o", "out"}))
+          .isInstanceOf(MissingArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a non streamed option name")
+    void shouldRejectNonStreamedOptionName() throws Exception {
+      // Given
+      StreamedCommandLine commandLine = argsProcessor.parseArgsStreaming(new String[]{"-i", "a", "-o", "out"});
+
+      // When & Then
+      assertThatThrownBy(() -> commandLine.getValues("o"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Not a streamed option: o");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for validateInputText method")
+  class ValidateInputTextTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should accept UTF-8 text and return the probe result")
+    void shouldAcceptUtf8Text() throws IOException {
+      // Given
+      Path file = Files.write(tempDir.resolve("input.txt"), "a\r\nb\r\n".getBytes(StandardCharsets.UTF_8));
+
+      // When
+      ContentProbeResult result = processor.validateInputText(file.toString(), "input");
+
+      // Then
+      assertThat(result.isText()).isTrue();
+      assertThat(result.getLineTerminator()).isEqualTo(LineTerminator.CRLF);
+    }
+
+    @Test
+    @DisplayName("Should reject compressed input")
+    void shouldRejectCompressedInput() throws IOException {
+      // Given
+      Path file = Files.write(tempDir.resolve("input.txt"), new byte[]{0x1F, (byte) 0x8B, 8, 0});
+
+      // When & Then
+      assertThatThrownBy(() -> processor.validateInputText(file.toString(), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessage("The input file is not text (GZIP): " + file);
+    }
+
+    @Test
+    @DisplayName("Should reject UTF-16 input")
+    void shouldRejectUtf16Input() throws IOException {
+      // Given
+      Path file = Files.write(tempDir.resolve("input.txt"), new byte[]{(byte) 0xFE, (byte) 0xFF, 0, 'a'});
+
+      // When & Then
+      assertThatThrownBy(() -> processor.validateInputText(file.toString(), "input"))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessage("The input file is not UTF-8 text (UTF-16BE): " + file);
+    }
   }
 
   @Test
@@ -0,0 +1,165 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.AlreadySelectedException;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.MissingOptionException;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledOptionsTest {
+
+  private Options options;
+  private CompiledOptions compiledOptions;
+
+  @BeforeEach
+  void setUp() {
+    options = new Options()
+        .addRequiredOption("i", "input", true, "Input file path")
+        .addOption("o", "output", true, "Output directory path")
+        .addOption("v", "verbose", false, "Enable verbose output");
+    compiledOptions = CompiledOptions.compile(options);
+  }
+
+  @Nested
+  @DisplayName("Tests for lookups")
+  class LookupTests {
+
+    @Test
+    @DisplayName("Should find options by short and long name")
+    void shouldFindOptionsByShortAndLongName() {
+      assertThat(compiledOptions.getOption("i").getLongOpt()).isEqualTo("input");
+      assertThat(compiledOptions.getOption("output").getOpt()).isEqualTo("o");
+      assertThat(compiledOptions.getShortOption("v").hasArg()).isFalse();
+      assertThat(compiledOptions.getLongOption("verbose")).isNotNull();
+      assertThat(compiledOptions.hasOption("x")).isFalse();
+      assertThat(compiledOptions.size()).isEqualTo(3);
+      assertThat(compiledOptions.getRequiredOptions()).containsExactly("i");
+    }
+
+    @Test
+    @DisplayName("Should not see options added to the source after compiling")
+    void shouldNotSeeLaterChangesToSource() {
+      // When
+      options.addOption("x", "extra", false, "Extra option");
+      options.getOption("i").setRequired(false);
+
+      // Then
+      assertThat(compiledOptions.hasOption("x")).isFalse();
+      assertThat(compiledOptions.getOption("i").isRequired()).isTrue();
+      assertThatThrownBy(() -> compiledOptions.parse(new String[]{"-v"}))
+          .isInstanceOf(MissingOptionException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for option groups")
+  class OptionGroupTests {
+
+    @Test
+    @DisplayName("Should keep option groups and their required flag")
+    void shouldKeepOptionGroups() throws ParseException {
+      // Given
+      OptionGroup format = new OptionGroup()
+          .addOption(new Option("c", "csv", false, "CSV output"))
+          .addOption(new Option("j", "json", false, "JSON output"));
+      format.setRequired(true);
+      CompiledOptions compiled = CompiledOptions.compile(new Options()
+          .addOption("v", "verbose", false, "Enable verbose output")
+          .addOptionGroup(format));
+
+      // When & Then
+      assertThat(compiled.size()).isEqualTo(3);
+      assertThat(compiled.getRequiredOptions()).isEmpty();
+      assertThat(compiled.parse(new String[]{"--json"}).hasOption("j")).isTrue();
+      assertThatThrownBy(() -> compiled.parse(new String[]{"-c", "-j"}))
+          .isInstanceOf(AlreadySelectedException.class);
+      assertThatThrownBy(() -> compiled.parse(new String[]{"-v"}))
+          .isInstanceOf(MissingOptionException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for parse")
+  class ParseTests {
+
+    @Test
+    @DisplayName("Should parse repeatedly")
+    void shouldParseRepeatedly() throws ParseException {
+      CommandLine first = compiledOptions.parse(new String[]{"-i", "a.csv", "-v"});
+      CommandLine second = compiledOptions.parse(new String[]{"--input", "b.csv"});
+
+      assertThat(first.getOptionValue("i")).isEqualTo("a.csv");
+      assertThat(first.hasOption("v")).isTrue();
+      assertThat(second.getOptionValue("input")).isEqualTo("b.csv");
+      assertThat(second.hasOption("v")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should parse concurrently from many threads")
+    void shouldParseConcurrently() throws Exception {
+      // Given
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      List<Future<String>> futures = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 2_000; i++) {
+        String input = "file-" + i + ".csv";
+        futures.add(executor.submit(() -> compiledOptions.parse(new String[]{"-i", input, "-o", "out"})
+            .getOptionValue("i")));
+      }
+
+      // Then
+      for (int i = 0; i < futures.size(); i++) {
+        assertThat(futures.get(i).get()).isEqualTo("file-" + i + ".csv");
+      }
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should parse options of a group concurrently from many threads")
+    void shouldParseGroupsConcurrently() throws Exception {
+      // Given
+      OptionGroup format = new OptionGroup()
+          .addOption(new Option("c", "csv", false, "CSV output"))
+          .addOption(new Option("j", "json", false, "JSON output"));
+      format.setRequired(true);
+      CompiledOptions compiled = CompiledOptions.compile(new Options()
+          .addOption("v", "verbose", false, "Enable verbose output")
+          .addOptionGroup(format));
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      List<Future<Boolean>> futures = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 20_000; i++) {
+        String selected = i % 2 == 0 ? "-c" : "-j";
+        futures.add(executor.submit(() -> compiled.parse(new String[]{"-v", selected}).hasOption(selected)));
+      }
+
+      // Then
+      for (Future<Boolean> future : futures) {
+        assertThat(future.get()).isTrue();
+      }
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+      assertThatThrownBy(() -> compiled.parse(new String[]{"-c", "-j"}))
+          .isInstanceOf(AlreadySelectedException.class);
+    }
+  }
+}
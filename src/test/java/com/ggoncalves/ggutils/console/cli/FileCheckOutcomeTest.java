@@ -0,0 +1,59 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import com.ggoncalves.ggutils.console.exception.FilePermissionException;
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileCheckOutcomeTest {
+
+  @Test
+  @DisplayName("Should format the same messages as the throwing validations")
+  void shouldFormatMessages() {
+    assertThat(FileCheckOutcome.OK.format("input", "/a")).isNull();
+    assertThat(FileCheckOutcome.FILE_NOT_FOUND.format("input", "/a"))
+        .isEqualTo("The input file does not exist: /a");
+    assertThat(FileCheckOutcome.NOT_A_FILE.format("input", "/a"))
+        .isEqualTo("The input path must be a file: /a");
+    assertThat(FileCheckOutcome.DIRECTORY_NOT_FOUND.format("output", "/a"))
+        .isEqualTo("The output directory does not exist: /a");
+    assertThat(FileCheckOutcome.DIRECTORY_NOT_WRITABLE.format("output", "/a"))
+        .isEqualTo("Cannot write to the output directory (check permissions): /a");
+  }
+
+  @Test
+  @DisplayName("Should create stackless exceptions of the matching type")
+  void shouldCreateStacklessExceptions() {
+    // When
+    RuntimeException invalid = FileCheckOutcome.FILE_NOT_FOUND.toException("input", "/a", false);
+    RuntimeException permission = FileCheckOutcome.FILE_NOT_READABLE.toException("input", "/a", false);
+    RuntimeException withStack = FileCheckOutcome.NOT_A_DIRECTORY.toException("output", "/a", true);
+
+    // Then
+    assertThat(invalid).isInstanceOf(InvalidFileException.class).hasMessage("The input file does not exist: /a");
+    assertThat(invalid.getStackTrace()).isEmpty();
+    assertThat(permission).isInstanceOf(FilePermissionException.class);
+    assertThat(permission.getStackTrace()).isEmpty();
+    assertThat(withStack).isInstanceOf(InvalidFileException.class);
+    assertThat(withStack.getStackTrace()).isNotEmpty();
+    assertThat(FileCheckOutcome.OK.toException("input", "/a", false)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should record suppressed exceptions only when the stack trace is writable")
+  void shouldRecordSuppressedExceptionsWithStackTrace() {
+    // Given
+    RuntimeException stackless = FileCheckOutcome.FILE_NOT_READABLE.toException("input", "/a", false);
+    RuntimeException withStack = FileCheckOutcome.FILE_NOT_READABLE.toException("input", "/a", true);
+
+    // When
+    stackless.addSuppressed(new IllegalStateException("cleanup"));
+    withStack.addSuppressed(new IllegalStateException("cleanup"));
+
+    // Then
+    assertThat(stackless.getSuppressed()).isEmpty();
+    assertThat(withStack.getSuppressed()).hasSize(1);
+  }
+}
@@ -0,0 +1,198 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobExpanderTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final GlobExpander globExpander = new GlobExpander();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    for (String day : List.of("2026-01", "2026-02", "2025-12")) {
+      Path dir = Files.createDirectories(tempDir.resolve("data").resolve(day));
+      Files.createFile(dir.resolve("part-0.csv"));
+      Files.createFile(dir.resolve("part-1.csv"));
+      Files.createFile(dir.resolve("part-0.json"));
+      Files.createFile(dir.resolve(".part-9.csv"));
+    }
+    Files.createDirectories(tempDir.resolve("data/2026-01/nested/deeper"));
+    Files.createFile(tempDir.resolve("data/2026-01/nested/deeper/part-2.csv"));
+  }
+
+  private String pattern(String relative) {
+    return tempDir + "/" + relative;
+  }
+
+  private List<String> expected(String... relatives) {
+    return Arrays.stream(relatives).map(this::pattern).toList();
+  }
+
+  @Nested
+  @DisplayName("Tests for wildcard segments")
+  class WildcardTests {
+
+    @Test
+    @DisplayName("Should match wildcards in several segments, sorted")
+    void shouldMatchWildcardsInSeveralSegments() {
+      // When
+      List<String> matches = globExpander.expand(pattern("data/2026-*/part-*.csv"));
+
+      // Then
+      assertThat(matches).containsExactlyElementsOf(expected(
+          "data/2026-01/part-0.csv", "data/2026-01/part-1.csv",
+          "data/2026-02/part-0.csv", "data/2026-02/part-1.csv"));
+    }
+
+    @Test
+    @DisplayName("Should resolve literal segments after a wildcard without listing them")
+    void shouldResolveLiteralSegmentsAfterWildcard() {
+      // When
+      List<String> matches = globExpander.expand(pattern("data/*/part-0.json"));
+
+      // Then
+      assertThat(matches).containsExactlyElementsOf(expected(
+          "data/2025-12/part-0.json", "data/2026-01/part-0.json", "data/2026-02/part-0.json"));
+    }
+
+    @Test
+    @DisplayName("Should support character classes, alternatives and single character wildcards")
+    void shouldSupportClassesAndAlternatives() {
+      // When
+      List<String> matches = globExpander.expand(pattern("data/202[5]-1?/part-{0,1}.csv"));
+
+      // Then
+      assertThat(matches).containsExactlyElementsOf(expected("data/2025-12/part-0.csv", "data/2025-12/part-1.csv"));
+    }
+
+    @Test
+    @DisplayName("Should only match hidden names with a leading dot in the pattern")
+    void shouldOnlyMatchHiddenNamesWithLeadingDot() {
+      // When
+      List<String> visible = globExpander.expand(pattern("data/2026-01/*"));
+      List<String> hidden = globExpander.expand(pattern("data/2026-01/.*.csv"));
+
+      // Then
+      assertThat(visible).noneMatch(path -> path.contains("/."));
+      assertThat(hidden).containsExactlyElementsOf(expected("data/2026-01/.part-9.csv"));
+    }
+
+    @Test
+    @DisplayName("Should return nothing when the literal prefix does not exist")
+    void shouldReturnNothingForMissingPrefix() {
+      assertThat(globExpander.expand(pattern("missing/*.csv"))).isEmpty();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for recursive segments")
+  class RecursiveTests {
+
+    @Test
+    @DisplayName("Should match any number of directories, including none")
+    void shouldMatchAnyNumberOfDirectories() {
+      // When
+      List<String> matches = globExpander.expand(pattern("data/2026-01/**/part-*.csv"));
+
+      // Then
+      assertThat(matches).containsExactlyElementsOf(expected(
+          "data/2026-01/nested/deeper/part-2.csv", "data/2026-01/part-0.csv", "data/2026-01/part-1.csv"));
+    }
+
+    @Test
+    @DisplayName("Should list everything below a trailing recursive segment")
+    void shouldListEverythingBelowTrailingRecursiveSegment() {
+      // When
+      List<String> matches = globExpander.expand(pattern("data/2026-01/nested/**"));
+
+      // Then
+      assertThat(matches).containsExactlyElementsOf(expected(
+          "data/2026-01/nested/deeper", "data/2026-01/nested/deeper/part-2.csv"));
+    }
+
+    @Test
+    @DisplayName("Should not report duplicates for repeated recursive segments")
+    void shouldNotReportDuplicates() {
+      // When
+      List<String> matches = globExpander.expand(pattern("data/**/**/part-2.csv"));
+
+      // Then
+      assertThat(matches).containsExactlyElementsOf(expected("data/2026-01/nested/deeper/part-2.csv"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for patterns without wildcards")
+  class LiteralTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/data/input.csv", "relative/missing.txt", "plain"})
+    @DisplayName("Should return literal patterns as is")
+    void shouldReturnLiteralPatternsAsIs(String pattern) {
+      assertThat(GlobExpander.isGlob(pattern)).isFalse();
+      assertThat(globExpander.expand(pattern)).containsExactly(pattern);
+    }
+
+    @Test
+    @DisplayName("Should take an existing name with wildcard characters literally")
+    void shouldTakeExistingNamesLiterally() throws IOException {
+      // Given
+      Files.createFile(tempDir.resolve("report[1].csv"));
+      Files.createFile(tempDir.resolve("report1.csv"));
+      Path run = Files.createDirectory(tempDir.resolve("run[1]"));
+      Files.createFile(run.resolve("a.csv"));
+      Files.createDirectory(tempDir.resolve("run1"));
+      Files.createFile(tempDir.resolve("run1/b.csv"));
+
+      // When & Then
+      assertThat(globExpander.expand(pattern("report[1].csv"))).containsExactly(pattern("report[1].csv"));
+      assertThat(globExpander.expand(pattern("run[1]/*.csv"))).containsExactly(pattern("run[1]/a.csv"));
+      assertThat(globExpander.expand(pattern("report[0-9].csv"))).containsExactly(pattern("report1.csv"));
+    }
+
+    @Test
+    @DisplayName("Should recognize every wildcard")
+    void shouldRecognizeEveryWildcard() {
+      assertThat(List.of("*.csv", "a?", "[ab]", "{a,b}")).allMatch(GlobExpander::isGlob);
+    }
+  }
+
+  @Test
+  @DisplayName("Should expand inside a zip file system")
+  void shouldExpandInsideZipFileSystem() throws IOException {
+    // Given
+    Path archive = tempDir.resolve("data.zip");
+    try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+      Files.createDirectories(zip.getPath("/logs/a"));
+      Files.createFile(zip.getPath("/logs/a/1.log"));
+      Files.createFile(zip.getPath("/logs/a/2.txt"));
+    }
+
+    try (FileSystem zip = FileSystems.newFileSystem(archive)) {
+      // When
+      List<String> matches = new GlobExpander(zip).expand("/logs/*/*.log");
+
+      // Then
+      assertThat(matches).containsExactly("/logs/a/1.log");
+    }
+  }
+}
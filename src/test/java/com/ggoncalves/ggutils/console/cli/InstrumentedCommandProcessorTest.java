@@ -0,0 +1,95 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+import com.ggoncalves.ggutils.console.metrics.ConsoleMetrics;
+import com.ggoncalves.ggutils.console.validation.FilePathValidator;
+import org.apache.commons.cli.ParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedCommandProcessorTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private ConsoleMetrics consoleMetrics;
+  private InstrumentedCommandProcessor processor;
+
+  @BeforeEach
+  void setUp() {
+    consoleMetrics = new ConsoleMetrics();
+    processor = new InstrumentedCommandProcessor(new FilePathValidator(), consoleMetrics);
+    processor.addRequiredOption("i", "input", true, "Input file path");
+  }
+
+  @Test
+  @DisplayName("Should record parseArgs outcomes")
+  void shouldRecordParseArgs() throws ParseException {
+    // When
+    processor.parseArgs(new String[]{"-i", "file.txt"});
+    assertThatThrownBy(() -> processor.parseArgs(new String[]{}))
+        .isInstanceOf(ParseException.class);
+
+    // Then
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.PARSE_ARGS).getCount("ok")).isEqualTo(1);
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.PARSE_ARGS).getCount("parseError")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should record streaming parse outcomes with the parseArgs ones")
+  void shouldRecordStreamingParse() throws ParseException {
+    // Given
+    processor.addStreamedOption("f", "files", false, "Files");
+
+    // When
+    processor.parseArgsStreaming(new String[]{"-i", "file.txt", "-f", "a", "b"});
+    assertThatThrownBy(() -> processor.parseArgsStreaming(new String[]{"-f", "a"}))
+        .isInstanceOf(ParseException.class);
+
+    // Then
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.PARSE_ARGS).getCount("ok")).isEqualTo(1);
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.PARSE_ARGS).getCount("parseError")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should record file validation outcomes and rethrow")
+  void shouldRecordFileValidation() throws IOException {
+    // Given
+    Path file = Files.write(tempDir.resolve("input.txt"), "data".getBytes());
+    InstrumentedCommandProcessor failing = new InstrumentedCommandProcessor(new FilePathValidator(), consoleMetrics) {
+      @Override
+      Path createPath(String path) {
+        throw new SecurityException("denied");
+      }
+    };
+
+    // When
+    processor.validateInputFile(file.toString(), "input");
+    processor.validateOutputDir(tempDir.toString());
+    assertThatThrownBy(() -> processor.validateInputFile(tempDir.resolve("missing").toString(), "input"))
+        .isInstanceOf(InvalidFileException.class);
+    assertThatThrownBy(() -> processor.validateOutputDir(file.toString()))
+        .isInstanceOf(InvalidFileException.class);
+
+    // Then
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.VALIDATE_INPUT_FILE).getOutcomes())
+        .containsOnlyKeys("ok", "invalidFile");
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.VALIDATE_OUTPUT_DIR).getOutcomes())
+        .containsOnlyKeys("ok", "invalidFile");
+    assertThat(processor.checkInputFile(tempDir.toString())).isEqualTo(FileCheckOutcome.NOT_A_FILE);
+    assertThatThrownBy(() -> failing.validateOutputDir("x")).isInstanceOf(SecurityException.class);
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.VALIDATE_INPUT_FILE).getCount("invalidFile"))
+        .isEqualTo(2);
+    assertThat(consoleMetrics.operation(InstrumentedCommandProcessor.VALIDATE_OUTPUT_DIR).getCount("error"))
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,92 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptionTypeTest {
+
+  @Nested
+  @DisplayName("Tests for byte sizes")
+  class BytesTests {
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 0",
+        "512, 512",
+        "512B, 512",
+        "4k, 4096",
+        "4KB, 4096",
+        "4KiB, 4096",
+        "512M, 536870912",
+        "2g, 2147483648",
+        "1TiB, 1099511627776"
+    })
+    @DisplayName("Should parse sizes with binary units")
+    void shouldParseSizesWithBinaryUnits(String value, long expected) {
+      assertThat(OptionType.parseBytes(value)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "M", "-1M", "1.5G", "12 M", "3X", "9223372036854775808"})
+    @DisplayName("Should reject malformed sizes")
+    void shouldRejectMalformedSizes(String value) {
+      assertThatThrownBy(() -> OptionType.parseBytes(value)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject sizes that do not fit in a long")
+    void shouldRejectOverflowingSizes() {
+      assertThat(OptionType.parseBytes("8388607T")).isEqualTo(8388607L << 40);
+      assertThatThrownBy(() -> OptionType.parseBytes("8388608T"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Size too large: 8388608T");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for durations")
+  class DurationTests {
+
+    @ParameterizedTest
+    @CsvSource({
+        "250ns, PT0.00000025S",
+        "250us, PT0.00025S",
+        "500ms, PT0.5S",
+        "30s, PT30S",
+        "30S, PT30S",
+        "2m, PT2M",
+        "1h, PT1H",
+        "2d, PT48H",
+        "PT1M30S, PT1M30S",
+        "pt10s, PT10S"
+    })
+    @DisplayName("Should parse durations with a unit or in ISO-8601 form")
+    void shouldParseDurations(String value, String expected) {
+      assertThat(OptionType.parseDuration(value)).isEqualTo(Duration.parse(expected));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "30", "s", "-5s", "1.5s", "3w", "PT", "PT-5S"})
+    @DisplayName("Should reject malformed or negative durations")
+    void shouldRejectMalformedDurations(String value) {
+      assertThatThrownBy(() -> OptionType.parseDuration(value)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should ask for a unit")
+    void shouldAskForUnit() {
+      assertThatThrownBy(() -> OptionType.parseDuration("30"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Missing duration unit: 30");
+    }
+  }
+}
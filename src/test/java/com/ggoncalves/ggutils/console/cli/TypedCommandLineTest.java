@@ -0,0 +1,150 @@
+package com.ggoncalves.ggutils.console.cli;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TypedCommandLineTest {
+
+  private final Options options = new Options();
+  private final List<TypedOptions.Declaration> declarations = new ArrayList<>();
+  private TypedOptions typedOptions;
+
+  @BeforeEach
+  void setUp() {
+    declare("t", "threads", OptionType.INT, "4");
+    declare("n", "limit", OptionType.LONG, null);
+    declare("b", "buffer", OptionType.BYTES, "64K");
+    declare("d", "deadline", OptionType.DURATION, null);
+    declare("o", "output", OptionType.PATH, "out");
+    typedOptions = new TypedOptions(FileSystems.getDefault(), declarations);
+  }
+
+  private void declare(String opt, String longOpt, OptionType type, String defaultValue) {
+    Option option = Option.builder(opt).longOpt(longOpt).hasArg().build();
+    options.addOption(option);
+    declarations.add(new TypedOptions.Declaration(option, type, defaultValue));
+  }
+
+  private TypedCommandLine convert(String... args) throws ParseException {
+    CommandLine commandLine = new DefaultParser().parse(options, args);
+    return TypedCommandLine.convert(commandLine, typedOptions);
+  }
+
+  @Nested
+  @DisplayName("Tests for the getters")
+  class GetterTests {
+
+    @Test
+    @DisplayName("Should convert the given values by short or long name")
+    void shouldConvertGivenValues() throws ParseException {
+      // When
+      TypedCommandLine commandLine = convert("--threads", "16", "-n", "10000000000", "-b", "512M", "-d", "30s",
+          "-o", "/tmp/result");
+
+      // Then
+      assertThat(commandLine.getInt("t")).isEqualTo(16);
+      assertThat(commandLine.getInt("threads")).isEqualTo(16);
+      assertThat(commandLine.getLong("limit")).isEqualTo(10_000_000_000L);
+      assertThat(commandLine.getBytes("b")).isEqualTo(512L * 1024 * 1024);
+      assertThat(commandLine.getDuration("deadline")).isEqualTo(Duration.ofSeconds(30));
+      assertThat(commandLine.getPath("o")).isEqualTo(Path.of("/tmp/result"));
+      assertThat(commandLine.getCommandLine().getOptionValue("b")).isEqualTo("512M");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default values")
+    void shouldFallBackToDefaults() throws ParseException {
+      // When
+      TypedCommandLine commandLine = convert();
+
+      // Then
+      assertThat(commandLine.getInt("t")).isEqualTo(4);
+      assertThat(commandLine.getBytes("buffer")).isEqualTo(65536);
+      assertThat(commandLine.getPath("output")).isEqualTo(Path.of("out"));
+      assertThat(commandLine.hasValue("t")).isTrue();
+      assertThat(commandLine.hasValue("d")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read an int option as a long")
+    void shouldReadIntOptionAsLong() throws ParseException {
+      assertThat(convert("-t", "-3").getLong("threads")).isEqualTo(-3);
+    }
+
+    @Test
+    @DisplayName("Should return the same objects on every call")
+    void shouldReturnSameObjects() throws ParseException {
+      // Given
+      TypedCommandLine commandLine = convert("-d", "1m");
+
+      // Then
+      assertThat(commandLine.getDuration("d")).isSameAs(commandLine.getDuration("deadline"));
+      assertThat(commandLine.getPath("o")).isSameAs(commandLine.getPath("o"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for errors")
+  class ErrorTests {
+
+    @Test
+    @DisplayName("Should name the option and the expected type of an invalid value")
+    void shouldReportInvalidValue() {
+      // When & Then
+      assertThatThrownBy(() -> convert("-t", "many"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Invalid value for option t: many (expected an integer)");
+      assertThatThrownBy(() -> convert("-t", "3000000000"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageStartingWith("Invalid value for option t: 3000000000");
+      assertThatThrownBy(() -> convert("--deadline", "soon"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Invalid value for option d: soon (expected a duration such as 30s)");
+    }
+
+    @Test
+    @DisplayName("Should reject a getter of another type or an unknown option")
+    void shouldRejectGetterOfAnotherType() throws ParseException {
+      // Given
+      TypedCommandLine commandLine = convert("-n", "5");
+
+      // When & Then
+      assertThatThrownBy(() -> commandLine.getInt("n"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Not an option of type INT: n");
+      assertThatThrownBy(() -> commandLine.getBytes("missing"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Not an option of type BYTES: missing");
+    }
+
+    @Test
+    @DisplayName("Should reject reading an absent option without default")
+    void shouldRejectAbsentOptionWithoutDefault() throws ParseException {
+      // Given
+      TypedCommandLine commandLine = convert();
+
+      // When & Then
+      assertThatThrownBy(() -> commandLine.getDuration("d"))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("No value for option: d");
+      assertThatThrownBy(() -> commandLine.getLong("n"))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+}
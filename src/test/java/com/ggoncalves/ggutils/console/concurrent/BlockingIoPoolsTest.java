@@ -0,0 +1,35 @@
+package com.ggoncalves.ggutils.console.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockingIoPoolsTest {
+
+  @Test
+  @DisplayName("Should share one pool per name")
+  void shouldSharePoolPerName() {
+    // When
+    ForkJoinPool pool = BlockingIoPools.shared("test-pool");
+
+    // Then
+    assertThat(BlockingIoPools.shared("test-pool")).isSameAs(pool);
+    assertThat(BlockingIoPools.shared("other-test-pool")).isNotSameAs(pool);
+    assertThat(pool).isNotSameAs(ForkJoinPool.commonPool());
+    assertThat(pool.getParallelism()).isEqualTo(BlockingIoPools.DEFAULT_PARALLELISM);
+  }
+
+  @Test
+  @DisplayName("Should run tasks on named daemon threads")
+  void shouldRunOnNamedDaemonThreads() {
+    // When
+    Thread worker = BlockingIoPools.shared("test-pool").submit(Thread::currentThread).join();
+
+    // Then
+    assertThat(worker.getName()).startsWith("test-pool-");
+    assertThat(worker.isDaemon()).isTrue();
+  }
+}
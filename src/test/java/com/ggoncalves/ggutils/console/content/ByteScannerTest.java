@@ -0,0 +1,87 @@
+package com.ggoncalves.ggutils.console.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteScannerTest {
+
+  @Test
+  @DisplayName("Should count zero lanes without false positives")
+  void shouldCountZeroLanes() {
+    assertThat(ByteScanner.zeroLanes(0L)).isEqualTo(8);
+    assertThat(ByteScanner.zeroLanes(-1L)).isZero();
+    assertThat(ByteScanner.zeroLanes(0x0100010001000100L)).isEqualTo(4);
+    assertThat(ByteScanner.zeroLanes(0x8080808080808080L)).isZero();
+    assertThat(ByteScanner.zeroLanes(0x0000000000000001L)).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("Should count the same as a byte by byte loop at any position and length")
+  void shouldMatchNaiveCount() {
+    // Given
+    Random random = new Random(42);
+    byte[] bytes = new byte[1000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = random.nextInt(4) == 0 ? (byte) '\n' : (byte) random.nextInt(256);
+    }
+
+    for (int start = 0; start < 9; start++) {
+      for (int end = bytes.length - 9; end <= bytes.length; end++) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).position(start).limit(end);
+
+        // When
+        long count = ByteScanner.count(buffer, (byte) '\n');
+
+        // Then
+        long expected = 0;
+        for (int i = start; i < end; i++) {
+          if (bytes[i] == '\n') expected++;
+        }
+        assertThat(count).isEqualTo(expected);
+        assertThat(buffer.position()).isEqualTo(start);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should count bytes not followed by another the same as a byte by byte loop")
+  void shouldMatchNaiveCountNotFollowedBy() {
+    // Given
+    Random random = new Random(42);
+    byte[] bytes = new byte[1000];
+    for (int i = 0; i < bytes.length; i++) {
+      int kind = random.nextInt(4);
+      bytes[i] = kind == 0 ? (byte) '\r' : kind == 1 ? (byte) '\n' : (byte) random.nextInt(256);
+    }
+
+    for (int start = 0; start < 9; start++) {
+      for (int end = bytes.length - 9; end <= bytes.length; end++) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).position(start).limit(end);
+
+        // When
+        long count = ByteScanner.countNotFollowedBy(buffer, (byte) '\r', (byte) '\n');
+
+        // Then
+        long expected = 0;
+        for (int i = start; i < end - 1; i++) {
+          if (bytes[i] == '\r' && bytes[i + 1] != '\n') expected++;
+        }
+        assertThat(count).isEqualTo(expected);
+        assertThat(buffer.position()).isEqualTo(start);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should count high bytes")
+  void shouldCountHighBytes() {
+    byte[] bytes = {(byte) 0xFF, 1, (byte) 0xFF, (byte) 0x7F, (byte) 0xFF, 0, 0, 0, (byte) 0xFF, (byte) 0xFE};
+    assertThat(ByteScanner.count(ByteBuffer.wrap(bytes), (byte) 0xFF)).isEqualTo(4);
+    assertThat(ByteScanner.count(ByteBuffer.wrap(bytes), (byte) 0)).isEqualTo(3);
+  }
+}
@@ -0,0 +1,209 @@
+package com.ggoncalves.ggutils.console.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentProbeTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private final ContentProbe probe = new ContentProbe(ContentProbe.DEFAULT_HEAD_SIZE, true);
+
+  private Path write(String name, byte[] content) throws IOException {
+    return Files.write(tempDir.resolve(name), content);
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return write(name, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Nested
+  @DisplayName("Tests for format detection")
+  class FormatTests {
+
+    @Test
+    @DisplayName("Should detect gzip content regardless of the file name")
+    void shouldDetectGzip() throws IOException {
+      // Given
+      Path file = tempDir.resolve("data.txt");
+      try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+        out.write("a\nb\n".getBytes());
+      }
+
+      // When
+      ContentProbeResult result = probe.probe(file);
+
+      // Then
+      assertThat(result.getFormat()).isEqualTo(ContentFormat.GZIP);
+      assertThat(result.getFormat().isCompressed()).isTrue();
+      assertThat(result.isText()).isFalse();
+      assertThat(result.getLineCount()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should detect magic numbers")
+    void shouldDetectMagicNumbers() throws IOException {
+      assertThat(probe.probe(write("a.pdf", "%PDF-1.7\n")).getFormat()).isEqualTo(ContentFormat.PDF);
+      assertThat(probe.probe(write("a.zip", new byte[]{'P', 'K', 3, 4, 0})).getFormat()).isEqualTo(ContentFormat.ZIP);
+      assertThat(probe.probe(write("a.zst", new byte[]{0x28, (byte) 0xB5, 0x2F, (byte) 0xFD})).getFormat())
+          .isEqualTo(ContentFormat.ZSTD);
+    }
+
+    @Test
+    @DisplayName("Should report files with NUL bytes as binary and empty files as empty")
+    void shouldDetectBinaryAndEmpty() throws IOException {
+      assertThat(probe.probe(write("a.bin", new byte[]{'a', 0, 'b'})).getFormat()).isEqualTo(ContentFormat.BINARY);
+
+      ContentProbeResult empty = probe.probe(write("empty.txt", new byte[0]));
+      assertThat(empty.getFormat()).isEqualTo(ContentFormat.EMPTY);
+      assertThat(empty.getLineCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail for missing files")
+    void shouldFailForMissingFiles() {
+      assertThatThrownBy(() -> probe.probe(tempDir.resolve("missing"))).isInstanceOf(IOException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for encoding detection")
+  class EncodingTests {
+
+    @Test
+    @DisplayName("Should tell ASCII, UTF-8 and other 8-bit text apart")
+    void shouldDetectCharset() throws IOException {
+      assertThat(probe.probe(write("ascii.txt", "plain\n")).getCharset()).isEqualTo(StandardCharsets.US_ASCII);
+      assertThat(probe.probe(write("utf8.txt", "café\n")).getCharset()).isEqualTo(StandardCharsets.UTF_8);
+
+      ContentProbeResult latin1 = probe.probe(write("latin1.txt", "café\n".getBytes(StandardCharsets.ISO_8859_1)));
+      assertThat(latin1.isText()).isTrue();
+      assertThat(latin1.getCharset()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not reject UTF-8 cut in the middle of a character at the end of the head")
+    void shouldAcceptCharacterCutByHead() throws IOException {
+      // Given
+      ContentProbe smallHead = new ContentProbe(4, false);
+      Path file = write("cut.txt", "abcé\n");
+
+      // When & Then
+      assertThat(smallHead.probe(file).getCharset()).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should detect byte order marks and their line terminators")
+    void shouldDetectBom() throws IOException {
+      // Given
+      byte[] text = "a\r\nb\r\n".getBytes(StandardCharsets.UTF_16LE);
+      byte[] content = new byte[text.length + 2];
+      content[0] = (byte) 0xFF;
+      content[1] = (byte) 0xFE;
+      System.arraycopy(text, 0, content, 2, text.length);
+
+      // When
+      ContentProbeResult utf16 = probe.probe(write("utf16.txt", content));
+      ContentProbeResult utf8 = probe.probe(write("bom.txt", "﻿a\nb\n"));
+
+      // Then
+      assertThat(utf16.isText()).isTrue();
+      assertThat(utf16.getCharset()).isEqualTo(StandardCharsets.UTF_16LE);
+      assertThat(utf16.isBom()).isTrue();
+      assertThat(utf16.getLineTerminator()).isEqualTo(LineTerminator.CRLF);
+      assertThat(utf16.getLineCount()).isEqualTo(-1);
+      assertThat(utf8.getCharset()).isEqualTo(StandardCharsets.UTF_8);
+      assertThat(utf8.isBom()).isTrue();
+      assertThat(utf8.getLineCount()).isEqualTo(2);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for lines")
+  class LineTests {
+
+    @Test
+    @DisplayName("Should detect the line terminator style")
+    void shouldDetectLineTerminators() throws IOException {
+      assertThat(probe.probe(write("lf.txt", "a\nb\n")).getLineTerminator()).isEqualTo(LineTerminator.LF);
+      assertThat(probe.probe(write("crlf.txt", "a\r\nb\r\n")).getLineTerminator()).isEqualTo(LineTerminator.CRLF);
+      assertThat(probe.probe(write("cr.txt", "a\rb\r")).getLineTerminator()).isEqualTo(LineTerminator.CR);
+      assertThat(probe.probe(write("mixed.txt", "a\nb\r\n")).getLineTerminator()).isEqualTo(LineTerminator.MIXED);
+      assertThat(probe.probe(write("none.txt", "a")).getLineTerminator()).isEqualTo(LineTerminator.NONE);
+    }
+
+    @Test
+    @DisplayName("Should count the last line even without a terminator")
+    void shouldCountLines() throws IOException {
+      assertThat(probe.probe(write("terminated.txt", "a\nb\n")).getLineCount()).isEqualTo(2);
+      assertThat(probe.probe(write("unterminated.txt", "a\nb")).getLineCount()).isEqualTo(2);
+      assertThat(probe.probe(write("cr.txt", "a\rb\rc")).getLineCount()).isEqualTo(3);
+      assertThat(new ContentProbe().probe(write("uncounted.txt", "a\n")).getLineCount()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should count bare carriage returns as line ends with mixed terminators")
+    void shouldCountMixedLines() throws IOException {
+      assertThat(probe.probe(write("mixed.txt", "a\r\nb\rc\nd")).getLineCount()).isEqualTo(4);
+      assertThat(probe.probe(write("mixed-cr.txt", "a\nb\r")).getLineCount()).isEqualTo(2);
+      assertThat(probe.probe(write("mixed-crlf.txt", "a\nb\r\n")).getLineCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count mixed lines ending across read buffers")
+    void shouldCountMixedLinesAcrossBuffers() throws IOException {
+      // Given
+      int bufferSize = ContentProbe.READ_BUFFER_SIZE;
+      byte[] content = new byte[3 * bufferSize];
+      Arrays.fill(content, (byte) 'x');
+      content[0] = '\r';
+      content[1] = '\n';
+      content[2] = '\n';
+      // "\r\n" split by the first buffer end, bare "\r" ending the second buffer and the file
+      content[bufferSize - 1] = '\r';
+      content[bufferSize] = '\n';
+      content[2 * bufferSize - 1] = '\r';
+      content[content.length - 1] = '\r';
+      ContentProbe smallHead = new ContentProbe(1024, true);
+
+      // When
+      ContentProbeResult result = smallHead.probe(write("mixed-large.txt", content));
+
+      // Then
+      assertThat(result.getLineTerminator()).isEqualTo(LineTerminator.MIXED);
+      assertThat(result.getLineCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should count lines beyond the head")
+    void shouldCountLinesBeyondHead() throws IOException {
+      // Given
+      StringBuilder content = new StringBuilder();
+      for (int i = 0; i < 10_000; i++) {
+        content.append("line ").append(i).append('\n');
+      }
+      ContentProbe smallHead = new ContentProbe(1024, true);
+
+      // When
+      ContentProbeResult result = smallHead.probe(write("large.txt", content + "last"));
+
+      // Then
+      assertThat(result.getLineCount()).isEqualTo(10_001);
+      assertThat(result.getSize()).isEqualTo(content.length() + 4);
+    }
+  }
+}
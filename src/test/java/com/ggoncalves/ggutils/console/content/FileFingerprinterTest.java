@@ -0,0 +1,175 @@
+package com.ggoncalves.ggutils.console.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileFingerprinterTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private Path writeSettled(String name, byte[] content) throws IOException {
+    Path file = Files.write(tempDir.resolve(name), content);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+    return file;
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(7).nextBytes(bytes);
+    return bytes;
+  }
+
+  @Nested
+  @DisplayName("Tests for hashing")
+  class HashingTests {
+
+    @Test
+    @DisplayName("Should give the same fingerprint for the same content, whatever the executor")
+    void shouldBeDeterministic() throws Exception {
+      // Given
+      byte[] content = randomBytes(10_000);
+      Path first = writeSettled("first.bin", content);
+      Path second = writeSettled("second.bin", content);
+      ExecutorService pool = Executors.newFixedThreadPool(3);
+
+      // When
+      FileFingerprint sequential = new FileFingerprinter(null, 1024, Runnable::run).fingerprint(first);
+      FileFingerprint parallel = new FileFingerprinter(null, 1024, pool).fingerprint(second);
+      pool.shutdown();
+
+      // Then
+      assertThat(parallel).isEqualTo(sequential);
+      assertThat(sequential.size()).isEqualTo(10_000);
+      assertThat(sequential.toString()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("Should change with any byte of any chunk, and with the chunk size")
+    void shouldDetectChanges() throws IOException {
+      // Given
+      byte[] content = randomBytes(5_000);
+      FileFingerprinter fingerprinter = new FileFingerprinter(null, 1024, Runnable::run);
+      FileFingerprint original = fingerprinter.fingerprint(writeSettled("original.bin", content));
+
+      // When
+      content[4_500] ^= 1;
+      FileFingerprint changed = fingerprinter.fingerprint(writeSettled("changed.bin", content));
+      content[4_500] ^= 1;
+      FileFingerprint otherChunks = new FileFingerprinter(null, 2048, Runnable::run)
+          .fingerprint(writeSettled("other.bin", content));
+
+      // Then
+      assertThat(changed).isNotEqualTo(original);
+      assertThat(otherChunks).isNotEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("Should not have more chunks in flight than the limit")
+    void shouldLimitChunksInFlight() throws Exception {
+      // Given
+      byte[] content = randomBytes(FileFingerprinter.MAX_IN_FLIGHT_CHUNKS * 3 * 64);
+      Path file = writeSettled("large.bin", content);
+      BlockingQueue<Runnable> submitted = new LinkedBlockingQueue<>();
+      AtomicInteger submittedCount = new AtomicInteger();
+      AtomicInteger startedCount = new AtomicInteger();
+      AtomicInteger maxInFlight = new AtomicInteger();
+      Executor held = task -> {
+        maxInFlight.accumulateAndGet(submittedCount.incrementAndGet() - startedCount.get(), Math::max);
+        submitted.add(task);
+      };
+
+      // When
+      FutureTask<FileFingerprint> result = new FutureTask<>(
+          () -> new FileFingerprinter(null, 64, held).fingerprint(file));
+      Thread running = new Thread(result);
+      running.start();
+      while (!result.isDone()) {
+        Runnable task = submitted.poll(10, TimeUnit.MILLISECONDS);
+        if (task != null) {
+          // Let the submitting thread run ahead until it waits for a chunk
+          while (running.getState() == Thread.State.RUNNABLE) {
+            Thread.sleep(1);
+          }
+          startedCount.incrementAndGet();
+          task.run();
+        }
+      }
+
+      // Then
+      assertThat(result.get()).isEqualTo(new FileFingerprinter(null, 64, Runnable::run).fingerprint(file));
+      assertThat(maxInFlight.get()).isEqualTo(FileFingerprinter.MAX_IN_FLIGHT_CHUNKS);
+    }
+
+    @Test
+    @DisplayName("Should fingerprint empty files and reject directories")
+    void shouldHandleEmptyFilesAndDirectories() throws IOException {
+      FileFingerprinter fingerprinter = new FileFingerprinter();
+
+      assertThat(fingerprinter.fingerprint(writeSettled("empty", new byte[0])).size()).isZero();
+      assertThatThrownBy(() -> fingerprinter.fingerprint(tempDir))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("Not a regular file");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for caching")
+  class CachingTests {
+
+    @Test
+    @DisplayName("Should not read a file again while its key, mtime and size are unchanged")
+    void shouldReuseCachedFingerprint() throws IOException {
+      // Given
+      FingerprintCache cache = new FingerprintCache();
+      FileFingerprinter fingerprinter = new FileFingerprinter(cache, 1024, Runnable::run);
+      Path file = writeSettled("input.bin", randomBytes(3_000));
+      FileFingerprint original = fingerprinter.fingerprint(file);
+      FileTime mtime = Files.getLastModifiedTime(file);
+
+      // When: same size and mtime, so only a content read could notice
+      byte[] content = Files.readAllBytes(file);
+      content[0] ^= 1;
+      Files.write(file, content);
+      Files.setLastModifiedTime(file, mtime);
+
+      // Then
+      assertThat(fingerprinter.fingerprint(file)).isSameAs(original);
+      Files.setLastModifiedTime(file, FileTime.fromMillis(mtime.toMillis() - 1_000));
+      assertThat(fingerprinter.fingerprint(file)).isNotEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("Should not cache files modified within the racy window")
+    void shouldNotCacheRecentlyModifiedFiles() throws IOException {
+      // Given
+      FingerprintCache cache = new FingerprintCache();
+      Path file = Files.write(tempDir.resolve("recent.bin"), randomBytes(100));
+
+      // When
+      new FileFingerprinter(cache).fingerprint(file);
+
+      // Then
+      assertThat(cache.size()).isZero();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.ggoncalves.ggutils.console.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintCacheTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private Path writeSettled(String name, String content) throws IOException {
+    Path file = Files.writeString(tempDir.resolve(name), content);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+    return file;
+  }
+
+  @Test
+  @DisplayName("Should save and load entries")
+  void shouldSaveAndLoad() throws IOException {
+    // Given
+    FingerprintCache cache = new FingerprintCache();
+    Path input = writeSettled("input.csv", "a,b\n");
+    FileFingerprint fingerprint = new FileFingerprinter(cache).fingerprint(input);
+    Path cacheFile = tempDir.resolve("fingerprints.tsv");
+
+    // When
+    cache.save(cacheFile);
+    FingerprintCache loaded = FingerprintCache.load(cacheFile);
+
+    // Then
+    assertThat(loaded.size()).isEqualTo(1);
+    assertThat(loaded.getIfUnchanged(input)).isEqualTo(fingerprint);
+    assertThat(Files.readString(cacheFile)).startsWith("# path\t").contains(fingerprint.toString());
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertThat(files.map(Path::getFileName).map(Path::toString)).doesNotContain("fingerprints.tsv.tmp");
+    }
+  }
+
+  @Test
+  @DisplayName("Should report a touched or removed entry as changed")
+  void shouldReportChanges() throws IOException {
+    // Given
+    FingerprintCache cache = new FingerprintCache();
+    Path input = writeSettled("input.csv", "a,b\n");
+    new FileFingerprinter(cache).fingerprint(input);
+
+    // When
+    Files.setLastModifiedTime(input, FileTime.fromMillis(System.currentTimeMillis() - 30_000));
+
+    // Then
+    assertThat(cache.getIfUnchanged(input)).isNull();
+    cache.remove(input);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should start empty when the file is missing and skip malformed lines")
+  void shouldTolerateMissingAndMalformedFiles() throws IOException {
+    // Given
+    Path cacheFile = Files.writeString(tempDir.resolve("fingerprints.tsv"),
+        "# header\n/a\t-\t1\t2\t3\tnot-hex\n/b\t-\tx\t2\t3\tabcd\n/c\t-\t1\t2\t3\tabcd\n");
+
+    // When & Then
+    assertThat(FingerprintCache.load(tempDir.resolve("missing.tsv")).size()).isZero();
+    assertThat(FingerprintCache.load(cacheFile).size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,49 @@
+package com.ggoncalves.ggutils.console.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonSyntaxTest {
+
+  private static String check(String json) {
+    byte[] bytes = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+    return JsonSyntax.check(ByteBuffer.wrap(bytes), 2, bytes.length - 2);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "{}", "[]", "0", "-0.5e+10", "1E3", "\"a\\u00e9\\n\\\"\"", "true", " null ",
+      "{\"a\": [1, 2, {\"b\": false}], \"c\": \"é\"}", "[[[[]]]]"
+  })
+  @DisplayName("Should accept well-formed JSON values")
+  void shouldAcceptValidJson(String json) {
+    assertThat(check(json)).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "", "{", "{\"a\" 1}", "{\"a\":1,}", "[1 2]", "01", "1.", "-", ".5", "\"abc", "\"\\x\"", "\"\\u12g4\"",
+      "tru", "nul", "{a:1}", "{} {}", "'a'", "\"a\tb\""
+  })
+  @DisplayName("Should reject malformed JSON values")
+  void shouldRejectInvalidJson(String json) {
+    assertThat(check(json)).isNotNull().contains("at column");
+  }
+
+  @Test
+  @DisplayName("Should reject nesting deeper than the limit instead of overflowing the stack")
+  void shouldLimitDepth() {
+    String deep = "[".repeat(JsonSyntax.MAX_DEPTH + 1) + "]".repeat(JsonSyntax.MAX_DEPTH + 1);
+    String allowed = "[".repeat(JsonSyntax.MAX_DEPTH) + "]".repeat(JsonSyntax.MAX_DEPTH);
+
+    assertThat(check(deep)).startsWith("Nesting deeper than");
+    assertThat(check(allowed)).isNull();
+  }
+}
@@ -0,0 +1,219 @@
+package com.ggoncalves.ggutils.console.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StructuralValidatorTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private Path write(String content) throws IOException {
+    return Files.writeString(tempDir.resolve("input"), content);
+  }
+
+  private static StructuralValidationResult validate(RecordFormat format, Path file) throws IOException {
+    return new StructuralValidator(format).validate(file);
+  }
+
+  @Nested
+  @DisplayName("Tests for CSV and TSV")
+  class DelimitedTests {
+
+    @Test
+    @DisplayName("Should accept well-formed CSV with quoted delimiters, quotes and line breaks")
+    void shouldAcceptValidCsv() throws IOException {
+      // Given
+      Path file = write("id,name,notes\r\n1,\"Doe, John\",\"said \"\"hi\"\"\"\r\n2,Jane,\"two\nlines\"\r\n3,,\n");
+
+      // When
+      StructuralValidationResult result = validate(RecordFormat.CSV, file);
+
+      // Then
+      assertThat(result.isValid()).isTrue();
+      assertThat(result.getColumns()).isEqualTo(3);
+      assertThat(result.getRecords()).isEqualTo(4);
+      assertThat(result.getLines()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should report column count and quoting errors with the line they start on")
+    void shouldReportErrors() throws IOException {
+      // Given
+      Path file = write("a,b\n1,2\n1,2,3\n\"x\ny\"z,2\nab\"c\",1\n\"open,1");
+
+      // When
+      StructuralValidationResult result = validate(RecordFormat.CSV, file);
+
+      // Then
+      assertThat(result.getErrorCount()).isEqualTo(4);
+      assertThat(result.getErrors()).containsExactly(
+          new StructuralError(3, "Expected 2 columns but found 3"),
+          new StructuralError(4, "Unexpected character after closing quote"),
+          new StructuralError(6, "Quote inside unquoted field"),
+          new StructuralError(7, "Unterminated quoted field"));
+    }
+
+    @Test
+    @DisplayName("Should keep only the first errors but count all of them")
+    void shouldLimitReportedErrors() throws IOException {
+      // Given
+      Path file = write("a\tb\n" + "1\n".repeat(50));
+
+      // When
+      StructuralValidationResult result = new StructuralValidator(RecordFormat.TSV, 3).validate(file);
+
+      // Then
+      assertThat(result.getErrorCount()).isEqualTo(50);
+      assertThat(result.getErrors()).extracting(StructuralError::line).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should not treat quotes as special in TSV")
+    void shouldIgnoreQuotesInTsv() throws IOException {
+      assertThat(validate(RecordFormat.TSV, write("a\tb\n\"x\ty\"z\n")).isValid()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for NDJSON")
+  class NdjsonTests {
+
+    @Test
+    @DisplayName("Should check every line is one JSON value")
+    void shouldValidateLines() throws IOException {
+      // Given
+      Path file = write("{\"a\":1}\r\n[1,2]\n\n{\"a\":\n\"text\"");
+
+      // When
+      StructuralValidationResult result = validate(RecordFormat.NDJSON, file);
+
+      // Then
+      assertThat(result.getRecords()).isEqualTo(5);
+      assertThat(result.getColumns()).isZero();
+      assertThat(result.getErrors()).extracting(StructuralError::line).containsExactly(3L, 4L);
+      assertThat(result.getErrors().get(0).message()).isEqualTo("Empty line");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for chunking")
+  class ChunkingTests {
+
+    @Test
+    @DisplayName("Should give the same result whatever the chunk size")
+    void shouldNotDependOnChunkSize() throws IOException {
+      // Given
+      StringBuilder content = new StringBuilder("id,text,value\n");
+      for (int i = 0; i < 200; i++) {
+        switch (i % 5) {
+          case 0 -> content.append(i).append(",\"multi\nline, \"\"quoted\"\"\",").append(i).append('\n');
+          case 1 -> content.append(i).append(",short\n");
+          case 2 -> content.append(i).append(",\"bad\"x,1\n");
+          default -> content.append(i).append(",plain,").append(i * 7).append('\n');
+        }
+      }
+      Path file = write(content.toString());
+      StructuralValidationResult expected = validate(RecordFormat.CSV, file);
+      ExecutorService pool = Executors.newFixedThreadPool(4);
+
+      // When & Then
+      try {
+        for (int chunkSize : List.of(1, 2, 3, 7, 16, 64, 333, 4096)) {
+          StructuralValidationResult result = new StructuralValidator(RecordFormat.CSV, 1000, chunkSize, 1024, pool)
+              .validate(file);
+          assertThat(result).as("chunk size %d", chunkSize).isEqualTo(expected);
+        }
+      }
+      finally {
+        pool.shutdown();
+      }
+      assertThat(expected.getRecords()).isEqualTo(201);
+      assertThat(expected.getErrorCount()).isEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("Should report records longer than the limit, within and across chunks")
+    void shouldLimitRecordLength() throws IOException {
+      // Given
+      Path file = write("a\n" + "x".repeat(100) + "\n\"" + "y".repeat(100) + "\"\nb\n");
+
+      // When
+      StructuralValidationResult single = new StructuralValidator(RecordFormat.CSV, 10, 4096, 50, Runnable::run)
+          .validate(file);
+      StructuralValidationResult chunked = new StructuralValidator(RecordFormat.CSV, 10, 16, 50, Runnable::run)
+          .validate(file);
+
+      // Then
+      assertThat(single.getErrors()).extracting(StructuralError::line).containsExactly(2L, 3L);
+      assertThat(chunked.getErrors()).extracting(StructuralError::line).containsExactly(2L, 3L);
+      assertThat(chunked.getErrors().get(0).message()).isEqualTo("Record longer than 50 bytes");
+    }
+
+    @Test
+    @DisplayName("Should not have more chunks in flight than the limit")
+    void shouldLimitChunksInFlight() throws Exception {
+      // Given
+      Path file = write("a,b\n".repeat(StructuralValidator.MAX_IN_FLIGHT_CHUNKS * 3));
+      BlockingQueue<Runnable> submitted = new LinkedBlockingQueue<>();
+      AtomicInteger submittedCount = new AtomicInteger();
+      AtomicInteger startedCount = new AtomicInteger();
+      AtomicInteger maxInFlight = new AtomicInteger();
+      Executor held = task -> {
+        maxInFlight.accumulateAndGet(submittedCount.incrementAndGet() - startedCount.get(), Math::max);
+        submitted.add(task);
+      };
+
+      // When
+      FutureTask<StructuralValidationResult> result = new FutureTask<>(
+          () -> new StructuralValidator(RecordFormat.CSV, 10, 4, 16, held).validate(file));
+      Thread running = new Thread(result);
+      running.start();
+      while (!result.isDone()) {
+        Runnable task = submitted.poll(10, TimeUnit.MILLISECONDS);
+        if (task != null) {
+          // Let the submitting thread run ahead until it waits for a chunk
+          while (running.getState() == Thread.State.RUNNABLE) {
+            Thread.sleep(1);
+          }
+          startedCount.incrementAndGet();
+          task.run();
+        }
+      }
+
+      // Then
+      assertThat(result.get()).isEqualTo(validate(RecordFormat.CSV, file));
+      assertThat(maxInFlight.get()).isEqualTo(StructuralValidator.MAX_IN_FLIGHT_CHUNKS);
+    }
+
+    @Test
+    @DisplayName("Should accept empty files and reject missing ones")
+    void shouldHandleEmptyAndMissingFiles() throws IOException {
+      StructuralValidationResult empty = validate(RecordFormat.CSV, write(""));
+      assertThat(empty.isValid()).isTrue();
+      assertThat(empty.getRecords()).isZero();
+      assertThat(empty.getLines()).isZero();
+
+      assertThatThrownBy(() -> validate(RecordFormat.CSV, tempDir.resolve("missing")))
+          .isInstanceOf(IOException.class);
+    }
+  }
+}
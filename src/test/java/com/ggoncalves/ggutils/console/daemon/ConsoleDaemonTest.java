@@ -0,0 +1,295 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsoleDaemonTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private Path socketPath;
+  private ConsoleDaemon daemon;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    socketPath = tempDir.resolve("daemon.sock");
+    daemon = new ConsoleDaemon(socketPath, ConsoleDaemonTest::echo).start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    daemon.close();
+  }
+
+  /**
+   * Echoes its arguments, a resolved path, an environment variable and its standard input.
+   */
+  private static int echo(String[] args, InvocationContext context) throws Exception {
+    if (args.length > 0 && args[0].equals("fail")) {
+      throw new IllegalStateException("boom");
+    }
+    if (args.length > 0 && args[0].equals("ignore-stdin")) {
+      context.getOut().print("ignored");
+      return 0;
+    }
+    context.getOut().println("args=" + String.join(",", args));
+    context.getOut().println("resolved=" + context.resolve("input.csv"));
+    context.getOut().println("env=" + context.getenv("GREETING"));
+    context.getOut().print("stdin=" + new String(context.getIn().readAllBytes(), StandardCharsets.UTF_8));
+    context.getErr().print("done");
+    return args.length;
+  }
+
+  private static final class Invocation {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private int exitCode;
+
+    private Invocation run(Path socketPath, InputStream in, String... args) throws IOException {
+      InvocationContext context = new InvocationContext(Path.of("/work"), Map.of("GREETING", "hello"), in,
+          new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+      exitCode = new DaemonClient(socketPath).run(args, context);
+      return this;
+    }
+
+    private String out() {
+      return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String err() {
+      return err.toString(StandardCharsets.UTF_8);
+    }
+  }
+
+  private static InputStream stdin(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Nested
+  @DisplayName("Tests for invocations")
+  class InvocationTests {
+
+    @Test
+    @DisplayName("Should forward arguments, directory, environment, streams and exit code")
+    void shouldForwardInvocation() throws IOException {
+      // When
+      Invocation invocation = new Invocation().run(socketPath, stdin("line 1\nline 2\n"), "-i", "input.csv");
+
+      // Then
+      assertThat(invocation.exitCode).isEqualTo(2);
+      assertThat(invocation.out()).isEqualTo("""
+          args=-i,input.csv
+          resolved=/work/input.csv
+          env=hello
+          stdin=line 1
+          line 2
+          """);
+      assertThat(invocation.err()).isEqualTo("done");
+    }
+
+    @Test
+    @DisplayName("Should report a failing application on standard error")
+    void shouldReportFailingApplication() throws IOException {
+      // When
+      Invocation invocation = new Invocation().run(socketPath, stdin(""), "fail");
+
+      // Then
+      assertThat(invocation.exitCode).isEqualTo(ConsoleDaemon.EXIT_FAILURE);
+      assertThat(invocation.err()).contains("boom");
+      assertThat(invocation.out()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should forward large standard input")
+    void shouldForwardLargeStdin() throws IOException {
+      // Given
+      String large = "x".repeat(3 * 1024 * 1024);
+
+      // When
+      Invocation invocation = new Invocation().run(socketPath, stdin(large));
+
+      // Then
+      assertThat(invocation.out()).endsWith("stdin=" + large);
+    }
+
+    @Test
+    @DisplayName("Should finish an invocation that does not read a large standard input")
+    void shouldFinishInvocationIgnoringLargeStdin() throws IOException {
+      // Given
+      String large = "x".repeat(16 * 1024 * 1024);
+
+      // When
+      Invocation invocation = new Invocation().run(socketPath, stdin(large), "ignore-stdin");
+
+      // Then
+      assertThat(invocation.exitCode).isZero();
+      assertThat(invocation.out()).isEqualTo("ignored");
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent clients")
+    void shouldServeConcurrentClients() throws Exception {
+      // Given
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      List<Future<Invocation>> futures = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 50; i++) {
+        String arg = "client-" + i;
+        futures.add(executor.submit(() -> new Invocation().run(socketPath, stdin(arg), arg)));
+      }
+
+      // Then
+      for (int i = 0; i < futures.size(); i++) {
+        Invocation invocation = futures.get(i).get();
+        assertThat(invocation.exitCode).isEqualTo(1);
+        assertThat(invocation.out()).startsWith("args=client-" + i + "\n").endsWith("stdin=client-" + i);
+      }
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept requests larger than a stream frame")
+    void shouldAcceptLargeRequests() throws IOException {
+      // Given
+      String large = "a".repeat(2 * DaemonProtocol.MAX_FRAME_LENGTH);
+
+      // When
+      Invocation invocation = new Invocation().run(socketPath, stdin(""), large);
+
+      // Then
+      assertThat(invocation.exitCode).isEqualTo(1);
+      assertThat(invocation.out()).startsWith("args=" + large + "\n");
+    }
+
+    @Test
+    @DisplayName("Should answer an oversized request with an error")
+    void shouldAnswerOversizedRequestWithError() throws IOException {
+      try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+        // Given
+        DaemonProtocol.FrameWriter writer = new DaemonProtocol.FrameWriter(channel);
+        DaemonProtocol.FrameReader reader = new DaemonProtocol.FrameReader(channel);
+        channel.write(ByteBuffer.allocate(5).put(DaemonProtocol.REQUEST)
+            .putInt(DaemonProtocol.MAX_REQUEST_LENGTH + 1).flip());
+        writer.write(DaemonProtocol.STDIN, new byte[1024]);
+        channel.shutdownOutput();
+
+        // When
+        DaemonProtocol.Frame error = reader.read();
+        DaemonProtocol.Frame exit = reader.read();
+
+        // Then
+        assertThat(error.type()).isEqualTo(DaemonProtocol.STDERR);
+        assertThat(new String(error.payload(), StandardCharsets.UTF_8)).contains("Request too large");
+        assertThat(exit.type()).isEqualTo(DaemonProtocol.EXIT);
+        assertThat(ByteBuffer.wrap(exit.payload()).getInt()).isEqualTo(ConsoleDaemon.EXIT_FAILURE);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for the socket lifecycle")
+  class LifecycleTests {
+
+    @Test
+    @DisplayName("Should refuse to start when a daemon is already listening")
+    void shouldRefuseToStartTwice() {
+      // Given
+      ConsoleDaemon second = new ConsoleDaemon(socketPath, (args, context) -> 0);
+
+      // Then
+      assertThatThrownBy(second::start)
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("already listening");
+      second.close();
+    }
+
+    @Test
+    @DisplayName("Should replace a stale socket file and remove it on close")
+    void shouldReplaceStaleSocket() throws IOException {
+      // Given
+      Path stale = tempDir.resolve("stale.sock");
+      try (ServerSocketChannel previous = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+        previous.bind(UnixDomainSocketAddress.of(stale));
+      }
+      assertThat(stale).exists();
+
+      // When
+      ConsoleDaemon replacement = new ConsoleDaemon(stale, (args, context) -> 7).start();
+      int exitCode = new Invocation().run(stale, stdin("")).exitCode;
+      replacement.close();
+
+      // Then
+      assertThat(exitCode).isEqualTo(7);
+      assertThat(stale).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should refuse to replace a file that is not a socket")
+    void shouldRefuseToReplaceOtherFiles() throws IOException {
+      // Given
+      Path file = Files.writeString(tempDir.resolve("notes.txt"), "keep me");
+      ConsoleDaemon other = new ConsoleDaemon(file, (args, context) -> 0);
+
+      // Then
+      assertThatThrownBy(other::start)
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("Not a socket");
+      assertThat(file).hasContent("keep me");
+      other.close();
+    }
+
+    @Test
+    @DisplayName("Should make the socket private to its owner and leave nothing else behind")
+    void shouldMakeSocketPrivate() throws IOException {
+      // Then
+      assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(socketPath))).isEqualTo("rw-------");
+      try (Stream<Path> files = Files.list(tempDir)) {
+        assertThat(files).containsExactly(socketPath);
+      }
+    }
+
+    @Test
+    @DisplayName("Should fail the client when no daemon is listening")
+    void shouldFailClientWithoutDaemon() {
+      // Given
+      daemon.close();
+
+      // Then
+      assertThatThrownBy(() -> new Invocation().run(socketPath, stdin("")))
+          .isInstanceOf(IOException.class);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import com.ggoncalves.ggutils.console.daemon.DaemonProtocol.Request;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DaemonProtocolTest {
+
+  @Test
+  @DisplayName("Should round-trip a request")
+  void shouldRoundTripRequest() throws IOException {
+    // Given
+    Request request = new Request(new String[]{"-i", "café.csv", ""}, Path.of("/work/dir"),
+        Map.of("HOME", "/home/user", "EMPTY", ""));
+
+    // When
+    Request decoded = Request.decode(request.encode());
+
+    // Then
+    assertThat(decoded.args()).containsExactly("-i", "café.csv", "");
+    assertThat(decoded.workingDirectory()).isEqualTo(Path.of("/work/dir"));
+    assertThat(decoded.environment()).isEqualTo(request.environment());
+  }
+
+  @Test
+  @DisplayName("Should reject a truncated request")
+  void shouldRejectTruncatedRequest() throws IOException {
+    // Given
+    byte[] encoded = new Request(new String[]{"argument"}, Path.of("/"), Map.of()).encode();
+
+    // Then
+    assertThatThrownBy(() -> Request.decode(Arrays.copyOf(encoded, 6)))
+        .isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,87 @@
+package com.ggoncalves.ggutils.console.daemon;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StdinInputStreamTest {
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static CompletableFuture<Void> offerAsync(StdinInputStream stdin, byte[] chunk) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        stdin.offer(chunk);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+  }
+
+  @Test
+  @DisplayName("Should read the offered chunks in order until the end")
+  void shouldReadChunksInOrder() throws Exception {
+    // Given
+    StdinInputStream stdin = new StdinInputStream();
+
+    // When
+    stdin.offer(bytes("line 1\n"));
+    stdin.offer(bytes("line 2\n"));
+    stdin.end();
+
+    // Then
+    assertThat(new String(stdin.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("line 1\nline 2\n");
+    assertThat(stdin.read()).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("Should make the writer wait once the queue is full, until the input is read")
+  void shouldPushBackWhenFull() throws Exception {
+    // Given
+    StdinInputStream stdin = new StdinInputStream();
+    for (int i = 0; i < StdinInputStream.MAX_QUEUED_CHUNKS; i++) {
+      stdin.offer(bytes("x"));
+    }
+
+    // When
+    CompletableFuture<Void> blocked = offerAsync(stdin, bytes("y"));
+    Thread.sleep(100);
+    boolean doneBeforeRead = blocked.isDone();
+    int first = stdin.read();
+
+    // Then
+    assertThat(doneBeforeRead).isFalse();
+    assertThat(first).isEqualTo('x');
+    blocked.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("Should release a waiting writer and discard further input once closed")
+  void shouldDiscardInputOnceClosed() throws Exception {
+    // Given
+    StdinInputStream stdin = new StdinInputStream();
+    for (int i = 0; i < StdinInputStream.MAX_QUEUED_CHUNKS; i++) {
+      stdin.offer(bytes("x"));
+    }
+    CompletableFuture<Void> blocked = offerAsync(stdin, bytes("y"));
+
+    // When
+    stdin.close();
+
+    // Then
+    blocked.get(5, TimeUnit.SECONDS);
+    for (int i = 0; i < StdinInputStream.MAX_QUEUED_CHUNKS * 2; i++) {
+      stdin.offer(bytes("z"));
+    }
+    stdin.end();
+    assertThat(stdin.read()).isEqualTo(-1);
+  }
+}
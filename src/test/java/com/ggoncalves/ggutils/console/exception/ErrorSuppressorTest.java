@@ -0,0 +1,210 @@
+package com.ggoncalves.ggutils.console.exception;
+
+import com.ggoncalves.ggutils.console.exception.ErrorSuppressor.SuppressedErrors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ErrorSuppressorTest {
+
+  private static final Duration WINDOW = Duration.ofSeconds(10);
+
+  private final long[] now = {0};
+  private ErrorSuppressor suppressor;
+  private List<SuppressedErrors> summaries;
+
+  @BeforeEach
+  void setUp() {
+    suppressor = new ErrorSuppressor(WINDOW, 3, () -> now[0]);
+    summaries = new ArrayList<>();
+  }
+
+  private void advance(Duration duration) {
+    now[0] += duration.toNanos();
+  }
+
+  private static InvalidFileException missing(int i) {
+    return new InvalidFileException("Cannot read /data/file-" + i + " after " + i + " retries");
+  }
+
+  private ErrorFingerprint lastFingerprint;
+
+  private int acquired(int occurrences) {
+    int acquired = 0;
+    for (int i = 0; i < occurrences; i++) {
+      InvalidFileException e = missing(i);
+      lastFingerprint = ErrorFingerprint.of(e);
+      if (suppressor.tryAcquire(e)) acquired++;
+    }
+    return acquired;
+  }
+
+  @Nested
+  @DisplayName("Tests for fingerprints")
+  class FingerprintTests {
+
+    @Test
+    @DisplayName("Should blank out paths and numbers in the message")
+    void shouldBlankOutPathsAndNumbers() {
+      assertThat(ErrorFingerprint.template("Cannot read /data/file-12 after 3 retries"))
+          .isEqualTo("Cannot read <path> after # retries");
+      assertThat(ErrorFingerprint.template("Access denied: C:\\\\temp\\\\x.txt (code 0x1F)"))
+          .isEqualTo("Access denied: <path> (code #x#F)");
+      assertThat(ErrorFingerprint.template(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should blank out relative file names but not version numbers")
+    void shouldBlankOutRelativeFileNames() {
+      assertThat(ErrorFingerprint.template("Cannot open foo.txt")).isEqualTo("Cannot open <path>");
+      assertThat(ErrorFingerprint.template("Cannot open bar.txt")).isEqualTo("Cannot open <path>");
+      assertThat(ErrorFingerprint.template("Corrupt archive 'data-7.tar.gz', retrying."))
+          .isEqualTo("Corrupt archive <path> retrying.");
+      assertThat(ErrorFingerprint.template("Needs version 1.5 or java.lang.IllegalStateException"))
+          .isEqualTo("Needs version #.# or java.lang.IllegalStateException");
+    }
+
+    @Test
+    @DisplayName("Should match an exception in place as its fingerprint would")
+    void shouldMatchInPlace() {
+      // Given
+      List<InvalidFileException> sameSite = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        sameSite.add(missing(i + 1));
+      }
+      ErrorFingerprint fingerprint = ErrorFingerprint.of(sameSite.get(0));
+      InvalidFileException e = sameSite.get(1);
+
+      // When & Then
+      assertThat(fingerprint.matches(e, e.getStackTrace())).isTrue();
+      assertThat(fingerprint.matches(missing(8), new StackTraceElement[0])).isFalse();
+      assertThat(fingerprint.matches(new InvalidFileException("Cannot read /x after 1 retry"),
+          e.getStackTrace())).isFalse();
+      assertThat(fingerprint.matches(new InvalidFileException("Cannot read /x after 1 retries!"),
+          e.getStackTrace())).isFalse();
+      assertThat(fingerprint.matches(new FilePermissionException("Cannot read /x after 1 retries"),
+          e.getStackTrace())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should tell errors apart by type and throw site")
+    void shouldTellErrorsApart() {
+      List<ErrorFingerprint> sameSite = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        sameSite.add(ErrorFingerprint.of(missing(i)));
+      }
+      ErrorFingerprint first = sameSite.get(0);
+      ErrorFingerprint second = sameSite.get(1);
+      ErrorFingerprint otherSite = ErrorFingerprint.of(missing(1));
+      ErrorFingerprint otherType = ErrorFingerprint.of(new FilePermissionException("Cannot read /data/file-1 after 1 retries"));
+
+      assertThat(first).isEqualTo(second);
+      assertThat(first).isNotEqualTo(otherType);
+      assertThat(first).isNotEqualTo(otherSite);
+      assertThat(first.topFrames()).hasSize(ErrorFingerprint.TOP_FRAMES);
+      assertThat(first.toString()).startsWith("InvalidFileException: Cannot read <path> after # retries at ");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for rate limiting")
+  class RateLimitTests {
+
+    @Test
+    @DisplayName("Should let maxPerWindow occurrences through per window")
+    void shouldLimitPerWindow() {
+      for (int window = 0; window < 2; window++) {
+        assertThat(acquired(100)).isEqualTo(3);
+        advance(WINDOW);
+      }
+      assertThat(suppressor.getOccurrences(lastFingerprint)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should count each fingerprint of a busy throw site apart")
+    void shouldCountFingerprintsOfBusySiteApart() {
+      // Given
+      int fingerprints = ErrorSuppressor.MAX_INDEXED_PER_SITE + 4;
+      List<ErrorFingerprint> seen = new ArrayList<>();
+
+      // When
+      for (int round = 0; round < 5; round++) {
+        for (int i = 0; i < fingerprints; i++) {
+          InvalidFileException e = new InvalidFileException("Cannot read: error" + (char) ('a' + i));
+          if (round == 0) seen.add(ErrorFingerprint.of(e));
+          suppressor.tryAcquire(e);
+        }
+      }
+
+      // Then
+      assertThat(seen).doesNotHaveDuplicates();
+      for (ErrorFingerprint fingerprint : seen) {
+        assertThat(suppressor.getOccurrences(fingerprint)).isEqualTo(5);
+      }
+    }
+
+    @Test
+    @DisplayName("Should not let anything through with a zero limit")
+    void shouldSuppressEverythingWithZeroLimit() {
+      suppressor = new ErrorSuppressor(WINDOW, 0, () -> now[0]);
+      assertThat(acquired(10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive window")
+    void shouldRejectNonPositiveWindow() {
+      assertThatThrownBy(() -> new ErrorSuppressor(Duration.ZERO, 1))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("window");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for summaries")
+  class SummaryTests {
+
+    @Test
+    @DisplayName("Should report suppressed counts once per window")
+    void shouldReportOncePerWindow() {
+      // Given
+      acquired(10);
+
+      // When
+      suppressor.drainSummaries(summaries::add);
+      advance(WINDOW);
+      suppressor.drainSummaries(summaries::add);
+      suppressor.drainSummaries(summaries::add);
+
+      // Then
+      assertThat(summaries).hasSize(1);
+      assertThat(summaries.get(0).suppressed()).isEqualTo(7);
+      assertThat(summaries.get(0).total()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should forget fingerprints idle for a whole window")
+    void shouldForgetIdleFingerprints() {
+      // Given
+      acquired(10);
+      suppressor.drainAll(summaries::add);
+
+      // When
+      advance(WINDOW);
+      suppressor.drainAll(summaries::add);
+
+      // Then
+      assertThat(summaries).hasSize(1);
+      assertThat(suppressor.getOccurrences(lastFingerprint)).isZero();
+      assertThat(acquired(1)).isEqualTo(1);
+      assertThat(suppressor.getOccurrences(lastFingerprint)).isEqualTo(1);
+    }
+  }
+}
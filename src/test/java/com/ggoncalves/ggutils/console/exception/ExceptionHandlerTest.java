@@ -7,6 +7,9 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
@@ -138,4 +141,87 @@ class ExceptionHandlerTest {
       assertTestAppenderMessage(ExceptionHandler.UNEXPECTED_ERROR_MESSAGE + "null", 2);
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Tests for error suppression")
+  class SuppressionTests {
+
+    private final long[] now = {0};
+    private ExceptionHandler suppressingHandler;
+
+    @BeforeEach
+    void setUp() {
+      suppressingHandler = new ExceptionHandler(new ErrorSuppressor(Duration.ofSeconds(10), 2, () -> now[0]));
+    }
+
+    private void handleMissingFiles(int count) {
+      for (int i = 0; i < count; i++) {
+        suppressingHandler.handle(new InvalidFileException("The input file does not exist: /mnt/share/file-" + i));
+      }
+    }
+
+    @Test
+    @DisplayName("Should log only the first occurrences of a repeated error within a window")
+    void shouldSuppressRepeatedErrors() {
+      // When
+      handleMissingFiles(50);
+
+      // Then
+      assertThat(testAppender.getMessages()).hasSize(2);
+      assertThat(testAppender.getMessages().get(1)).contains("/mnt/share/file-1");
+    }
+
+    @Test
+    @DisplayName("Should report suppressed occurrences once the window has elapsed")
+    void shouldReportSuppressedOccurrences() {
+      // Given
+      handleMissingFiles(50);
+      testAppender.clear();
+      now[0] += Duration.ofSeconds(10).toNanos();
+
+      // When
+      handleMissingFiles(1);
+
+      // Then
+      assertThat(testAppender.getMessages()).hasSize(2);
+      assertThat(testAppender.getMessages().get(0))
+          .startsWith("48 more occurrences suppressed (50 in total): InvalidFileException: The input file does not exist: <path>");
+      assertThat(testAppender.getMessages().get(1)).contains("/mnt/share/file-0");
+    }
+
+    @Test
+    @DisplayName("Should report pending suppressed occurrences on flush")
+    void shouldReportPendingOnFlush() {
+      // Given
+      handleMissingFiles(5);
+      testAppender.clear();
+
+      // When
+      suppressingHandler.flushSuppressed();
+      suppressingHandler.flushSuppressed();
+
+      // Then
+      assertTestAppenderMessage("3 more occurrences suppressed (5 in total)");
+    }
+
+    @Test
+    @DisplayName("Should report suppressed occurrences after a quiet window, without another error")
+    void shouldReportSuppressedOccurrencesWhenQuiet() throws InterruptedException {
+      // Given
+      AtomicLong clock = new AtomicLong();
+      suppressingHandler = new ExceptionHandler(new ErrorSuppressor(Duration.ofMillis(50), 2, clock::get));
+      handleMissingFiles(5);
+      testAppender.clear();
+
+      // When
+      clock.addAndGet(Duration.ofMillis(50).toNanos());
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while (testAppender.getMessages().isEmpty() && System.nanoTime() < deadline) {
+        Thread.sleep(20);
+      }
+
+      // Then
+      assertTestAppenderMessage("3 more occurrences suppressed (5 in total)");
+    }
+  }
+}
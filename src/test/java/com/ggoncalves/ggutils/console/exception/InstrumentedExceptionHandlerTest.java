@@ -0,0 +1,33 @@
+package com.ggoncalves.ggutils.console.exception;
+
+import com.ggoncalves.ggutils.console.metrics.ConsoleMetrics;
+import com.ggoncalves.ggutils.console.metrics.OperationMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedExceptionHandlerTest {
+
+  @Test
+  @DisplayName("Should count every branch, suppressed or not")
+  void shouldCountBranches() {
+    // Given
+    ConsoleMetrics consoleMetrics = new ConsoleMetrics();
+    InstrumentedExceptionHandler handler = new InstrumentedExceptionHandler(new ErrorSuppressor(), consoleMetrics);
+
+    // When
+    for (int i = 0; i < 20; i++) {
+      handler.handle(new InvalidFileException("Missing /data/file-" + i));
+    }
+    handler.handle(new FilePermissionException("Access denied"));
+    handler.handle(new IllegalStateException("boom"));
+
+    // Then
+    OperationMetrics metrics = consoleMetrics.operation(InstrumentedExceptionHandler.HANDLE);
+    assertThat(metrics.getCount()).isEqualTo(22);
+    assertThat(metrics.getCount("invalidFile")).isEqualTo(20);
+    assertThat(metrics.getCount("permission")).isEqualTo(1);
+    assertThat(metrics.getCount("unexpected")).isEqualTo(1);
+  }
+}
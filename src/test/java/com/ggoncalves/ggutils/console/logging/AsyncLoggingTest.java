@@ -0,0 +1,84 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicyFactory;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncLoggingTest {
+
+  private static final String[] PROPERTIES = {
+      AsyncLogging.CONFIGURATION_FACTORY_PROPERTY, AsyncLogging.QUEUE_FULL_POLICY_PROPERTY, AsyncLogging.OVERFLOW_PROPERTY,
+      AsyncLogging.SAMPLE_RATE_PROPERTY, AsyncLogging.BUFFER_SIZE_PROPERTY
+  };
+
+  @AfterEach
+  void tearDown() {
+    for (String property : PROPERTIES) {
+      System.clearProperty(property);
+    }
+  }
+
+  @Test
+  @DisplayName("Should select the async configuration factory and the overflow policy")
+  void shouldSelectAsyncConfigurationAndPolicy() {
+    // When
+    AsyncLogging.enable(OverflowPolicy.SAMPLE, 8, 64);
+
+    // Then
+    assertThat(System.getProperty(AsyncLogging.CONFIGURATION_FACTORY_PROPERTY))
+        .isEqualTo(AsyncConfigurationFactory.class.getName());
+    assertThat(AsyncLogging.configuredOverflowPolicy()).isEqualTo(OverflowPolicy.SAMPLE);
+    assertThat(AsyncLogging.configuredSampleRate()).isEqualTo(8);
+    assertThat(AsyncLogging.configuredBufferSize()).isEqualTo(64);
+    assertThat(AsyncQueueFullPolicyFactory.create()).isInstanceOf(OverflowQueueFullPolicy.class);
+  }
+
+  @Test
+  @DisplayName("Should default to BLOCK when not configured")
+  void shouldDefaultToBlock() {
+    assertThat(AsyncLogging.configuredOverflowPolicy()).isEqualTo(OverflowPolicy.BLOCK);
+    assertThat(AsyncLogging.configuredSampleRate()).isEqualTo(AsyncLogging.DEFAULT_SAMPLE_RATE);
+    assertThat(AsyncLogging.configuredBufferSize()).isEqualTo(AsyncLogging.DEFAULT_BUFFER_SIZE);
+  }
+
+  @Test
+  @DisplayName("Should reject a non-positive buffer size")
+  void shouldRejectNonPositiveBufferSize() {
+    assertThatThrownBy(() -> AsyncLogging.enable(OverflowPolicy.BLOCK, 1, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("bufferSize");
+  }
+
+  @Test
+  @DisplayName("Should route every logger of an XML configuration through a bounded async appender")
+  void shouldWrapLoggerAppenders() throws IOException {
+    // Given
+    LoggerContext context = new LoggerContext("async-logging-test");
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream("log4j2.xml")) {
+      AsyncXmlConfiguration configuration = new AsyncXmlConfiguration(context, new ConfigurationSource(input), 16);
+
+      // When
+      configuration.initialize();
+      configuration.start();
+
+      // Then
+      assertThat(configuration.getAsyncAppenders()).hasSize(1);
+      BoundedAsyncAppender appender = configuration.getAsyncAppenders().get(0);
+      assertThat(appender.getBufferCapacity()).isEqualTo(16);
+      assertThat(appender.isStarted()).isTrue();
+      assertThat(configuration.getRootLogger().getAppenders()).containsOnlyKeys(appender.getName());
+      configuration.stop();
+      assertThat(appender.isStopped()).isTrue();
+    }
+  }
+}
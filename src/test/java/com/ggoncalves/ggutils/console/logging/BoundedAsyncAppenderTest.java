@@ -0,0 +1,151 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.message.ReusableSimpleMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedAsyncAppenderTest {
+
+  private BoundedAsyncAppender asyncAppender;
+
+  @AfterEach
+  void tearDown() {
+    if (asyncAppender != null) {
+      asyncAppender.stop(1, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Records events; the first one waits until the gate is opened, holding the dispatcher.
+   */
+  private static final class RecordingAppender extends AbstractAppender {
+    private final List<LogEvent> events = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch gate;
+    private final CountDownLatch firstReceived = new CountDownLatch(1);
+
+    private RecordingAppender(CountDownLatch gate) {
+      super("Recording", null, null, true, Property.EMPTY_ARRAY);
+      this.gate = gate;
+      start();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+      firstReceived.countDown();
+      try {
+        gate.await(5, TimeUnit.SECONDS);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      events.add(event);
+    }
+
+    private List<String> messages() {
+      synchronized (events) {
+        return events.stream().map(event -> event.getMessage().getFormattedMessage()).toList();
+      }
+    }
+  }
+
+  private BoundedAsyncAppender start(RecordingAppender recording, int bufferSize, OverflowPolicy policy) {
+    asyncAppender = new BoundedAsyncAppender("test", bufferSize,
+        List.of(new AppenderControl(recording, null, null)), new OverflowQueueFullPolicy(policy, 2));
+    asyncAppender.start();
+    return asyncAppender;
+  }
+
+  private static LogEvent event(String message) {
+    return Log4jLogEvent.newBuilder()
+        .setLoggerName("test")
+        .setLevel(Level.ERROR)
+        .setMessage(new SimpleMessage(message))
+        .setThreadName("worker-1")
+        .build();
+  }
+
+  @Test
+  @DisplayName("Should deliver events in order and drain them on stop")
+  void shouldDeliverInOrder() {
+    // Given
+    RecordingAppender recording = new RecordingAppender(new CountDownLatch(0));
+    BoundedAsyncAppender appender = start(recording, 16, OverflowPolicy.BLOCK);
+
+    // When
+    for (int i = 0; i < 100; i++) {
+      appender.append(event("event-" + i));
+    }
+    appender.stop(5, TimeUnit.SECONDS);
+
+    // Then
+    assertThat(recording.messages()).hasSize(100).startsWith("event-0", "event-1").endsWith("event-99");
+    assertThat(recording.events.get(0).getThreadName()).isEqualTo("worker-1");
+    assertThat(recording.events.get(99).isEndOfBatch()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should copy reusable events before the logging thread reuses them")
+  void shouldCopyReusableEvents() throws InterruptedException {
+    // Given
+    CountDownLatch gate = new CountDownLatch(1);
+    RecordingAppender recording = new RecordingAppender(gate);
+    BoundedAsyncAppender appender = start(recording, 16, OverflowPolicy.BLOCK);
+    MutableLogEvent reused = new MutableLogEvent();
+    ReusableSimpleMessage message = new ReusableSimpleMessage();
+
+    // When
+    for (String text : List.of("first", "second", "third")) {
+      // As Log4j2's ReusableLogEventFactory does between two calls
+      reused.clear();
+      message.set(text);
+      reused.setMessage(message);
+      reused.setLevel(Level.ERROR);
+      appender.append(reused);
+    }
+    assertThat(recording.firstReceived.await(5, TimeUnit.SECONDS)).isTrue();
+    gate.countDown();
+    appender.stop(5, TimeUnit.SECONDS);
+
+    // Then
+    assertThat(recording.messages()).containsExactly("first", "second", "third");
+  }
+
+  @Test
+  @DisplayName("Should drop events once the buffer is full with DROP")
+  void shouldDropWhenFull() throws InterruptedException {
+    // Given
+    CountDownLatch gate = new CountDownLatch(1);
+    RecordingAppender recording = new RecordingAppender(gate);
+    BoundedAsyncAppender appender = start(recording, 2, OverflowPolicy.DROP);
+
+    // When
+    appender.append(event("held"));
+    assertThat(recording.firstReceived.await(5, TimeUnit.SECONDS)).isTrue();
+    for (int i = 0; i < 5; i++) {
+      appender.append(event("queued-" + i));
+    }
+    gate.countDown();
+    appender.stop(5, TimeUnit.SECONDS);
+
+    // Then
+    assertThat(recording.messages()).containsExactly("held", "queued-0", "queued-1");
+    assertThat(appender.getBufferCapacity()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,75 @@
+package com.ggoncalves.ggutils.console.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OverflowQueueFullPolicyTest {
+
+  private static final long OTHER_THREAD_ID = -1;
+
+  private static List<EventRoute> routes(OverflowQueueFullPolicy policy, int events) {
+    List<EventRoute> routes = new ArrayList<>();
+    for (int i = 0; i < events; i++) {
+      routes.add(policy.getRoute(OTHER_THREAD_ID, Level.ERROR));
+    }
+    return routes;
+  }
+
+  @Test
+  @DisplayName("Should wait for room with BLOCK")
+  void shouldEnqueueWithBlock() {
+    assertThat(routes(new OverflowQueueFullPolicy(OverflowPolicy.BLOCK, 1), 5)).containsOnly(EventRoute.ENQUEUE);
+  }
+
+  @Test
+  @DisplayName("Should discard and count every event with DROP")
+  void shouldDiscardWithDrop() {
+    // Given
+    long discardedBefore = OverflowQueueFullPolicy.getDiscardedCount();
+
+    // When
+    List<EventRoute> routes = routes(new OverflowQueueFullPolicy(OverflowPolicy.DROP, 1), 5);
+
+    // Then
+    assertThat(routes).containsOnly(EventRoute.DISCARD);
+    assertThat(OverflowQueueFullPolicy.getDiscardedCount() - discardedBefore).isGreaterThanOrEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Should keep one event out of sampleRate with SAMPLE")
+  void shouldKeepOneOutOfSampleRate() {
+    // When
+    List<EventRoute> routes = routes(new OverflowQueueFullPolicy(OverflowPolicy.SAMPLE, 4), 12);
+
+    // Then
+    assertThat(routes).filteredOn(route -> route == EventRoute.ENQUEUE).hasSize(3);
+    assertThat(routes.get(0)).isEqualTo(EventRoute.ENQUEUE);
+    assertThat(routes.subList(1, 4)).containsOnly(EventRoute.DISCARD);
+  }
+
+  @Test
+  @DisplayName("Should log synchronously when called from the background thread")
+  void shouldLogSynchronouslyFromBackgroundThread() {
+    // Given
+    OverflowQueueFullPolicy policy = new OverflowQueueFullPolicy(OverflowPolicy.BLOCK, 1);
+
+    // Then
+    assertThat(policy.getRoute(Thread.currentThread().getId(), Level.ERROR)).isEqualTo(EventRoute.SYNCHRONOUS);
+  }
+
+  @Test
+  @DisplayName("Should reject a non-positive sample rate")
+  void shouldRejectNonPositiveSampleRate() {
+    assertThatThrownBy(() -> new OverflowQueueFullPolicy(OverflowPolicy.SAMPLE, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("sampleRate");
+  }
+}
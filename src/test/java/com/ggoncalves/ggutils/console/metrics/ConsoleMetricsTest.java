@@ -0,0 +1,89 @@
+package com.ggoncalves.ggutils.console.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsoleMetricsTest {
+
+  private ConsoleMetrics metrics;
+  private MBeanServer server;
+
+  @BeforeEach
+  void setUp() {
+    metrics = new ConsoleMetrics();
+    server = MBeanServerFactory.newMBeanServer();
+  }
+
+  @AfterEach
+  void tearDown() {
+    metrics.unregisterMBeans();
+  }
+
+  @Test
+  @DisplayName("Should return the same metrics for the same operation")
+  void shouldReuseOperations() {
+    assertThat(metrics.operation("parseArgs")).isSameAs(metrics.operation("parseArgs"));
+    assertThat(metrics.getOperations()).containsOnlyKeys("parseArgs");
+  }
+
+  @Test
+  @DisplayName("Should publish operations as MXBeans, including later ones")
+  void shouldPublishOperations() throws Exception {
+    // Given
+    metrics.operation("parseArgs").record("ok", 2_000);
+    metrics.registerMBeans(server);
+
+    // When
+    metrics.operation("handle").record("invalidFile", 4_000);
+    metrics.operation("handle").record("unexpected", 8_000);
+
+    // Then
+    ObjectName handle = ConsoleMetrics.objectName("handle");
+    assertThat(server.isRegistered(ConsoleMetrics.objectName("parseArgs"))).isTrue();
+    assertThat(server.getAttribute(handle, "Count")).isEqualTo(2L);
+    assertThat((double) server.getAttribute(handle, "MaxMicros")).isEqualTo(8.0);
+
+    TabularData outcomes = (TabularData) server.getAttribute(handle, "Outcomes");
+    CompositeData invalidFile = (CompositeData) outcomes.get(new Object[]{"invalidFile"}).get("value");
+    assertThat(invalidFile.get("count")).isEqualTo(1L);
+
+    server.invoke(handle, "reset", null, null);
+    assertThat(server.getAttribute(handle, "Count")).isEqualTo(0L);
+  }
+
+  @Test
+  @DisplayName("Should unregister every MXBean")
+  void shouldUnregisterMBeans() throws Exception {
+    // Given
+    metrics.operation("parseArgs");
+    metrics.registerMBeans(server);
+
+    // When
+    metrics.unregisterMBeans();
+
+    // Then
+    assertThat(server.isRegistered(ConsoleMetrics.objectName("parseArgs"))).isFalse();
+    assertThatThrownBy(() -> {
+      metrics.registerMBeans(server);
+      metrics.registerMBeans(server);
+    }).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Should quote operation names that are not valid object name values")
+  void shouldQuoteSpecialNames() throws Exception {
+    assertThat(ConsoleMetrics.objectName("a=b").getKeyProperty("name")).isEqualTo("\"a=b\"");
+    assertThat(ConsoleMetrics.objectName("plain").getKeyProperty("name")).isEqualTo("plain");
+  }
+}
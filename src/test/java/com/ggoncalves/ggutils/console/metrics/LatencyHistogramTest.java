@@ -0,0 +1,112 @@
+package com.ggoncalves.ggutils.console.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+  @Nested
+  @DisplayName("Tests for buckets")
+  class BucketTests {
+
+    @Test
+    @DisplayName("Should place every value between the bounds of its bucket")
+    void shouldPlaceValuesWithinBucketBounds() {
+      for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+        int index = LatencyHistogram.bucketIndex(value);
+        assertThat(index).isBetween(0, LatencyHistogram.BUCKETS - 1);
+        assertThat(LatencyHistogram.bucketLowerBound(index)).isLessThanOrEqualTo(value);
+        assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+      }
+    }
+
+    @Test
+    @DisplayName("Should keep buckets contiguous and within 12.5% of their lower bound")
+    void shouldKeepBucketsContiguous() {
+      for (int index = 1; index < LatencyHistogram.BUCKETS; index++) {
+        long lower = LatencyHistogram.bucketLowerBound(index);
+        assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isEqualTo(lower - 1);
+        assertThat(LatencyHistogram.bucketIndex(lower)).isEqualTo(index);
+        if (index + 1 < LatencyHistogram.BUCKETS && lower >= LatencyHistogram.SUB_BUCKETS) {
+          long width = LatencyHistogram.bucketUpperBound(index) - lower + 1;
+          assertThat((double) width / lower).isLessThanOrEqualTo(0.125);
+        }
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for percentiles")
+  class PercentileTests {
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void shouldReportPercentiles() {
+      // Given
+      LatencyHistogram histogram = new LatencyHistogram();
+
+      // When
+      for (long micros = 1; micros <= 10_000; micros++) {
+        histogram.record(micros * 1_000);
+      }
+
+      // Then
+      LatencySnapshot snapshot = histogram.snapshot();
+      assertThat(snapshot.getCount()).isEqualTo(10_000);
+      assertThat(snapshot.getMeanMicros()).isCloseTo(5_000.5, within(0.01));
+      assertThat(snapshot.getP50Micros()).isBetween(5_000.0, 5_000 * 1.125);
+      assertThat(snapshot.getP99Micros()).isBetween(9_900.0, 9_900 * 1.125);
+      assertThat(snapshot.getP999Micros()).isBetween(9_990.0, 10_000.0);
+      assertThat(snapshot.getMaxMicros()).isEqualTo(10_000.0);
+    }
+
+    @Test
+    @DisplayName("Should report zeros when empty and after a reset")
+    void shouldReportZerosWhenEmpty() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      assertThat(histogram.getPercentileNanos(99)).isZero();
+
+      histogram.record(-5);
+      histogram.record(1_000);
+      histogram.reset();
+
+      assertThat(histogram.snapshot()).isEqualTo(new LatencySnapshot(0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should not lose values recorded concurrently")
+    void shouldRecordConcurrently() throws Exception {
+      // Given
+      LatencyHistogram histogram = new LatencyHistogram();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      List<Future<?>> futures = new ArrayList<>();
+
+      // When
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 100_000; i++) {
+            histogram.record(i % 1_000);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      executor.shutdown();
+
+      // Then
+      assertThat(histogram.getCount()).isEqualTo(400_000);
+      assertThat(histogram.getPercentileNanos(100)).isEqualTo(999);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.ggoncalves.ggutils.console.output;
+
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutputDirectoryTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private static long countFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for opening")
+  class OpenTests {
+
+    @Test
+    @DisplayName("Should reject what validateOutputDir rejects, with the same messages")
+    void shouldValidateDirectory() throws IOException {
+      Path file = Files.createFile(tempDir.resolve("file"));
+
+      assertThatThrownBy(() -> OutputDirectory.open(tempDir.resolve("missing")))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessageContaining("The output directory does not exist");
+      assertThatThrownBy(() -> OutputDirectory.open(file))
+          .isInstanceOf(InvalidFileException.class)
+          .hasMessageContaining("The output path must be a directory");
+    }
+
+    @Test
+    @DisplayName("Should reject names escaping the directory")
+    void shouldRejectEscapingNames() {
+      OutputDirectory directory = OutputDirectory.open(tempDir);
+
+      assertThatThrownBy(() -> directory.create("../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> directory.create(".")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject names escaping the directory through a symbolic link")
+    void shouldRejectNamesEscapingThroughSymbolicLink() throws IOException {
+      // Given
+      Path root = Files.createDirectory(tempDir.resolve("root"));
+      Path outside = Files.createDirectory(tempDir.resolve("outside"));
+      Files.createSymbolicLink(root.resolve("link"), outside);
+      OutputDirectory directory = OutputDirectory.open(root);
+
+      // When & Then
+      assertThatThrownBy(() -> directory.create("link/escaped.txt"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("Output file must be inside");
+      assertThatThrownBy(() -> directory.create("link/sub/escaped.txt"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("Output file must be inside");
+      assertThat(outside.resolve("escaped.txt")).doesNotExist();
+      assertThat(outside.resolve("sub/escaped.txt")).doesNotExist();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for output files")
+  class OutputFileTests {
+
+    @Test
+    @DisplayName("Should only show the file under its name once committed")
+    void shouldCommitAtomically() throws IOException {
+      // Given
+      OutputDirectory directory = OutputDirectory.open(tempDir);
+      Path target = tempDir.resolve("sub/result.txt");
+
+      // When
+      try (OutputFile file = directory.create("sub/result.txt")) {
+        file.write("hello ".getBytes(StandardCharsets.UTF_8));
+        try (OutputStream out = file.asOutputStream()) {
+          out.write("world".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(target).doesNotExist();
+        assertThat(countFiles(target.getParent())).isEqualTo(1);
+        file.commit();
+      }
+
+      // Then
+      assertThat(target).hasContent("hello world");
+      assertThat(countFiles(target.getParent())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete the temporary file when closed without committing")
+    void shouldAbortOnClose() throws IOException {
+      // Given
+      OutputDirectory directory = OutputDirectory.open(tempDir);
+      Files.writeString(tempDir.resolve("result.txt"), "previous");
+
+      // When
+      OutputFile file = directory.create("result.txt");
+      file.write(new byte[]{1, 2, 3});
+      file.close();
+
+      // Then
+      assertThat(tempDir.resolve("result.txt")).hasContent("previous");
+      assertThat(countFiles(tempDir)).isEqualTo(1);
+      assertThatThrownBy(() -> file.write(new byte[]{4})).isInstanceOf(ClosedChannelException.class);
+    }
+
+    @Test
+    @DisplayName("Should delete the temporary file when the space cannot be reserved")
+    void shouldDeleteTemporaryFileWhenPreallocationFails() throws IOException {
+      // Given
+      OutputDirectory directory = OutputDirectory.open(tempDir);
+
+      // When / Then
+      assertThatThrownBy(() -> directory.create("huge.bin", Long.MAX_VALUE)).isInstanceOf(IOException.class);
+      assertThat(countFiles(tempDir)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reserve space on other file systems")
+    void shouldPreallocateOnOtherFileSystems() throws IOException {
+      // Given
+      Path archive = tempDir.resolve("out.zip");
+      try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+        OutputDirectory directory = OutputDirectory.open(zip.getPath("/"));
+
+        // When
+        try (OutputFile file = directory.create("reserved.txt", 1_000)) {
+          file.write("small".getBytes(StandardCharsets.UTF_8));
+
+          // Then
+          assertThat(file.size()).isEqualTo(5);
+        }
+        assertThat(countFiles(zip.getPath("/"))).isZero();
+      }
+    }
+
+    @Test
+    @DisplayName("Should delete the temporary file when the rename fails")
+    void shouldDeleteTemporaryFileWhenRenameFails() throws IOException {
+      // Given
+      OutputDirectory directory = OutputDirectory.open(tempDir);
+      Files.createFile(Files.createDirectory(tempDir.resolve("result.txt")).resolve("child"));
+      OutputFile file = directory.create("result.txt");
+      file.write(new byte[]{1, 2, 3});
+
+      // When & Then
+      assertThatThrownBy(file::commit).isInstanceOf(IOException.class);
+      assertThat(countFiles(tempDir)).isEqualTo(1);
+      assertThat(file.isOpen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the order of buffered, large and transferred writes")
+    void shouldMixWriteKinds() throws IOException {
+      // Given
+      byte[] large = new byte[OutputFile.DEFAULT_BUFFER_SIZE + 10];
+      new Random(1).nextBytes(large);
+      Path source = Files.write(tempDir.resolve("source.bin"), new byte[]{7, 8, 9});
+      OutputDirectory directory = OutputDirectory.open(tempDir, FsyncPolicy.NONE, 1);
+
+      // When
+      try (OutputFile file = directory.create("out.bin", 42)) {
+        file.write(new byte[]{1, 2});
+        file.write(ByteBuffer.wrap(large));
+        file.transferFrom(source);
+        file.write(new byte[]{3});
+        assertThat(file.size()).isEqualTo(large.length + 6);
+        file.commit();
+      }
+
+      // Then
+      byte[] content = Files.readAllBytes(tempDir.resolve("out.bin"));
+      assertThat(content).hasSize(large.length + 6);
+      assertThat(content[0]).isEqualTo((byte) 1);
+      assertThat(content[2]).isEqualTo(large[0]);
+      assertThat(content[large.length + 1]).isEqualTo(large[large.length - 1]);
+      assertThat(content).endsWith(7, 8, 9, 3);
+    }
+
+    @Test
+    @DisplayName("Should trim the reserved space to what was written")
+    void shouldTrimPreallocatedSpace() throws IOException {
+      try (OutputFile file = OutputDirectory.open(tempDir).create("reserved.txt", 1_000_000)) {
+        file.write("small".getBytes(StandardCharsets.UTF_8));
+        file.commit();
+      }
+
+      assertThat(tempDir.resolve("reserved.txt")).hasContent("small");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for fsync policies")
+  class FsyncPolicyTests {
+
+    @Test
+    @DisplayName("Should sync batched commits every batch size and on close")
+    void shouldSyncInBatches() throws IOException {
+      // Given
+      OutputDirectory directory = OutputDirectory.open(tempDir, FsyncPolicy.BATCH, 3);
+
+      // When & Then
+      for (int i = 0; i < 4; i++) {
+        try (OutputFile file = directory.create("file-" + i)) {
+          file.write(new byte[]{(byte) i});
+          file.commit();
+        }
+      }
+      assertThat(directory.getUnsyncedCount()).isEqualTo(1);
+
+      directory.close();
+      assertThat(directory.getUnsyncedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not keep anything pending with the other policies")
+    void shouldNotBatchOtherPolicies() throws IOException {
+      for (FsyncPolicy policy : new FsyncPolicy[]{FsyncPolicy.ALWAYS, FsyncPolicy.NONE}) {
+        OutputDirectory directory = OutputDirectory.open(tempDir, policy, 3);
+        try (OutputFile file = directory.create(policy.name())) {
+          file.commit();
+        }
+        assertThat(directory.getUnsyncedCount()).isZero();
+        assertThat(tempDir.resolve(policy.name())).exists();
+      }
+    }
+
+    @Test
+    @DisplayName("Should delete temporary files left behind by crashed writers")
+    void shouldDeleteTemporaryFiles() throws IOException {
+      // Given
+      Files.createFile(tempDir.resolve(".result.txt.123" + OutputDirectory.TEMPORARY_SUFFIX));
+      Files.createFile(tempDir.resolve("kept.txt"));
+
+      // When
+      int deleted = OutputDirectory.open(tempDir).deleteTemporaryFiles();
+
+      // Then
+      assertThat(deleted).isEqualTo(1);
+      assertThat(countFiles(tempDir)).isEqualTo(1);
+    }
+  }
+}
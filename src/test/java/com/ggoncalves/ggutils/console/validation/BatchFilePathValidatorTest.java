@@ -0,0 +1,235 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BatchFilePathValidatorTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private BatchFilePathValidator batchValidator;
+
+  @AfterEach
+  void tearDown() {
+    if (batchValidator != null) {
+      batchValidator.close();
+    }
+  }
+
+  private List<String> createPaths(int count) throws IOException {
+    List<String> paths = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Path file = tempDir.resolve("file-" + i + ".txt");
+      if (i % 2 == 0) {
+        Files.createFile(file);
+      }
+      paths.add(file.toString());
+    }
+    return paths;
+  }
+
+  @Nested
+  @DisplayName("Tests for ordered batch validation")
+  class OrderedValidationTests {
+
+    @Test
+    @DisplayName("Should return results in input order")
+    void shouldReturnResultsInInputOrder() throws IOException {
+      // Given
+      List<String> paths = createPaths(200);
+      batchValidator = new BatchFilePathValidator(new FilePathValidator(), 8);
+
+      // When
+      List<ValidationResult> results = batchValidator.validateFilePaths(paths);
+
+      // Then
+      assertThat(results).extracting(ValidationResult::getFilePath).containsExactlyElementsOf(paths);
+      assertThat(results).extracting(ValidationResult::isExists)
+          .containsExactlyElementsOf(IntStream.range(0, 200).mapToObj(i -> i % 2 == 0).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should return empty list for empty input")
+    void shouldReturnEmptyListForEmptyInput() {
+      batchValidator = new BatchFilePathValidator(new FilePathValidator());
+
+      assertThat(batchValidator.validateFilePaths(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should convert validator failures into invalid results")
+    void shouldConvertValidatorFailuresIntoInvalidResults() {
+      // Given
+      FilePathValidator failingValidator = new FilePathValidator() {
+        @Override
+        public ValidationResult validateFilePath(String filePath) {
+          throw new IllegalStateException("boom");
+        }
+      };
+      batchValidator = new BatchFilePathValidator(failingValidator, 2);
+
+      // When
+      List<ValidationResult> results = batchValidator.validateFilePaths(List.of("/a", "/b", "/c"));
+
+      // Then
+      assertThat(results).hasSize(3).allSatisfy(result -> {
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrorMessage()).contains("boom");
+      });
+    }
+  }
+
+  @Test
+  @DisplayName("Should rethrow errors of the validator instead of waiting forever")
+  void shouldRethrowValidatorErrors() {
+    // Given
+    FilePathValidator failingValidator = new FilePathValidator() {
+      @Override
+      public ValidationResult validateFilePath(String filePath) {
+        if (filePath.equals("/b")) {
+          throw new AssertionError("broken validator");
+        }
+        return super.validateFilePath(filePath);
+      }
+
+      @Override
+      public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+        throw new StackOverflowError();
+      }
+    };
+    batchValidator = new BatchFilePathValidator(failingValidator, 2);
+
+    // When & Then
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      assertThatThrownBy(() -> batchValidator.validateFilePaths(List.of("/a", "/b", "/c")))
+          .isInstanceOf(AssertionError.class)
+          .hasMessage("broken validator");
+      assertThatThrownBy(() -> batchValidator.validateFilePathsPacked(List.of("/a", "/b")))
+          .isInstanceOf(StackOverflowError.class);
+    });
+  }
+
+  @Nested
+  @DisplayName("Tests for packed batch validation")
+  class PackedValidationTests {
+
+    @Test
+    @DisplayName("Should fill the batch in input order")
+    void shouldFillBatchInInputOrder() throws IOException {
+      // Given
+      List<String> paths = createPaths(100);
+      batchValidator = new BatchFilePathValidator(new FilePathValidator(), 8);
+
+      // When
+      ValidationResultBatch batch = batchValidator.validateFilePathsPacked(paths);
+
+      // Then
+      assertThat(batch.size()).isEqualTo(100);
+      for (int i = 0; i < paths.size(); i++) {
+        assertThat(batch.getFilePath(i)).isEqualTo(paths.get(i));
+        assertThat(batch.isExists(i)).isEqualTo(i % 2 == 0);
+      }
+    }
+
+    @Test
+    @DisplayName("Should convert validator failures into error codes")
+    void shouldConvertValidatorFailuresIntoErrorCodes() {
+      // Given
+      FilePathValidator failingValidator = new FilePathValidator() {
+        @Override
+        public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+          throw new IllegalStateException("boom");
+        }
+      };
+      batchValidator = new BatchFilePathValidator(failingValidator, 2);
+
+      // When
+      ValidationResultBatch batch = batchValidator.validateFilePathsPacked(List.of("/a", "/b"));
+
+      // Then
+      assertThat(batch.getError(1)).isEqualTo(ValidationError.OTHER);
+      assertThat(batch.getErrorMessage(1)).isEqualTo("Validation failed: boom");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for streaming batch validation")
+  class StreamingValidationTests {
+
+    @Test
+    @DisplayName("Should stream every result to the consumer")
+    void shouldStreamEveryResult() throws IOException {
+      // Given
+      List<String> paths = createPaths(100);
+      batchValidator = new BatchFilePathValidator(new FilePathValidator(), 4);
+      List<String> streamed = new ArrayList<>();
+
+      // When
+      batchValidator.validateFilePaths(paths, result -> streamed.add(result.getFilePath()));
+
+      // Then
+      assertThat(streamed).containsExactlyInAnyOrderElementsOf(paths);
+    }
+
+    @Test
+    @DisplayName("Should never exceed the configured concurrency")
+    void shouldNeverExceedConfiguredConcurrency() {
+      // Given
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      FilePathValidator slowValidator = new FilePathValidator() {
+        @Override
+        public ValidationResult validateFilePath(String filePath) {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(2);
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          running.decrementAndGet();
+          return super.validateFilePath(filePath);
+        }
+      };
+      ExecutorService executor = Executors.newFixedThreadPool(16);
+      batchValidator = new BatchFilePathValidator(slowValidator, executor, 3);
+      List<String> paths = IntStream.range(0, 60).mapToObj(i -> "/missing/" + i).collect(Collectors.toList());
+
+      // When
+      List<ValidationResult> results = batchValidator.validateFilePaths(paths);
+      executor.shutdown();
+
+      // Then
+      assertThat(results).hasSize(60);
+      assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject non-positive concurrency")
+  void shouldRejectNonPositiveConcurrency() {
+    assertThatThrownBy(() -> new BatchFilePathValidator(new FilePathValidator(), 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("maxConcurrency");
+  }
+}
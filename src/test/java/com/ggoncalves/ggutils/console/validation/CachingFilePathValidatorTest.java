@@ -0,0 +1,299 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.ggoncalves.ggutils.console.cli.CommandProcessor;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingFilePathValidatorTest {
+
+  private static final String PATH = "/data/input.txt";
+
+  @Mock
+  private FilePathValidator delegate;
+
+  private final ManualTicker ticker = new ManualTicker();
+
+  private CachingFilePathValidator cachingValidator;
+
+  @BeforeEach
+  void setUp() {
+    when(delegate.getFileSystem()).thenReturn(FileSystems.getDefault());
+    cachingValidator = new CachingFilePathValidator(delegate, 2, Duration.ofSeconds(10), true, ticker);
+  }
+
+  private ValidationResult existingResult(String path) {
+    return ValidationResult.builder().filePath(path).valid(true).exists(true).readable(true).build();
+  }
+
+  private ValidationResult missingResult(String path) {
+    return ValidationResult.builder().filePath(path).valid(true).exists(false).build();
+  }
+
+  @Nested
+  @DisplayName("Tests for validateFilePath caching")
+  class ValidateFilePathTests {
+
+    @Test
+    @DisplayName("Should hit the delegate only once for repeated paths")
+    void shouldHitDelegateOnlyOnceForRepeatedPaths() {
+      // Given
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+
+      // When
+      ValidationResult first = cachingValidator.validateFilePath(PATH);
+      ValidationResult second = cachingValidator.validateFilePath(PATH);
+
+      // Then
+      assertThat(second).isEqualTo(first);
+      verify(delegate, times(1)).validateFilePath(PATH);
+      assertThat(cachingValidator.getStats().hitCount()).isEqualTo(1);
+      assertThat(cachingValidator.getStats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should share entries between relative and absolute spellings of a path")
+    void shouldShareEntriesBetweenSpellings() {
+      // Given
+      String absolute = Paths.get("input.txt").toAbsolutePath().toString();
+      when(delegate.validateFilePath(anyString())).thenAnswer(invocation -> existingResult(invocation.getArgument(0)));
+
+      // When
+      cachingValidator.validateFilePath("input.txt");
+      ValidationResult result = cachingValidator.validateFilePath(absolute);
+
+      // Then
+      assertThat(result.getFilePath()).isEqualTo(absolute);
+      verify(delegate, times(1)).validateFilePath(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not share entries across .. segments, which symbolic links can redirect")
+    void shouldNotShareEntriesAcrossParentSegments() {
+      // Given
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+      when(delegate.validateFilePath("/data/link/../input.txt")).thenReturn(missingResult("/data/link/../input.txt"));
+
+      // When
+      cachingValidator.validateFilePath(PATH);
+      ValidationResult result = cachingValidator.validateFilePath("/data/link/../input.txt");
+
+      // Then
+      assertThat(result.isExists()).isFalse();
+      verify(delegate, times(2)).validateFilePath(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return copies that do not affect the cached entry")
+    void shouldReturnDefensiveCopies() {
+      // Given
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+
+      // When
+      cachingValidator.validateFilePath(PATH).setExists(false);
+
+      // Then
+      assertThat(cachingValidator.validateFilePath(PATH).isExists()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the configured time")
+    void shouldExpireEntriesAfterWrite() {
+      // Given
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+      cachingValidator.validateFilePath(PATH);
+
+      // When
+      ticker.advance(Duration.ofSeconds(11));
+      cachingValidator.validateFilePath(PATH);
+
+      // Then
+      verify(delegate, times(2)).validateFilePath(PATH);
+    }
+
+    @Test
+    @DisplayName("Should evict entries beyond the maximum size")
+    void shouldEvictEntriesBeyondMaximumSize() {
+      // Given
+      when(delegate.validateFilePath(anyString())).thenAnswer(invocation -> existingResult(invocation.getArgument(0)));
+
+      // When
+      cachingValidator.validateFilePath("/a");
+      cachingValidator.validateFilePath("/b");
+      cachingValidator.validateFilePath("/c");
+
+      // Then
+      assertThat(cachingValidator.size()).isEqualTo(2);
+      assertThat(cachingValidator.getStats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache negative results when disabled")
+    void shouldNotCacheNegativeResultsWhenDisabled() {
+      // Given
+      cachingValidator = new CachingFilePathValidator(delegate, 10, Duration.ofSeconds(10), false, ticker);
+      when(delegate.validateFilePath(PATH)).thenReturn(missingResult(PATH));
+
+      // When
+      cachingValidator.validateFilePath(PATH);
+      cachingValidator.validateFilePath(PATH);
+
+      // Then
+      verify(delegate, times(2)).validateFilePath(PATH);
+      assertThat(cachingValidator.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache null or empty paths")
+    void shouldNotCacheNullOrEmptyPaths() {
+      // Given
+      ValidationResult invalid = ValidationResult.builder().valid(false).errorMessage("Path is null or empty").build();
+      when(delegate.validateFilePath(null)).thenReturn(invalid);
+
+      // When
+      ValidationResult result = cachingValidator.validateFilePath(null);
+
+      // Then
+      assertThat(result).isSameAs(invalid);
+      assertThat(cachingValidator.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should validate again after invalidation")
+    void shouldValidateAgainAfterInvalidation() {
+      // Given
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+      cachingValidator.validateFilePath(PATH);
+
+      // When
+      cachingValidator.invalidate(PATH);
+      cachingValidator.validateFilePath(PATH);
+
+      // Then
+      verify(delegate, times(2)).validateFilePath(PATH);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for boolean checks")
+  class BooleanCheckTests {
+
+    @Test
+    @DisplayName("Should answer isValidExistingFilePath from the cache")
+    void shouldAnswerIsValidExistingFilePathFromCache() {
+      // Given
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+
+      // When & Then
+      assertThat(cachingValidator.isValidExistingFilePath(PATH)).isTrue();
+      assertThat(cachingValidator.isValidExistingFilePath(PATH)).isTrue();
+      verify(delegate, times(1)).validateFilePath(PATH);
+      verify(delegate, never()).isValidExistingFilePath(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return false for missing files")
+    void shouldReturnFalseForMissingFiles() {
+      when(delegate.validateFilePath(PATH)).thenReturn(missingResult(PATH));
+
+      assertThat(cachingValidator.isValidExistingFilePath(PATH)).isFalse();
+      assertThat(cachingValidator.isValidExistingFilePath(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reuse cached syntax result or delegate without caching")
+    void shouldReuseCachedSyntaxResult() {
+      // Given
+      when(delegate.isValidPathSyntax("/other")).thenReturn(true);
+      when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+      cachingValidator.validateFilePath(PATH);
+
+      // When & Then
+      assertThat(cachingValidator.isValidPathSyntax(PATH)).isTrue();
+      assertThat(cachingValidator.isValidPathSyntax("/other")).isTrue();
+      verify(delegate, never()).isValidPathSyntax(PATH);
+      assertThat(cachingValidator.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Should serve packed validation from the cache")
+  void shouldServePackedValidationFromCache() {
+    // Given
+    when(delegate.validateFilePath(PATH)).thenReturn(existingResult(PATH));
+    ValidationResultBatch batch = new ValidationResultBatch(2);
+
+    // When
+    cachingValidator.validateInto(batch, 0, PATH);
+    cachingValidator.validateInto(batch, 1, PATH);
+
+    // Then
+    assertThat(batch.isExists(1)).isTrue();
+    assertThat(batch.isReadable(1)).isTrue();
+    verify(delegate, times(1)).validateFilePath(PATH);
+  }
+
+  @Test
+  @DisplayName("Should keep the error code of cached results")
+  void shouldKeepErrorCodeOfCachedResults() {
+    // Given
+    ValidationResult invalid = ValidationResult.builder().filePath(PATH)
+        .errorMessage(ValidationError.INVALID_SYNTAX.format("bad character")).build();
+    when(delegate.validateFilePath(PATH)).thenReturn(invalid);
+    ValidationResultBatch batch = new ValidationResultBatch(2);
+
+    // When
+    cachingValidator.validateInto(batch, 0, PATH);
+    cachingValidator.validateInto(batch, 1, PATH);
+
+    // Then
+    assertThat(batch.getError(1)).isEqualTo(ValidationError.INVALID_SYNTAX);
+    assertThat(batch.getErrorMessage(1)).isEqualTo("Invalid path syntax: bad character");
+    verify(delegate, times(1)).validateFilePath(PATH);
+  }
+
+  @Test
+  @DisplayName("Should be usable by CommandProcessor as a FilePathValidator")
+  void shouldBeUsableByCommandProcessor() {
+    // Given
+    String path = Paths.get(PATH).toString();
+    when(delegate.validateFilePath(path)).thenReturn(existingResult(path));
+    CommandProcessor processor = new CommandProcessor(cachingValidator);
+
+    // When
+    processor.validateFilePath(path);
+    ValidationResult result = processor.validateFilePath(path);
+
+    // Then
+    assertThat(result.isExists()).isTrue();
+    verify(delegate, times(1)).validateFilePath(path);
+  }
+
+  private static class ManualTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(Duration duration) {
+      nanos += TimeUnit.NANOSECONDS.convert(duration);
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineFilePathValidatorTest {
+
+  private static final Duration DEADLINE = Duration.ofMillis(100);
+  private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+  private final HangingValidator delegate = new HangingValidator();
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  private ExecutorService executor;
+  private DeadlineFilePathValidator deadlineValidator;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newCachedThreadPool();
+    deadlineValidator = new DeadlineFilePathValidator(delegate, DEADLINE, OPEN_DURATION, executor, true,
+        DeadlineFilePathValidatorTest::mountOf, nanoTime::get);
+  }
+
+  @AfterEach
+  void tearDown() {
+    delegate.release();
+    deadlineValidator.close();
+  }
+
+  /**
+   * The first path segment stands for the mount.
+   */
+  private static String mountOf(Path path) {
+    return "/" + path.getName(0);
+  }
+
+  /**
+   * Answers at once, except for paths under /hung while the mount is hung. Blank paths are left to the
+   * real validator.
+   */
+  private static class HangingValidator extends FilePathValidator {
+
+    private volatile CountDownLatch hang = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public ValidationResult validateFilePath(String filePath) {
+      calls.incrementAndGet();
+      if (filePath.isBlank()) {
+        return super.validateFilePath(filePath);
+      }
+      if (filePath.startsWith("/hung/")) {
+        try {
+          hang.await();
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return ValidationResult.builder().filePath(filePath).valid(true).exists(true).readable(true).build();
+    }
+
+    void release() {
+      hang.countDown();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for deadlines")
+  class DeadlineTests {
+
+    @Test
+    @DisplayName("Should return the delegate result when it answers in time")
+    void shouldReturnDelegateResultInTime() {
+      // When
+      ValidationResult result = deadlineValidator.validateFilePath("/local/input.txt");
+
+      // Then
+      assertThat(result.isValid()).isTrue();
+      assertThat(result.isExists()).isTrue();
+      assertThat(result.isTimedOut()).isFalse();
+      assertThat(deadlineValidator.isValidExistingFilePath("/local/input.txt")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return a timed out result when the delegate hangs")
+    void shouldReturnTimedOutResultWhenDelegateHangs() {
+      // When
+      long start = System.nanoTime();
+      ValidationResult result = deadlineValidator.validateFilePath("/hung/input.txt");
+      long elapsed = System.nanoTime() - start;
+
+      // Then
+      assertThat(result.isValid()).isFalse();
+      assertThat(result.isExists()).isFalse();
+      assertThat(result.isTimedOut()).isTrue();
+      assertThat(result.getErrorMessage()).startsWith("Validation timed out: ").contains("/hung");
+      assertThat(elapsed).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    @DisplayName("Should honour a per call deadline")
+    void shouldHonourPerCallDeadline() {
+      // When
+      ValidationResult result = deadlineValidator.validateAsync("/hung/input.txt", Duration.ofMillis(10)).join();
+
+      // Then
+      assertThat(result.isTimedOut()).isTrue();
+      assertThat(result.getErrorMessage()).contains("within 10 ms");
+    }
+
+    @Test
+    @DisplayName("Should record the timeout code in a batch")
+    void shouldRecordTimeoutCodeInBatch() {
+      // When
+      ValidationResultBatch batch = deadlineValidator.validateFilePaths(List.of("/local/a.txt", "/hung/b.txt"));
+
+      // Then
+      assertThat(batch.getError(0)).isEqualTo(ValidationError.NONE);
+      assertThat(batch.isTimedOut(0)).isFalse();
+      assertThat(batch.getError(1)).isEqualTo(ValidationError.TIMEOUT);
+      assertThat(batch.isTimedOut(1)).isTrue();
+      assertThat(batch.isValid(1)).isFalse();
+      assertThat(batch.get(1).isTimedOut()).isTrue();
+      assertThat(batch.getErrorMessage(1)).startsWith("Validation timed out: ");
+    }
+
+    @Test
+    @DisplayName("Should answer empty paths without the executor")
+    void shouldAnswerEmptyPathsWithoutExecutor() {
+      // When
+      ValidationResult result = deadlineValidator.validateAsync("  ").join();
+
+      // Then
+      assertThat(result.isValid()).isFalse();
+      assertThat(result.isTimedOut()).isFalse();
+      assertThat(result.getErrorMessage()).isEqualTo(ValidationError.NULL_OR_EMPTY.format(null));
+    }
+
+    @Test
+    @DisplayName("Should reject a non positive deadline")
+    void shouldRejectNonPositiveDeadline() {
+      assertThatThrownBy(() -> new DeadlineFilePathValidator(delegate, Duration.ZERO))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("deadline must be positive");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for per mount circuit breaking")
+  class CircuitBreakerTests {
+
+    @Test
+    @DisplayName("Should fail fast on a mount that timed out")
+    void shouldFailFastOnHungMount() {
+      // Given
+      deadlineValidator.validateFilePath("/hung/a.txt");
+      int calls = delegate.calls.get();
+
+      // When
+      ValidationResult result = deadlineValidator.validateAsync("/hung/b.txt").join();
+
+      // Then
+      assertThat(result.isTimedOut()).isTrue();
+      assertThat(result.getErrorMessage()).contains("mount /hung is not responding");
+      assertThat(delegate.calls.get()).isEqualTo(calls);
+      assertThat(deadlineValidator.getHungMounts()).containsExactly("/hung");
+    }
+
+    @Test
+    @DisplayName("Should leave other mounts unaffected")
+    void shouldLeaveOtherMountsUnaffected() {
+      // Given
+      deadlineValidator.validateFilePath("/hung/a.txt");
+
+      // When
+      ValidationResult result = deadlineValidator.validateFilePath("/local/b.txt");
+
+      // Then
+      assertThat(result.isValid()).isTrue();
+      assertThat(result.isTimedOut()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let a probe through after the open duration and close on success")
+    void shouldProbeAfterOpenDurationAndClose() {
+      // Given
+      deadlineValidator.validateFilePath("/hung/a.txt");
+      delegate.release();
+      nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+      // When
+      ValidationResult probe = deadlineValidator.validateFilePath("/hung/b.txt");
+
+      // Then
+      assertThat(probe.isValid()).isTrue();
+      assertThat(probe.isTimedOut()).isFalse();
+      assertThat(deadlineValidator.getHungMounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stay open when the probe times out too")
+    void shouldStayOpenWhenProbeTimesOut() {
+      // Given
+      deadlineValidator.validateFilePath("/hung/a.txt");
+      nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+      // When
+      ValidationResult probe = deadlineValidator.validateFilePath("/hung/b.txt");
+      ValidationResult next = deadlineValidator.validateAsync("/hung/c.txt").join();
+
+      // Then
+      assertThat(probe.getErrorMessage()).contains("within");
+      assertThat(next.getErrorMessage()).contains("not responding");
+      assertThat(deadlineValidator.getHungMounts()).containsExactly("/hung");
+    }
+  }
+}
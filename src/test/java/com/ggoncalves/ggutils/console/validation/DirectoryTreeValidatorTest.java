@@ -0,0 +1,214 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.ggoncalves.ggutils.console.exception.InvalidFileException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class DirectoryTreeValidatorTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private final Map<String, ValidationResult> results = new ConcurrentHashMap<>();
+  private final Map<String, DirectorySummary> summaries = new ConcurrentHashMap<>();
+
+  private DirectoryTreeValidator treeValidator;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    treeValidator = new DirectoryTreeValidator(new FilePathValidator(), new ForkJoinPool(4));
+
+    // root/a.txt (3 bytes), root/sub/b.txt (5 bytes), root/sub/deeper/c.txt (0 bytes), root/empty/
+    Files.write(tempDir.resolve("a.txt"), "abc".getBytes());
+    Path sub = Files.createDirectory(tempDir.resolve("sub"));
+    Files.write(sub.resolve("b.txt"), "hello".getBytes());
+    Path deeper = Files.createDirectory(sub.resolve("deeper"));
+    Files.createFile(deeper.resolve("c.txt"));
+    Files.createDirectory(tempDir.resolve("empty"));
+  }
+
+  private DirectorySummary validateTree() {
+    return treeValidator.validateTree(tempDir.toString(), new TreeValidationListener() {
+      @Override
+      public void onResult(ValidationResult result) {
+        results.put(result.getFilePath(), result);
+      }
+
+      @Override
+      public void onDirectory(DirectorySummary summary) {
+        summaries.put(summary.getDirectoryPath(), summary);
+      }
+    });
+  }
+
+  @Test
+  @DisplayName("Should aggregate totals for the whole tree")
+  void shouldAggregateTotalsForWholeTree() {
+    // When
+    DirectorySummary summary = validateTree();
+
+    // Then
+    assertThat(summary.getEntryCount()).isEqualTo(3);
+    assertThat(summary.getFileCount()).isEqualTo(3);
+    assertThat(summary.getDirectoryCount()).isEqualTo(3);
+    assertThat(summary.getTotalBytes()).isEqualTo(8);
+    assertThat(summary.getUnreadableCount()).isZero();
+    assertThat(summary.isEmpty()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should stream one result per entry including the root")
+  void shouldStreamOneResultPerEntry() {
+    // When
+    validateTree();
+
+    // Then
+    assertThat(results).hasSize(7);
+    assertThat(results).containsKeys(tempDir.toString(), tempDir.resolve("sub/deeper/c.txt").toString());
+    assertThat(summaries).hasSize(4);
+    assertThat(summaries.get(tempDir.resolve("sub").toString()).getTotalBytes()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Should report real emptiness for directories")
+  void shouldReportRealEmptinessForDirectories() {
+    // When
+    validateTree();
+
+    // Then
+    assertThat(results.get(tempDir.resolve("empty").toString()).isBlank()).isTrue();
+    assertThat(results.get(tempDir.resolve("sub").toString()).isBlank()).isFalse();
+    assertThat(summaries.get(tempDir.resolve("empty").toString()).isEmpty()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should not follow symbolic links to directories")
+  void shouldNotFollowSymbolicLinks() throws IOException {
+    // Given
+    Files.createSymbolicLink(tempDir.resolve("loop"), tempDir);
+
+    // When
+    DirectorySummary summary = validateTree();
+
+    // Then
+    assertThat(summary.getDirectoryCount()).isEqualTo(3);
+    assertThat(results).containsKey(tempDir.resolve("loop").toString());
+  }
+
+  @Test
+  @DisplayName("Should validate each entry as validateFilePath does, in either mode")
+  void shouldValidateEntriesAsValidateFilePath() throws IOException {
+    // Given
+    Files.createSymbolicLink(tempDir.resolve("link.txt"), tempDir.resolve("a.txt"));
+    Files.createSymbolicLink(tempDir.resolve("dangling"), tempDir.resolve("missing"));
+
+    for (ValidationMode mode : ValidationMode.values()) {
+      FilePathValidator validator = new FilePathValidator(mode);
+      treeValidator = new DirectoryTreeValidator(validator, new ForkJoinPool(2));
+      results.clear();
+
+      // When
+      validateTree();
+
+      // Then
+      assertThat(results).hasSize(9);
+      results.forEach((path, result) -> {
+        if (!path.equals(tempDir.toString()) && !Files.isDirectory(Path.of(path))) {
+          assertThat(result).as(mode + " " + path).isEqualTo(validator.validateFilePath(path));
+        }
+      });
+    }
+    assertThat(results.get(tempDir.resolve("link.txt").toString()).isExists()).isTrue();
+    assertThat(results.get(tempDir.resolve("dangling").toString()).isExists()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should validate entries through the overrides of a subclass")
+  void shouldValidateThroughSubclassOverrides() {
+    // Given
+    CachingFilePathValidator cachingValidator = new CachingFilePathValidator();
+    treeValidator = new DirectoryTreeValidator(cachingValidator, new ForkJoinPool(2));
+
+    // When
+    validateTree();
+    validateTree();
+
+    // Then
+    assertThat(cachingValidator.getStats().missCount()).isEqualTo(7);
+    assertThat(cachingValidator.getStats().hitCount()).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("Should count an unreadable subdirectory once")
+  void shouldCountUnreadableSubdirectoryOnce() throws IOException {
+    // Given
+    Path locked = Files.createDirectory(tempDir.resolve("locked"));
+    Files.createFile(locked.resolve("hidden.txt"));
+    Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("---------"));
+
+    try {
+      // Unreadable directories can still be listed when running as root
+      assumeFalse(Files.isReadable(locked));
+
+      // When
+      DirectorySummary summary = validateTree();
+
+      // Then
+      assertThat(summaries.get(locked.toString()).isListable()).isFalse();
+      assertThat(summaries.get(locked.toString()).getUnreadableCount()).isEqualTo(1);
+      assertThat(summary.getUnreadableCount()).isEqualTo(1);
+    }
+    finally {
+      Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("rwx------"));
+    }
+  }
+
+  @Test
+  @DisplayName("Should let exceptions of the listener through")
+  void shouldLetListenerExceptionsThrough() {
+    assertThatThrownBy(() -> treeValidator.validateTree(tempDir.toString(), result -> {
+      throw new IllegalStateException("listener failed");
+    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("listener failed");
+  }
+
+  @Test
+  @DisplayName("Should run on its own pool by default")
+  void shouldRunOnItsOwnPoolByDefault() {
+    // Given
+    Map<String, Boolean> threads = new ConcurrentHashMap<>();
+    treeValidator = new DirectoryTreeValidator(new FilePathValidator());
+
+    // When
+    treeValidator.validateTree(tempDir.toString(), result -> threads.put(Thread.currentThread().getName(), true));
+
+    // Then
+    assertThat(threads.keySet()).allMatch(name -> name.startsWith("directory-tree-validator-"));
+  }
+
+  @Test
+  @DisplayName("Should reject a root that is not a directory")
+  void shouldRejectRootThatIsNotADirectory() {
+    String file = tempDir.resolve("a.txt").toString();
+
+    assertThatThrownBy(() -> treeValidator.validateTree(file, result -> {
+    }))
+        .isInstanceOf(InvalidFileException.class)
+        .hasMessageContaining("must be an existing directory");
+  }
+}
@@ -7,26 +7,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class FilePathValidatorTest {
 
   @InjectMocks
-  private FilePathValidator filePathValidator;
+  private FilePathValidator filePathValidator = new FilePathValidator();
 
   @TempDir
   private Path tempDir;
@@ -114,14 +122,11 @@ class FilePathValidatorTest {
     }
 
     @Test
-    @DisplayName("Should handle exceptions thrown by Paths.get")
-    void shouldHandleExceptionsFromPathsGet() {
-      try (MockedStatic<Paths> mockedPaths = mockStatic(Paths.class)) {
-        mockedPaths.when(() -> Paths.get(any(String.class)))
-            .thenThrow(new RuntimeException("Mocked exception"));
+    @DisplayName("Should handle exceptions thrown by FileSystem.getPath")
+    void shouldHandleExceptionsFromGetPath() {
+      FilePathValidator filePathValidator = new FilePathValidator(failingFileSystem());
 
-        assertThat(filePathValidator.isValidExistingFilePath("/some/path")).isFalse();
-      }
+      assertThat(filePathValidator.isValidExistingFilePath("/some/path")).isFalse();
     }
   }
 
@@ -150,14 +155,11 @@ class FilePathValidatorTest {
     }
 
     @Test
-    @DisplayName("Should handle exceptions thrown by Paths.get")
-    void shouldHandleExceptionsFromPathsGet() {
-      try (MockedStatic<Paths> mockedPaths = mockStatic(Paths.class)) {
-        mockedPaths.when(() -> Paths.get(any(String.class)))
-            .thenThrow(new RuntimeException("Mocked exception"));
+    @DisplayName("Should handle exceptions thrown by FileSystem.getPath")
+    void shouldHandleExceptionsFromGetPath() {
+      FilePathValidator filePathValidator = new FilePathValidator(failingFileSystem());
 
-        assertThat(filePathValidator.isValidPathSyntax("/some/path")).isFalse();
-      }
+      assertThat(filePathValidator.isValidPathSyntax("/some/path")).isFalse();
     }
   }
 
@@ -247,14 +249,403 @@ class FilePathValidatorTest {
     @Test
     @DisplayName("Should handle exceptions thrown during validation")
     void shouldHandleExceptionsDuringValidation() {
-      try (MockedStatic<Paths> mockedPaths = mockStatic(Paths.class)) {
-        mockedPaths.when(() -> Paths.get(any(String.class)))
-            .thenThrow(new RuntimeException("Mocked exception"));
+      FilePathValidator filePathValidator = new FilePathValidator(failingFileSystem());
+
+      ValidationResult result = filePathValidator.validateFilePath("/some/path");
+
+      assertThat(result.isValid()).isFalse();
+      assertThat(result.getErrorMessage()).contains("Mocked exception");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for packed batch validation")
+  class PackedBatchValidationTests {
+
+    @Test
+    @DisplayName("Should produce the same results as validateFilePath")
+    void shouldProduceSameResultsAsValidateFilePath() {
+      // Given
+      List<String> paths = Arrays.asList(existingFile.toString(), notEmptyFile.toString(),
+          existingDirectory.toString(), nonExistentFile.toString(), null, "  ");
+
+      // When
+      ValidationResultBatch batch = filePathValidator.validateFilePaths(paths);
+
+      // Then
+      assertThat(batch.asList()).containsExactlyElementsOf(
+          paths.stream().map(filePathValidator::validateFilePath).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should store invalid syntax as an error code")
+    void shouldStoreInvalidSyntaxAsErrorCode() {
+      FilePathValidator filePathValidator = new FilePathValidator(failingFileSystem());
+
+      ValidationResultBatch batch = new ValidationResultBatch(1);
+      filePathValidator.validateInto(batch, 0, "/some/path");
+
+      assertThat(batch.isValid(0)).isFalse();
+      assertThat(batch.getError(0)).isEqualTo(ValidationError.INVALID_SYNTAX);
+      assertThat(batch.getErrorMessage(0)).isEqualTo("Invalid path syntax: Mocked exception");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for validateFilePathsByDirectory")
+  class DirectoryGroupedValidationTests {
+
+    private final FilePathValidator snapshotValidator = new FilePathValidator(ValidationMode.ATTRIBUTE_SNAPSHOT);
+
+    @Test
+    @DisplayName("Should match per-path validation for small groups")
+    void shouldMatchPerPathValidationForSmallGroups() {
+      // Given
+      List<String> paths = Arrays.asList(existingFile.toString(), notEmptyFile.toString(),
+          nonExistentFile.toString(), existingDirectory.toString(), "/", null, "",
+          tempDir.resolve("missing-dir/child.txt").toString());
+
+      // When
+      ValidationResultBatch batch = snapshotValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(batch.asList()).containsExactlyElementsOf(
+          paths.stream().map(snapshotValidator::validateFilePath).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should match per-path validation when listing large groups")
+    void shouldMatchPerPathValidationWhenListingLargeGroups() throws IOException {
+      // Given
+      List<String> paths = new java.util.ArrayList<>();
+      for (int i = 0; i < DirectoryGroupedValidator.LISTING_THRESHOLD * 2; i++) {
+        Path file = tempDir.resolve("bulk-" + i + ".txt");
+        if (i % 3 == 0) {
+          Files.write(file, new byte[i % 2]);
+        }
+        paths.add(file.toString());
+      }
+
+      // When
+      ValidationResultBatch batch = snapshotValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(batch.asList()).containsExactlyElementsOf(
+          paths.stream().map(snapshotValidator::validateFilePath).collect(Collectors.toList()));
+    }
+
+    private List<String> bulkPaths(int count) throws IOException {
+      List<String> paths = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        Path file = tempDir.resolve("bulk-" + i + ".txt");
+        if (i % 3 == 0) {
+          Files.write(file, new byte[i % 2]);
+        }
+        paths.add(file.toString());
+      }
+      return paths;
+    }
+
+    @ParameterizedTest
+    @EnumSource(ValidationMode.class)
+    @DisplayName("Should validate in the mode of the validator")
+    void shouldValidateInModeOfValidator(ValidationMode mode) throws IOException {
+      // Given
+      FilePathValidator modeValidator = new FilePathValidator(mode);
+      List<String> paths = bulkPaths(DirectoryGroupedValidator.LISTING_THRESHOLD * 2);
+      paths.add(existingDirectory.toString());
+
+      // When
+      ValidationResultBatch batch = modeValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(batch.asList()).containsExactlyElementsOf(
+          paths.stream().map(modeValidator::validateFilePath).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should validate listed children from their attributes and look the others up")
+    void shouldValidateListedChildrenFromAttributes() throws IOException {
+      // Given
+      int[] entries = {0};
+      int[] lookups = {0};
+      FilePathValidator countingValidator = new FilePathValidator() {
+        @Override
+        protected ValidationResult validateEntry(Path entry, BasicFileAttributes attributes) {
+          entries[0]++;
+          return super.validateEntry(entry, attributes);
+        }
+
+        @Override
+        public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+          lookups[0]++;
+          super.validateInto(batch, index, filePath);
+        }
+      };
+      int threshold = DirectoryGroupedValidator.LISTING_THRESHOLD;
+      List<String> paths = bulkPaths(threshold * 3);
+
+      // When
+      ValidationResultBatch batch = countingValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(entries[0]).isEqualTo(threshold);
+      assertThat(lookups[0]).isEqualTo(threshold * 2);
+      assertThat(batch.asList()).containsExactlyElementsOf(
+          paths.stream().map(countingValidator::validateFilePath).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should look children up when the parent holds too many entries")
+    void shouldLookUpChildrenOfLargeParents() throws IOException {
+      // Given
+      int[] entries = {0};
+      int[] lookups = {0};
+      FilePathValidator countingValidator = new FilePathValidator() {
+        @Override
+        protected ValidationResult validateEntry(Path entry, BasicFileAttributes attributes) {
+          entries[0]++;
+          return super.validateEntry(entry, attributes);
+        }
+
+        @Override
+        public void validateInto(ValidationResultBatch batch, int index, String filePath) {
+          lookups[0]++;
+          super.validateInto(batch, index, filePath);
+        }
+      };
+      int threshold = DirectoryGroupedValidator.LISTING_THRESHOLD;
+      List<String> paths = bulkPaths(threshold);
+      for (int i = 0; i < threshold * DirectoryGroupedValidator.MAX_ENTRIES_PER_REQUESTED; i++) {
+        Files.createFile(tempDir.resolve("other-" + i));
+      }
+
+      // When
+      ValidationResultBatch batch = countingValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(entries[0] + lookups[0]).isEqualTo(threshold);
+      assertThat(lookups[0]).isGreaterThanOrEqualTo(threshold * 2 / 3);
+      assertThat(batch.asList()).containsExactlyElementsOf(
+          paths.stream().map(countingValidator::validateFilePath).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should keep the given spelling of listed paths")
+    void shouldKeepGivenSpellingOfListedPaths() throws IOException {
+      // Given
+      List<String> paths = bulkPaths(DirectoryGroupedValidator.LISTING_THRESHOLD).stream()
+          .map(path -> path.replace("bulk-", "./bulk-").replace(tempDir.toString(), tempDir + "/"))
+          .collect(Collectors.toList());
+
+      // When
+      ValidationResultBatch batch = filePathValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(batch.asList()).extracting(ValidationResult::getFilePath).containsExactlyElementsOf(paths);
+      assertThat(batch.isExists(0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer listed missing children from the cache of a caching validator")
+    void shouldAnswerMissingChildrenFromCache() throws IOException {
+      // Given
+      CachingFilePathValidator cachingValidator = new CachingFilePathValidator();
+      List<String> paths = bulkPaths(DirectoryGroupedValidator.LISTING_THRESHOLD * 2);
+      String removed = paths.get(0);
+      assertThat(cachingValidator.validateFilePath(removed).isExists()).isTrue();
+      Files.delete(Path.of(removed));
+
+      // When
+      ValidationResultBatch batch = cachingValidator.validateFilePathsByDirectory(paths);
+
+      // Then
+      assertThat(batch.isExists(0)).isTrue();
+      assertThat(cachingValidator.validateFilePath(removed).isExists()).isTrue();
+      assertThat(batch.isExists(1)).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for validateFilePath in attribute snapshot mode")
+  class AttributeSnapshotModeTests {
+
+    private final FilePathValidator snapshotValidator = new FilePathValidator(ValidationMode.ATTRIBUTE_SNAPSHOT);
+    private final FilePathValidator modeValidator = new FilePathValidator(ValidationMode.STANDARD);
+
+    @Test
+    @DisplayName("Should report the selected validation mode")
+    void shouldReportSelectedValidationMode() {
+      assertThat(snapshotValidator.getValidationMode()).isEqualTo(ValidationMode.ATTRIBUTE_SNAPSHOT);
+      assertThat(new FilePathValidator().getValidationMode()).isEqualTo(ValidationMode.STANDARD);
+    }
+
+    @Test
+    @DisplayName("Should return invalid result for null path")
+    void shouldReturnInvalidResultForNullPath() {
+      ValidationResult result = snapshotValidator.validateFilePath(null);
+
+      assertThat(result.isValid()).isFalse();
+      assertThat(result.getErrorMessage()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return exists=false for non-existent file")
+    void shouldReturnExistsFalseForNonExistentFile() {
+      ValidationResult result = snapshotValidator.validateFilePath(nonExistentFile.toString());
+
+      assertThat(result.isValid()).isTrue();
+      assertThat(result.isExists()).isFalse();
+      assertThat(result.getErrorMessage()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"test-file.txt", "not-empty-file.txt", "read-only-file.txt", ""})
+    @DisplayName("Should match the standard mode result")
+    void shouldMatchStandardModeResult(String fileName) {
+      String path = tempDir.resolve(fileName).toString();
+
+      assertThat(snapshotValidator.validateFilePath(path))
+          .isEqualTo(modeValidator.validateFilePath(path));
+    }
+
+    @Test
+    @DisplayName("Should use owner bits when the process owns the file")
+    void shouldUseOwnerBitsWhenProcessOwnsFile() {
+      ProcessCredentials credentials = new ProcessCredentials(1000, 1000, new long[0]);
+
+      AttributeSnapshot snapshot = AttributeSnapshot.fromUnixAttributes(
+          unixAttributes(0100640, 1000, 2000, 10L), credentials);
+
+      assertThat(snapshot.isRegularFile()).isTrue();
+      assertThat(snapshot.isDirectory()).isFalse();
+      assertThat(snapshot.isReadable()).isTrue();
+      assertThat(snapshot.isWritable()).isTrue();
+      assertThat(snapshot.isExecutable()).isFalse();
+      assertThat(snapshot.getSize()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should use group bits when the process belongs to the file group")
+    void shouldUseGroupBitsForSupplementaryGroup() {
+      ProcessCredentials credentials = new ProcessCredentials(1000, 1000, new long[]{2000});
+
+      AttributeSnapshot snapshot = AttributeSnapshot.fromUnixAttributes(
+          unixAttributes(0100750, 3000, 2000, 0L), credentials);
+
+      assertThat(snapshot.isReadable()).isTrue();
+      assertThat(snapshot.isWritable()).isFalse();
+      assertThat(snapshot.isExecutable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should use other bits for unrelated users")
+    void shouldUseOtherBitsForUnrelatedUsers() {
+      ProcessCredentials credentials = new ProcessCredentials(1000, 1000, new long[0]);
+
+      AttributeSnapshot snapshot = AttributeSnapshot.fromUnixAttributes(
+          unixAttributes(0040770, 3000, 2000, 4096L), credentials);
+
+      assertThat(snapshot.isDirectory()).isTrue();
+      assertThat(snapshot.isReadable()).isFalse();
+      assertThat(snapshot.isWritable()).isFalse();
+      assertThat(snapshot.isExecutable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should grant root read and write but require an execute bit")
+    void shouldGrantRootReadAndWrite() {
+      ProcessCredentials root = new ProcessCredentials(0, 0, new long[0]);
+
+      AttributeSnapshot file = AttributeSnapshot.fromUnixAttributes(
+          unixAttributes(0100000, 1000, 1000, 1L), root);
+      AttributeSnapshot script = AttributeSnapshot.fromUnixAttributes(
+          unixAttributes(0100001, 1000, 1000, 1L), root);
+
+      assertThat(file.isReadable()).isTrue();
+      assertThat(file.isWritable()).isTrue();
+      assertThat(file.isExecutable()).isFalse();
+      assertThat(script.isExecutable()).isTrue();
+    }
+
+    private Map<String, Object> unixAttributes(int mode, int uid, int gid, long size) {
+      return Map.of("mode", mode, "uid", uid, "gid", gid, "size", size);
+    }
+  }
+
+  /**
+   * A file system that cannot convert any path string.
+   */
+  private static FileSystem failingFileSystem() {
+    FileSystem fileSystem = mock(FileSystem.class);
+    when(fileSystem.getPath(anyString())).thenThrow(new RuntimeException("Mocked exception"));
+    return fileSystem;
+  }
+
+  @Nested
+  @DisplayName("Tests for zip file systems")
+  class ZipFileSystemTests {
+
+    @Test
+    @DisplayName("Should validate archive entries without extracting them")
+    void shouldValidateArchiveEntries() throws IOException {
+      // Given
+      Path archive = tempDir.resolve("data.zip");
+      try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+        Files.createDirectory(zip.getPath("/dir"));
+        Files.write(zip.getPath("/dir/data.txt"), "data".getBytes());
+        Files.createFile(zip.getPath("/dir/empty.txt"));
+      }
+
+      try (FileSystem zip = FileSystems.newFileSystem(archive)) {
+        FilePathValidator zipValidator = new FilePathValidator(zip);
+
+        // When
+        ValidationResult data = zipValidator.validateFilePath("/dir/data.txt");
+        ValidationResult empty = zipValidator.validateFilePath("/dir/empty.txt");
+        ValidationResult dir = zipValidator.validateFilePath("/dir");
+        ValidationResult missing = zipValidator.validateFilePath("/dir/missing.txt");
+
+        // Then
+        assertThat(data.isExists()).isTrue();
+        assertThat(data.isReadable()).isTrue();
+        assertThat(data.isBlank()).isFalse();
+        assertThat(empty.isBlank()).isTrue();
+        assertThat(dir.isDirectory()).isTrue();
+        assertThat(missing.isValid()).isTrue();
+        assertThat(missing.isExists()).isFalse();
+        assertThat(zipValidator.getFileSystem()).isSameAs(zip);
+      }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ValidationMode.class)
+    @DisplayName("Should give the same results in a batch and grouped by directory")
+    void shouldGiveSameResultsInBatchAndByDirectory(ValidationMode mode) throws IOException {
+      // Given
+      Path archive = tempDir.resolve("grouped.zip");
+      try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+        Files.createDirectory(zip.getPath("/dir"));
+        for (int i = 0; i < 40; i++) {
+          Files.write(zip.getPath("/dir/file-" + i + ".txt"), new byte[i % 2]);
+        }
+      }
+      List<String> paths = new ArrayList<>();
+      for (int i = 0; i < 45; i++) {
+        paths.add("/dir/file-" + i + ".txt");
+      }
+
+      try (FileSystem zip = FileSystems.newFileSystem(archive)) {
+        FilePathValidator zipValidator = new FilePathValidator(zip, mode);
 
-        ValidationResult result = filePathValidator.validateFilePath("/some/path");
+        // When
+        ValidationResultBatch grouped = zipValidator.validateFilePathsByDirectory(paths);
 
-        assertThat(result.isValid()).isFalse();
-        assertThat(result.getErrorMessage()).contains("Mocked exception");
+        // Then
+        for (int i = 0; i < paths.size(); i++) {
+          assertThat(grouped.isExists(i)).isEqualTo(i < 40);
+          assertThat(grouped.isBlank(i)).isEqualTo(i < 40 && i % 2 == 0);
+        }
       }
     }
   }
@@ -0,0 +1,61 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import com.ggoncalves.ggutils.console.metrics.ConsoleMetrics;
+import com.ggoncalves.ggutils.console.metrics.OperationMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedFilePathValidatorTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private ConsoleMetrics consoleMetrics;
+  private InstrumentedFilePathValidator validator;
+
+  @BeforeEach
+  void setUp() {
+    consoleMetrics = new ConsoleMetrics();
+    validator = new InstrumentedFilePathValidator(new FilePathValidator(), consoleMetrics);
+  }
+
+  @Test
+  @DisplayName("Should record validations per outcome")
+  void shouldRecordPerOutcome() throws IOException {
+    // Given
+    Path file = Files.write(tempDir.resolve("file.txt"), "data".getBytes());
+
+    // When
+    ValidationResult result = validator.validateFilePath(file.toString());
+    validator.validateFilePath(tempDir.toString());
+    validator.validateFilePath(tempDir.resolve("missing").toString());
+    validator.validateFilePath("");
+    validator.validateFilePaths(List.of(file.toString(), tempDir.resolve("other").toString()));
+
+    // Then
+    OperationMetrics metrics = consoleMetrics.operation(InstrumentedFilePathValidator.VALIDATE_FILE_PATH);
+    assertThat(result.isExists()).isTrue();
+    assertThat(metrics.getCount()).isEqualTo(6);
+    assertThat(metrics.getCount("file")).isEqualTo(2);
+    assertThat(metrics.getCount("directory")).isEqualTo(1);
+    assertThat(metrics.getCount("missing")).isEqualTo(2);
+    assertThat(metrics.getCount("invalid")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should delegate checks that are not timed")
+  void shouldDelegateUntimedChecks() {
+    assertThat(validator.isValidExistingFilePath(tempDir.toString())).isTrue();
+    assertThat(validator.isValidPathSyntax("a/b")).isTrue();
+    assertThat(consoleMetrics.operation(InstrumentedFilePathValidator.VALIDATE_FILE_PATH).getCount()).isZero();
+  }
+}
@@ -0,0 +1,100 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ManifestValidatorTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private BatchFilePathValidator batchValidator;
+  private ManifestValidator manifestValidator;
+
+  @BeforeEach
+  void setUp() {
+    batchValidator = new BatchFilePathValidator(new FilePathValidator(), 4);
+    manifestValidator = new ManifestValidator(batchValidator);
+  }
+
+  @AfterEach
+  void tearDown() {
+    batchValidator.close();
+  }
+
+  private List<String> validate(String manifest) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    long written = manifestValidator.validate(
+        new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8)), output);
+
+    List<String> lines = Arrays.asList(output.toString(StandardCharsets.UTF_8).split("\n"));
+    assertThat(lines).hasSize((int) written);
+    return lines;
+  }
+
+  @Test
+  @DisplayName("Should write one JSON line per manifest entry")
+  void shouldWriteOneJsonLinePerEntry() throws IOException {
+    // Given
+    Path existing = Files.write(tempDir.resolve("existing.txt"), "data".getBytes());
+    Path missing = tempDir.resolve("missing.txt");
+
+    // When
+    List<String> lines = validate(existing + "\n\n   \n" + missing + "\n");
+
+    // Then
+    assertThat(lines).hasSize(2);
+    assertThat(lines).contains(
+        "{\"filePath\":\"" + existing + "\",\"valid\":true,\"exists\":true,\"isDirectory\":false,"
+            + "\"readable\":true,\"writable\":true,\"executable\":false,\"isBlank\":false}",
+        "{\"filePath\":\"" + missing + "\",\"valid\":true,\"exists\":false,\"isDirectory\":false,"
+            + "\"readable\":false,\"writable\":false,\"executable\":false,\"isBlank\":false}");
+  }
+
+  @Test
+  @DisplayName("Should escape special characters and include error messages")
+  void shouldEscapeSpecialCharacters() throws IOException {
+    // When
+    List<String> lines = validate("/tmp/quote\"back\\slash\u0001\n/invalid/\0path\n");
+
+    // Then
+    assertThat(lines).anySatisfy(line ->
+        assertThat(line).startsWith("{\"filePath\":\"/tmp/quote\\\"back\\\\slash\\u0001\""));
+    assertThat(lines).anySatisfy(line ->
+        assertThat(line).contains("\"valid\":false").contains("\"errorMessage\":\"Invalid path syntax: "));
+  }
+
+  @Test
+  @DisplayName("Should read the manifest from a file")
+  void shouldReadManifestFromFile() throws IOException {
+    // Given
+    StringBuilder manifest = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      manifest.append(tempDir.resolve("file-" + i)).append('\n');
+    }
+    Path manifestFile = Files.writeString(tempDir.resolve("manifest.txt"), manifest);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    // When
+    long written = manifestValidator.validate(manifestFile, output);
+
+    // Then
+    assertThat(written).isEqualTo(500);
+    assertThat(output.toString(StandardCharsets.UTF_8).lines()).hasSize(500)
+        .allSatisfy(line -> assertThat(line).contains("\"exists\":false"));
+  }
+}
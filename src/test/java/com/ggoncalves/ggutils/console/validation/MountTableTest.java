@@ -0,0 +1,44 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MountTableTest {
+
+  private final MountTable mountTable = new MountTable(List.of(
+      Paths.get("/"), Paths.get("/mnt/nfs"), Paths.get("/mnt/nfs/archive"), Paths.get("/mnt/nfs2")));
+
+  @Test
+  @DisplayName("Should pick the longest mount point a path is under")
+  void shouldPickLongestMountPoint() {
+    assertThat(mountTable.mountOf(Paths.get("/mnt/nfs/archive/2024/a.txt"))).isEqualTo("/mnt/nfs/archive");
+    assertThat(mountTable.mountOf(Paths.get("/mnt/nfs/b.txt"))).isEqualTo("/mnt/nfs");
+    assertThat(mountTable.mountOf(Paths.get("/mnt/nfs2/c.txt"))).isEqualTo("/mnt/nfs2");
+    assertThat(mountTable.mountOf(Paths.get("/home/user/d.txt"))).isEqualTo("/");
+  }
+
+  @Test
+  @DisplayName("Should normalize the path lexically before matching")
+  void shouldNormalizeLexically() {
+    assertThat(mountTable.mountOf(Paths.get("/mnt/nfs/archive/../x.txt"))).isEqualTo("/mnt/nfs");
+  }
+
+  @Test
+  @DisplayName("Should decode the octal escapes of the mount table")
+  void shouldDecodeOctalEscapes() {
+    assertThat(MountTable.unescape("/mnt/my\\040share")).isEqualTo("/mnt/my share");
+    assertThat(MountTable.unescape("/mnt/plain")).isEqualTo("/mnt/plain");
+    assertThat(MountTable.unescape("/mnt/bad\\09")).isEqualTo("/mnt/bad\\09");
+  }
+
+  @Test
+  @DisplayName("Should always know the root of the running process")
+  void shouldKnowRoot() {
+    assertThat(MountTable.load().mountOf(Paths.get("/"))).isEqualTo("/");
+  }
+}
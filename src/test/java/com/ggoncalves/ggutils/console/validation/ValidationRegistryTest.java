@@ -0,0 +1,293 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValidationRegistryTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @TempDir
+  private Path tempDir;
+
+  private ValidationRegistry registry;
+  private final BlockingQueue<ValidationResult> changes = new LinkedBlockingQueue<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    registry = new ValidationRegistry(new FilePathValidator(), Duration.ofMillis(100));
+    registry.addListener((filePath, previous, current) -> changes.add(current));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    registry.close();
+  }
+
+  private ValidationResult awaitChange(Path path) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (System.nanoTime() < deadline) {
+      ValidationResult change = changes.poll(100, TimeUnit.MILLISECONDS);
+      if (change != null && change.getFilePath().equals(path.toString())) {
+        return change;
+      }
+    }
+    throw new AssertionError("No change reported for " + path);
+  }
+
+  @Nested
+  @DisplayName("Tests for registration")
+  class RegistrationTests {
+
+    @Test
+    @DisplayName("Should return the current result when registering")
+    void shouldReturnCurrentResultWhenRegistering() throws IOException {
+      // Given
+      Path file = Files.createFile(tempDir.resolve("input.txt"));
+
+      // When
+      ValidationResult result = registry.register(file.toString());
+
+      // Then
+      assertThat(result.isExists()).isTrue();
+      assertThat(registry.getResult(file.toString())).isEqualTo(result);
+      assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return null for unregistered paths")
+    void shouldReturnNullForUnregisteredPaths() {
+      // Given
+      String path = tempDir.resolve("input.txt").toString();
+      registry.register(path);
+
+      // When
+      registry.unregister(path);
+
+      // Then
+      assertThat(registry.getResult(path)).isNull();
+      assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report a change made while the path is being validated")
+    void shouldReportChangeDuringRegistration() throws Exception {
+      // Given
+      Path file = tempDir.resolve("racy.txt");
+      FilePathValidator racyValidator = new FilePathValidator() {
+        private boolean created;
+
+        @Override
+        public ValidationResult validateFilePath(String filePath) {
+          ValidationResult result = super.validateFilePath(filePath);
+          if (!created) {
+            // The file appears right after it was found missing, before the result is stored
+            created = true;
+            try {
+              Files.createFile(file);
+            }
+            catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }
+          return result;
+        }
+      };
+
+      try (ValidationRegistry racyRegistry = new ValidationRegistry(racyValidator, Duration.ofHours(1))) {
+        racyRegistry.addListener((filePath, previous, current) -> changes.add(current));
+
+        // When
+        ValidationResult registered = racyRegistry.register(file.toString());
+
+        // Then
+        assertThat(registered.isExists()).isFalse();
+        assertThat(awaitChange(file).isExists()).isTrue();
+      }
+    }
+
+    @Test
+    @DisplayName("Should keep watching a directory whose last path is unregistered while a sibling registers")
+    void shouldKeepWatchingWhenUnregisteringDuringRegistration() throws Exception {
+      // Given
+      Path first = tempDir.resolve("first.txt");
+      Path second = tempDir.resolve("second.txt");
+      AtomicReference<ValidationRegistry> racyRegistryRef = new AtomicReference<>();
+      FilePathValidator racyValidator = new FilePathValidator() {
+        @Override
+        public ValidationResult validateFilePath(String filePath) {
+          if (filePath.equals(second.toString())) {
+            // The other path of the directory is unregistered while the sibling is being registered
+            Thread unregistering = new Thread(() -> racyRegistryRef.get().unregister(first.toString()));
+            unregistering.start();
+            try {
+              unregistering.join(200);
+            }
+            catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          return super.validateFilePath(filePath);
+        }
+      };
+
+      try (ValidationRegistry racyRegistry = new ValidationRegistry(racyValidator, Duration.ofHours(1))) {
+        racyRegistryRef.set(racyRegistry);
+        racyRegistry.addListener((filePath, previous, current) -> changes.add(current));
+        racyRegistry.register(first.toString());
+
+        // When
+        racyRegistry.register(second.toString());
+        Files.createFile(second);
+
+        // Then
+        assertThat(awaitChange(second).isExists()).isTrue();
+      }
+    }
+
+    @Test
+    @DisplayName("Should reject null or empty paths")
+    void shouldRejectNullOrEmptyPaths() {
+      assertThatThrownBy(() -> registry.register(" "))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("null or empty");
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for watch events")
+  class WatchEventTests {
+
+    @Test
+    @DisplayName("Should notify listeners when a registered file is created")
+    void shouldNotifyWhenFileIsCreated() throws Exception {
+      // Given
+      Path file = tempDir.resolve("created.txt");
+      registry.register(file.toString());
+
+      // When
+      Files.createFile(file);
+
+      // Then
+      assertThat(awaitChange(file).isExists()).isTrue();
+      assertThat(registry.getResult(file.toString()).isExists()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should notify listeners when a registered file is deleted")
+    void shouldNotifyWhenFileIsDeleted() throws Exception {
+      // Given
+      Path file = Files.createFile(tempDir.resolve("deleted.txt"));
+      registry.register(file.toString());
+
+      // When
+      Files.delete(file);
+
+      // Then
+      assertThat(awaitChange(file).isExists()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should watch a path going up through a symbolic link where the link leads")
+    void shouldNotNormalizeThroughSymbolicLinks() throws Exception {
+      // Given
+      Path real = Files.createDirectories(tempDir.resolve("real/deep"));
+      Path file = Files.createSymbolicLink(tempDir.resolve("link"), real).resolve("../input.txt");
+      registry.register(file.toString());
+
+      // When
+      Files.createFile(tempDir.resolve("real/input.txt"));
+
+      // Then
+      assertThat(awaitChange(file).isExists()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep notifying other spellings of a directory when one is unregistered")
+    void shouldNotifyOtherSpellingsOfDirectory() throws Exception {
+      // Given
+      Path plain = tempDir.resolve("input.txt");
+      Path dotted = Files.createDirectory(tempDir.resolve("sub")).resolve("../input.txt");
+      registry.register(plain.toString());
+      registry.register(dotted.toString());
+
+      // When
+      registry.unregister(plain.toString());
+      Files.createFile(plain);
+
+      // Then
+      assertThat(awaitChange(dotted).isExists()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not notify listeners for unregistered siblings")
+    void shouldNotNotifyForUnregisteredSiblings() throws Exception {
+      // Given
+      Path file = Files.createFile(tempDir.resolve("registered.txt"));
+      registry.register(file.toString());
+
+      // When
+      Files.createFile(tempDir.resolve("sibling.txt"));
+
+      // Then
+      assertThat(changes.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for polling fallback")
+  class PollingTests {
+
+    @Test
+    @DisplayName("Should poll paths whose parent directory does not exist yet")
+    void shouldPollPathsWithMissingParent() throws Exception {
+      // Given
+      Path directory = tempDir.resolve("later");
+      Path file = directory.resolve("input.txt");
+      registry.register(file.toString());
+
+      // When
+      Files.createDirectory(directory);
+      Files.createFile(file);
+
+      // Then
+      assertThat(awaitChange(file).isExists()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should poll every path after an overflow until a quiet cycle")
+    void shouldPollAllPathsAfterOverflow() throws IOException {
+      try (ValidationRegistry manualRegistry = new ValidationRegistry(new FilePathValidator(), Duration.ofHours(1))) {
+        // Given
+        manualRegistry.register(tempDir.resolve("input.txt").toString());
+
+        // When
+        manualRegistry.handleOverflow();
+
+        // Then
+        assertThat(manualRegistry.isPolling()).isTrue();
+        manualRegistry.poll();
+        assertThat(manualRegistry.isPolling()).isTrue();
+        manualRegistry.poll();
+        assertThat(manualRegistry.isPolling()).isFalse();
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.ggoncalves.ggutils.console.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValidationResultBatchTest {
+
+  private final ValidationResult fullResult = ValidationResult.builder()
+      .filePath("/data/file.txt")
+      .valid(true)
+      .exists(true)
+      .isDirectory(true)
+      .readable(true)
+      .writable(true)
+      .executable(true)
+      .isBlank(true)
+      .build();
+
+  @Nested
+  @DisplayName("Tests for ValidationFlags")
+  class ValidationFlagsTests {
+
+    @Test
+    @DisplayName("Should round-trip every flag")
+    void shouldRoundTripEveryFlag() {
+      int flags = ValidationFlags.pack(fullResult);
+
+      assertThat(flags).isEqualTo(0b111_1111);
+      assertThat(ValidationFlags.unpack("/data/file.txt", flags, null)).isEqualTo(fullResult);
+    }
+
+    @Test
+    @DisplayName("Should pack individual flags")
+    void shouldPackIndividualFlags() {
+      ValidationResult result = ValidationResult.builder().valid(true).readable(true).build();
+
+      int flags = ValidationFlags.pack(result);
+
+      assertThat(ValidationFlags.isSet(flags, ValidationFlags.VALID)).isTrue();
+      assertThat(ValidationFlags.isSet(flags, ValidationFlags.READABLE)).isTrue();
+      assertThat(ValidationFlags.isSet(flags, ValidationFlags.EXISTS)).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for ValidationResultBatch")
+  class BatchTests {
+
+    @Test
+    @DisplayName("Should expose packed columns by index")
+    void shouldExposePackedColumns() {
+      // Given
+      ValidationResultBatch batch = new ValidationResultBatch(2);
+
+      // When
+      batch.set(0, "/a", ValidationFlags.VALID | ValidationFlags.EXISTS | ValidationFlags.READABLE,
+          ValidationError.NONE, null);
+      batch.set(1, "/b", 0, ValidationError.INVALID_SYNTAX, "Illegal char <:>");
+
+      // Then
+      assertThat(batch.size()).isEqualTo(2);
+      assertThat(batch.isValid(0)).isTrue();
+      assertThat(batch.isExists(0)).isTrue();
+      assertThat(batch.isReadable(0)).isTrue();
+      assertThat(batch.isWritable(0)).isFalse();
+      assertThat(batch.getErrorMessage(0)).isNull();
+      assertThat(batch.isValid(1)).isFalse();
+      assertThat(batch.getError(1)).isEqualTo(ValidationError.INVALID_SYNTAX);
+      assertThat(batch.getErrorMessage(1)).isEqualTo("Invalid path syntax: Illegal char <:>");
+    }
+
+    @Test
+    @DisplayName("Should present materialized results through the list view")
+    void shouldPresentMaterializedResultsThroughListView() {
+      // Given
+      ValidationResultBatch batch = new ValidationResultBatch(2);
+      batch.set(0, fullResult);
+      batch.set(1, null, 0, ValidationError.NULL_OR_EMPTY, null);
+
+      // When
+      List<ValidationResult> view = batch.asList();
+
+      // Then
+      assertThat(view).hasSize(2);
+      assertThat(view.get(0)).isEqualTo(fullResult);
+      assertThat(view.get(1).getErrorMessage()).isEqualTo("Path is null or empty");
+      assertThatThrownBy(() -> view.add(fullResult)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep arbitrary error messages when packing a result")
+    void shouldKeepArbitraryErrorMessages() {
+      ValidationResultBatch batch = new ValidationResultBatch(1);
+
+      batch.set(0, ValidationResult.builder().filePath("/x").errorMessage("Something else").build());
+
+      assertThat(batch.getError(0)).isEqualTo(ValidationError.OTHER);
+      assertThat(batch.get(0).getErrorMessage()).isEqualTo("Something else");
+    }
+
+    @Test
+    @DisplayName("Should recognize the error code of a packed result from its message")
+    void shouldRecognizeErrorCodes() {
+      ValidationResultBatch batch = new ValidationResultBatch(2);
+
+      batch.set(0, ValidationResult.builder().filePath("/x").errorMessage("Invalid path syntax: nul").build());
+      batch.set(1, ValidationResult.builder().filePath("").errorMessage("Path is null or empty").build());
+
+      assertThat(batch.getError(0)).isEqualTo(ValidationError.INVALID_SYNTAX);
+      assertThat(batch.getErrorMessage(0)).isEqualTo("Invalid path syntax: nul");
+      assertThat(batch.getError(1)).isEqualTo(ValidationError.NULL_OR_EMPTY);
+    }
+  }
+}